@@ -0,0 +1,106 @@
+/** ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++--> 
+<!--                Open Simulation Architecture (OSA)                  -->
+<!--                                                                    -->
+<!--      This software is distributed under the terms of the           -->
+<!--           CECILL-C FREE SOFTWARE LICENSE AGREEMENT                 -->
+<!--  (see http://www.cecill.info/licences/Licence_CeCILL-C_V1-en.html) -->
+<!--                                                                    -->
+<!--  Copyright © 2006-2015 Université Nice Sophia Antipolis            -->
+<!--  Contact author: Olivier Dalle (olivier.dalle@unice.fr)            -->
+<!--                                                                    -->
+<!--  Parts of this software development were supported and hosted by   -->
+<!--  INRIA from 2006 to 2015, in the context of the common research    -->
+<!--  teams of INRIA and I3S, UMR CNRS 7172 (MASCOTTE, COATI, OASIS and -->
+<!--  SCALE).                                                           -->
+<!--++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++**/ 
+package org.osadev.osa.simapis.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.osadev.osa.simapis.modeling.ModelingTimeAPI;
+import org.osadev.osa.simapis.modeling.SimulationTimeAPI;
+import org.osadev.osa.simapis.simulation.logging.AsyncLogSink;
+import org.osadev.osa.simapis.simulation.logging.AsyncSimulationLogger;
+import org.osadev.osa.simapis.simulation.logging.OverflowPolicy;
+import org.osadev.osa.simapis.wrappers.llong.ModelingTime;
+import org.slf4j.helpers.MessageFormatter;
+import org.slf4j.helpers.NOPLogger;
+
+/**
+ * Cost of a log call for the caller, with the {@link AsyncSimulationLogger}.
+ * 
+ * <p><tt>disabled</tt> logs below the threshold, <tt>enabled</tt> logs a 
+ * two-argument message, and <tt>synchronous</tt> does on the caller thread 
+ * what a synchronous simulation logger does for the same call: query the 
+ * time and format the line. The target logger discards the records, so that
+ * only the caller side and the hand-over are measured.
+ * 
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AsyncLoggerBenchmark {
+
+	@Param({ "DROP", "BLOCK" })
+	public OverflowPolicy policy;
+
+	private AsyncLogSink sink_;
+
+	private AsyncSimulationLogger<Long> logger_;
+
+	private SimulationTimeAPI<Long> timeApi_;
+
+	private long count_;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		final ModelingTimeAPI<Long> time = ModelingTime.valueOf(123456789L);
+		timeApi_ = new SimulationTimeAPI<Long>() {
+			@Override
+			public ModelingTimeAPI<Long> getSimulationTime() {
+				return time;
+			}
+		};
+		sink_ = new AsyncLogSink(AsyncLogSink.DEFAULT_CAPACITY, policy);
+		logger_ = new AsyncSimulationLogger<Long>(sink_, NOPLogger.NOP_LOGGER);
+		logger_.setTimeApi(timeApi_);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws InterruptedException {
+		sink_.close();
+	}
+
+	@Benchmark
+	public void disabled() {
+		logger_.debug("packet {} received from {}", count_++, this);
+	}
+
+	@Benchmark
+	public void enabled() {
+		logger_.info("packet {} received from {}", count_++, this);
+	}
+
+	@Benchmark
+	public String synchronous() {
+		return "[" + timeApi_.getSimulationTime() + "] " + MessageFormatter.format(
+				"packet {} received from {}", count_++, this).getMessage();
+	}
+
+}
@@ -0,0 +1,181 @@
+/** ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++--> 
+<!--                Open Simulation Architecture (OSA)                  -->
+<!--                                                                    -->
+<!--      This software is distributed under the terms of the           -->
+<!--           CECILL-C FREE SOFTWARE LICENSE AGREEMENT                 -->
+<!--  (see http://www.cecill.info/licences/Licence_CeCILL-C_V1-en.html) -->
+<!--                                                                    -->
+<!--  Copyright © 2006-2015 Université Nice Sophia Antipolis            -->
+<!--  Contact author: Olivier Dalle (olivier.dalle@unice.fr)            -->
+<!--                                                                    -->
+<!--  Parts of this software development were supported and hosted by   -->
+<!--  INRIA from 2006 to 2015, in the context of the common research    -->
+<!--  teams of INRIA and I3S, UMR CNRS 7172 (MASCOTTE, COATI, OASIS and -->
+<!--  SCALE).                                                           -->
+<!--++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++**/ 
+package org.osadev.osa.simapis.benchmarks;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.osadev.osa.simapis.modeling.ModelingTimeAPI;
+import org.osadev.osa.simapis.simulation.ControllerHeap;
+import org.osadev.osa.simapis.simulation.EventSimulationControllerAPI;
+import org.osadev.osa.simapis.wrappers.llong.ModelingTime;
+
+/**
+ * Agenda of a super-scheduler with many components: the 
+ * {@link ControllerHeap} compared to a sorted set of (time, rank) entries
+ * updated by removal and insertion.
+ * 
+ * <p>The agenda holds <tt>components</tt> controllers. The <tt>step</tt> 
+ * operation takes the earliest controller and registers it again at its time
+ * plus an increment, as a controller does after it is resumed. The 
+ * <tt>reschedule</tt> operation moves a random controller to the current 
+ * earliest time plus an increment, which may be earlier or later than its 
+ * previous time, as a controller does when it schedules or cancels events.
+ * 
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ControllerHeapBenchmark {
+
+	private static final int INCREMENTS = 1 << 16;
+
+	/** The compared agenda structures. */
+	public enum Structure {
+		CONTROLLER_HEAP, TREE_SET
+	}
+
+	/** Entry of the sorted set agenda. */
+	private static final class Entry {
+
+		final EventSimulationControllerAPI<Long> controller_;
+
+		final int rank_;
+
+		ModelingTimeAPI<Long> time_;
+
+		Entry(final EventSimulationControllerAPI<Long> controller, final int rank) {
+			controller_ = controller;
+			rank_ = rank;
+		}
+	}
+
+	@Param({ "CONTROLLER_HEAP", "TREE_SET" })
+	public Structure structure;
+
+	@Param({ "10000", "100000" })
+	public int components;
+
+	@Param({ "EXPONENTIAL", "BIMODAL" })
+	public TimeDistribution distribution;
+
+	private ControllerHeap<Long, EventSimulationControllerAPI<Long>> heap_;
+
+	private TreeSet<Entry> set_;
+
+	private Entry[] entries_;
+
+	private long[] increments_;
+
+	private int[] picks_;
+
+	private int cursor_;
+
+	@Setup(Level.Trial)
+	@SuppressWarnings("unchecked")
+	public void setUp() {
+		increments_ = distribution.sample(INCREMENTS, TimeDistribution.SEED);
+		picks_ = new int[INCREMENTS];
+		final Random random = new Random(TimeDistribution.SEED);
+		for (int i = 0; i < INCREMENTS; i++)
+			picks_[i] = random.nextInt(components);
+		final InvocationHandler handler = new InvocationHandler() {
+			@Override
+			public Object invoke(final Object proxy, final Method method, final Object[] args) {
+				throw new UnsupportedOperationException(method.getName());
+			}
+		};
+		heap_ = new ControllerHeap<Long, EventSimulationControllerAPI<Long>>();
+		set_ = new TreeSet<Entry>(new Comparator<Entry>() {
+			@Override
+			public int compare(final Entry e1, final Entry e2) {
+				final int c = e1.time_.compareTo(e2.time_);
+				if (c != 0)
+					return c;
+				return (e1.rank_ < e2.rank_) ? -1 : ((e1.rank_ == e2.rank_) ? 0 : 1);
+			}
+		});
+		entries_ = new Entry[components];
+		for (int i = 0; i < components; i++) {
+			final EventSimulationControllerAPI<Long> controller = (EventSimulationControllerAPI<Long>) Proxy
+					.newProxyInstance(getClass().getClassLoader(),
+							new Class<?>[] { EventSimulationControllerAPI.class }, handler);
+			final ModelingTimeAPI<Long> time = ModelingTime.valueOf(increments_[i & (INCREMENTS - 1)]);
+			entries_[i] = new Entry(controller, i);
+			if (structure == Structure.CONTROLLER_HEAP) {
+				heap_.update(controller, time);
+			} else {
+				entries_[i].time_ = time;
+				set_.add(entries_[i]);
+			}
+		}
+		cursor_ = components;
+	}
+
+	@Benchmark
+	public Object step() {
+		final long increment = increments_[cursor_++ & (INCREMENTS - 1)];
+		if (structure == Structure.CONTROLLER_HEAP) {
+			final ModelingTimeAPI<Long> time = heap_.peekTime();
+			final EventSimulationControllerAPI<Long> first = heap_.poll();
+			heap_.update(first, ModelingTime.valueOf(ModelingTime.longValue(time) + increment));
+			return first;
+		}
+		final Entry first = set_.pollFirst();
+		first.time_ = ModelingTime.valueOf(ModelingTime.longValue(first.time_) + increment);
+		set_.add(first);
+		return first;
+	}
+
+	@Benchmark
+	public Object reschedule() {
+		final int i = cursor_++ & (INCREMENTS - 1);
+		final Entry e = entries_[picks_[i]];
+		if (structure == Structure.CONTROLLER_HEAP) {
+			final ModelingTimeAPI<Long> time = ModelingTime.valueOf(
+					ModelingTime.longValue(heap_.peekTime()) + increments_[i]);
+			heap_.update(e.controller_, time);
+			return time;
+		}
+		final ModelingTimeAPI<Long> time = ModelingTime.valueOf(
+				ModelingTime.longValue(set_.first().time_) + increments_[i]);
+		set_.remove(e);
+		e.time_ = time;
+		set_.add(e);
+		return time;
+	}
+
+}
@@ -0,0 +1,110 @@
+/** ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++--> 
+<!--                Open Simulation Architecture (OSA)                  -->
+<!--                                                                    -->
+<!--      This software is distributed under the terms of the           -->
+<!--           CECILL-C FREE SOFTWARE LICENSE AGREEMENT                 -->
+<!--  (see http://www.cecill.info/licences/Licence_CeCILL-C_V1-en.html) -->
+<!--                                                                    -->
+<!--  Copyright © 2006-2015 Université Nice Sophia Antipolis            -->
+<!--  Contact author: Olivier Dalle (olivier.dalle@unice.fr)            -->
+<!--                                                                    -->
+<!--  Parts of this software development were supported and hosted by   -->
+<!--  INRIA from 2006 to 2015, in the context of the common research    -->
+<!--  teams of INRIA and I3S, UMR CNRS 7172 (MASCOTTE, COATI, OASIS and -->
+<!--  SCALE).                                                           -->
+<!--++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++**/ 
+package org.osadev.osa.simapis.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.osadev.osa.simapis.simulation.AbstractEvent;
+
+/**
+ * Creation and invocation of events.
+ * 
+ * <p><tt>create</tt> builds an event with <tt>arity</tt> parameters; 
+ * <tt>invoke</tt> calls the method of a pre-built event on a model instance,
+ * through the method resolution cached by the dispatcher.
+ * 
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventBenchmark {
+
+	/** Model whose methods are called by the events. */
+	public static class Model {
+
+		private long calls_ = 0;
+
+		public void run() {
+			calls_++;
+		}
+
+		public void run(final Object a) {
+			calls_ += (Integer) a;
+		}
+
+		public void run(final Object a, final Object b, final Object c) {
+			calls_ += (Integer) a + (Integer) b + (Integer) c;
+		}
+
+		public long getCalls() {
+			return calls_;
+		}
+	}
+
+	private static final int TIMES = 1 << 12;
+
+	@Param({ "0", "1", "3" })
+	public int arity;
+
+	private final Model model_ = new Model();
+
+	private Object[] params_;
+
+	private long[] times_;
+
+	private AbstractEvent<Long> event_;
+
+	private long nextId_;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		params_ = new Object[arity];
+		for (int i = 0; i < arity; i++)
+			params_[i] = Integer.valueOf(i + 1);
+		times_ = TimeDistribution.EXPONENTIAL.sample(TIMES, TimeDistribution.SEED);
+		event_ = new LongEvent(1L, "run", params_, 0L, model_);
+		nextId_ = 2L;
+	}
+
+	@Benchmark
+	public AbstractEvent<Long> create() {
+		final long id = nextId_++;
+		return new LongEvent(id, "run", params_, times_[(int) id & (TIMES - 1)], model_);
+	}
+
+	@Benchmark
+	public void invoke(final Blackhole blackhole) throws Exception {
+		event_.invoke();
+		blackhole.consume(model_.getCalls());
+	}
+
+}
@@ -0,0 +1,134 @@
+/** ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++--> 
+<!--                Open Simulation Architecture (OSA)                  -->
+<!--                                                                    -->
+<!--      This software is distributed under the terms of the           -->
+<!--           CECILL-C FREE SOFTWARE LICENSE AGREEMENT                 -->
+<!--  (see http://www.cecill.info/licences/Licence_CeCILL-C_V1-en.html) -->
+<!--                                                                    -->
+<!--  Copyright © 2006-2015 Université Nice Sophia Antipolis            -->
+<!--  Contact author: Olivier Dalle (olivier.dalle@unice.fr)            -->
+<!--                                                                    -->
+<!--  Parts of this software development were supported and hosted by   -->
+<!--  INRIA from 2006 to 2015, in the context of the common research    -->
+<!--  teams of INRIA and I3S, UMR CNRS 7172 (MASCOTTE, COATI, OASIS and -->
+<!--  SCALE).                                                           -->
+<!--++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++**/ 
+package org.osadev.osa.simapis.benchmarks;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.osadev.osa.simapis.simulation.process.Handoff;
+
+/**
+ * Ping-pong between the benchmark thread, playing the scheduler, and a 
+ * process thread, comparing the {@link Handoff} to the {@link Semaphore} 
+ * formerly used by the wait requests.
+ * 
+ * <p>Each operation releases the process and waits until the process 
+ * releases it back, that is a round trip of two control transfers. A 
+ * negative <tt>spins</tt> value selects the default spin budget.
+ * 
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HandoffPingPongBenchmark {
+
+	/** The compared implementations. */
+	public enum Implementation {
+		SEMAPHORE, HANDOFF
+	}
+
+	@Param({ "SEMAPHORE", "HANDOFF" })
+	public Implementation implementation;
+
+	@Param({ "-1", "0" })
+	public int spins;
+
+	private Semaphore pingSemaphore_;
+
+	private Semaphore pongSemaphore_;
+
+	private Handoff pingHandoff_;
+
+	private Handoff pongHandoff_;
+
+	private Thread process_;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		final Runnable body;
+		if (implementation == Implementation.SEMAPHORE) {
+			pingSemaphore_ = new Semaphore(0);
+			pongSemaphore_ = new Semaphore(0);
+			body = new Runnable() {
+				@Override
+				public void run() {
+					try {
+						while (true) {
+							pingSemaphore_.acquire();
+							pongSemaphore_.release();
+						}
+					} catch (final InterruptedException e) {
+						// Stopped.
+					}
+				}
+			};
+		} else {
+			final int maxSpins = spins < 0 ? Handoff.getDefaultMaxSpins() : spins;
+			pingHandoff_ = new Handoff(maxSpins);
+			pongHandoff_ = new Handoff(maxSpins);
+			body = new Runnable() {
+				@Override
+				public void run() {
+					try {
+						while (true) {
+							pingHandoff_.acquire();
+							pongHandoff_.release();
+						}
+					} catch (final InterruptedException e) {
+						// Stopped.
+					}
+				}
+			};
+		}
+		process_ = new Thread(body, "pong");
+		process_.setDaemon(true);
+		process_.start();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws InterruptedException {
+		process_.interrupt();
+		process_.join();
+	}
+
+	@Benchmark
+	public void roundTrip() throws InterruptedException {
+		if (pingHandoff_ != null) {
+			pingHandoff_.release();
+			pongHandoff_.acquire();
+		} else {
+			pingSemaphore_.release();
+			pongSemaphore_.acquire();
+		}
+	}
+
+}
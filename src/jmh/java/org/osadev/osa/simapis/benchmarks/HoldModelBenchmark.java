@@ -0,0 +1,93 @@
+/** ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++--> 
+<!--                Open Simulation Architecture (OSA)                  -->
+<!--                                                                    -->
+<!--      This software is distributed under the terms of the           -->
+<!--           CECILL-C FREE SOFTWARE LICENSE AGREEMENT                 -->
+<!--  (see http://www.cecill.info/licences/Licence_CeCILL-C_V1-en.html) -->
+<!--                                                                    -->
+<!--  Copyright © 2006-2015 Université Nice Sophia Antipolis            -->
+<!--  Contact author: Olivier Dalle (olivier.dalle@unice.fr)            -->
+<!--                                                                    -->
+<!--  Parts of this software development were supported and hosted by   -->
+<!--  INRIA from 2006 to 2015, in the context of the common research    -->
+<!--  teams of INRIA and I3S, UMR CNRS 7172 (MASCOTTE, COATI, OASIS and -->
+<!--  SCALE).                                                           -->
+<!--++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++**/ 
+package org.osadev.osa.simapis.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.osadev.osa.simapis.simulation.AbstractEvent;
+import org.osadev.osa.simapis.simulation.pending.EventOrder;
+import org.osadev.osa.simapis.simulation.pending.PendingEventSetItf;
+import org.osadev.osa.simapis.simulation.pending.PendingEventSetType;
+
+/**
+ * Classic hold model on the pending event set implementations.
+ * 
+ * <p>The set is first filled with <tt>size</tt> events. Each operation then
+ * removes the first event and schedules a new one at the time of the removed
+ * event plus an increment drawn from the selected distribution, such that the
+ * set size stays constant.
+ * 
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HoldModelBenchmark {
+
+	private static final int INCREMENTS = 1 << 16;
+
+	@Param({ "BINARY_HEAP", "CALENDAR_QUEUE", "LADDER_QUEUE" })
+	public PendingEventSetType type;
+
+	@Param({ "1000", "100000", "1000000" })
+	public int size;
+
+	@Param({ "EXPONENTIAL", "UNIFORM", "BIMODAL" })
+	public TimeDistribution distribution;
+
+	private PendingEventSetItf<Long> pending_;
+
+	private long[] increments_;
+
+	private int cursor_;
+
+	private long nextId_;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		increments_ = distribution.sample(INCREMENTS, TimeDistribution.SEED);
+		pending_ = type.create();
+		nextId_ = 1L;
+		for (int i = 0; i < size; i++)
+			pending_.add(new LongEvent(nextId_++, increments_[i & (INCREMENTS - 1)]));
+		cursor_ = size;
+	}
+
+	@Benchmark
+	public AbstractEvent<Long> hold() {
+		final AbstractEvent<Long> first = pending_.poll();
+		final long time = EventOrder.longKey(first)
+				+ increments_[cursor_++ & (INCREMENTS - 1)];
+		final AbstractEvent<Long> next = new LongEvent(nextId_++, time);
+		pending_.add(next);
+		return first;
+	}
+
+}
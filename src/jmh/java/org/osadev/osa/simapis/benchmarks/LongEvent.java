@@ -0,0 +1,36 @@
+/** ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++--> 
+<!--                Open Simulation Architecture (OSA)                  -->
+<!--                                                                    -->
+<!--      This software is distributed under the terms of the           -->
+<!--           CECILL-C FREE SOFTWARE LICENSE AGREEMENT                 -->
+<!--  (see http://www.cecill.info/licences/Licence_CeCILL-C_V1-en.html) -->
+<!--                                                                    -->
+<!--  Copyright © 2006-2015 Université Nice Sophia Antipolis            -->
+<!--  Contact author: Olivier Dalle (olivier.dalle@unice.fr)            -->
+<!--                                                                    -->
+<!--  Parts of this software development were supported and hosted by   -->
+<!--  INRIA from 2006 to 2015, in the context of the common research    -->
+<!--  teams of INRIA and I3S, UMR CNRS 7172 (MASCOTTE, COATI, OASIS and -->
+<!--  SCALE).                                                           -->
+<!--++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++**/ 
+package org.osadev.osa.simapis.benchmarks;
+
+import org.osadev.osa.simapis.simulation.AbstractEvent;
+import org.osadev.osa.simapis.wrappers.llong.ModelingTime;
+
+/**
+ * Concrete event type used by the benchmarks.
+ * 
+ */
+public class LongEvent extends AbstractEvent<Long> {
+
+	public LongEvent(final long eventId, final long time) {
+		super(eventId, "run", null, ModelingTime.valueOf(time), null);
+	}
+
+	public LongEvent(final long eventId, final String method,
+			final Object[] params, final long time, final Object instance) {
+		super(eventId, method, params, ModelingTime.valueOf(time), instance);
+	}
+
+}
@@ -0,0 +1,105 @@
+/** ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++--> 
+<!--                Open Simulation Architecture (OSA)                  -->
+<!--                                                                    -->
+<!--      This software is distributed under the terms of the           -->
+<!--           CECILL-C FREE SOFTWARE LICENSE AGREEMENT                 -->
+<!--  (see http://www.cecill.info/licences/Licence_CeCILL-C_V1-en.html) -->
+<!--                                                                    -->
+<!--  Copyright © 2006-2015 Université Nice Sophia Antipolis            -->
+<!--  Contact author: Olivier Dalle (olivier.dalle@unice.fr)            -->
+<!--                                                                    -->
+<!--  Parts of this software development were supported and hosted by   -->
+<!--  INRIA from 2006 to 2015, in the context of the common research    -->
+<!--  teams of INRIA and I3S, UMR CNRS 7172 (MASCOTTE, COATI, OASIS and -->
+<!--  SCALE).                                                           -->
+<!--++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++**/ 
+package org.osadev.osa.simapis.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.osadev.osa.simapis.modeling.LongModelingTimeAPI;
+import org.osadev.osa.simapis.modeling.ModelingTimeAPI;
+import org.osadev.osa.simapis.wrappers.llong.ModelingTime;
+
+/**
+ * Arithmetic and comparison of modeling times, through the generic API 
+ * (boxed <code>Long</code> values) and through the primitive 
+ * {@link LongModelingTimeAPI}.
+ * 
+ * <p>Times and delays are drawn from the selected distribution, in tables
+ * read in sequence.
+ * 
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ModelingTimeBenchmark {
+
+	private static final int VALUES = 1 << 12;
+
+	@Param({ "EXPONENTIAL", "BIMODAL" })
+	public TimeDistribution distribution;
+
+	private ModelingTime[] times_;
+
+	private long[] delays_;
+
+	private Long[] boxedDelays_;
+
+	private int cursor_;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		delays_ = distribution.sample(VALUES, TimeDistribution.SEED);
+		boxedDelays_ = new Long[VALUES];
+		final long[] times = new long[VALUES];
+		long t = 0L;
+		for (int i = 0; i < VALUES; i++) {
+			boxedDelays_[i] = Long.valueOf(delays_[i]);
+			// shuffled order, such that comparisons are not predictable
+			t += delays_[(i * 31) & (VALUES - 1)];
+			times[(i * 17) & (VALUES - 1)] = t;
+		}
+		times_ = ModelingTime.valueOf(times);
+	}
+
+	@Benchmark
+	public ModelingTimeAPI<Long> getDelayed() {
+		final int i = cursor_++ & (VALUES - 1);
+		return times_[i].getDelayed(boxedDelays_[i]);
+	}
+
+	@Benchmark
+	public LongModelingTimeAPI delayedBy() {
+		final int i = cursor_++ & (VALUES - 1);
+		return times_[i].delayedBy(delays_[i]);
+	}
+
+	@Benchmark
+	public int compareTo() {
+		final int i = cursor_++ & (VALUES - 1);
+		return times_[i].compareTo(times_[(i + 1) & (VALUES - 1)]);
+	}
+
+	@Benchmark
+	public int compareLong() {
+		final int i = cursor_++ & (VALUES - 1);
+		return times_[i].compareLong(times_[(i + 1) & (VALUES - 1)].getLong());
+	}
+
+}
@@ -0,0 +1,91 @@
+/** ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++--> 
+<!--                Open Simulation Architecture (OSA)                  -->
+<!--                                                                    -->
+<!--      This software is distributed under the terms of the           -->
+<!--           CECILL-C FREE SOFTWARE LICENSE AGREEMENT                 -->
+<!--  (see http://www.cecill.info/licences/Licence_CeCILL-C_V1-en.html) -->
+<!--                                                                    -->
+<!--  Copyright © 2006-2015 Université Nice Sophia Antipolis            -->
+<!--  Contact author: Olivier Dalle (olivier.dalle@unice.fr)            -->
+<!--                                                                    -->
+<!--  Parts of this software development were supported and hosted by   -->
+<!--  INRIA from 2006 to 2015, in the context of the common research    -->
+<!--  teams of INRIA and I3S, UMR CNRS 7172 (MASCOTTE, COATI, OASIS and -->
+<!--  SCALE).                                                           -->
+<!--++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++**/ 
+package org.osadev.osa.simapis.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.osadev.osa.simapis.simulation.AbstractEvent;
+import org.osadev.osa.simapis.simulation.pending.PendingEventSetItf;
+import org.osadev.osa.simapis.simulation.pending.PendingEventSetType;
+
+/**
+ * Enqueue and dequeue of the pending event set implementations, away from 
+ * the steady state measured by {@link HoldModelBenchmark}.
+ * 
+ * <p>Each invocation adds <tt>size</tt> pre-built events to an empty set, 
+ * then removes them all; the reported time is per event, that is one 
+ * enqueue and one dequeue.
+ * 
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PendingSetBenchmark {
+
+	/** Number of events per invocation, constant for the operation count. */
+	private static final int SIZE = 10000;
+
+	@Param({ "BINARY_HEAP", "INDEXED_HEAP", "CALENDAR_QUEUE", "LADDER_QUEUE" })
+	public PendingEventSetType type;
+
+	@Param({ "EXPONENTIAL", "BIMODAL", "CONSTANT" })
+	public TimeDistribution distribution;
+
+	private PendingEventSetItf<Long> pending_;
+
+	private LongEvent[] events_;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		final long[] increments = distribution.sample(SIZE, TimeDistribution.SEED);
+		events_ = new LongEvent[SIZE];
+		long time = 0L;
+		for (int i = 0; i < SIZE; i++) {
+			time += increments[i];
+			// interleave early and late events
+			events_[(i * 7919) % SIZE] = new LongEvent(i + 1L, time);
+		}
+		pending_ = type.create();
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(SIZE)
+	public void fillAndDrain(final Blackhole blackhole) {
+		for (AbstractEvent<Long> event : events_)
+			pending_.add(event);
+		AbstractEvent<Long> event;
+		while ((event = pending_.poll()) != null)
+			blackhole.consume(event);
+	}
+
+}
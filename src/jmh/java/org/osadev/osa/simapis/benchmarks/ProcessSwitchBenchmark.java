@@ -0,0 +1,98 @@
+/** ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++--> 
+<!--                Open Simulation Architecture (OSA)                  -->
+<!--                                                                    -->
+<!--      This software is distributed under the terms of the           -->
+<!--           CECILL-C FREE SOFTWARE LICENSE AGREEMENT                 -->
+<!--  (see http://www.cecill.info/licences/Licence_CeCILL-C_V1-en.html) -->
+<!--                                                                    -->
+<!--  Copyright © 2006-2015 Université Nice Sophia Antipolis            -->
+<!--  Contact author: Olivier Dalle (olivier.dalle@unice.fr)            -->
+<!--                                                                    -->
+<!--  Parts of this software development were supported and hosted by   -->
+<!--  INRIA from 2006 to 2015, in the context of the common research    -->
+<!--  teams of INRIA and I3S, UMR CNRS 7172 (MASCOTTE, COATI, OASIS and -->
+<!--  SCALE).                                                           -->
+<!--++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++**/ 
+package org.osadev.osa.simapis.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.osadev.osa.simapis.simulation.process.LightweightProcess;
+import org.osadev.osa.simapis.simulation.process.ProcessEngine;
+import org.osadev.osa.simapis.simulation.process.ProcessThreadMode;
+
+/**
+ * Cost of a process switch in the process engine.
+ * 
+ * <p><tt>processes</tt> processes are started, each one parking in a loop. 
+ * Each operation resumes the next one in turn until it parks again, that is 
+ * a round trip of two thread switches. The {@link ProcessThreadMode#VIRTUAL}
+ * mode fails on Java versions older than 21.
+ * 
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProcessSwitchBenchmark {
+
+	@Param({ "PLATFORM", "VIRTUAL" })
+	public ProcessThreadMode mode;
+
+	@Param({ "1", "1000" })
+	public int processes;
+
+	private ProcessEngine engine_;
+
+	private LightweightProcess[] processes_;
+
+	private int cursor_;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		if (!mode.isAvailable())
+			throw new IllegalStateException(mode + " threads are not available");
+		engine_ = new ProcessEngine(mode);
+		final Runnable body = new Runnable() {
+			@Override
+			public void run() {
+				final LightweightProcess self = LightweightProcess.current();
+				while (true)
+					self.park();
+			}
+		};
+		processes_ = new LightweightProcess[processes];
+		for (int i = 0; i < processes; i++)
+			processes_[i] = engine_.start(body);
+		cursor_ = 0;
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		engine_.shutdown();
+	}
+
+	@Benchmark
+	public long roundTrip() {
+		engine_.resume(processes_[cursor_]);
+		if (++cursor_ == processes_.length)
+			cursor_ = 0;
+		return engine_.getResumeCount();
+	}
+
+}
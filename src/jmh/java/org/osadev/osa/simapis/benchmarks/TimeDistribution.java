@@ -0,0 +1,90 @@
+/** ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++--> 
+<!--                Open Simulation Architecture (OSA)                  -->
+<!--                                                                    -->
+<!--      This software is distributed under the terms of the           -->
+<!--           CECILL-C FREE SOFTWARE LICENSE AGREEMENT                 -->
+<!--  (see http://www.cecill.info/licences/Licence_CeCILL-C_V1-en.html) -->
+<!--                                                                    -->
+<!--  Copyright © 2006-2015 Université Nice Sophia Antipolis            -->
+<!--  Contact author: Olivier Dalle (olivier.dalle@unice.fr)            -->
+<!--                                                                    -->
+<!--  Parts of this software development were supported and hosted by   -->
+<!--  INRIA from 2006 to 2015, in the context of the common research    -->
+<!--  teams of INRIA and I3S, UMR CNRS 7172 (MASCOTTE, COATI, OASIS and -->
+<!--  SCALE).                                                           -->
+<!--++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++**/ 
+package org.osadev.osa.simapis.benchmarks;
+
+import java.util.Random;
+
+/**
+ * Distributions of the time increments used by the benchmark workloads.
+ * 
+ * <p>Increments are expressed in internal time units (pico-seconds) and are
+ * drawn from a generator with a fixed seed, such that workloads are 
+ * reproducible.
+ * 
+ */
+public enum TimeDistribution {
+
+	/** Exponential, mean 1 micro-second. */
+	EXPONENTIAL {
+		@Override
+		long next(Random r) {
+			return (long) (-Math.log(1.0 - r.nextDouble()) * MICRO);
+		}
+	},
+
+	/** Uniform in [0, 2] micro-seconds. */
+	UNIFORM {
+		@Override
+		long next(Random r) {
+			return (long) (r.nextDouble() * 2 * MICRO);
+		}
+	},
+
+	/** 90% uniform in [0, 1] micro-second, 10% uniform around one hour. */
+	BIMODAL {
+		@Override
+		long next(Random r) {
+			if (r.nextInt(10) == 0)
+				return HOUR + (long) (r.nextDouble() * MICRO);
+			return (long) (r.nextDouble() * MICRO);
+		}
+	},
+
+	/** All increments null: every event at the same time. */
+	CONSTANT {
+		@Override
+		long next(Random r) {
+			return 0L;
+		}
+	};
+
+	static final long MICRO = 1000L * 1000L;
+
+	static final long HOUR = 3600L * 1000L * 1000L * 1000L * 1000L;
+
+	/** Default seed of the generators. */
+	public static final long SEED = 0x05A05A05AL;
+
+	abstract long next(Random r);
+
+	/**
+	 * Draws a table of increments.
+	 * 
+	 * @param size
+	 * 		The table size.
+	 * @param seed
+	 * 		The generator seed.
+	 * @return the increments.
+	 */
+	public long[] sample(final int size, final long seed) {
+		final Random r = new Random(seed);
+		final long[] values = new long[size];
+		for (int i = 0; i < size; i++)
+			values[i] = next(r);
+		return values;
+	}
+
+}
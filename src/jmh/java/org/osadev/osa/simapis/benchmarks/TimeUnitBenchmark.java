@@ -0,0 +1,123 @@
+/** ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++--> 
+<!--                Open Simulation Architecture (OSA)                  -->
+<!--                                                                    -->
+<!--      This software is distributed under the terms of the           -->
+<!--           CECILL-C FREE SOFTWARE LICENSE AGREEMENT                 -->
+<!--  (see http://www.cecill.info/licences/Licence_CeCILL-C_V1-en.html) -->
+<!--                                                                    -->
+<!--  Copyright © 2006-2015 Université Nice Sophia Antipolis            -->
+<!--  Contact author: Olivier Dalle (olivier.dalle@unice.fr)            -->
+<!--                                                                    -->
+<!--  Parts of this software development were supported and hosted by   -->
+<!--  INRIA from 2006 to 2015, in the context of the common research    -->
+<!--  teams of INRIA and I3S, UMR CNRS 7172 (MASCOTTE, COATI, OASIS and -->
+<!--  SCALE).                                                           -->
+<!--++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++**/ 
+package org.osadev.osa.simapis.benchmarks;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Conversions, parsing and formatting of the simulation time units 
+ * ({@link org.osadev.osa.simapis.modeling.TimeUnit}).
+ * 
+ * <p>The amounts are drawn with a fixed seed and kept below one hour, such
+ * that their conversion to the internal unit does not overflow. The 
+ * <tt>Bytes</tt> and <tt>To</tt> variants parse from a buffer of US-ASCII
+ * text and format into a reused buffer, without allocating.
+ * 
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TimeUnitBenchmark {
+
+	private static final int VALUES = 1 << 12;
+
+	@Param({ "NANO_SECONDS", "MILLI_SECONDS", "HOURS" })
+	public org.osadev.osa.simapis.modeling.TimeUnit unit;
+
+	private long[] amounts_;
+
+	private String[] texts_;
+
+	/** The texts, one after the other, starting at <tt>offsets_</tt>. */
+	private ByteBuffer bytes_;
+
+	private int[] offsets_;
+
+	private final StringBuilder out_ = new StringBuilder(32);
+
+	private int cursor_;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		final long max = org.osadev.osa.simapis.modeling.TimeUnit.HOURS.toUnit(1L, unit);
+		final long[] samples = TimeDistribution.UNIFORM.sample(VALUES, TimeDistribution.SEED);
+		amounts_ = new long[VALUES];
+		texts_ = new String[VALUES];
+		for (int i = 0; i < VALUES; i++) {
+			amounts_[i] = samples[i] % Math.max(1L, max);
+			texts_[i] = unit.format(amounts_[i], true);
+		}
+		final StringBuilder all = new StringBuilder();
+		offsets_ = new int[VALUES + 1];
+		for (int i = 0; i < VALUES; i++) {
+			offsets_[i] = all.length();
+			all.append(texts_[i]);
+		}
+		offsets_[VALUES] = all.length();
+		bytes_ = ByteBuffer.wrap(all.toString().getBytes(StandardCharsets.US_ASCII));
+	}
+
+	@Benchmark
+	public long toIntern() {
+		return unit.toIntern(amounts_[cursor_++ & (VALUES - 1)]);
+	}
+
+	@Benchmark
+	public long fromIntern() {
+		return unit.fromIntern(amounts_[cursor_++ & (VALUES - 1)]);
+	}
+
+	@Benchmark
+	public long parseTime() {
+		return org.osadev.osa.simapis.modeling.TimeUnit.parseTime(texts_[cursor_++ & (VALUES - 1)]);
+	}
+
+	@Benchmark
+	public long parseTimeBytes() {
+		final int i = cursor_++ & (VALUES - 1);
+		return org.osadev.osa.simapis.modeling.TimeUnit.parseTime(bytes_, offsets_[i], offsets_[i + 1]);
+	}
+
+	@Benchmark
+	public String format() {
+		return unit.format(amounts_[cursor_++ & (VALUES - 1)], true);
+	}
+
+	@Benchmark
+	public int formatTo() {
+		out_.setLength(0);
+		return unit.format(amounts_[cursor_++ & (VALUES - 1)], true, out_).length();
+	}
+
+}
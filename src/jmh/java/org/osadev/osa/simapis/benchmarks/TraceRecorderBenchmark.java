@@ -0,0 +1,102 @@
+/** ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++--> 
+<!--                Open Simulation Architecture (OSA)                  -->
+<!--                                                                    -->
+<!--      This software is distributed under the terms of the           -->
+<!--           CECILL-C FREE SOFTWARE LICENSE AGREEMENT                 -->
+<!--  (see http://www.cecill.info/licences/Licence_CeCILL-C_V1-en.html) -->
+<!--                                                                    -->
+<!--  Copyright © 2006-2015 Université Nice Sophia Antipolis            -->
+<!--  Contact author: Olivier Dalle (olivier.dalle@unice.fr)            -->
+<!--                                                                    -->
+<!--  Parts of this software development were supported and hosted by   -->
+<!--  INRIA from 2006 to 2015, in the context of the common research    -->
+<!--  teams of INRIA and I3S, UMR CNRS 7172 (MASCOTTE, COATI, OASIS and -->
+<!--  SCALE).                                                           -->
+<!--++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++**/ 
+package org.osadev.osa.simapis.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.osadev.osa.simapis.simulation.AbstractEvent;
+import org.osadev.osa.simapis.simulation.trace.TraceRecorder;
+
+/**
+ * Cost of recording a dispatched event in a binary trace, compared to 
+ * formatting it with {@link AbstractEvent#toString()}.
+ * 
+ * <p>The events cycle over <tt>methods</tt> method names and as many 
+ * instances. The trace keeps its last two segments of 16 MiB in a temporary
+ * directory, so that its disk usage stays bounded.
+ * 
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TraceRecorderBenchmark {
+
+	private static final int EVENTS = 1 << 10;
+
+	@Param({ "1", "16" })
+	public int methods;
+
+	private Path dir_;
+
+	private TraceRecorder<Long> recorder_;
+
+	private LongEvent[] events_;
+
+	private int cursor_;
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		dir_ = Files.createTempDirectory("osa-trace");
+		recorder_ = new TraceRecorder<Long>(dir_.resolve("bench"), 16 << 20, 2);
+		final Object[] instances = new Object[methods];
+		for (int i = 0; i < methods; i++)
+			instances[i] = new Object();
+		events_ = new LongEvent[EVENTS];
+		for (int i = 0; i < EVENTS; i++)
+			events_[i] = new LongEvent(i, "method" + (i % methods), new Object[0], i, 
+					instances[(i / 3) % methods]);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		recorder_.close();
+		final String[] files = dir_.toFile().list();
+		if (files != null)
+			for (String f : files)
+				Files.delete(dir_.resolve(f));
+		Files.delete(dir_);
+	}
+
+	@Benchmark
+	public void record() {
+		recorder_.dispatching(events_[cursor_++ & (EVENTS - 1)]);
+	}
+
+	@Benchmark
+	public String format() {
+		return events_[cursor_++ & (EVENTS - 1)].toString();
+	}
+
+}
@@ -0,0 +1,111 @@
+/** ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++--> 
+<!--                Open Simulation Architecture (OSA)                  -->
+<!--                                                                    -->
+<!--      This software is distributed under the terms of the           -->
+<!--           CECILL-C FREE SOFTWARE LICENSE AGREEMENT                 -->
+<!--  (see http://www.cecill.info/licences/Licence_CeCILL-C_V1-en.html) -->
+<!--                                                                    -->
+<!--  Copyright © 2006-2015 Université Nice Sophia Antipolis            -->
+<!--  Contact author: Olivier Dalle (olivier.dalle@unice.fr)            -->
+<!--                                                                    -->
+<!--  Parts of this software development were supported and hosted by   -->
+<!--  INRIA from 2006 to 2015, in the context of the common research    -->
+<!--  teams of INRIA and I3S, UMR CNRS 7172 (MASCOTTE, COATI, OASIS and -->
+<!--  SCALE).                                                           -->
+<!--++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++**/ 
+package org.osadev.osa.simapis.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.osadev.osa.simapis.simulation.WaitRequest;
+import org.osadev.osa.simapis.simulation.process.Handoff;
+
+/**
+ * Wake-up of a waiting process through its {@link WaitRequest}, as done by
+ * the simulation controllers when a wait ends.
+ * 
+ * <p><tt>wakeUp</tt> sets the result of the request of a process thread, 
+ * releases it and waits for the process to release the scheduler request 
+ * back, that is a round trip of two control transfers. 
+ * <tt>uncontended</tt> releases and acquires a request in the same thread, 
+ * which measures the cost of a permit already available. A negative 
+ * <tt>spins</tt> value selects the default spin budget.
+ * 
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WaitRequestBenchmark {
+
+	private static final String RESULT = "released";
+
+	@Param({ "-1", "0" })
+	public int spins;
+
+	private WaitRequest<Long> process_;
+
+	private WaitRequest<Long> scheduler_;
+
+	private WaitRequest<Long> local_;
+
+	private Thread thread_;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		final int maxSpins = spins < 0 ? Handoff.getDefaultMaxSpins() : spins;
+		process_ = new WaitRequest<Long>(maxSpins);
+		scheduler_ = new WaitRequest<Long>(maxSpins);
+		local_ = new WaitRequest<Long>(maxSpins);
+		thread_ = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					while (true) {
+						process_.acquire();
+						scheduler_.release();
+					}
+				} catch (final InterruptedException e) {
+					// Stopped.
+				}
+			}
+		}, "process");
+		thread_.setDaemon(true);
+		thread_.start();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws InterruptedException {
+		thread_.interrupt();
+		thread_.join();
+	}
+
+	@Benchmark
+	public void wakeUp() throws InterruptedException {
+		process_.setResult(RESULT);
+		process_.release();
+		scheduler_.acquire();
+	}
+
+	@Benchmark
+	public void uncontended() throws InterruptedException {
+		local_.release();
+		local_.acquire();
+	}
+
+}
@@ -0,0 +1,64 @@
+/** ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++--> 
+<!--                Open Simulation Architecture (OSA)                  -->
+<!--                                                                    -->
+<!--      This software is distributed under the terms of the           -->
+<!--           CECILL-C FREE SOFTWARE LICENSE AGREEMENT                 -->
+<!--  (see http://www.cecill.info/licences/Licence_CeCILL-C_V1-en.html) -->
+<!--                                                                    -->
+<!--  Copyright © 2006-2015 Université Nice Sophia Antipolis            -->
+<!--  Contact author: Olivier Dalle (olivier.dalle@unice.fr)            -->
+<!--                                                                    -->
+<!--  Parts of this software development were supported and hosted by   -->
+<!--  INRIA from 2006 to 2015, in the context of the common research    -->
+<!--  teams of INRIA and I3S, UMR CNRS 7172 (MASCOTTE, COATI, OASIS and -->
+<!--  SCALE).                                                           -->
+<!--++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++**/ 
+package org.osadev.osa.simapis.benchmarks.macro;
+
+/**
+ * Pseudo-random draws of the macro-benchmark models.
+ * 
+ * <p>The generator state is a <code>long</code> held by the model, such that
+ * it is saved and rolled back with the other fields of the model by the 
+ * optimistic engine, and the draws are reproducible whatever the number of 
+ * threads.
+ * 
+ */
+final class Draws {
+
+	private Draws() {
+	}
+
+	/**
+	 * Gives the initial state of the generator of a model.
+	 */
+	static long seed(final long seed, final int index) {
+		final long s = (seed + index) * 0x9E3779B97F4A7C15L;
+		return (s == 0L) ? 1L : s;
+	}
+
+	/**
+	 * Advances a generator (xorshift).
+	 */
+	static long next(long s) {
+		s ^= s << 13;
+		s ^= s >>> 7;
+		s ^= s << 17;
+		return s;
+	}
+
+	/**
+	 * Gives a uniform value in [0, 1) from a generator state.
+	 */
+	static double uniform(final long s) {
+		return (s >>> 11) * 0x1.0p-53;
+	}
+
+	/**
+	 * Gives an exponential value from a generator state.
+	 */
+	static long exponential(final long s, final long mean) {
+		return (long) (-Math.log(1.0 - uniform(s)) * mean);
+	}
+
+}
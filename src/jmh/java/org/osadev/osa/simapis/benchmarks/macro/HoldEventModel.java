@@ -0,0 +1,75 @@
+/** ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++--> 
+<!--                Open Simulation Architecture (OSA)                  -->
+<!--                                                                    -->
+<!--      This software is distributed under the terms of the           -->
+<!--           CECILL-C FREE SOFTWARE LICENSE AGREEMENT                 -->
+<!--  (see http://www.cecill.info/licences/Licence_CeCILL-C_V1-en.html) -->
+<!--                                                                    -->
+<!--  Copyright © 2006-2015 Université Nice Sophia Antipolis            -->
+<!--  Contact author: Olivier Dalle (olivier.dalle@unice.fr)            -->
+<!--                                                                    -->
+<!--  Parts of this software development were supported and hosted by   -->
+<!--  INRIA from 2006 to 2015, in the context of the common research    -->
+<!--  teams of INRIA and I3S, UMR CNRS 7172 (MASCOTTE, COATI, OASIS and -->
+<!--  SCALE).                                                           -->
+<!--++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++**/ 
+package org.osadev.osa.simapis.benchmarks.macro;
+
+import org.osadev.osa.simapis.simulation.SimulationLoggerItf;
+import org.osadev.osa.simapis.wrappers.llong.EventModel;
+import org.osadev.osa.simapis.wrappers.llong.ModelingTime;
+
+/**
+ * The classic hold model, with events: each of the <tt>population</tt> 
+ * events of the entity schedules the next one after an exponential delay.
+ * 
+ * @see HoldProcessModel
+ */
+public class HoldEventModel extends EventModel {
+
+	private static final Object[] NO_PARAMS = new Object[0];
+
+	private final long mean_;
+
+	private long seed_;
+
+	private long holds_ = 0;
+
+	/**
+	 * @param logger
+	 * 		The logger of the model.
+	 * @param index
+	 * 		Index of the entity.
+	 * @param options
+	 * 		The benchmark parameters.
+	 */
+	public HoldEventModel(final SimulationLoggerItf<Long> logger, final int index,
+			final MacroOptions options) {
+		super(logger);
+		mean_ = options.mean;
+		seed_ = Draws.seed(options.seed, index);
+	}
+
+	/**
+	 * Schedules the initial events of the entity.
+	 */
+	public void start(final int population) {
+		for (int i = 0; i < population; i++) {
+			seed_ = Draws.next(seed_);
+			scheduleEventMyselfNoE("hold", NO_PARAMS,
+					ModelingTime.valueOf(Draws.exponential(seed_, mean_)));
+		}
+	}
+
+	public void hold() {
+		holds_++;
+		seed_ = Draws.next(seed_);
+		scheduleEventMyselfNoE("hold", NO_PARAMS, ModelingTime.valueOf(
+				ModelingTime.longValue(getSimulationTime()) + Draws.exponential(seed_, mean_)));
+	}
+
+	public long getHoldCount() {
+		return holds_;
+	}
+
+}
@@ -0,0 +1,77 @@
+/** ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++--> 
+<!--                Open Simulation Architecture (OSA)                  -->
+<!--                                                                    -->
+<!--      This software is distributed under the terms of the           -->
+<!--           CECILL-C FREE SOFTWARE LICENSE AGREEMENT                 -->
+<!--  (see http://www.cecill.info/licences/Licence_CeCILL-C_V1-en.html) -->
+<!--                                                                    -->
+<!--  Copyright © 2006-2015 Université Nice Sophia Antipolis            -->
+<!--  Contact author: Olivier Dalle (olivier.dalle@unice.fr)            -->
+<!--                                                                    -->
+<!--  Parts of this software development were supported and hosted by   -->
+<!--  INRIA from 2006 to 2015, in the context of the common research    -->
+<!--  teams of INRIA and I3S, UMR CNRS 7172 (MASCOTTE, COATI, OASIS and -->
+<!--  SCALE).                                                           -->
+<!--++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++**/ 
+package org.osadev.osa.simapis.benchmarks.macro;
+
+import org.osadev.osa.simapis.simulation.SimulationLoggerItf;
+import org.osadev.osa.simapis.wrappers.llong.ModelingTime;
+import org.osadev.osa.simapis.wrappers.llong.ProcessModel;
+
+/**
+ * The classic hold model, with processes: each of the <tt>population</tt> 
+ * processes of the entity loops on waiting for an exponential delay. The 
+ * difference with {@link HoldEventModel} is the cost of the process
+ * switches.
+ * 
+ */
+public class HoldProcessModel extends ProcessModel {
+
+	private static final Object[] NO_PARAMS = new Object[0];
+
+	private final long mean_;
+
+	private long seed_;
+
+	private long holds_ = 0;
+
+	/**
+	 * @param logger
+	 * 		The logger of the model.
+	 * @param index
+	 * 		Index of the entity.
+	 * @param options
+	 * 		The benchmark parameters.
+	 */
+	public HoldProcessModel(final SimulationLoggerItf<Long> logger,
+			final int index, final MacroOptions options) {
+		super(logger);
+		mean_ = options.mean;
+		seed_ = Draws.seed(options.seed, index);
+	}
+
+	/**
+	 * Schedules the start of the processes of the entity.
+	 */
+	public void start(final int population) {
+		for (int i = 0; i < population; i++)
+			scheduleProcessMyselfNoE("run", NO_PARAMS, ModelingTime.valueOf(0L));
+	}
+
+	/**
+	 * Body of the processes, never returns.
+	 */
+	public void run() {
+		while (true) {
+			seed_ = Draws.next(seed_);
+			waitForDelay(Draws.exponential(seed_, mean_));
+			holds_++;
+		}
+	}
+
+	public long getHoldCount() {
+		return holds_;
+	}
+
+}
@@ -0,0 +1,113 @@
+/** ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++--> 
+<!--                Open Simulation Architecture (OSA)                  -->
+<!--                                                                    -->
+<!--      This software is distributed under the terms of the           -->
+<!--           CECILL-C FREE SOFTWARE LICENSE AGREEMENT                 -->
+<!--  (see http://www.cecill.info/licences/Licence_CeCILL-C_V1-en.html) -->
+<!--                                                                    -->
+<!--  Copyright © 2006-2015 Université Nice Sophia Antipolis            -->
+<!--  Contact author: Olivier Dalle (olivier.dalle@unice.fr)            -->
+<!--                                                                    -->
+<!--  Parts of this software development were supported and hosted by   -->
+<!--  INRIA from 2006 to 2015, in the context of the common research    -->
+<!--  teams of INRIA and I3S, UMR CNRS 7172 (MASCOTTE, COATI, OASIS and -->
+<!--  SCALE).                                                           -->
+<!--++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++**/ 
+package org.osadev.osa.simapis.benchmarks.macro;
+
+import org.osadev.osa.simapis.exceptions.SimSchedulingException;
+import org.osadev.osa.simapis.simulation.logging.AsyncLogSink;
+import org.osadev.osa.simapis.simulation.logging.AsyncSimulationLogger;
+import org.osadev.osa.simapis.simulation.logging.OverflowPolicy;
+import org.slf4j.helpers.NOPLogger;
+
+/**
+ * Runs a macro-benchmark for several thread counts and reports, for each 
+ * run:
+ * <ul>
+ * <li> the number of committed events and the committed events per second 
+ * of wall-clock time;
+ * <li> the speedup relative to the first thread count;
+ * <li> the number of pending events after start-up and the heap memory they
+ * use, per event (including the processes of the process workload);
+ * <li> statistics of the super-scheduler, eg. null messages or rollbacks.
+ * </ul>
+ * 
+ * <p>Usage: <tt>MacroBenchmark [--workload PHOLD|HOLD_EVENT|HOLD_PROCESS]
+ * [--scheduler CONSERVATIVE|OPTIMISTIC] [--threads 1,2,4] [--entities n] 
+ * [--population n] [--remote p] [--lookahead t] [--mean t] [--timeout t] 
+ * [--end t] [--seed s]</tt>, see {@link MacroOptions} for the defaults. 
+ * Each run is a fresh simulation in the same JVM; the first one includes 
+ * the warm-up of the JIT compiler, which may be excluded by repeating the 
+ * first thread count.
+ * 
+ */
+public final class MacroBenchmark {
+
+	private MacroBenchmark() {
+	}
+
+	public static void main(final String[] args) throws InterruptedException,
+			SimSchedulingException {
+		final MacroOptions options;
+		try {
+			options = MacroOptions.parse(args);
+		} catch (IllegalArgumentException e) {
+			System.err.println(e.getMessage());
+			System.err.println("Usage: MacroBenchmark [--workload PHOLD|HOLD_EVENT|HOLD_PROCESS]"
+					+ " [--scheduler CONSERVATIVE|OPTIMISTIC] [--threads 1,2,4] [--entities n]"
+					+ " [--population n] [--remote p] [--lookahead t] [--mean t]"
+					+ " [--timeout t] [--end t] [--seed s]");
+			System.exit(2);
+			return;
+		}
+		System.out.println("# " + options);
+		System.out.println("threads\tevents\tseconds\tevents/s\tspeedup\tpending\tbytes/pending\tstatistics");
+		double reference = 0;
+		for (int threads : options.threads) {
+			final AsyncLogSink sink = new AsyncLogSink(AsyncLogSink.DEFAULT_CAPACITY,
+					OverflowPolicy.DROP);
+			final MacroSimulation simulation = options.scheduler.create(options, threads);
+			final Object[] models = new Object[options.entities];
+			for (int i = 0; i < models.length; i++) {
+				models[i] = options.workload.create(
+						new AsyncSimulationLogger<Long>(sink, NOPLogger.NOP_LOGGER), i, options);
+				simulation.add(models[i]);
+			}
+			for (int i = 0; i < models.length; i++)
+				options.workload.connect(models[i], simulation, i);
+			final long before = usedMemory();
+			for (int i = 0; i < models.length; i++)
+				options.workload.start(models[i], options);
+			final long pending = simulation.getPendingCount();
+			final long after = usedMemory();
+			final long start = System.nanoTime();
+			try {
+				simulation.run();
+			} finally {
+				simulation.shutdown();
+				sink.close();
+			}
+			final double seconds = (System.nanoTime() - start) / 1e9;
+			final long events = simulation.getCommittedCount();
+			final double rate = events / seconds;
+			if (reference == 0)
+				reference = rate;
+			System.out.printf("%d\t%d\t%.3f\t%.0f\t%.2f\t%d\t%.0f\t%s%n", threads, events,
+					seconds, rate, rate / reference, pending,
+					(pending == 0) ? 0.0 : (double) (after - before) / pending,
+					simulation.getStatistics());
+		}
+	}
+
+	/** Heap memory in use, after collecting the garbage. */
+	private static long usedMemory() throws InterruptedException {
+		final Runtime runtime = Runtime.getRuntime();
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+			Thread.sleep(20);
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+}
@@ -0,0 +1,336 @@
+/** ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++--> 
+<!--                Open Simulation Architecture (OSA)                  -->
+<!--                                                                    -->
+<!--      This software is distributed under the terms of the           -->
+<!--           CECILL-C FREE SOFTWARE LICENSE AGREEMENT                 -->
+<!--  (see http://www.cecill.info/licences/Licence_CeCILL-C_V1-en.html) -->
+<!--                                                                    -->
+<!--  Copyright © 2006-2015 Université Nice Sophia Antipolis            -->
+<!--  Contact author: Olivier Dalle (olivier.dalle@unice.fr)            -->
+<!--                                                                    -->
+<!--  Parts of this software development were supported and hosted by   -->
+<!--  INRIA from 2006 to 2015, in the context of the common research    -->
+<!--  teams of INRIA and I3S, UMR CNRS 7172 (MASCOTTE, COATI, OASIS and -->
+<!--  SCALE).                                                           -->
+<!--++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++**/ 
+package org.osadev.osa.simapis.benchmarks.macro;
+
+import java.lang.reflect.InvocationTargetException;
+
+import org.osadev.osa.simapis.exceptions.IllegalEventMethodException;
+import org.osadev.osa.simapis.exceptions.IllegalModelingTimeException;
+import org.osadev.osa.simapis.exceptions.UnknownEventMethodException;
+import org.osadev.osa.simapis.modeling.ConditionHandle;
+import org.osadev.osa.simapis.modeling.ModelingTimeAPI;
+import org.osadev.osa.simapis.modeling.ProcessModelingAPI;
+import org.osadev.osa.simapis.simulation.AbstractEvent;
+import org.osadev.osa.simapis.simulation.AbstractEventSimulationController;
+import org.osadev.osa.simapis.simulation.ConditionRegistry;
+import org.osadev.osa.simapis.simulation.EventIdSequence;
+import org.osadev.osa.simapis.simulation.EventSuperSchedulerItf;
+import org.osadev.osa.simapis.simulation.ProcessSimulationControllerAPI;
+import org.osadev.osa.simapis.simulation.WaitRequest;
+import org.osadev.osa.simapis.simulation.dispatch.EventDispatcher;
+import org.osadev.osa.simapis.simulation.pending.PendingEventSetType;
+import org.osadev.osa.simapis.simulation.process.LightweightProcess;
+import org.osadev.osa.simapis.simulation.process.ProcessEngine;
+import org.osadev.osa.simapis.wrappers.llong.ModelingTime;
+
+/**
+ * Simulation controller of the macro-benchmark models, for the conservative 
+ * super-schedulers.
+ * 
+ * <p>Processes are run by a {@link ProcessEngine}: starting a process and 
+ * waking it up at the end of a delay are events of the controller, whose 
+ * dispatch runs the process until it waits again.
+ * 
+ * <p>The processes wait on conditions through a {@link ConditionRegistry} 
+ * shared by the controllers of a logical process: a condition only 
+ * releases the processes of the same logical process, the other ones being 
+ * reached through links. A release wakes up the processes already waiting, 
+ * which are resumed at the current time after the events already pending; 
+ * the end of the delay of a wait is an event of the controller, cancelled 
+ * when the process is released first.
+ * 
+ */
+final class MacroController extends AbstractEventSimulationController<Long>
+		implements ProcessModelingAPI<Long>, ProcessSimulationControllerAPI<Long> {
+
+	private static final Object[] NO_PARAMS = new Object[0];
+
+	/** Event starting a process. */
+	private final class StartEvent extends MacroEvent {
+
+		StartEvent(final long eventId, final String method, final Object[] params,
+				final ModelingTimeAPI<Long> time) {
+			super(eventId, method, params, time, model_);
+		}
+
+		@Override
+		public void invoke() {
+			getEngine().start(new Runnable() {
+				public void run() {
+					try {
+						EventDispatcher.getDefault().invoke(model_, getEvtMethod(), getEvtParam());
+					} catch (InvocationTargetException e) {
+						throw new RuntimeException("Process " + getEvtMethod() + " failed",
+								e.getCause());
+					} catch (ReflectiveOperationException e) {
+						throw new RuntimeException("Cannot start process " + getEvtMethod(), e);
+					}
+				}
+			});
+		}
+	}
+
+	/** Event waking up a process at the end of a delay. */
+	private static final class ResumeEvent extends MacroEvent {
+
+		private final LightweightProcess process_;
+
+		ResumeEvent(final long eventId, final ModelingTimeAPI<Long> time,
+				final LightweightProcess process) {
+			super(eventId, "resume", NO_PARAMS, time, process);
+			process_ = process;
+		}
+
+		@Override
+		public void invoke() {
+			process_.getEngine().resume(process_);
+		}
+	}
+
+	/** Event waking up a process waiting on a condition when its delay expires. */
+	private final class TimeoutEvent extends MacroEvent {
+
+		private final WaitRequest<Long> request_;
+
+		private final LightweightProcess process_;
+
+		TimeoutEvent(final long eventId, final ModelingTimeAPI<Long> time,
+				final WaitRequest<Long> request, final LightweightProcess process) {
+			super(eventId, "timeout", NO_PARAMS, time, process);
+			request_ = request;
+			process_ = process;
+		}
+
+		@Override
+		public void invoke() {
+			conditions_.cancel(request_);
+			request_.setTimedOut();
+			process_.getEngine().resume(process_);
+		}
+	}
+
+	private final Object model_;
+
+	private final EventSuperSchedulerItf<Long> scheduler_;
+
+	private final ConditionRegistry<Long> conditions_;
+
+	private ProcessEngine engine_ = null;
+
+	MacroController(final Object model, final EventSuperSchedulerItf<Long> scheduler,
+			final EventIdSequence sequence, final ConditionRegistry<Long> conditions) {
+		super(PendingEventSetType.createDefault(), ModelingTime.getFactory(),
+				MacroEvent.FACTORY, sequence);
+		model_ = model;
+		scheduler_ = scheduler;
+		conditions_ = conditions;
+	}
+
+	@Override
+	protected EventSuperSchedulerItf<Long> getSuperScheduler() {
+		return scheduler_;
+	}
+
+	@Override
+	protected Object getModelInstance() {
+		return model_;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.osadev.osa.simapis.modeling.ProcessModelingAPI#scheduleProcessMyself(java.lang.String, java.lang.Object[], org.osadev.osa.simapis.modeling.ModelingTimeAPI)
+	 */
+	public long scheduleProcessMyself(final String methodName,
+			final Object[] parameters, final ModelingTimeAPI<Long> time)
+			throws UnknownEventMethodException, IllegalEventMethodException {
+		EventDispatcher.getDefault().checkMethod(model_.getClass(), methodName);
+		if (time.compareTo(getSimulationTime()) < 0)
+			throw new IllegalModelingTimeException(
+					"Cannot start a process in the past (t=%s)", time);
+		final long id = getEventIdSequence().next();
+		getPendingEvents().add(new StartEvent(id, methodName, parameters, time));
+		notifySuperScheduler();
+		return id;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.osadev.osa.simapis.modeling.ProcessModelingAPI#waitForDelay(org.osadev.osa.simapis.modeling.ModelingTimeAPI)
+	 */
+	public void waitForDelay(final ModelingTimeAPI<Long> delay) {
+		final LightweightProcess process = LightweightProcess.current();
+		if (process == null)
+			throw new IllegalStateException("Not called by a process");
+		getPendingEvents().add(new ResumeEvent(getEventIdSequence().next(),
+				getSimulationTime().getDelayed(delay.get()), process));
+		process.park();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.osadev.osa.simapis.modeling.ProcessModelingAPI#waitOnConditionForDelay(java.lang.String, org.osadev.osa.simapis.modeling.ModelingTimeAPI)
+	 */
+	public String waitOnConditionForDelay(final String condition,
+			final ModelingTimeAPI<Long> delay) {
+		final WaitRequest<Long> request = waitOnCondition(condition, null, delay);
+		return request.isTimedOut() ? WaitRequest.TIMEDOUT : request.getResult();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.osadev.osa.simapis.modeling.ProcessModelingAPI#waitOnConditionForDelay(org.osadev.osa.simapis.modeling.ConditionHandle, org.osadev.osa.simapis.modeling.ModelingTimeAPI)
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T waitOnConditionForDelay(final ConditionHandle<T> condition,
+			final ModelingTimeAPI<Long> delay) {
+		final WaitRequest<Long> request = waitOnCondition(null, condition, delay);
+		return request.isTimedOut() ? null : (T) request.getValue();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.osadev.osa.simapis.modeling.ProcessModelingAPI#releaseOneOnCondition(java.lang.String, java.lang.String)
+	 */
+	public boolean releaseOneOnCondition(final String condition, final String param) {
+		return conditions_.releaseOne(condition, param);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.osadev.osa.simapis.modeling.ProcessModelingAPI#releaseAllOnCondition(java.lang.String, java.lang.String)
+	 */
+	public int releaseAllOnCondition(final String condition, final String param) {
+		return conditions_.releaseAll(condition, param);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.osadev.osa.simapis.modeling.ProcessModelingAPI#releaseOneOnCondition(org.osadev.osa.simapis.modeling.ConditionHandle, java.lang.Object)
+	 */
+	public <T> boolean releaseOneOnCondition(final ConditionHandle<T> condition,
+			final T value) {
+		return conditions_.releaseOne(condition, value);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.osadev.osa.simapis.modeling.ProcessModelingAPI#releaseAllOnCondition(org.osadev.osa.simapis.modeling.ConditionHandle, java.lang.Object)
+	 */
+	public <T> int releaseAllOnCondition(final ConditionHandle<T> condition,
+			final T value) {
+		return conditions_.releaseAll(condition, value);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.osadev.osa.simapis.simulation.ProcessSimulationControllerAPI#wakeUpThread(org.osadev.osa.simapis.simulation.WaitRequest)
+	 */
+	public void wakeUpThread(final WaitRequest<Long> request) {
+		final TimeoutEvent timeout = (TimeoutEvent) request.getEvent();
+		getPendingEvents().remove(timeout.getId());
+		// The releaser may belong to another controller of the logical 
+		// process, whose time is ahead of ours.
+		getPendingEvents().add(new ResumeEvent(getEventIdSequence().next(),
+				scheduler_.getSimulationTime(), timeout.process_));
+		notifySuperScheduler();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.osadev.osa.simapis.simulation.ProcessSimulationControllerAPI#startProcess(java.lang.Object)
+	 */
+	public void startProcess(final Object event) {
+		final AbstractEvent<?> start = (AbstractEvent<?>) event;
+		try {
+			scheduleProcessMyself(start.getEvtMethod(), start.getEvtParam(),
+					scheduler_.getSimulationTime());
+		} catch (UnknownEventMethodException e) {
+			throw new IllegalArgumentException("Cannot start process " + event, e);
+		} catch (IllegalEventMethodException e) {
+			throw new IllegalArgumentException("Cannot start process " + event, e);
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.osadev.osa.simapis.simulation.ProcessSimulationControllerAPI#resumeReady()
+	 */
+	public boolean resumeReady() {
+		// Released processes are resumed by events of the controller.
+		return false;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.osadev.osa.simapis.simulation.ProcessSimulationControllerAPI#tryReleaseOneOnCondition(java.lang.String, java.lang.String)
+	 */
+	public boolean tryReleaseOneOnCondition(final String condition, final String param) {
+		return conditions_.releaseOne(condition, param);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.osadev.osa.simapis.simulation.ProcessSimulationControllerAPI#proceedReleaseAllOnCondition(java.lang.String, java.lang.String)
+	 */
+	public int proceedReleaseAllOnCondition(final String condition, final String param) {
+		return conditions_.releaseAll(condition, param);
+	}
+
+	int getPendingCount() {
+		return getPendingEvents().size();
+	}
+
+	/**
+	 * Kills the processes of the controller, which never terminate.
+	 */
+	void shutdown() {
+		if (engine_ != null)
+			engine_.shutdown();
+	}
+
+	/**
+	 * Parks the current process on a condition, given by name or handle, 
+	 * until it is released or the delay expires.
+	 */
+	private WaitRequest<Long> waitOnCondition(final String name,
+			final ConditionHandle<?> handle, final ModelingTimeAPI<Long> delay) {
+		final LightweightProcess process = LightweightProcess.current();
+		if (process == null)
+			throw new IllegalStateException("Not called by a process");
+		final WaitRequest<Long> request = new WaitRequest<Long>();
+		// Without a limit, the timeout event is only kept to find the process.
+		final boolean limited = !delay.isInfinite() && delay.get() >= 0;
+		final TimeoutEvent timeout = new TimeoutEvent(getEventIdSequence().next(),
+				limited ? getSimulationTime().getDelayed(delay.get()) : null,
+				request, process);
+		request.setEvent(timeout);
+		if (handle != null)
+			conditions_.register(handle, request, this);
+		else
+			conditions_.register(name, request, this);
+		if (limited)
+			getPendingEvents().add(timeout);
+		process.park();
+		return request;
+	}
+
+	private ProcessEngine getEngine() {
+		if (engine_ == null)
+			engine_ = new ProcessEngine();
+		return engine_;
+	}
+
+}
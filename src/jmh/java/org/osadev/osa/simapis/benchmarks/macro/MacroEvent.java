@@ -0,0 +1,53 @@
+/** ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++--> 
+<!--                Open Simulation Architecture (OSA)                  -->
+<!--                                                                    -->
+<!--      This software is distributed under the terms of the           -->
+<!--           CECILL-C FREE SOFTWARE LICENSE AGREEMENT                 -->
+<!--  (see http://www.cecill.info/licences/Licence_CeCILL-C_V1-en.html) -->
+<!--                                                                    -->
+<!--  Copyright © 2006-2015 Université Nice Sophia Antipolis            -->
+<!--  Contact author: Olivier Dalle (olivier.dalle@unice.fr)            -->
+<!--                                                                    -->
+<!--  Parts of this software development were supported and hosted by   -->
+<!--  INRIA from 2006 to 2015, in the context of the common research    -->
+<!--  teams of INRIA and I3S, UMR CNRS 7172 (MASCOTTE, COATI, OASIS and -->
+<!--  SCALE).                                                           -->
+<!--++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++**/ 
+package org.osadev.osa.simapis.benchmarks.macro;
+
+import org.osadev.osa.simapis.modeling.ModelingTimeAPI;
+import org.osadev.osa.simapis.simulation.AbstractEvent;
+import org.osadev.osa.simapis.simulation.EventFactoryItf;
+
+/**
+ * Event type of the macro-benchmark controllers.
+ * 
+ */
+class MacroEvent extends AbstractEvent<Long> {
+
+	/** Factory of the events scheduled by the models. */
+	static final EventFactoryItf<Long> FACTORY = new EventFactoryItf<Long>() {
+
+		public AbstractEvent<Long> create(final String method, final Object[] params,
+				final ModelingTimeAPI<Long> time, final Object instance) {
+			return new MacroEvent(method, params, time, instance);
+		}
+
+		public AbstractEvent<Long> create(final long eventId, final String method,
+				final Object[] params, final ModelingTimeAPI<Long> time,
+				final Object instance) {
+			return new MacroEvent(eventId, method, params, time, instance);
+		}
+	};
+
+	MacroEvent(final String method, final Object[] params,
+			final ModelingTimeAPI<Long> time, final Object instance) {
+		super(method, params, time, instance);
+	}
+
+	MacroEvent(final long eventId, final String method, final Object[] params,
+			final ModelingTimeAPI<Long> time, final Object instance) {
+		super(eventId, method, params, time, instance);
+	}
+
+}
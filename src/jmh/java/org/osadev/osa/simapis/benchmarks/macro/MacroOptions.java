@@ -0,0 +1,124 @@
+/** ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++--> 
+<!--                Open Simulation Architecture (OSA)                  -->
+<!--                                                                    -->
+<!--      This software is distributed under the terms of the           -->
+<!--           CECILL-C FREE SOFTWARE LICENSE AGREEMENT                 -->
+<!--  (see http://www.cecill.info/licences/Licence_CeCILL-C_V1-en.html) -->
+<!--                                                                    -->
+<!--  Copyright © 2006-2015 Université Nice Sophia Antipolis            -->
+<!--  Contact author: Olivier Dalle (olivier.dalle@unice.fr)            -->
+<!--                                                                    -->
+<!--  Parts of this software development were supported and hosted by   -->
+<!--  INRIA from 2006 to 2015, in the context of the common research    -->
+<!--  teams of INRIA and I3S, UMR CNRS 7172 (MASCOTTE, COATI, OASIS and -->
+<!--  SCALE).                                                           -->
+<!--++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++**/ 
+package org.osadev.osa.simapis.benchmarks.macro;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parameters of a macro-benchmark run, parsed from the command line.
+ * 
+ */
+public final class MacroOptions {
+
+	public Workload workload = Workload.PHOLD;
+
+	public SuperSchedulerType scheduler = SuperSchedulerType.CONSERVATIVE;
+
+	/** Thread counts to compare. */
+	public int[] threads = { 1 };
+
+	/** Number of entities (model components). */
+	public int entities = 64;
+
+	/** Number of initial events (or processes) per entity. */
+	public int population = 16;
+
+	/** Probability that a PHOLD event is sent to another entity. */
+	public double remote = 0.5;
+
+	/** Lookahead of the links between entities, in time units. */
+	public long lookahead = 100;
+
+	/** Mean of the exponential delays, in time units. */
+	public long mean = 1000;
+
+	/** Inactivity timeout of the PHOLD entities, 0 for none. */
+	public long timeout = 0;
+
+	/** Simulated time of a run. */
+	public long end = 1000000;
+
+	/** Seed of the random draws. */
+	public long seed = 1L;
+
+	/**
+	 * Parses the command line options.
+	 * 
+	 * @throws IllegalArgumentException
+	 * 		If an option is unknown or has an illegal value.
+	 */
+	public static MacroOptions parse(final String[] args) {
+		final MacroOptions options = new MacroOptions();
+		for (int i = 0; i < args.length; i++) {
+			final String option = args[i];
+			if (i + 1 == args.length)
+				throw new IllegalArgumentException("Missing value of " + option);
+			final String value = args[++i];
+			if (option.equals("--workload"))
+				options.workload = Workload.valueOf(value);
+			else if (option.equals("--scheduler"))
+				options.scheduler = SuperSchedulerType.valueOf(value);
+			else if (option.equals("--threads"))
+				options.threads = parseInts(value);
+			else if (option.equals("--entities"))
+				options.entities = Integer.parseInt(value);
+			else if (option.equals("--population"))
+				options.population = Integer.parseInt(value);
+			else if (option.equals("--remote"))
+				options.remote = Double.parseDouble(value);
+			else if (option.equals("--lookahead"))
+				options.lookahead = Long.parseLong(value);
+			else if (option.equals("--mean"))
+				options.mean = Long.parseLong(value);
+			else if (option.equals("--timeout"))
+				options.timeout = Long.parseLong(value);
+			else if (option.equals("--end"))
+				options.end = Long.parseLong(value);
+			else if (option.equals("--seed"))
+				options.seed = Long.parseLong(value);
+			else
+				throw new IllegalArgumentException("Unknown option " + option);
+		}
+		if (options.entities < 1 || options.population < 0 || options.lookahead < 1
+				|| options.mean < 1 || options.remote < 0 || options.remote > 1)
+			throw new IllegalArgumentException("Illegal parameters: " + options);
+		if (options.workload == Workload.HOLD_PROCESS
+				&& options.scheduler != SuperSchedulerType.CONSERVATIVE)
+			throw new IllegalArgumentException(options.workload 
+					+ " requires the CONSERVATIVE scheduler");
+		return options;
+	}
+
+	private static int[] parseInts(final String list) {
+		final List<Integer> values = new ArrayList<Integer>();
+		for (String item : list.split(","))
+			values.add(Integer.valueOf(item.trim()));
+		final int[] result = new int[values.size()];
+		for (int i = 0; i < result.length; i++)
+			result[i] = values.get(i).intValue();
+		return result;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s on %s: entities=%d population=%d remote=%.2f "
+				+ "lookahead=%d mean=%d timeout=%d end=%d seed=%d", workload,
+				scheduler, entities, population, remote, lookahead, mean, timeout,
+				end, seed);
+	}
+
+}
@@ -0,0 +1,78 @@
+/** ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++--> 
+<!--                Open Simulation Architecture (OSA)                  -->
+<!--                                                                    -->
+<!--      This software is distributed under the terms of the           -->
+<!--           CECILL-C FREE SOFTWARE LICENSE AGREEMENT                 -->
+<!--  (see http://www.cecill.info/licences/Licence_CeCILL-C_V1-en.html) -->
+<!--                                                                    -->
+<!--  Copyright © 2006-2015 Université Nice Sophia Antipolis            -->
+<!--  Contact author: Olivier Dalle (olivier.dalle@unice.fr)            -->
+<!--                                                                    -->
+<!--  Parts of this software development were supported and hosted by   -->
+<!--  INRIA from 2006 to 2015, in the context of the common research    -->
+<!--  teams of INRIA and I3S, UMR CNRS 7172 (MASCOTTE, COATI, OASIS and -->
+<!--  SCALE).                                                           -->
+<!--++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++**/ 
+package org.osadev.osa.simapis.benchmarks.macro;
+
+import org.osadev.osa.simapis.exceptions.SimSchedulingException;
+
+/**
+ * A simulation of a macro-benchmark, run by one of the super-scheduler
+ * implementations (see {@link SuperSchedulerType}).
+ * 
+ * <p>Entities are assigned to the logical processes in turn. The simulation
+ * is built in a single thread: models are added, connected, started, then 
+ * the simulation is run once.
+ * 
+ */
+abstract class MacroSimulation {
+
+	protected final MacroOptions options_;
+
+	protected final int threads_;
+
+	protected MacroSimulation(final MacroOptions options, final int threads) {
+		options_ = options;
+		threads_ = threads;
+	}
+
+	/**
+	 * Creates the controller of the next entity and binds its model.
+	 * 
+	 * @param model
+	 * 		The model of the entity.
+	 */
+	abstract void add(Object model);
+
+	/**
+	 * Gives the transport of an entity, to the entities added so far.
+	 */
+	abstract Transport getTransport(int entity);
+
+	/**
+	 * Runs the simulation until the end time of the options.
+	 */
+	abstract void run() throws InterruptedException, SimSchedulingException;
+
+	/** Number of events processed and not rolled back. */
+	abstract long getCommittedCount();
+
+	/** Number of events pending in the controllers. */
+	abstract long getPendingCount();
+
+	/** Statistics specific to the super-scheduler. */
+	abstract String getStatistics();
+
+	/**
+	 * Releases the resources of the simulation once run.
+	 */
+	void shutdown() {
+	}
+
+	/** Logical process of an entity. */
+	protected final int processOf(final int entity) {
+		return entity % threads_;
+	}
+
+}
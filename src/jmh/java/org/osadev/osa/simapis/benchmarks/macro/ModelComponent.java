@@ -0,0 +1,75 @@
+/** ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++--> 
+<!--                Open Simulation Architecture (OSA)                  -->
+<!--                                                                    -->
+<!--      This software is distributed under the terms of the           -->
+<!--           CECILL-C FREE SOFTWARE LICENSE AGREEMENT                 -->
+<!--  (see http://www.cecill.info/licences/Licence_CeCILL-C_V1-en.html) -->
+<!--                                                                    -->
+<!--  Copyright © 2006-2015 Université Nice Sophia Antipolis            -->
+<!--  Contact author: Olivier Dalle (olivier.dalle@unice.fr)            -->
+<!--                                                                    -->
+<!--  Parts of this software development were supported and hosted by   -->
+<!--  INRIA from 2006 to 2015, in the context of the common research    -->
+<!--  teams of INRIA and I3S, UMR CNRS 7172 (MASCOTTE, COATI, OASIS and -->
+<!--  SCALE).                                                           -->
+<!--++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++**/ 
+package org.osadev.osa.simapis.benchmarks.macro;
+
+import org.objectweb.fractal.api.Component;
+import org.objectweb.fractal.api.NoSuchInterfaceException;
+import org.objectweb.fractal.api.Type;
+import org.osadev.osa.simapis.modeling.AbstractEventModel;
+import org.osadev.osa.simapis.modeling.AbstractProcessModel;
+import org.osadev.osa.simapis.modeling.ProcessModelingAPI;
+import org.osadev.osa.simapis.simulation.EventSimulationControllerAPI;
+
+/**
+ * Minimal component membrane giving a model its simulation controller, in 
+ * place of the Fractal assembly.
+ * 
+ */
+final class ModelComponent implements Component {
+
+	private final EventSimulationControllerAPI<Long> controller_;
+
+	private ModelComponent(final EventSimulationControllerAPI<Long> controller) {
+		controller_ = controller;
+	}
+
+	/**
+	 * Binds a model to its controller.
+	 * 
+	 * @throws IllegalArgumentException
+	 * 		If the controller does not provide the API of the model.
+	 */
+	@SuppressWarnings("unchecked")
+	static void bind(final Object model,
+			final EventSimulationControllerAPI<Long> controller) {
+		final ModelComponent component = new ModelComponent(controller);
+		try {
+			if (model instanceof AbstractProcessModel)
+				((AbstractProcessModel<Long>) model).bindFc("component", component);
+			else
+				((AbstractEventModel<Long>) model).bindFc("component", component);
+		} catch (NoSuchInterfaceException e) {
+			throw new IllegalArgumentException(String.format(
+					"Cannot bind %s to %s", model.getClass().getSimpleName(), controller), e);
+		}
+	}
+
+	public Type getFcType() {
+		return null;
+	}
+
+	public Object[] getFcInterfaces() {
+		return new Object[] { controller_ };
+	}
+
+	public Object getFcInterface(final String name) throws NoSuchInterfaceException {
+		if (name.equals("modeling-event-controller")
+				|| (name.equals("modeling-process-controller") && controller_ instanceof ProcessModelingAPI))
+			return controller_;
+		throw new NoSuchInterfaceException(name);
+	}
+
+}
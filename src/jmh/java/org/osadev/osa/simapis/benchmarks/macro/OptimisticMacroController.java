@@ -0,0 +1,57 @@
+/** ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++--> 
+<!--                Open Simulation Architecture (OSA)                  -->
+<!--                                                                    -->
+<!--      This software is distributed under the terms of the           -->
+<!--           CECILL-C FREE SOFTWARE LICENSE AGREEMENT                 -->
+<!--  (see http://www.cecill.info/licences/Licence_CeCILL-C_V1-en.html) -->
+<!--                                                                    -->
+<!--  Copyright © 2006-2015 Université Nice Sophia Antipolis            -->
+<!--  Contact author: Olivier Dalle (olivier.dalle@unice.fr)            -->
+<!--                                                                    -->
+<!--  Parts of this software development were supported and hosted by   -->
+<!--  INRIA from 2006 to 2015, in the context of the common research    -->
+<!--  teams of INRIA and I3S, UMR CNRS 7172 (MASCOTTE, COATI, OASIS and -->
+<!--  SCALE).                                                           -->
+<!--++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++**/ 
+package org.osadev.osa.simapis.benchmarks.macro;
+
+import org.osadev.osa.simapis.simulation.EventIdSequence;
+import org.osadev.osa.simapis.simulation.EventSuperSchedulerItf;
+import org.osadev.osa.simapis.simulation.optimistic.TimeWarpController;
+import org.osadev.osa.simapis.simulation.pending.PendingEventSetType;
+import org.osadev.osa.simapis.wrappers.llong.ModelingTime;
+
+/**
+ * Simulation controller of the macro-benchmark models, for the optimistic 
+ * super-scheduler. Only event models can be rolled back.
+ * 
+ */
+final class OptimisticMacroController extends TimeWarpController<Long> {
+
+	private final Object model_;
+
+	private final EventSuperSchedulerItf<Long> scheduler_;
+
+	OptimisticMacroController(final Object model,
+			final EventSuperSchedulerItf<Long> scheduler, final EventIdSequence sequence) {
+		super(PendingEventSetType.createDefault(), ModelingTime.getFactory(),
+				MacroEvent.FACTORY, sequence);
+		model_ = model;
+		scheduler_ = scheduler;
+	}
+
+	@Override
+	protected EventSuperSchedulerItf<Long> getSuperScheduler() {
+		return scheduler_;
+	}
+
+	@Override
+	protected Object getModelInstance() {
+		return model_;
+	}
+
+	int getPendingCount() {
+		return getPendingEvents().size();
+	}
+
+}
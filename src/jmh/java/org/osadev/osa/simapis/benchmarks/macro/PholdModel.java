@@ -0,0 +1,135 @@
+/** ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++--> 
+<!--                Open Simulation Architecture (OSA)                  -->
+<!--                                                                    -->
+<!--      This software is distributed under the terms of the           -->
+<!--           CECILL-C FREE SOFTWARE LICENSE AGREEMENT                 -->
+<!--  (see http://www.cecill.info/licences/Licence_CeCILL-C_V1-en.html) -->
+<!--                                                                    -->
+<!--  Copyright © 2006-2015 Université Nice Sophia Antipolis            -->
+<!--  Contact author: Olivier Dalle (olivier.dalle@unice.fr)            -->
+<!--                                                                    -->
+<!--  Parts of this software development were supported and hosted by   -->
+<!--  INRIA from 2006 to 2015, in the context of the common research    -->
+<!--  teams of INRIA and I3S, UMR CNRS 7172 (MASCOTTE, COATI, OASIS and -->
+<!--  SCALE).                                                           -->
+<!--++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++**/ 
+package org.osadev.osa.simapis.benchmarks.macro;
+
+import org.osadev.osa.simapis.simulation.SimulationLoggerItf;
+import org.osadev.osa.simapis.wrappers.llong.EventModel;
+import org.osadev.osa.simapis.wrappers.llong.ModelingTime;
+
+/**
+ * An entity of the PHOLD benchmark (R.M. Fujimoto, "Performance of Time Warp 
+ * under synthetic workloads", 1990).
+ * 
+ * <p>Each entity starts with <tt>population</tt> events. Processing an event
+ * schedules another one after an exponential delay, either in the entity 
+ * itself or, with probability <tt>remote</tt>, in another entity drawn 
+ * uniformly, after the lookahead plus the delay; the event population is 
+ * thus constant. When <tt>timeout</tt> is positive, each event also re-arms 
+ * an inactivity timer of the entity: the pending timeout event is cancelled
+ * and a new one is scheduled, as done by protocol models.
+ * 
+ */
+public class PholdModel extends EventModel {
+
+	private static final Object[] NO_PARAMS = new Object[0];
+
+	private final int index_;
+
+	private final int entities_;
+
+	private final double remote_;
+
+	private final long lookahead_;
+
+	private final long mean_;
+
+	private final long timeout_;
+
+	private transient Transport transport_ = null;
+
+	private long seed_;
+
+	/** Id of the pending timeout event, -1 if none. */
+	private long timer_ = -1L;
+
+	private long arrivals_ = 0;
+
+	private long timeouts_ = 0;
+
+	/**
+	 * @param logger
+	 * 		The logger of the model.
+	 * @param index
+	 * 		Index of the entity.
+	 * @param options
+	 * 		The benchmark parameters.
+	 */
+	public PholdModel(final SimulationLoggerItf<Long> logger, final int index,
+			final MacroOptions options) {
+		super(logger);
+		index_ = index;
+		entities_ = options.entities;
+		remote_ = options.remote;
+		lookahead_ = options.lookahead;
+		mean_ = options.mean;
+		timeout_ = options.timeout;
+		seed_ = Draws.seed(options.seed, index);
+	}
+
+	public void setTransport(final Transport transport) {
+		transport_ = transport;
+	}
+
+	/**
+	 * Schedules the initial events of the entity.
+	 */
+	public void start(final int population) {
+		for (int i = 0; i < population; i++) {
+			seed_ = Draws.next(seed_);
+			scheduleEventMyselfNoE("arrive", NO_PARAMS,
+					ModelingTime.valueOf(Draws.exponential(seed_, mean_)));
+		}
+		if (timeout_ > 0)
+			timer_ = scheduleEventMyselfNoE("timeout", NO_PARAMS, ModelingTime.valueOf(timeout_));
+	}
+
+	public void arrive() {
+		arrivals_++;
+		final long now = ModelingTime.longValue(getSimulationTime());
+		seed_ = Draws.next(seed_);
+		final long delay = Draws.exponential(seed_, mean_);
+		seed_ = Draws.next(seed_);
+		if (entities_ > 1 && Draws.uniform(seed_) < remote_) {
+			seed_ = Draws.next(seed_);
+			int target = (int) ((seed_ >>> 1) % (entities_ - 1));
+			if (target >= index_)
+				target++;
+			transport_.send(target, "arrive", NO_PARAMS, now + lookahead_ + delay);
+		} else {
+			scheduleEventMyselfNoE("arrive", NO_PARAMS, ModelingTime.valueOf(now + delay));
+		}
+		if (timeout_ > 0) {
+			if (timer_ >= 0)
+				cancelEvent(timer_);
+			timer_ = scheduleEventMyselfNoE("timeout", NO_PARAMS,
+					ModelingTime.valueOf(now + timeout_));
+		}
+	}
+
+	public void timeout() {
+		timeouts_++;
+		timer_ = -1L;
+	}
+
+	public long getArrivalCount() {
+		return arrivals_;
+	}
+
+	public long getTimeoutCount() {
+		return timeouts_;
+	}
+
+}
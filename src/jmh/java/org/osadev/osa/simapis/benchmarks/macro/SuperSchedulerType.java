@@ -0,0 +1,216 @@
+/** ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++--> 
+<!--                Open Simulation Architecture (OSA)                  -->
+<!--                                                                    -->
+<!--      This software is distributed under the terms of the           -->
+<!--           CECILL-C FREE SOFTWARE LICENSE AGREEMENT                 -->
+<!--  (see http://www.cecill.info/licences/Licence_CeCILL-C_V1-en.html) -->
+<!--                                                                    -->
+<!--  Copyright © 2006-2015 Université Nice Sophia Antipolis            -->
+<!--  Contact author: Olivier Dalle (olivier.dalle@unice.fr)            -->
+<!--                                                                    -->
+<!--  Parts of this software development were supported and hosted by   -->
+<!--  INRIA from 2006 to 2015, in the context of the common research    -->
+<!--  teams of INRIA and I3S, UMR CNRS 7172 (MASCOTTE, COATI, OASIS and -->
+<!--  SCALE).                                                           -->
+<!--++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++**/ 
+package org.osadev.osa.simapis.benchmarks.macro;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.osadev.osa.simapis.exceptions.SimSchedulingException;
+import org.osadev.osa.simapis.simulation.ConditionRegistry;
+import org.osadev.osa.simapis.simulation.EventIdSequence;
+import org.osadev.osa.simapis.simulation.optimistic.OptimisticSuperScheduler;
+import org.osadev.osa.simapis.simulation.optimistic.TimeWarpLink;
+import org.osadev.osa.simapis.simulation.optimistic.TimeWarpProcess;
+import org.osadev.osa.simapis.simulation.parallel.Link;
+import org.osadev.osa.simapis.simulation.parallel.LogicalProcess;
+import org.osadev.osa.simapis.simulation.parallel.ParallelSuperScheduler;
+import org.osadev.osa.simapis.wrappers.llong.ModelingTime;
+
+/**
+ * The super-scheduler implementations that run the macro-benchmarks. With 
+ * one thread, both run the simulation sequentially.
+ * 
+ */
+public enum SuperSchedulerType {
+
+	/** {@link ParallelSuperScheduler}, with one logical process per thread. */
+	CONSERVATIVE {
+		@Override
+		MacroSimulation create(final MacroOptions options, final int threads) {
+			return new Conservative(options, threads);
+		}
+	},
+
+	/** {@link OptimisticSuperScheduler}, with one logical process per thread. */
+	OPTIMISTIC {
+		@Override
+		MacroSimulation create(final MacroOptions options, final int threads) {
+			return new Optimistic(options, threads);
+		}
+	};
+
+	abstract MacroSimulation create(MacroOptions options, int threads);
+
+	private static final class Conservative extends MacroSimulation {
+
+		private final ParallelSuperScheduler<Long> scheduler_;
+
+		private final EventIdSequence[] sequences_;
+
+		private final List<MacroController> controllers_ = new ArrayList<MacroController>();
+
+		/** Conditions of each logical process. */
+		private final List<ConditionRegistry<Long>> conditions_ = new ArrayList<ConditionRegistry<Long>>();
+
+		/** Links from each logical process to each entity, built on demand. */
+		private final List<List<Link<Long>>> links_ = new ArrayList<List<Link<Long>>>();
+
+		Conservative(final MacroOptions options, final int threads) {
+			super(options, threads);
+			scheduler_ = new ParallelSuperScheduler<Long>(threads, ModelingTime.getFactory());
+			sequences_ = new EventIdSequence[threads];
+			for (int i = 0; i < threads; i++) {
+				sequences_[i] = EventIdSequence.partition(i, threads);
+				conditions_.add(new ConditionRegistry<Long>());
+				links_.add(null);
+			}
+		}
+
+		void add(final Object model) {
+			final int lp = processOf(controllers_.size());
+			final MacroController controller = new MacroController(model,
+					scheduler_.getLogicalProcess(lp), sequences_[lp], conditions_.get(lp));
+			ModelComponent.bind(model, controller);
+			scheduler_.getLogicalProcess(lp).register(controller);
+			controllers_.add(controller);
+		}
+
+		Transport getTransport(final int entity) {
+			final int lp = processOf(entity);
+			if (links_.get(lp) == null) {
+				final LogicalProcess<Long> source = scheduler_.getLogicalProcess(lp);
+				final List<Link<Long>> links = new ArrayList<Link<Long>>(controllers_.size());
+				for (int i = 0; i < controllers_.size(); i++)
+					links.add(source.bind(scheduler_.getLogicalProcess(processOf(i)),
+							controllers_.get(i), options_.lookahead));
+				links_.set(lp, links);
+			}
+			final List<Link<Long>> links = links_.get(lp);
+			return new Transport() {
+				public void send(final int target, final String methodName,
+						final Object[] parameters, final long time) {
+					links.get(target).send(methodName, parameters, ModelingTime.valueOf(time));
+				}
+			};
+		}
+
+		void run() throws InterruptedException, SimSchedulingException {
+			scheduler_.run(ModelingTime.valueOf(options_.end));
+		}
+
+		long getCommittedCount() {
+			long count = 0;
+			for (LogicalProcess<Long> lp : scheduler_.getLogicalProcesses())
+				count += lp.getEventCount();
+			return count;
+		}
+
+		long getPendingCount() {
+			long count = 0;
+			for (MacroController controller : controllers_)
+				count += controller.getPendingCount();
+			return count;
+		}
+
+		String getStatistics() {
+			long nulls = 0;
+			long blocked = 0;
+			for (LogicalProcess<Long> lp : scheduler_.getLogicalProcesses()) {
+				nulls += lp.getNullMessageCount();
+				blocked += lp.getBlockedCount();
+			}
+			return String.format("null messages=%d blocked=%d", nulls, blocked);
+		}
+
+		@Override
+		void shutdown() {
+			for (MacroController controller : controllers_)
+				controller.shutdown();
+		}
+	}
+
+	private static final class Optimistic extends MacroSimulation {
+
+		private final OptimisticSuperScheduler<Long> scheduler_;
+
+		private final EventIdSequence[] sequences_;
+
+		private final List<OptimisticMacroController> controllers_ = new ArrayList<OptimisticMacroController>();
+
+		/** Links from each logical process to each entity, built on demand. */
+		private final List<List<TimeWarpLink<Long>>> links_ = new ArrayList<List<TimeWarpLink<Long>>>();
+
+		Optimistic(final MacroOptions options, final int threads) {
+			super(options, threads);
+			scheduler_ = new OptimisticSuperScheduler<Long>(threads, ModelingTime.getFactory());
+			sequences_ = new EventIdSequence[threads];
+			for (int i = 0; i < threads; i++) {
+				sequences_[i] = EventIdSequence.partition(i, threads);
+				links_.add(null);
+			}
+		}
+
+		void add(final Object model) {
+			final int lp = processOf(controllers_.size());
+			final OptimisticMacroController controller = new OptimisticMacroController(
+					model, scheduler_.getLogicalProcess(lp), sequences_[lp]);
+			ModelComponent.bind(model, controller);
+			scheduler_.getLogicalProcess(lp).register(controller);
+			controllers_.add(controller);
+		}
+
+		Transport getTransport(final int entity) {
+			final int lp = processOf(entity);
+			if (links_.get(lp) == null) {
+				final TimeWarpProcess<Long> source = scheduler_.getLogicalProcess(lp);
+				final List<TimeWarpLink<Long>> links = new ArrayList<TimeWarpLink<Long>>(controllers_.size());
+				for (int i = 0; i < controllers_.size(); i++)
+					links.add(source.bind(scheduler_.getLogicalProcess(processOf(i)),
+							controllers_.get(i), options_.lookahead));
+				links_.set(lp, links);
+			}
+			final List<TimeWarpLink<Long>> links = links_.get(lp);
+			return new Transport() {
+				public void send(final int target, final String methodName,
+						final Object[] parameters, final long time) {
+					links.get(target).send(methodName, parameters, ModelingTime.valueOf(time));
+				}
+			};
+		}
+
+		void run() throws InterruptedException, SimSchedulingException {
+			scheduler_.run(ModelingTime.valueOf(options_.end));
+		}
+
+		long getCommittedCount() {
+			return scheduler_.getCommittedCount();
+		}
+
+		long getPendingCount() {
+			long count = 0;
+			for (OptimisticMacroController controller : controllers_)
+				count += controller.getPendingCount();
+			return count;
+		}
+
+		String getStatistics() {
+			return String.format("efficiency=%.3f rollbacks=%d gvt rounds=%d",
+					scheduler_.getEfficiency(), scheduler_.getRollbackCount(),
+					scheduler_.getGvtRoundCount());
+		}
+	}
+
+}
@@ -0,0 +1,39 @@
+/** ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++--> 
+<!--                Open Simulation Architecture (OSA)                  -->
+<!--                                                                    -->
+<!--      This software is distributed under the terms of the           -->
+<!--           CECILL-C FREE SOFTWARE LICENSE AGREEMENT                 -->
+<!--  (see http://www.cecill.info/licences/Licence_CeCILL-C_V1-en.html) -->
+<!--                                                                    -->
+<!--  Copyright © 2006-2015 Université Nice Sophia Antipolis            -->
+<!--  Contact author: Olivier Dalle (olivier.dalle@unice.fr)            -->
+<!--                                                                    -->
+<!--  Parts of this software development were supported and hosted by   -->
+<!--  INRIA from 2006 to 2015, in the context of the common research    -->
+<!--  teams of INRIA and I3S, UMR CNRS 7172 (MASCOTTE, COATI, OASIS and -->
+<!--  SCALE).                                                           -->
+<!--++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++**/ 
+package org.osadev.osa.simapis.benchmarks.macro;
+
+/**
+ * Sends events to the other entities of a macro-benchmark, through the links
+ * of the super-scheduler that runs it.
+ * 
+ */
+public interface Transport {
+
+	/**
+	 * Schedules an event in another entity.
+	 * 
+	 * @param entity
+	 * 		Index of the target entity.
+	 * @param methodName
+	 * 		The method of the target entity.
+	 * @param parameters
+	 * 		The method's parameters.
+	 * @param time
+	 * 		The event time, at least the current time plus the lookahead.
+	 */
+	public void send(int entity, String methodName, Object[] parameters, long time);
+
+}
@@ -0,0 +1,94 @@
+/** ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++--> 
+<!--                Open Simulation Architecture (OSA)                  -->
+<!--                                                                    -->
+<!--      This software is distributed under the terms of the           -->
+<!--           CECILL-C FREE SOFTWARE LICENSE AGREEMENT                 -->
+<!--  (see http://www.cecill.info/licences/Licence_CeCILL-C_V1-en.html) -->
+<!--                                                                    -->
+<!--  Copyright © 2006-2015 Université Nice Sophia Antipolis            -->
+<!--  Contact author: Olivier Dalle (olivier.dalle@unice.fr)            -->
+<!--                                                                    -->
+<!--  Parts of this software development were supported and hosted by   -->
+<!--  INRIA from 2006 to 2015, in the context of the common research    -->
+<!--  teams of INRIA and I3S, UMR CNRS 7172 (MASCOTTE, COATI, OASIS and -->
+<!--  SCALE).                                                           -->
+<!--++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++**/ 
+package org.osadev.osa.simapis.benchmarks.macro;
+
+import org.osadev.osa.simapis.simulation.SimulationLoggerItf;
+
+/**
+ * The macro-benchmark workloads.
+ * 
+ */
+public enum Workload {
+
+	/** PHOLD, see {@link PholdModel}. */
+	PHOLD {
+		@Override
+		Object create(final SimulationLoggerItf<Long> logger, final int index,
+				final MacroOptions options) {
+			return new PholdModel(logger, index, options);
+		}
+
+		@Override
+		void connect(final Object model, final MacroSimulation simulation, final int index) {
+			((PholdModel) model).setTransport(simulation.getTransport(index));
+		}
+
+		@Override
+		void start(final Object model, final MacroOptions options) {
+			((PholdModel) model).start(options.population);
+		}
+	},
+
+	/** Hold model with events, see {@link HoldEventModel}. */
+	HOLD_EVENT {
+		@Override
+		Object create(final SimulationLoggerItf<Long> logger, final int index,
+				final MacroOptions options) {
+			return new HoldEventModel(logger, index, options);
+		}
+
+		@Override
+		void start(final Object model, final MacroOptions options) {
+			((HoldEventModel) model).start(options.population);
+		}
+	},
+
+	/** 
+	 * Hold model with processes, see {@link HoldProcessModel}. Requires the
+	 * conservative super-scheduler.
+	 */
+	HOLD_PROCESS {
+		@Override
+		Object create(final SimulationLoggerItf<Long> logger, final int index,
+				final MacroOptions options) {
+			return new HoldProcessModel(logger, index, options);
+		}
+
+		@Override
+		void start(final Object model, final MacroOptions options) {
+			((HoldProcessModel) model).start(options.population);
+		}
+	};
+
+	/**
+	 * Creates the model of an entity.
+	 */
+	abstract Object create(SimulationLoggerItf<Long> logger, int index,
+			MacroOptions options);
+
+	/**
+	 * Connects the model of an entity to the other entities, once all are 
+	 * added to the simulation.
+	 */
+	void connect(final Object model, final MacroSimulation simulation, final int index) {
+	}
+
+	/**
+	 * Schedules the initial events of an entity.
+	 */
+	abstract void start(Object model, MacroOptions options);
+
+}
@@ -0,0 +1,7 @@
+/**
+ * Macro-benchmarks of whole simulations: PHOLD and the hold model, written 
+ * as model components and run on the super-scheduler implementations (see 
+ * {@link org.osadev.osa.simapis.benchmarks.macro.MacroBenchmark}).
+ *
+ */
+package org.osadev.osa.simapis.benchmarks.macro;
@@ -0,0 +1,7 @@
+/**
+ * JMH benchmarks of the simulation API implementations.
+ * 
+ * <p>Built and run with the <tt>benchmarks</tt> maven profile.
+ *
+ */
+package org.osadev.osa.simapis.benchmarks;
@@ -25,4 +25,16 @@ public class SimSchedulingException extends OsaRuntimeException {
 
 	private static final long serialVersionUID = 5260170251293964002L;
 
+	public SimSchedulingException() {
+		super();
+	}
+
+	public SimSchedulingException(String arg0) {
+		super(arg0);
+	}
+
+	public SimSchedulingException(String arg0, Throwable arg1) {
+		super(arg0, arg1);
+	}
+
 }
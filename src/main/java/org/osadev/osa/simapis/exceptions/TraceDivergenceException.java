@@ -0,0 +1,48 @@
+/** ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++--> 
+<!--                Open Simulation Architecture (OSA)                  -->
+<!--                                                                    -->
+<!--      This software is distributed under the terms of the           -->
+<!--           CECILL-C FREE SOFTWARE LICENSE AGREEMENT                 -->
+<!--  (see http://www.cecill.info/licences/Licence_CeCILL-C_V1-en.html) -->
+<!--                                                                    -->
+<!--  Copyright © 2006-2015 Université Nice Sophia Antipolis            -->
+<!--  Contact author: Olivier Dalle (olivier.dalle@unice.fr)            -->
+<!--                                                                    -->
+<!--  Parts of this software development were supported and hosted by   -->
+<!--  INRIA from 2006 to 2015, in the context of the common research    -->
+<!--  teams of INRIA and I3S, UMR CNRS 7172 (MASCOTTE, COATI, OASIS and -->
+<!--  SCALE).                                                           -->
+<!--++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++**/ 
+package org.osadev.osa.simapis.exceptions;
+
+/**
+ * Reports that the events dispatched by a simulation differ from those of a
+ * recorded trace.
+ * 
+ * <p>The message is a report of the divergence: the expected and actual 
+ * events, and the last events that matched.
+ * 
+ */
+public class TraceDivergenceException extends RuntimeException {
+
+	private static final long serialVersionUID = 1091703170732L;
+
+	private final long position_;
+
+	/**
+	 * @param position
+	 * 		Position in the trace of the first differing event, from zero.
+	 * @param report
+	 * 		Description of the divergence.
+	 */
+	public TraceDivergenceException(final long position, final String report) {
+		super(report);
+		position_ = position;
+	}
+
+	/** Position in the trace of the first differing event, from zero. */
+	public long getPosition() {
+		return position_;
+	}
+
+}
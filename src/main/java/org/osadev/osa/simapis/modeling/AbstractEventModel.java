@@ -25,7 +25,7 @@ import org.osadev.osa.simapis.simulation.SimulationLoggerItf;
 @Membrane(controller = "simBasicPrimitive")
 public abstract class AbstractEventModel<U extends Comparable<U>> {
 	
-	public final SimulationLoggerItf<U> logger_;
+	public final transient SimulationLoggerItf<U> logger_;
 	
 	public AbstractEventModel(SimulationLoggerItf<U> logger){
 		logger_ = logger;
@@ -33,7 +33,7 @@ public abstract class AbstractEventModel<U extends Comparable<U>> {
 	
 	/** The simulation controller. */
 	@Controller("modeling-event-controller")
-	private EventModelingAPI<U> simEventApi_;
+	private transient EventModelingAPI<U> simEventApi_;
 	
 	protected EventModelingAPI<U> getSimEventApi(){
 		return simEventApi_;
@@ -43,6 +43,7 @@ public abstract class AbstractEventModel<U extends Comparable<U>> {
         if (id.equals("component")) {
             this.simEventApi_ = ((EventModelingAPI<U>)(((org.objectweb.fractal.api.Component)(ref)).getFcInterface("modeling-event-controller")));
             logger_.setTimeApi(this.simEventApi_);
+            return;
         }
             
         throw new NoSuchInterfaceException((("Client interface \'" + id) + "\' is undefined."));
@@ -27,7 +27,7 @@ import org.osadev.osa.simapis.simulation.SimulationLoggerItf;
 @Membrane(controller = "simPrimitive")
 public class AbstractProcessModel<U extends Comparable<U>> {
 	
-	public final SimulationLoggerItf<U> logger_;
+	public final transient SimulationLoggerItf<U> logger_;
 	
 	public AbstractProcessModel(SimulationLoggerItf<U> logger){
 		logger_ = logger;
@@ -35,7 +35,7 @@ public class AbstractProcessModel<U extends Comparable<U>> {
 	
 	/** The simulation controller. */
 	@Controller("modeling-process-controller")
-	private ProcessModelingAPI<U> simProcessApi_;
+	private transient ProcessModelingAPI<U> simProcessApi_;
 	
 	protected ProcessModelingAPI<U> getSimProcessApi(){
 		return simProcessApi_;
@@ -52,6 +52,12 @@ public class AbstractProcessModel<U extends Comparable<U>> {
 		return simProcessApi_.scheduleEventMyself(methodName, parameters, time);
 	}
 
+	protected EventIdRange scheduleEventsMyself(String methodName,
+			Object[][] parameters, ModelingTimeAPI<U>[] times)
+			throws UnknownEventMethodException, IllegalEventMethodException {
+		return simProcessApi_.scheduleEventsMyself(methodName, parameters, times);
+	}
+
 	protected void waitForDelay(ModelingTimeAPI<U> delay) {
 		simProcessApi_.waitForDelay(delay);
 	}
@@ -61,6 +67,11 @@ public class AbstractProcessModel<U extends Comparable<U>> {
 		return simProcessApi_.waitOnConditionForDelay(condition, delay);
 	}
 
+	protected <T> T waitOnConditionForDelay(ConditionHandle<T> condition,
+			ModelingTimeAPI<U> delay) throws InterruptedException {
+		return simProcessApi_.waitOnConditionForDelay(condition, delay);
+	}
+
 	protected boolean cancelEvent(long eventId) {
 		return simProcessApi_.cancelEvent(eventId);
 	}
@@ -73,6 +84,14 @@ public class AbstractProcessModel<U extends Comparable<U>> {
 		return simProcessApi_.releaseAllOnCondition(condition, param);
 	}
 
+	protected <T> boolean releaseOneOnCondition(ConditionHandle<T> condition, T value) {
+		return simProcessApi_.releaseOneOnCondition(condition, value);
+	}
+
+	protected <T> int releaseAllOnCondition(ConditionHandle<T> condition, T value) {
+		return simProcessApi_.releaseAllOnCondition(condition, value);
+	}
+
 	protected long scheduleProcessMyself(String methodName, Object[] parameters,
 			ModelingTimeAPI<U> time) throws UnknownEventMethodException,
 			IllegalEventMethodException {
@@ -84,6 +103,7 @@ public class AbstractProcessModel<U extends Comparable<U>> {
         if (id.equals("component")) {
             this.simProcessApi_ = ((ProcessModelingAPI<U>)(((org.objectweb.fractal.api.Component)(ref)).getFcInterface("modeling-process-controller")));
             logger_.setTimeApi(this.simProcessApi_);
+            return;
         }
             
         throw new NoSuchInterfaceException((("Client interface \'" + id) + "\' is undefined."));
@@ -0,0 +1,139 @@
+/** ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++--> 
+<!--                Open Simulation Architecture (OSA)                  -->
+<!--                                                                    -->
+<!--      This software is distributed under the terms of the           -->
+<!--           CECILL-C FREE SOFTWARE LICENSE AGREEMENT                 -->
+<!--  (see http://www.cecill.info/licences/Licence_CeCILL-C_V1-en.html) -->
+<!--                                                                    -->
+<!--  Copyright © 2006-2015 Université Nice Sophia Antipolis            -->
+<!--  Contact author: Olivier Dalle (olivier.dalle@unice.fr)            -->
+<!--                                                                    -->
+<!--  Parts of this software development were supported and hosted by   -->
+<!--  INRIA from 2006 to 2015, in the context of the common research    -->
+<!--  teams of INRIA and I3S, UMR CNRS 7172 (MASCOTTE, COATI, OASIS and -->
+<!--  SCALE).                                                           -->
+<!--++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++**/ 
+package org.osadev.osa.simapis.modeling;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * An interned wait condition, carrying values of type <tt>T</tt> from the 
+ * releasing thread to the waiting ones.
+ * 
+ * <p>There is a single handle per condition name (see {@link #valueOf(String)}),
+ * so that handles are compared by identity. Each handle also gets a small 
+ * distinct {@link #getIndex() index}, which the simulation controllers use 
+ * to find the threads waiting on it without hashing. A handle is typically 
+ * looked up once and kept in a constant:
+ * 
+ * <pre>
+ * static final ConditionHandle&lt;Packet&gt; RECEIVED = ConditionHandle.valueOf("received");
+ * </pre>
+ * 
+ * <p>A handle and the <tt>String</tt> condition of the same name denote the 
+ * same condition. The type parameter is not checked: all the users of a 
+ * condition name must agree on the type of its values.
+ * 
+ * @param <T>
+ * 		Type of the values passed on release.
+ */
+public final class ConditionHandle<T> {
+
+	private static final ConcurrentMap<String, ConditionHandle<?>> HANDLES = new ConcurrentHashMap<String, ConditionHandle<?>>();
+
+	private static int count_ = 0;
+
+	private final String name_;
+
+	private final int index_;
+
+	private ConditionHandle(final String name, final int index) {
+		name_ = name;
+		index_ = index;
+	}
+
+	/**
+	 * Gets the handle of a condition, creating it on first use.
+	 * 
+	 * @param name
+	 * 		The condition name.
+	 * @return the unique handle of the condition.
+	 * @throws NullPointerException
+	 * 		If the name is <tt>null</tt>.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> ConditionHandle<T> valueOf(final String name) {
+		ConditionHandle<?> handle = HANDLES.get(name);
+		if (handle == null) {
+			synchronized (HANDLES) {
+				handle = HANDLES.get(name);
+				if (handle == null) {
+					handle = new ConditionHandle<T>(name, count_++);
+					HANDLES.put(name, handle);
+				}
+			}
+		}
+		return (ConditionHandle<T>) handle;
+	}
+
+	/**
+	 * Gets the handle of a condition if it exists, without creating it. 
+	 * 
+	 * <p>Handles are never reclaimed: code handling arbitrary condition names
+	 * (eg. the <tt>String</tt> methods of the simulation controllers) uses 
+	 * this method so as not to intern them.
+	 * 
+	 * @param name
+	 * 		The condition name.
+	 * @return the handle of the condition, or <tt>null</tt> if it was never
+	 * 		created.
+	 * @throws NullPointerException
+	 * 		If the name is <tt>null</tt>.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> ConditionHandle<T> lookup(final String name) {
+		return (ConditionHandle<T>) HANDLES.get(name);
+	}
+
+	/**
+	 * Gets the number of handles created so far, which is also an upper
+	 * bound of their indexes.
+	 * 
+	 * @return the handle count.
+	 */
+	public static int getHandleCount() {
+		synchronized (HANDLES) {
+			return count_;
+		}
+	}
+
+	/**
+	 * Gets the condition name.
+	 * 
+	 * @return the name of the condition.
+	 */
+	public String getName() {
+		return name_;
+	}
+
+	/**
+	 * Gets the index of this handle, distinct for each condition and 
+	 * allocated from zero in creation order.
+	 * 
+	 * @return the handle index.
+	 */
+	public int getIndex() {
+		return index_;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return name_;
+	}
+
+}
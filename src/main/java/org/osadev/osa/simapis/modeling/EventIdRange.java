@@ -0,0 +1,163 @@
+/** ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++--> 
+<!--                Open Simulation Architecture (OSA)                  -->
+<!--                                                                    -->
+<!--      This software is distributed under the terms of the           -->
+<!--           CECILL-C FREE SOFTWARE LICENSE AGREEMENT                 -->
+<!--  (see http://www.cecill.info/licences/Licence_CeCILL-C_V1-en.html) -->
+<!--                                                                    -->
+<!--  Copyright © 2006-2015 Université Nice Sophia Antipolis            -->
+<!--  Contact author: Olivier Dalle (olivier.dalle@unice.fr)            -->
+<!--                                                                    -->
+<!--  Parts of this software development were supported and hosted by   -->
+<!--  INRIA from 2006 to 2015, in the context of the common research    -->
+<!--  teams of INRIA and I3S, UMR CNRS 7172 (MASCOTTE, COATI, OASIS and -->
+<!--  SCALE).                                                           -->
+<!--++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++**/ 
+package org.osadev.osa.simapis.modeling;
+
+import java.util.Arrays;
+
+/**
+ * Identifiers of a batch of events scheduled at once.
+ * 
+ * <p>The identifiers of a batch allocated as one block form a range: the 
+ * identifier of the <code>k</code>-th event of the batch is 
+ * <code>first + k * stride</code>. The identifiers of a batch scheduled one
+ * event at a time may not, and are then kept as a list (see 
+ * {@link #of(long[])}). Either way, {@link #get(int)} gives the identifier
+ * of each event.
+ * 
+ */
+public final class EventIdRange {
+
+	private final long first_;
+
+	private final int size_;
+
+	private final long stride_;
+
+	/** The identifiers when they do not form a range, <code>null</code> otherwise. */
+	private final long[] ids_;
+
+	/**
+	 * @param first
+	 * 		Identifier of the first event of the batch.
+	 * @param size
+	 * 		Number of events in the batch.
+	 * @param stride
+	 * 		Difference between the identifiers of two successive events.
+	 */
+	public EventIdRange(final long first, final int size, final long stride) {
+		if (size < 0 || stride <= 0)
+			throw new IllegalArgumentException(String.format(
+					"Illegal range size %d or stride %d", size, stride));
+		first_ = first;
+		size_ = size;
+		stride_ = stride;
+		ids_ = null;
+	}
+
+	private EventIdRange(final long[] ids) {
+		first_ = ids[0];
+		size_ = ids.length;
+		stride_ = 0L;
+		ids_ = ids;
+	}
+
+	/**
+	 * Gets the identifiers of a batch, whatever their values.
+	 * 
+	 * @param ids
+	 * 		The identifiers of the events, in the order of the batch.
+	 * @return a range if the identifiers form one, or else a list of the 
+	 * 		identifiers.
+	 */
+	public static EventIdRange of(final long[] ids) {
+		if (ids.length == 0)
+			return new EventIdRange(0L, 0, 1L);
+		final long stride = (ids.length > 1) ? ids[1] - ids[0] : 1L;
+		boolean range = stride > 0;
+		for (int i = 2; range && i < ids.length; i++)
+			range = ids[i] - ids[i - 1] == stride;
+		return range ? new EventIdRange(ids[0], ids.length, stride)
+				: new EventIdRange(ids.clone());
+	}
+
+	/**
+	 * Gets the identifier of an event of the batch.
+	 * 
+	 * @param index
+	 * 		The position of the event in the batch.
+	 * @return the event identifier.
+	 */
+	public long get(final int index) {
+		if (index < 0 || index >= size_)
+			throw new IndexOutOfBoundsException("Index " + index + " out of " + this);
+		return (ids_ == null) ? first_ + index * stride_ : ids_[index];
+	}
+
+	/**
+	 * Tells whether an identifier belongs to the batch.
+	 * 
+	 * @param eventId
+	 * 		An event identifier.
+	 * @return <code>true</code> if the event was scheduled with this batch.
+	 */
+	public boolean contains(final long eventId) {
+		if (ids_ != null) {
+			for (long id : ids_) {
+				if (id == eventId)
+					return true;
+			}
+			return false;
+		}
+		final long offset = eventId - first_;
+		return offset >= 0 && offset % stride_ == 0 && offset / stride_ < size_;
+	}
+
+	public long getFirst() {
+		return first_;
+	}
+
+	/**
+	 * @return the identifier of the last event, meaningless for an empty batch.
+	 */
+	public long getLast() {
+		return (ids_ == null) ? first_ + (size_ - 1) * stride_ : ids_[size_ - 1];
+	}
+
+	public int size() {
+		return size_;
+	}
+
+	/**
+	 * @return the difference between the identifiers of two successive 
+	 * 		events, 0 if the identifiers do not form a range.
+	 */
+	public long getStride() {
+		return stride_;
+	}
+
+	@Override
+	public boolean equals(final Object obj) {
+		if (!(obj instanceof EventIdRange))
+			return false;
+		final EventIdRange other = (EventIdRange) obj;
+		return first_ == other.first_ && size_ == other.size_
+				&& stride_ == other.stride_ && Arrays.equals(ids_, other.ids_);
+	}
+
+	@Override
+	public int hashCode() {
+		return ((int) (first_ ^ (first_ >>> 32)) * 31 + size_) * 31 + Arrays.hashCode(ids_);
+	}
+
+	@Override
+	public String toString() {
+		if (ids_ != null)
+			return "EventIdRange" + Arrays.toString(ids_);
+		return String.format("EventIdRange[first=%d, size=%d, stride=%d]",
+				first_, size_, stride_);
+	}
+
+}
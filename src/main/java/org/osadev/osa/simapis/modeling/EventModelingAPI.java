@@ -61,6 +61,63 @@ public interface EventModelingAPI<U extends Comparable<U>> extends SimulationTim
 	  long scheduleEventMyself(String methodName, Object[] parameters, ModelingTimeAPI<U> time)
 	  throws UnknownEventMethodException, IllegalEventMethodException;
 	  
+	  /**
+	   * Schedule a batch of calls to the same method.
+	   * 
+	   * <p>This is equivalent to calling 
+	   * {@link #scheduleEventMyself(String, Object[], ModelingTimeAPI)} for each
+	   * element of <code>times</code>, in order. Either all the events are
+	   * scheduled or none is.
+	   * 
+	   * <p>The default implementation calls 
+	   * {@link #scheduleEventMyself(String, Object[], ModelingTimeAPI)} for each
+	   * element, and cancels the events already scheduled if one of the calls 
+	   * fails; the ids are returned as they were allocated (see 
+	   * {@link EventIdRange#of(long[])}). Controllers that allocate the ids 
+	   * from an {@link org.osadev.osa.simapis.simulation.EventIdSequence} 
+	   * check the method only once, allocate the ids as one block and insert
+	   * the events at once in the pending event set.
+	   * 
+	   * @param methodName
+	   *        The method that must be called.
+	   * @param parameters
+	   *        The parameters of each call, or <code>null</code> if the method
+	   *        has no parameter. Must have the same length as <code>times</code>.
+	   * @param times
+	   *        The simulation times at which the method must be executed.
+	   * @return
+	   * 		The ids of the events, in the order of <code>times</code>.
+	   * 
+	   * @throws UnknownMethodException
+	   * 		If the requested method is found in the current object instance by its 
+	   * 		class loader.
+	   * 
+	   * @throws IllegalMethodException
+	   * 		If the requested method is found but cannot be used for building an event.
+	   */
+	  default EventIdRange scheduleEventsMyself(String methodName, Object[][] parameters, ModelingTimeAPI<U>[] times)
+	  throws UnknownEventMethodException, IllegalEventMethodException {
+		  final int count = times.length;
+		  if (parameters != null && parameters.length != count)
+			  throw new IllegalArgumentException(String.format(
+					  "%d parameter arrays given for %d events", parameters.length, count));
+		  final long[] ids = new long[count];
+		  int scheduled = 0;
+		  boolean done = false;
+		  try {
+			  for (; scheduled < count; scheduled++)
+				  ids[scheduled] = scheduleEventMyself(methodName,
+						  (parameters == null) ? null : parameters[scheduled], times[scheduled]);
+			  done = true;
+			  return EventIdRange.of(ids);
+		  } finally {
+			  if (!done) {
+				  for (int i = 0; i < scheduled; i++)
+					  cancelEvent(ids[i]);
+			  }
+		  }
+	  }
+	  
 	  
 	  /**
 	   * Cancel a scheduled event.
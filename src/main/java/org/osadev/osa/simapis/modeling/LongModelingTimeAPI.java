@@ -0,0 +1,60 @@
+/** ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++--> 
+<!--                Open Simulation Architecture (OSA)                  -->
+<!--                                                                    -->
+<!--      This software is distributed under the terms of the           -->
+<!--           CECILL-C FREE SOFTWARE LICENSE AGREEMENT                 -->
+<!--  (see http://www.cecill.info/licences/Licence_CeCILL-C_V1-en.html) -->
+<!--                                                                    -->
+<!--  Copyright © 2006-2015 Université Nice Sophia Antipolis            -->
+<!--  Contact author: Olivier Dalle (olivier.dalle@unice.fr)            -->
+<!--                                                                    -->
+<!--  Parts of this software development were supported and hosted by   -->
+<!--  INRIA from 2006 to 2015, in the context of the common research    -->
+<!--  teams of INRIA and I3S, UMR CNRS 7172 (MASCOTTE, COATI, OASIS and -->
+<!--  SCALE).                                                           -->
+<!--++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++**/ 
+package org.osadev.osa.simapis.modeling;
+
+/**
+ * Primitive specialization of {@link ModelingTimeAPI} for time values coded 
+ * with the <code>long</code> type.
+ * 
+ * <p>The methods of this interface give the same results as their generic
+ * counterparts but work on primitive values, so that they can be used on the
+ * scheduling hot path without boxing. By convention the value {@link #INFINITE}
+ * represents an infinite time, which is after any finite time.
+ * 
+ */
+public interface LongModelingTimeAPI extends ModelingTimeAPI<Long> {
+
+	/** Value used to code an infinite time. */
+	public static final long INFINITE = -1L;
+
+	/**
+	 * Same as {@link #get()} without boxing.
+	 * 
+	 * @return the time value.
+	 */
+	public long getLong();
+
+	/**
+	 * Same as {@link #compareTo(Object)} with a time value.
+	 * 
+	 * @param other
+	 * 		A time value, possibly {@link #INFINITE}.
+	 * @return a negative integer, zero, or a positive integer as this time is
+	 * 		before, equal to, or after the given time.
+	 */
+	public int compareLong(long other);
+
+	/**
+	 * Same as {@link #getDelayed(Comparable)} with a primitive delay.
+	 * 
+	 * @param delay
+	 * 		The delay.
+	 * @return
+	 * 		The delayed time (infinite if this time is infinite).
+	 */
+	public LongModelingTimeAPI delayedBy(long delay);
+
+}
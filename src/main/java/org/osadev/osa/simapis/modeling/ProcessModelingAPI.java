@@ -17,6 +17,7 @@ package org.osadev.osa.simapis.modeling;
 
 import org.osadev.osa.simapis.exceptions.IllegalEventMethodException;
 import org.osadev.osa.simapis.exceptions.UnknownEventMethodException;
+import org.osadev.osa.simapis.simulation.WaitRequest;
 
 
 /**
@@ -30,6 +31,12 @@ import org.osadev.osa.simapis.exceptions.UnknownEventMethodException;
  * <li>Release threads waiting on a condition</li>
  * </ul>
  * 
+ * <p>Conditions are named by strings, or interned as 
+ * {@link ConditionHandle handles}. The handle methods have default 
+ * implementations that delegate to the string methods, and thus only carry
+ * <tt>String</tt> values: a controller that passes values of other types 
+ * must override all of them.
+ * 
  * @author odalle
  *
  */
@@ -138,6 +145,96 @@ public interface ProcessModelingAPI<U extends Comparable<U>> extends EventModeli
    */
   int releaseAllOnCondition(String condition, String param);
 
+  /**
+   * Sleep until a condition is met or a given delay has elapsed.
+   * 
+   * <p>Same as {@link #waitOnConditionForDelay(String, ModelingTimeAPI)}, with 
+   * an interned condition and a typed result: the condition is matched by 
+   * identity and the value given to release is returned as is.
+   * 
+   * <p>The default implementation waits on the name of the condition with
+   * the <tt>String</tt> method, and thus returns the <tt>String</tt> released
+   * whatever <tt>T</tt> is: handles of other types need a controller that 
+   * overrides the handle methods.
+   * 
+   * @param condition
+   * 		The handle of the wait condition.
+   * @param delay
+   * 		A maximum waiting delay, negative for no limit.
+   * @return
+   * 		The value given to release, or {@literal null} if the delay expires.
+   * @throws InterruptedException
+   */
+  @SuppressWarnings("unchecked")
+  default <T> T waitOnConditionForDelay(ConditionHandle<T> condition, ModelingTimeAPI<U> delay) throws InterruptedException {
+	  final String result = waitOnConditionForDelay(condition.getName(), delay);
+	  return WaitRequest.TIMEDOUT.equals(result) ? null : (T) result;
+  }
+
+  /**
+   * Wakes up the first thread found waiting on a condition.
+   * 
+   * <p>Same as {@link #releaseOneOnCondition(String, String)}, with an 
+   * interned condition and a typed value.
+   * 
+   * <p>The default implementation releases the name of the condition with
+   * the <tt>String</tt> method, and thus only supports <tt>String</tt> values:
+   * handles of other types need a controller that overrides the handle 
+   * methods.
+   * 
+   * @param condition
+   * 		The handle of the condition.
+   * @param value
+   * 		The value the woken-up thread receives as a return value of its call 
+   * 		to wait. It cannot be {@literal null}, which denotes a timeout.
+   * @return
+   * 		True if a thread was woken-up.
+   * @throws IllegalArgumentException
+   * 		If the value is not a <tt>String</tt> and the controller does not
+   * 		override this method.
+   */
+  default <T> boolean releaseOneOnCondition(ConditionHandle<T> condition, T value) {
+	  if (value == null)
+		  throw new NullPointerException("Null value released on " + condition);
+	  if (!(value instanceof String))
+		  throw new IllegalArgumentException(String.format(
+				  "%s only releases String values, not a %s on %s",
+				  getClass().getName(), value.getClass().getName(), condition));
+	  return releaseOneOnCondition(condition.getName(), (String) value);
+  }
+
+  /**
+   * Wakes up all threads found waiting on a condition.
+   * 
+   * <p>Same as {@link #releaseAllOnCondition(String, String)}, with an 
+   * interned condition and a typed value.
+   * 
+   * <p>The default implementation releases the name of the condition with
+   * the <tt>String</tt> method, and thus only supports <tt>String</tt> values:
+   * handles of other types need a controller that overrides the handle 
+   * methods.
+   * 
+   * @param condition
+   * 		The handle of the condition.
+   * @param value
+   * 		The value the woken-up threads receive as a return value of their 
+   * 		call to wait. It cannot be {@literal null}, which denotes a timeout.
+   * @return
+   * 		The number of woken-up threads.
+   * @throws IllegalArgumentException
+   * 		If the value is not a <tt>String</tt> and the controller does not
+   * 		override this method.
+   */
+  default <T> int releaseAllOnCondition(ConditionHandle<T> condition, T value) {
+	  if (value == null)
+		  throw new NullPointerException("Null value released on " + condition);
+	  if (!(value instanceof String))
+		  throw new IllegalArgumentException(String.format(
+				  "%s only releases String values, not a %s on %s",
+				  getClass().getName(), value.getClass().getName(), condition));
+	  return releaseAllOnCondition(condition.getName(), (String) value);
+  }
+
 
 /**
    * Schedule a new process to start at a given time.
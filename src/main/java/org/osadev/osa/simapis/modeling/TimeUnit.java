@@ -15,6 +15,10 @@
 <!--++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++**/
 package org.osadev.osa.simapis.modeling;
 
+import java.math.BigInteger;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
 /**
  * Provides elementary integer arithmetics on time units.
  * 
@@ -24,9 +28,16 @@ package org.osadev.osa.simapis.modeling;
  * units (downto to femto-secs) and comes with a default unit. It does NOT offer
  * synchronization service. 
  * 
- * <p><strong>Warning</strong>: no loss of precision checks are done.
+ * <p><strong>Warning</strong>: no loss of precision checks are done, 
+ * conversions to a coarser unit are truncated towards zero.
  * RULE OF THUMB: never convert from higher to lower precision eg.
- * from nano-seconds to seconds.
+ * from nano-seconds to seconds. Conversions to a finer unit that overflow
+ * a <tt>long</tt> raise an {@link ArithmeticException}.
+ * 
+ * <p>Conversion factors between any two units are computed once, so a 
+ * conversion is a single multiplication or division. Parsing and formatting
+ * do not allocate when given a <tt>CharSequence</tt> or a 
+ * <tt>ByteBuffer</tt>, and a buffer to append to.
  * 
  * <p>Examples:
  * <ul>
@@ -54,7 +65,7 @@ package org.osadev.osa.simapis.modeling;
  *
  */
 public enum TimeUnit {
-	FEMTO_SECONDS("fs", 1L, 1000L * 1000L * 1000L *1000L * 1000L), // Warning: MAX approx 1000 seconds
+	FEMTO_SECONDS("fs", 1L, 1000L * 1000L * 1000L *1000L * 1000L), // Warning: MAX approx 9000 seconds
 	PICO_SECONDS ("ps", 1L, 1000L * 1000L * 1000L *1000L),
 	NANO_SECONDS ("ns", 1L, 1000000000L),
 	MICRO_SECONDS ("us", 1L, 1000000L),
@@ -64,7 +75,7 @@ public enum TimeUnit {
 	HOURS ("hr", 3600L, 1L),
 	DAYS ("d", 3600L * 24L, 1L);
 	
-	private final char[] abbrev_;
+	private final String abbrev_;
 	private final long numerator_;
 	private final long denominator_;
 	
@@ -73,25 +84,79 @@ public enum TimeUnit {
 	 */
 	public static final TimeUnit INTERN_UNIT = PICO_SECONDS;
 	
+	private static final TimeUnit[] UNITS = values();
+	
+	/** 
+	 * Ratio between each pair of units, the coarser one to the finer one, 
+	 * indexed by <tt>ordinal * UNITS.length + ordinal</tt>; 0 if the ratio 
+	 * does not fit in a <tt>long</tt>. Units are declared from the finest to
+	 * the coarsest.
+	 */
+	private static final long[] FACTORS = new long[UNITS.length * UNITS.length];
+	
+	static {
+		for (TimeUnit from : UNITS) {
+			for (TimeUnit to : UNITS) {
+				final TimeUnit coarse = (from.ordinal() > to.ordinal()) ? from : to;
+				final TimeUnit fine = (coarse == from) ? to : from;
+				final BigInteger ratio = BigInteger.valueOf(coarse.numerator_)
+						.multiply(BigInteger.valueOf(fine.denominator_))
+						.divide(BigInteger.valueOf(coarse.denominator_)
+								.multiply(BigInteger.valueOf(fine.numerator_)));
+				FACTORS[from.ordinal() * UNITS.length + to.ordinal()] = 
+						(ratio.bitLength() < 64) ? ratio.longValue() : 0L;
+			}
+		}
+	}
+	
 	TimeUnit(String abbrev, long num, long den) {
-		abbrev_= abbrev.toCharArray();
+		abbrev_= abbrev;
 		numerator_ = num;
 		denominator_ = den;
 	}
 	
-	
-	private TimeUnit(String abbrev) {
-		abbrev_=abbrev.toCharArray();;
-		numerator_=1;
-		denominator_=1;
-	}
-	
+	/**
+	 * Converts an amount of this unit to another unit.
+	 * 
+	 * @param amount
+	 * 			The amount, in this unit.
+	 * @param unit
+	 * 			The unit of the result.
+	 * @return the amount in the given unit, truncated towards zero.
+	 * @throws ArithmeticException
+	 * 			If the result overflows a <tt>long</tt>.
+	 */
 	public long toUnit(long amount, TimeUnit unit) {
-		return (amount * numerator_ * unit.denominator_ ) / (denominator_ * unit.numerator_);
+		if (unit == this)
+			return amount;
+		final long factor = FACTORS[ordinal() * UNITS.length + unit.ordinal()];
+		if (unit.ordinal() > ordinal())
+			return (factor == 0L) ? 0L : amount / factor;
+		if (factor != 0L) {
+			try {
+				return Math.multiplyExact(amount, factor);
+			} catch (ArithmeticException e) {
+				// overflow, reported below
+			}
+		} else if (amount == 0L) {
+			return 0L;
+		}
+		throw new ArithmeticException(format(amount, false) + " overflows in " + unit.name());
 	}
 	
+	/**
+	 * Converts an amount of another unit to this unit.
+	 * 
+	 * @param amount
+	 * 			The amount, in the given unit.
+	 * @param unit
+	 * 			The unit of the amount.
+	 * @return the amount in this unit, truncated towards zero.
+	 * @throws ArithmeticException
+	 * 			If the result overflows a <tt>long</tt>.
+	 */
 	public long fromUnit(long amount, TimeUnit unit) {
-		return (amount * denominator_ *  unit.numerator_) / (numerator_ * unit.denominator_);
+		return unit.toUnit(amount, this);
 	}
 	
 	public long toIntern(long amount) {
@@ -102,7 +167,14 @@ public enum TimeUnit {
 		return fromUnit(amount, INTERN_UNIT);
 	}
 	
+	/**
+	 * @return a copy of the abbreviation of the unit.
+	 */
 	public char[] getAbbrev(){
+		return abbrev_.toCharArray();
+	}
+
+	public String getAbbreviation() {
 		return abbrev_;
 	}
 
@@ -114,6 +186,17 @@ public enum TimeUnit {
 		return denominator_;
 	}
 	
+	/**
+	 * Gets the unit of an abbreviation.
+	 * 
+	 * @param abbrev
+	 * 			The abbreviation, eg. <tt>ms</tt>.
+	 * @return the unit, or <code>null</code> if the abbreviation is unknown.
+	 */
+	public static TimeUnit forAbbrev(CharSequence abbrev) {
+		return lookup(abbrev, null, 0, abbrev.length());
+	}
+	
 	/**
 	 * Parse a time formatted string.
 	 * 
@@ -123,6 +206,8 @@ public enum TimeUnit {
 	 * by a time unit abbreviation:<br>
 	 * <tt>llll[ uu]</tt><br> 
 	 * where {@literal llll} is a long integer and {@literal uu} is the time unit abbrevation.
+	 * The space before the unit is optional, and leading and trailing spaces
+	 * are ignored.
 	 * 
 	 * <p>In case the time unit is missing, the default (internal) unit is used.
 	 * 
@@ -131,26 +216,239 @@ public enum TimeUnit {
 	 * @return
 	 * 			The time value expressed using the default (internal) unit.
 	 * @throws
-	 * 			NumberFormatException if the parsing fails.		
+	 * 			NumberFormatException if the parsing fails, the unit is unknown
+	 * 			or the value overflows the internal unit.
 	 * 
 	 */
+	public static long parseTime(CharSequence time) throws NumberFormatException {
+		return parse(time, null, 0, time.length());
+	}
+	
+	/**
+	 * Parse a time formatted string.
+	 * 
+	 * <p>Same as {@link #parseTime(CharSequence)}, kept for the binary 
+	 * compatibility of the code compiled against this signature.
+	 * 
+	 * @param time
+	 * 			The string to be parsed
+	 * @return
+	 * 			The time value expressed using the default (internal) unit.
+	 * @throws
+	 * 			NumberFormatException if the parsing fails.
+	 * @see #parseTime(CharSequence)
+	 */
 	public static long parseTime(String time) throws NumberFormatException {
-		String parts[] = time.split(" ");
-		long value = Long.parseLong(parts[0]);
-		if (parts.length != 1) {
-			for (TimeUnit t: TimeUnit.values()) {
-				if (t.abbrev_.equals(parts[1]))
-					value = t.toIntern(value);
-			}
-		}
-		return value;
+		return parseTime((CharSequence) time);
+	}
+	
+	/**
+	 * Parse a time formatted string in a part of a character sequence, 
+	 * without allocating.
+	 * 
+	 * @param time
+	 * 			The sequence to be parsed
+	 * @param start
+	 * 			Index of the first character of the time.
+	 * @param end
+	 * 			Index after the last character of the time.
+	 * @return
+	 * 			The time value expressed using the default (internal) unit.
+	 * @throws
+	 * 			NumberFormatException if the parsing fails.
+	 * @see #parseTime(CharSequence)
+	 */
+	public static long parseTime(CharSequence time, int start, int end) 
+			throws NumberFormatException {
+		checkRange(start, end, time.length());
+		return parse(time, null, start, end);
+	}
+	
+	/**
+	 * Parse a time formatted in US-ASCII between the position and the limit
+	 * of a buffer, without allocating. The position of the buffer is not 
+	 * changed.
+	 * 
+	 * @param time
+	 * 			The buffer to be parsed
+	 * @return
+	 * 			The time value expressed using the default (internal) unit.
+	 * @throws
+	 * 			NumberFormatException if the parsing fails.
+	 * @see #parseTime(CharSequence)
+	 */
+	public static long parseTime(ByteBuffer time) throws NumberFormatException {
+		return parse(null, time, time.position(), time.limit());
+	}
+	
+	/**
+	 * Parse a time formatted in US-ASCII between two indexes of a buffer, 
+	 * without allocating. The position of the buffer is not changed.
+	 * 
+	 * @param time
+	 * 			The buffer to be parsed
+	 * @param start
+	 * 			Index of the first byte of the time.
+	 * @param end
+	 * 			Index after the last byte of the time.
+	 * @return
+	 * 			The time value expressed using the default (internal) unit.
+	 * @throws
+	 * 			NumberFormatException if the parsing fails.
+	 * @see #parseTime(CharSequence)
+	 */
+	public static long parseTime(ByteBuffer time, int start, int end) 
+			throws NumberFormatException {
+		checkRange(start, end, time.limit());
+		return parse(null, time, start, end);
 	}
 	
 	public String format(long amount, boolean spaced){
-		return "" + amount + (spaced ? " " : "") + toString();
+		return format(amount, spaced, new StringBuilder(24)).toString();
+	}
+	
+	/**
+	 * Appends an amount of this unit in the format read by 
+	 * {@link #parseTime(CharSequence)}.
+	 * 
+	 * @param amount
+	 * 			The amount, in this unit.
+	 * @param spaced
+	 * 			Whether a space separates the amount and the unit.
+	 * @param out
+	 * 			The buffer appended to.
+	 * @return the buffer.
+	 */
+	public StringBuilder format(long amount, boolean spaced, StringBuilder out) {
+		out.append(amount);
+		if (spaced)
+			out.append(' ');
+		return out.append(abbrev_);
 	}
 	
+	/**
+	 * Writes an amount of this unit in US-ASCII, in the format read by 
+	 * {@link #parseTime(ByteBuffer)}, at the position of a buffer, and 
+	 * advances the position.
+	 * 
+	 * @param amount
+	 * 			The amount, in this unit.
+	 * @param spaced
+	 * 			Whether a space separates the amount and the unit.
+	 * @param out
+	 * 			The buffer written to.
+	 * @return the buffer.
+	 * @throws BufferOverflowException
+	 * 			If the buffer is too small, in which case it is not modified.
+	 */
+	public ByteBuffer format(long amount, boolean spaced, ByteBuffer out) {
+		int digits = 1;
+		for (long rest = amount / 10; rest != 0; rest /= 10)
+			digits++;
+		final int length = ((amount < 0) ? 1 : 0) + digits + (spaced ? 1 : 0) + abbrev_.length();
+		if (out.remaining() < length)
+			throw new BufferOverflowException();
+		int pos = out.position();
+		if (amount < 0)
+			out.put(pos++, (byte) '-');
+		// digits are written backwards, from negative remainders to handle Long.MIN_VALUE
+		long rest = amount;
+		for (int i = pos + digits - 1; i >= pos; i--) {
+			final long digit = rest % 10;
+			out.put(i, (byte) ('0' + ((digit < 0) ? -digit : digit)));
+			rest /= 10;
+		}
+		pos += digits;
+		if (spaced)
+			out.put(pos++, (byte) ' ');
+		for (int i = 0; i < abbrev_.length(); i++)
+			out.put(pos++, (byte) abbrev_.charAt(i));
+		out.position(pos);
+		return out;
+	}
+	
+	/**
+	 * @return the abbreviation of the unit.
+	 */
 	public String toString(){
-		return abbrev_.toString();
+		return abbrev_;
+	}
+	
+	private static void checkRange(int start, int end, int length) {
+		if (start < 0 || start > end || end > length)
+			throw new IndexOutOfBoundsException(
+					String.format("Range [%d, %d) out of [0, %d)", start, end, length));
+	}
+	
+	/** Character at an index of either a sequence or a buffer. */
+	private static char charAt(CharSequence chars, ByteBuffer bytes, int index) {
+		return (chars != null) ? chars.charAt(index) : (char) (bytes.get(index) & 0xff);
+	}
+	
+	private static long parse(CharSequence chars, ByteBuffer bytes, int start, int end) 
+			throws NumberFormatException {
+		while (start < end && charAt(chars, bytes, start) == ' ')
+			start++;
+		while (end > start && charAt(chars, bytes, end - 1) == ' ')
+			end--;
+		int i = start;
+		boolean negative = false;
+		if (i < end) {
+			final char sign = charAt(chars, bytes, i);
+			if (sign == '-' || sign == '+') {
+				negative = sign == '-';
+				i++;
+			}
+		}
+		// accumulated negatively, like Long.parseLong, to reach Long.MIN_VALUE
+		final long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+		final int digits = i;
+		long value = 0L;
+		for (; i < end; i++) {
+			final int digit = charAt(chars, bytes, i) - '0';
+			if (digit < 0 || digit > 9)
+				break;
+			if (value < Long.MIN_VALUE / 10 || value * 10 < limit + digit)
+				throw invalid(chars, bytes, start, end, "out of range");
+			value = value * 10 - digit;
+		}
+		if (i == digits)
+			throw invalid(chars, bytes, start, end, "no digits");
+		if (!negative)
+			value = -value;
+		while (i < end && charAt(chars, bytes, i) == ' ')
+			i++;
+		if (i == end)
+			return value;
+		final TimeUnit unit = lookup(chars, bytes, i, end);
+		if (unit == null)
+			throw invalid(chars, bytes, start, end, "unknown unit");
+		try {
+			return unit.toIntern(value);
+		} catch (ArithmeticException e) {
+			throw invalid(chars, bytes, start, end, "out of range");
+		}
+	}
+	
+	private static TimeUnit lookup(CharSequence chars, ByteBuffer bytes, int start, int end) {
+		next: for (TimeUnit unit : UNITS) {
+			final String abbrev = unit.abbrev_;
+			if (abbrev.length() != end - start)
+				continue;
+			for (int i = 0; i < abbrev.length(); i++) {
+				if (abbrev.charAt(i) != charAt(chars, bytes, start + i))
+					continue next;
+			}
+			return unit;
+		}
+		return null;
+	}
+	
+	private static NumberFormatException invalid(CharSequence chars, ByteBuffer bytes, 
+			int start, int end, String reason) {
+		final StringBuilder text = new StringBuilder(end - start);
+		for (int i = start; i < end; i++)
+			text.append(charAt(chars, bytes, i));
+		return new NumberFormatException("Invalid time \"" + text + "\": " + reason);
 	}
 }
@@ -18,6 +18,7 @@ package org.osadev.osa.simapis.simulation;
 import java.lang.reflect.InvocationTargetException;
 
 import org.osadev.osa.simapis.modeling.ModelingTimeAPI;
+import org.osadev.osa.simapis.simulation.dispatch.EventDispatcher;
 
 /**
  * Simulation events. Each event is formalized by a method call at a given
@@ -40,19 +41,36 @@ public abstract class AbstractEvent<U extends Comparable<U>> implements Simulati
 
 	private final Object instance_;
 	
-	private final Long eventId_;
+	private final long eventId_;
 	
-	private static Long eventSequenceId_ = 1L;
+	/** Sequence used by events created without an explicit identifier. */
+	private static final EventIdSequence DEFAULT_SEQUENCE = new EventIdSequence();
 
-	
+	/**
+	 * Creates an event with an identifier allocated from a sequence shared by 
+	 * the whole JVM.
+	 * 
+	 * <p>Simulation controllers should rather allocate identifiers from the
+	 * {@link EventIdSequence} of their simulation and use 
+	 * {@link #AbstractEvent(long, String, Object[], ModelingTimeAPI, Object)}.
+	 */
 	protected AbstractEvent(final String method, final Object[] params, final ModelingTimeAPI<U> time, final Object instance) {
+		this(DEFAULT_SEQUENCE.next(), method, params, time, instance);
+	}
+	
+	/**
+	 * Creates an event with a given identifier.
+	 * 
+	 * @param eventId
+	 * 		Event identifier, usually allocated from the {@link EventIdSequence}
+	 *      of the simulation.
+	 */
+	protected AbstractEvent(final long eventId, final String method, final Object[] params, final ModelingTimeAPI<U> time, final Object instance) {
 		method_ = method;
 		methodParameters_ = params;
 		time_ = time;
 		instance_ = instance;
-		synchronized(AbstractEvent.class) {
-			eventSequenceId_ = eventId_ = eventSequenceId_+1L;
-		}
+		eventId_ = eventId;
 	}
 	
 	public static <E extends AbstractEvent<?>> E createEvent() {
@@ -67,23 +85,38 @@ public abstract class AbstractEvent<U extends Comparable<U>> implements Simulati
 	public void invoke() throws IllegalArgumentException, SecurityException,
 			IllegalAccessException, InvocationTargetException,
 			NoSuchMethodException {
+		// Exact match first, then relaxed match with parameters having Object
+		// type; resolution is cached by the dispatcher.
+		getDispatcher().invoke(getEvtInstance(), getEvtMethod(), getEvtParam());
+	}
 
-		try {
-			// Simple case: an exact match is found
-			getEvtInstance().getClass()
-					.getMethod(getEvtMethod(), getEvtArgTypes(false))
-					.invoke(getEvtInstance(), getEvtParam());
-		} catch (NoSuchMethodException nse) {
-			// tricky case: attempt a relaxed match with parameters having Object type.
-			// This is needed to cover the complex cases where parameter matching fails
-			// (eg abstract class where parameter type is not known). In that case
-			// we assume the callback method is defined with object type param(s)
-			getEvtInstance().getClass()
-					.getMethod(getEvtMethod(), getEvtArgTypes(true))
-					.invoke(getEvtInstance(), getEvtParam());
-		}
+	/**
+	 * Gets the dispatcher used to execute this event.
+	 * 
+	 * <p>Subclasses may override this method to use a dispatcher with its own 
+	 * cache and statistics (eg. one per simulation).
+	 * 
+	 * @return the default dispatcher.
+	 */
+	protected EventDispatcher getDispatcher() {
+		return EventDispatcher.getDefault();
 	}
 
+	/**
+	 * Gives the types of arguments used to look up the event method.
+	 * 
+	 * <p>These are the types historically used to look up the event method:
+	 * run-time classes of the parameters for an exact match, or 
+	 * <tt>Object</tt> for the relaxed match.
+	 * 
+	 * @param try_object
+	 * 		True for the relaxed match.
+	 * @return the argument types, or <code>null</code> if the event has no parameters.
+	 * @deprecated The event method is resolved by {@link EventDispatcher}, 
+	 * 		which applies the same rule without calling this method: 
+	 * 		overriding it has no effect on dispatch.
+	 */
+	@Deprecated
 	protected Class<?>[] getEvtArgTypes(boolean try_object) {
 		Object[] parameters = getEvtParam();
 		Class<?>[] argtypes;
@@ -153,13 +186,26 @@ public abstract class AbstractEvent<U extends Comparable<U>> implements Simulati
 	}
 
 	/**
-	 * Give the <code>String</code> representation of this event.
+	 * Same as {@link #getEventId()} without boxing.
+	 * 
+	 * @return event ID.
+	 */
+	public final long getId() {
+		return eventId_;
+	}
+
+	/**
+	 * Give the <code>String</code> representation of this event. Events 
+	 * without parameters or time, and times of any type, are supported, so 
+	 * that the representation can be used in error messages.
 	 * 
 	 * @return The <code>String</code> representation of this event.
 	 */
 	@Override
 	public final String toString() {
-		return String.format("EV[id=%d, %s(%d params) at t=%d]", eventId_, method_, methodParameters_.length,time_.get());
+		return String.format("EV[id=%d, %s(%d params) at t=%s]", eventId_, method_,
+				(methodParameters_ == null) ? 0 : methodParameters_.length,
+				(time_ == null) ? null : time_.get());
 	}
 
 }
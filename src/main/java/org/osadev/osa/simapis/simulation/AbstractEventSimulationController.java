@@ -0,0 +1,475 @@
+/** ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++--> 
+<!--                Open Simulation Architecture (OSA)                  -->
+<!--                                                                    -->
+<!--      This software is distributed under the terms of the           -->
+<!--           CECILL-C FREE SOFTWARE LICENSE AGREEMENT                 -->
+<!--  (see http://www.cecill.info/licences/Licence_CeCILL-C_V1-en.html) -->
+<!--                                                                    -->
+<!--  Copyright © 2006-2015 Université Nice Sophia Antipolis            -->
+<!--  Contact author: Olivier Dalle (olivier.dalle@unice.fr)            -->
+<!--                                                                    -->
+<!--  Parts of this software development were supported and hosted by   -->
+<!--  INRIA from 2006 to 2015, in the context of the common research    -->
+<!--  teams of INRIA and I3S, UMR CNRS 7172 (MASCOTTE, COATI, OASIS and -->
+<!--  SCALE).                                                           -->
+<!--++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++**/ 
+package org.osadev.osa.simapis.simulation;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.osadev.osa.simapis.exceptions.IllegalEventMethodException;
+import org.osadev.osa.simapis.exceptions.IllegalModelingTimeException;
+import org.osadev.osa.simapis.exceptions.SimSchedulingException;
+import org.osadev.osa.simapis.exceptions.UnknownEventMethodException;
+import org.osadev.osa.simapis.modeling.EventIdRange;
+import org.osadev.osa.simapis.modeling.EventModelingAPI;
+import org.osadev.osa.simapis.modeling.ModelingTimeAPI;
+import org.osadev.osa.simapis.modeling.ModelingTimeSymbols;
+import org.osadev.osa.simapis.modeling.TimeFactoryItf;
+import org.osadev.osa.simapis.simulation.checkpoint.CheckpointReader;
+import org.osadev.osa.simapis.simulation.checkpoint.CheckpointWriter;
+import org.osadev.osa.simapis.simulation.dispatch.EventDispatcher;
+import org.osadev.osa.simapis.simulation.jfr.EventCancelled;
+import org.osadev.osa.simapis.simulation.jfr.EventDispatched;
+import org.osadev.osa.simapis.simulation.jfr.EventScheduled;
+import org.osadev.osa.simapis.simulation.metrics.ControllerMetrics;
+import org.osadev.osa.simapis.simulation.pending.PendingEventSetItf;
+
+/**
+ * Base implementation of an event simulation controller.
+ * 
+ * <p>This class implements the scheduling logic that does not depend on the
+ * component membrane: the pending event set, the local simulation time, the 
+ * dispatch of events and the registration of the next pending event with the
+ * super-scheduler. Subclasses give access to the super-scheduler and to the
+ * model instance on which events are called.
+ * 
+ * <p>The pending event set is given at construction time, which allows to 
+ * select its implementation (see 
+ * {@link org.osadev.osa.simapis.simulation.pending.PendingEventSetType}).
+ * Event identifiers are allocated from the {@link EventIdSequence} of the
+ * simulation.
+ * 
+ * <p>Events are processed synchronously, in the thread of the caller of
+ * {@link #resumeNext(ModelingTimeAPI)} or {@link #resumeAll(ModelingTimeAPI)}.
+ * 
+ */
+public abstract class AbstractEventSimulationController<U extends Comparable<U>>
+		implements EventSimulationControllerAPI<U>, EventModelingAPI<U> {
+
+	private final PendingEventSetItf<U> pending_;
+
+	private final TimeFactoryItf<U> timeFactory_;
+
+	private final EventFactoryItf<U> eventFactory_;
+
+	private final EventIdSequence sequence_;
+
+	private final ModelingTimeAPI<U> infinity_;
+
+	private ModelingTimeAPI<U> currentTime_;
+
+	/** Time of the last call to waitUntil, <code>null</code> if none pending. */
+	private ModelingTimeAPI<U> registeredTime_ = null;
+
+	/** The event being dispatched, <code>null</code> if none. */
+	private AbstractEvent<U> dispatched_ = null;
+
+	private DispatchListenerItf<U> listener_ = null;
+
+	private ControllerMetrics metrics_ = null;
+
+	/**
+	 * @param pending
+	 * 		The (empty) pending event set.
+	 * @param timeFactory
+	 * 		Factory of the time type.
+	 * @param eventFactory
+	 * 		Factory of events.
+	 * @param sequence
+	 * 		Event identifier sequence of the simulation.
+	 */
+	protected AbstractEventSimulationController(
+			final PendingEventSetItf<U> pending,
+			final TimeFactoryItf<U> timeFactory,
+			final EventFactoryItf<U> eventFactory,
+			final EventIdSequence sequence) {
+		pending_ = pending;
+		timeFactory_ = timeFactory;
+		eventFactory_ = eventFactory;
+		sequence_ = sequence;
+		infinity_ = timeFactory.create(ModelingTimeSymbols.INFINITY.name());
+		currentTime_ = timeFactory.create();
+	}
+
+	/**
+	 * Gets the super-scheduler to which this controller reports its next
+	 * pending event.
+	 * 
+	 * @return the super-scheduler.
+	 */
+	protected abstract EventSuperSchedulerItf<U> getSuperScheduler();
+
+	/**
+	 * Gets the model instance that owns the methods called by events.
+	 * 
+	 * @return the model instance.
+	 */
+	protected abstract Object getModelInstance();
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.osadev.osa.simapis.simulation.EventSimulationControllerAPI#init()
+	 */
+	public void init() {
+		notifySuperScheduler();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.osadev.osa.simapis.modeling.SimulationTimeAPI#getSimulationTime()
+	 */
+	public ModelingTimeAPI<U> getSimulationTime() {
+		return currentTime_;
+	}
+
+	/**
+	 * Gets the identifier of the event being dispatched, eg. to tag the log 
+	 * records of the model.
+	 * 
+	 * @return the event id, or -1 if no event is being dispatched.
+	 */
+	public long getCurrentEventId() {
+		final AbstractEvent<U> event = dispatched_;
+		return (event == null) ? -1L : event.getId();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.osadev.osa.simapis.simulation.EventSimulationControllerAPI#getNextScheduleTime()
+	 */
+	public ModelingTimeAPI<U> getNextScheduleTime() {
+		final AbstractEvent<U> head = pending_.peek();
+		return (head == null) ? infinity_ : head.getTime();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.osadev.osa.simapis.simulation.EventSimulationControllerAPI#resumeNext(org.osadev.osa.simapis.modeling.ModelingTimeAPI)
+	 */
+	public boolean resumeNext(final ModelingTimeAPI<U> currentTime)
+			throws SimSchedulingException {
+		final AbstractEvent<U> event = pollFirst(currentTime);
+		dispatch(event);
+		notifySuperScheduler();
+		return false;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.osadev.osa.simapis.simulation.EventSimulationControllerAPI#resumeAll(org.osadev.osa.simapis.modeling.ModelingTimeAPI)
+	 */
+	public int resumeAll(final ModelingTimeAPI<U> currentTime)
+			throws SimSchedulingException {
+		dispatch(pollFirst(currentTime));
+		int count = 1;
+		AbstractEvent<U> event;
+		while ((event = pending_.peek()) != null
+				&& event.getTime().compareTo(currentTime) == 0) {
+			pending_.poll();
+			dispatch(event);
+			count++;
+		}
+		notifySuperScheduler();
+		return count;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.osadev.osa.simapis.simulation.EventSimulationControllerAPI#quit()
+	 */
+	public void quit() {
+		pending_.clear();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.osadev.osa.simapis.modeling.EventModelingAPI#scheduleEventMyself(java.lang.String, java.lang.Object[], org.osadev.osa.simapis.modeling.ModelingTimeAPI)
+	 */
+	public long scheduleEventMyself(final String methodName,
+			final Object[] parameters, final ModelingTimeAPI<U> time)
+			throws UnknownEventMethodException, IllegalEventMethodException {
+		final Object instance = getModelInstance();
+		EventDispatcher.getDefault().checkMethod(instance.getClass(), methodName);
+		if (time.compareTo(currentTime_) < 0)
+			throw new IllegalModelingTimeException(
+					"Cannot schedule an event in the past (t=%s)", time);
+		final AbstractEvent<U> event = eventFactory_.create(sequence_.next(),
+				methodName, parameters, time, instance);
+		pending_.add(event);
+		new EventScheduled().commit(event);
+		notifySuperScheduler();
+		// the factory may not honour the identifier (see EventFactoryItf)
+		return event.getId();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.osadev.osa.simapis.modeling.EventModelingAPI#scheduleEventsMyself(java.lang.String, java.lang.Object[][], org.osadev.osa.simapis.modeling.ModelingTimeAPI[])
+	 */
+	public EventIdRange scheduleEventsMyself(final String methodName,
+			final Object[][] parameters, final ModelingTimeAPI<U>[] times)
+			throws UnknownEventMethodException, IllegalEventMethodException {
+		final int count = times.length;
+		if (parameters != null && parameters.length != count)
+			throw new IllegalArgumentException(String.format(
+					"%d parameter arrays given for %d events", parameters.length, count));
+		final Object instance = getModelInstance();
+		EventDispatcher.getDefault().checkMethod(instance.getClass(), methodName);
+		for (ModelingTimeAPI<U> time : times) {
+			if (time.compareTo(currentTime_) < 0)
+				throw new IllegalModelingTimeException(
+						"Cannot schedule an event in the past (t=%s)", time);
+		}
+		final long stride = sequence_.getStride();
+		final long first = sequence_.next(count);
+		final List<AbstractEvent<U>> events = new ArrayList<AbstractEvent<U>>(count);
+		for (int i = 0; i < count; i++) {
+			final AbstractEvent<U> event = eventFactory_.create(first + i * stride,
+					methodName, (parameters == null) ? null : parameters[i], times[i], instance);
+			if (event.getId() != first + i * stride)
+				throw new IllegalStateException(
+						"The event factory does not honour the event identifiers");
+			events.add(event);
+		}
+		pending_.addAll(events);
+		if (new EventScheduled().isEnabled()) {
+			for (AbstractEvent<U> event : events)
+				new EventScheduled().commit(event);
+		}
+		notifySuperScheduler();
+		return new EventIdRange(first, count, stride);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.osadev.osa.simapis.modeling.EventModelingAPI#cancelEvent(long)
+	 */
+	public boolean cancelEvent(final long eventId) {
+		final AbstractEvent<U> event = pending_.remove(eventId);
+		if (event == null)
+			return false;
+		new EventCancelled().commit(event);
+		notifySuperScheduler();
+		return true;
+	}
+
+	/**
+	 * Writes the local time, the model state and the pending events of this
+	 * controller to a checkpoint. The pending events are written while 
+	 * iterating over the pending event set, without copying it.
+	 * 
+	 * @param out
+	 * 		The checkpoint being written.
+	 * @throws IOException
+	 * 		If the checkpoint cannot be written.
+	 * @throws IllegalStateException
+	 * 		If an event is being dispatched: checkpoints are taken between 
+	 *      events.
+	 */
+	public void checkpoint(final CheckpointWriter out) throws IOException {
+		if (dispatched_ != null)
+			throw new IllegalStateException("Cannot checkpoint during " + dispatched_);
+		final Object instance = getModelInstance();
+		out.beginController(instance, pending_.size());
+		out.writeTime(currentTime_);
+		out.writeState(instance);
+		for (AbstractEvent<U> event : pending_)
+			out.writeEvent(event);
+	}
+
+	/**
+	 * Replaces the local time, the model state and the pending events of this 
+	 * controller with those read from a checkpoint, and reports the first 
+	 * restored event to the super-scheduler.
+	 * 
+	 * @param in
+	 * 		The checkpoint being read.
+	 * @throws IOException
+	 * 		If the checkpoint cannot be read, or was not written by a controller
+	 *      of the same model.
+	 * @throws IllegalStateException
+	 * 		If an event is being dispatched.
+	 */
+	public void restore(final CheckpointReader in) throws IOException {
+		if (dispatched_ != null)
+			throw new IllegalStateException("Cannot restore during " + dispatched_);
+		final Object instance = getModelInstance();
+		final int count = in.beginController(instance);
+		currentTime_ = in.readTime(timeFactory_);
+		in.readState(instance);
+		pending_.clear();
+		for (int i = 0; i < count; i++)
+			pending_.add(in.readEvent(eventFactory_, timeFactory_, instance));
+		notifySuperScheduler();
+	}
+
+	/**
+	 * Controllers are ordered by the time of their next pending event.
+	 */
+	public int compareTo(final EventSimulationControllerAPI<U> o) {
+		return getNextScheduleTime().compareTo(o.getNextScheduleTime());
+	}
+
+	/**
+	 * Executes an event.
+	 * 
+	 * <p>Exceptions raised by the event method are reported as run-time 
+	 * exceptions since they cannot be handled by the simulation engine.
+	 * 
+	 * @param event
+	 * 		The event to execute.
+	 */
+	protected void dispatch(final AbstractEvent<U> event) {
+		dispatched_ = event;
+		final ControllerMetrics metrics = metrics_;
+		try {
+			if (listener_ != null)
+				listener_.dispatching(event);
+			final EventDispatched recording = new EventDispatched();
+			recording.begin();
+			if (metrics == null) {
+				event.invoke();
+			} else {
+				final long start = metrics.start();
+				event.invoke();
+				metrics.dispatched(event, start, pending_.size());
+			}
+			recording.commit(event);
+		} catch (InvocationTargetException e) {
+			throw new RuntimeException("Event " + event + " failed", e.getCause());
+		} catch (NoSuchMethodException e) {
+			throw new RuntimeException("No method found for event " + event, e);
+		} catch (IllegalAccessException e) {
+			throw new RuntimeException("Cannot access method of event " + event, e);
+		} finally {
+			dispatched_ = null;
+		}
+	}
+
+	/**
+	 * Removes the first pending event when the super-scheduler calls this
+	 * controller back, and advances the local time.
+	 * 
+	 * @param currentTime
+	 * 		The time given by the super-scheduler.
+	 * @return the first pending event.
+	 * @throws SimSchedulingException
+	 * 		If the first pending event is not scheduled at the given time.
+	 */
+	private AbstractEvent<U> pollFirst(final ModelingTimeAPI<U> currentTime)
+			throws SimSchedulingException {
+		final AbstractEvent<U> event = pending_.peek();
+		if (event == null || event.getTime().compareTo(currentTime) != 0)
+			throw new SimSchedulingException(String.format(
+					"No event pending at t=%s (next is %s)", currentTime, event));
+		pending_.poll();
+		// the super-scheduler called us back: our registration is consumed
+		registeredTime_ = null;
+		currentTime_ = currentTime;
+		return event;
+	}
+
+	/**
+	 * Reports the time of the first pending event to the super-scheduler if it
+	 * changed since the last report. Reports are delayed until the end of 
+	 * the event being dispatched, if any.
+	 */
+	protected void notifySuperScheduler() {
+		if (dispatched_ != null)
+			return;
+		final AbstractEvent<U> head = pending_.peek();
+		if (head == null) {
+			if (registeredTime_ != null) {
+				// withdraw the previous registration
+				registeredTime_ = null;
+				getSuperScheduler().waitUntil(infinity_, this);
+			}
+			return;
+		}
+		final ModelingTimeAPI<U> time = head.getTime();
+		if (registeredTime_ == null || time.compareTo(registeredTime_) != 0) {
+			registeredTime_ = time;
+			getSuperScheduler().waitUntil(time, this);
+		}
+	}
+
+	/**
+	 * Sets the local simulation time, eg. when the controller is rolled back.
+	 * 
+	 * @param time
+	 * 		The new local time.
+	 */
+	protected void setSimulationTime(final ModelingTimeAPI<U> time) {
+		currentTime_ = time;
+	}
+
+	/**
+	 * Forgets the last time reported to the super-scheduler, such that the 
+	 * next call to {@link #notifySuperScheduler()} reports the first pending
+	 * event whatever its time. Used when the super-scheduler discarded the 
+	 * registration of this controller.
+	 */
+	protected void resetRegistration() {
+		registeredTime_ = null;
+	}
+
+	/**
+	 * Sets the observer notified of each event dispatched by this controller.
+	 * 
+	 * @param listener
+	 * 		The new listener, or <code>null</code> to remove it.
+	 */
+	public void setDispatchListener(final DispatchListenerItf<U> listener) {
+		listener_ = listener;
+	}
+
+	public DispatchListenerItf<U> getDispatchListener() {
+		return listener_;
+	}
+
+	/**
+	 * Sets the metrics updated by each event dispatched by this controller.
+	 * 
+	 * @param metrics
+	 * 		The new metrics, or <code>null</code> to disable them.
+	 * @see org.osadev.osa.simapis.simulation.metrics.SimulationMetrics
+	 */
+	public void setMetrics(final ControllerMetrics metrics) {
+		metrics_ = metrics;
+	}
+
+	public ControllerMetrics getMetrics() {
+		return metrics_;
+	}
+
+	protected PendingEventSetItf<U> getPendingEvents() {
+		return pending_;
+	}
+
+	protected EventIdSequence getEventIdSequence() {
+		return sequence_;
+	}
+
+	protected EventFactoryItf<U> getEventFactory() {
+		return eventFactory_;
+	}
+
+	protected TimeFactoryItf<U> getTimeFactory() {
+		return timeFactory_;
+	}
+
+}
@@ -0,0 +1,422 @@
+/** ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++--> 
+<!--                Open Simulation Architecture (OSA)                  -->
+<!--                                                                    -->
+<!--      This software is distributed under the terms of the           -->
+<!--           CECILL-C FREE SOFTWARE LICENSE AGREEMENT                 -->
+<!--  (see http://www.cecill.info/licences/Licence_CeCILL-C_V1-en.html) -->
+<!--                                                                    -->
+<!--  Copyright © 2006-2015 Université Nice Sophia Antipolis            -->
+<!--  Contact author: Olivier Dalle (olivier.dalle@unice.fr)            -->
+<!--                                                                    -->
+<!--  Parts of this software development were supported and hosted by   -->
+<!--  INRIA from 2006 to 2015, in the context of the common research    -->
+<!--  teams of INRIA and I3S, UMR CNRS 7172 (MASCOTTE, COATI, OASIS and -->
+<!--  SCALE).                                                           -->
+<!--++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++**/ 
+package org.osadev.osa.simapis.simulation;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+import org.osadev.osa.simapis.modeling.ConditionHandle;
+import org.osadev.osa.simapis.simulation.jfr.ConditionReleased;
+
+/**
+ * Global registry of the threads waiting on a condition, across all the 
+ * simulation controllers.
+ * 
+ * <p>Each condition is mapped to the queue of its waiting requests in FIFO
+ * order, together with the controller owning each of them. The queue is 
+ * linked through the requests themselves, so that releasing one waiter or 
+ * cancelling a wait that timed out is done in constant time, and releasing 
+ * all the waiters in a time linear in their number, independently of the 
+ * number of simulation components. A super-scheduler thus implements 
+ * {@link ProcessSuperSchedulerItf#iterateReleaseOneOnCondition(String, String)}
+ * and {@link ProcessSuperSchedulerItf#iterateReleaseAllOnCondition(String, String)}
+ * with {@link #releaseOne(String, String)} and 
+ * {@link #releaseAll(String, String)} instead of iterating its controllers.
+ * 
+ * <p>The queues are indexed by {@link ConditionHandle#getIndex() condition 
+ * handle index} and kept once created, so that waiting and releasing with a 
+ * handle involves neither hashing nor allocation. The <tt>String</tt> 
+ * methods look the handle up first, without creating it: the conditions 
+ * that have no handle are queued by name, and their queue is dropped once 
+ * empty, so that arbitrary condition names are not interned. Such a queue
+ * moves to the handle index when a handle of the same name is created.
+ * 
+ * <p>The registry is not thread-safe: it is meant to be used by the thread 
+ * currently having the control of the simulation, like the rest of the 
+ * scheduling structures.
+ * 
+ * @param <U>
+ * 		Type of the simulation time.
+ */
+public final class ConditionRegistry<U extends Comparable<U>> {
+
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private WaiterQueue<U>[] queues_ = new WaiterQueue[16];
+
+	/** Queues of the conditions without handle, removed once empty. */
+	private final HashMap<String, WaiterQueue<U>> named_ = new HashMap<String, WaiterQueue<U>>();
+
+	private int conditionCount_;
+
+	private int size_;
+
+	private long releasedCount_;
+
+	/**
+	 * Registers a request waiting on a condition, after the requests 
+	 * already waiting on it.
+	 * 
+	 * @param condition
+	 * 		The condition waited on.
+	 * @param request
+	 * 		The wait request of the waiting thread.
+	 * @param owner
+	 * 		The controller to which the thread belongs, in charge of waking 
+	 * 		it up.
+	 * @throws IllegalStateException
+	 * 		If the request is already registered.
+	 */
+	public void register(final String condition, final WaitRequest<U> request,
+			final ProcessSimulationControllerAPI<U> owner) {
+		final ConditionHandle<?> handle = ConditionHandle.lookup(condition);
+		if (handle != null) {
+			register(handle, request, owner);
+			return;
+		}
+		checkUnregistered(request);
+		WaiterQueue<U> queue = named_.get(condition);
+		if (queue == null) {
+			queue = new WaiterQueue<U>(condition);
+			named_.put(condition, queue);
+		}
+		request.setCondition(condition);
+		append(queue, request, owner);
+	}
+
+	/**
+	 * Registers a request waiting on a condition, after the requests 
+	 * already waiting on it.
+	 * 
+	 * @param condition
+	 * 		The handle of the condition waited on.
+	 * @param request
+	 * 		The wait request of the waiting thread.
+	 * @param owner
+	 * 		The controller to which the thread belongs, in charge of waking 
+	 * 		it up.
+	 * @throws IllegalStateException
+	 * 		If the request is already registered.
+	 */
+	public void register(final ConditionHandle<?> condition, final WaitRequest<U> request,
+			final ProcessSimulationControllerAPI<U> owner) {
+		checkUnregistered(request);
+		final WaiterQueue<U> queue = queue(condition);
+		request.setConditionHandle(condition);
+		append(queue, request, owner);
+	}
+
+	/**
+	 * Removes a request from the queue of its condition, eg. because its
+	 * wait timed out.
+	 * 
+	 * @param request
+	 * 		The request to remove.
+	 * @return <tt>true</tt> if the request was registered.
+	 */
+	public boolean cancel(final WaitRequest<U> request) {
+		final WaiterQueue<U> queue = request.waitQueue_;
+		if (queue == null)
+			return false;
+		unlink(queue, request);
+		return true;
+	}
+
+	/**
+	 * Wakes up the first thread waiting on a condition.
+	 * 
+	 * @param condition
+	 * 		The condition released.
+	 * @param param
+	 * 		The result of the wait of the woken-up thread.
+	 * @return <tt>true</tt> if a thread was waiting on the condition.
+	 */
+	public boolean releaseOne(final String condition, final String param) {
+		final WaiterQueue<U> queue = find(condition);
+		if (queue == null || queue.head_ == null)
+			return false;
+		final WaitRequest<U> request = queue.head_;
+		request.setResult(param);
+		release(condition, queue, request);
+		return true;
+	}
+
+	/**
+	 * Wakes up the first thread waiting on a condition.
+	 * 
+	 * @param condition
+	 * 		The handle of the condition released.
+	 * @param value
+	 * 		The result of the wait of the woken-up thread.
+	 * @return <tt>true</tt> if a thread was waiting on the condition.
+	 * @throws NullPointerException
+	 * 		If the value is <tt>null</tt>, which denotes a timeout.
+	 */
+	public <T> boolean releaseOne(final ConditionHandle<T> condition, final T value) {
+		if (value == null)
+			throw new NullPointerException("Null value released on " + condition);
+		final WaiterQueue<U> queue = find(condition);
+		if (queue == null || queue.head_ == null)
+			return false;
+		final WaitRequest<U> request = queue.head_;
+		request.setValue(value);
+		release(condition.getName(), queue, request);
+		return true;
+	}
+
+	/**
+	 * Wakes up all the threads waiting on a condition, in FIFO order. The 
+	 * threads starting to wait on the condition meanwhile are not released.
+	 * 
+	 * @param condition
+	 * 		The condition released.
+	 * @param param
+	 * 		The result of the waits of the woken-up threads.
+	 * @return the number of woken-up threads.
+	 */
+	public int releaseAll(final String condition, final String param) {
+		final WaiterQueue<U> queue = find(condition);
+		if (queue == null || queue.head_ == null)
+			return 0;
+		// Only the waiters registered before the new epoch are released.
+		final int epoch = ++queue.epoch_;
+		int count = 0;
+		WaitRequest<U> request;
+		while ((request = queue.head_) != null && request.waitEpoch_ != epoch) {
+			request.setResult(param);
+			release(condition, queue, request);
+			count++;
+		}
+		return count;
+	}
+
+	/**
+	 * Wakes up all the threads waiting on a condition, in FIFO order. The 
+	 * threads starting to wait on the condition meanwhile are not released.
+	 * 
+	 * @param condition
+	 * 		The handle of the condition released.
+	 * @param value
+	 * 		The result of the waits of the woken-up threads.
+	 * @return the number of woken-up threads.
+	 * @throws NullPointerException
+	 * 		If the value is <tt>null</tt>, which denotes a timeout.
+	 */
+	public <T> int releaseAll(final ConditionHandle<T> condition, final T value) {
+		if (value == null)
+			throw new NullPointerException("Null value released on " + condition);
+		final WaiterQueue<U> queue = find(condition);
+		if (queue == null || queue.head_ == null)
+			return 0;
+		final int epoch = ++queue.epoch_;
+		int count = 0;
+		WaitRequest<U> request;
+		while ((request = queue.head_) != null && request.waitEpoch_ != epoch) {
+			request.setValue(value);
+			release(condition.getName(), queue, request);
+			count++;
+		}
+		return count;
+	}
+
+	/**
+	 * Gets the number of threads waiting on a condition.
+	 * 
+	 * @param condition
+	 * 		The condition.
+	 * @return the number of waiters.
+	 */
+	public int getWaiterCount(final String condition) {
+		final WaiterQueue<U> queue = find(condition);
+		return queue == null ? 0 : queue.size_;
+	}
+
+	/**
+	 * Gets the number of threads waiting on a condition.
+	 * 
+	 * @param condition
+	 * 		The handle of the condition.
+	 * @return the number of waiters.
+	 */
+	public int getWaiterCount(final ConditionHandle<?> condition) {
+		final WaiterQueue<U> queue = find(condition);
+		return queue == null ? 0 : queue.size_;
+	}
+
+	/**
+	 * Gets the number of conditions having at least one waiter.
+	 * 
+	 * @return the number of conditions waited on.
+	 */
+	public int getConditionCount() {
+		return conditionCount_;
+	}
+
+	/**
+	 * Gets the total number of waiting threads.
+	 * 
+	 * @return the number of waiters.
+	 */
+	public int size() {
+		return size_;
+	}
+
+	/**
+	 * Gets the number of threads released since the registry was created.
+	 * 
+	 * @return the released count.
+	 */
+	public long getReleasedCount() {
+		return releasedCount_;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "ConditionRegistry[conditions=" + conditionCount_ + ", waiters=" 
+				+ size_ + ", released=" + releasedCount_ + "]";
+	}
+
+	private static void checkUnregistered(final WaitRequest<?> request) {
+		if (request.waitQueue_ != null)
+			throw new IllegalStateException("Request " + request
+					+ " already waits on " + request.getCondition());
+	}
+
+	private void append(final WaiterQueue<U> queue, final WaitRequest<U> request,
+			final ProcessSimulationControllerAPI<U> owner) {
+		request.owner_ = owner;
+		if (queue.size_ == 0)
+			conditionCount_++;
+		queue.append(request);
+		size_++;
+	}
+
+	/**
+	 * Finds the queue of a condition given by name, without creating its
+	 * handle.
+	 */
+	private WaiterQueue<U> find(final String condition) {
+		final ConditionHandle<?> handle = ConditionHandle.lookup(condition);
+		return (handle != null) ? find(handle) : named_.get(condition);
+	}
+
+	private WaiterQueue<U> find(final ConditionHandle<?> condition) {
+		final int index = condition.getIndex();
+		final WaiterQueue<U> queue = index < queues_.length ? queues_[index] : null;
+		if (queue != null || named_.isEmpty())
+			return queue;
+		// the handle may have been created while waiting by name
+		final WaiterQueue<U> named = named_.remove(condition.getName());
+		if (named != null) {
+			named.name_ = null;
+			store(index, named);
+		}
+		return named;
+	}
+
+	private WaiterQueue<U> queue(final ConditionHandle<?> condition) {
+		WaiterQueue<U> queue = find(condition);
+		if (queue == null) {
+			queue = new WaiterQueue<U>(null);
+			store(condition.getIndex(), queue);
+		}
+		return queue;
+	}
+
+	private void store(final int index, final WaiterQueue<U> queue) {
+		if (index >= queues_.length)
+			queues_ = Arrays.copyOf(queues_, Math.max(index + 1, queues_.length << 1));
+		queues_[index] = queue;
+	}
+
+	private void release(final String condition, final WaiterQueue<U> queue,
+			final WaitRequest<U> request) {
+		final ProcessSimulationControllerAPI<U> owner = request.owner_;
+		unlink(queue, request);
+		releasedCount_++;
+		final ConditionReleased recording = new ConditionReleased();
+		if (recording.shouldCommit())
+			recording.commit(condition, owner.getSimulationTime());
+		owner.wakeUpThread(request);
+	}
+
+	private void unlink(final WaiterQueue<U> queue, final WaitRequest<U> request) {
+		queue.remove(request);
+		request.owner_ = null;
+		size_--;
+		if (queue.size_ == 0) {
+			conditionCount_--;
+			if (queue.name_ != null)
+				named_.remove(queue.name_);
+		}
+	}
+
+	/**
+	 * Doubly-linked FIFO queue of the requests waiting on a condition.
+	 */
+	static final class WaiterQueue<U extends Comparable<U>> {
+
+		/** Name of a condition without handle, <tt>null</tt> if indexed. */
+		String name_;
+
+		WaitRequest<U> head_;
+
+		WaitRequest<U> tail_;
+
+		int size_;
+
+		/** Incremented by each release-all, and given to the new waiters. */
+		int epoch_;
+
+		WaiterQueue(final String name) {
+			name_ = name;
+		}
+
+		void append(final WaitRequest<U> request) {
+			request.waitQueue_ = this;
+			request.waitEpoch_ = epoch_;
+			request.prevWaiter_ = tail_;
+			request.nextWaiter_ = null;
+			if (tail_ == null)
+				head_ = request;
+			else
+				tail_.nextWaiter_ = request;
+			tail_ = request;
+			size_++;
+		}
+
+		void remove(final WaitRequest<U> request) {
+			final WaitRequest<U> prev = request.prevWaiter_;
+			final WaitRequest<U> next = request.nextWaiter_;
+			if (prev == null)
+				head_ = next;
+			else
+				prev.nextWaiter_ = next;
+			if (next == null)
+				tail_ = prev;
+			else
+				next.prevWaiter_ = prev;
+			request.waitQueue_ = null;
+			request.prevWaiter_ = null;
+			request.nextWaiter_ = null;
+			size_--;
+		}
+
+	}
+
+}
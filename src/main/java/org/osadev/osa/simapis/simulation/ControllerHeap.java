@@ -0,0 +1,305 @@
+/** ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++--> 
+<!--                Open Simulation Architecture (OSA)                  -->
+<!--                                                                    -->
+<!--      This software is distributed under the terms of the           -->
+<!--           CECILL-C FREE SOFTWARE LICENSE AGREEMENT                 -->
+<!--  (see http://www.cecill.info/licences/Licence_CeCILL-C_V1-en.html) -->
+<!--                                                                    -->
+<!--  Copyright © 2006-2015 Université Nice Sophia Antipolis            -->
+<!--  Contact author: Olivier Dalle (olivier.dalle@unice.fr)            -->
+<!--                                                                    -->
+<!--  Parts of this software development were supported and hosted by   -->
+<!--  INRIA from 2006 to 2015, in the context of the common research    -->
+<!--  teams of INRIA and I3S, UMR CNRS 7172 (MASCOTTE, COATI, OASIS and -->
+<!--  SCALE).                                                           -->
+<!--++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++**/ 
+package org.osadev.osa.simapis.simulation;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import org.osadev.osa.simapis.modeling.ModelingTimeAPI;
+
+/**
+ * Indexed binary min-heap of simulation controllers, ordered by the time of
+ * their next pending event.
+ * 
+ * <p>This is the agenda of a super-scheduler: each call to 
+ * {@link EventSuperSchedulerItf#waitUntil(ModelingTimeAPI, EventSimulationControllerAPI)}
+ * is forwarded to {@link #update(EventSimulationControllerAPI, ModelingTimeAPI)},
+ * which moves the controller up or down the heap from its current position.
+ * Selecting the earliest controller is then O(1), and updating or removing 
+ * one O(log n), without allocation once the controller is registered.
+ * 
+ * <p>Controllers with the same time are ordered by their rank, given at 
+ * registration, so that the order of execution is deterministic. The rank 
+ * defaults to the registration order.
+ * 
+ * @param <U>
+ * 		Type of the simulation time.
+ * @param <C>
+ * 		Type of the controllers.
+ */
+public final class ControllerHeap<U extends Comparable<U>, C extends EventSimulationControllerAPI<U>> {
+
+	/** A registered controller and its position in the heap. */
+	private static final class Entry<U extends Comparable<U>, C> {
+
+		final C controller_;
+
+		final long rank_;
+
+		ModelingTimeAPI<U> time_;
+
+		/** Position in the heap, or -1 if not queued. */
+		int index_ = -1;
+
+		Entry(final C controller, final long rank) {
+			controller_ = controller;
+			rank_ = rank;
+		}
+
+		boolean before(final Entry<U, C> o) {
+			final int c = time_.compareTo(o.time_);
+			return c < 0 || (c == 0 && rank_ < o.rank_);
+		}
+	}
+
+	private final Map<C, Entry<U, C>> entries_ = new IdentityHashMap<C, Entry<U, C>>();
+
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private Entry<U, C>[] heap_ = new Entry[16];
+
+	private int size_ = 0;
+
+	private long nextRank_ = 0;
+
+	/**
+	 * Registers a controller, ranked after the controllers already 
+	 * registered. Does nothing if the controller is already registered.
+	 * 
+	 * @param controller
+	 * 		The controller to register.
+	 * @return <tt>true</tt> if the controller was not registered yet.
+	 */
+	public boolean register(final C controller) {
+		return register(controller, nextRank_);
+	}
+
+	/**
+	 * Registers a controller with a given rank. Does nothing if the 
+	 * controller is already registered.
+	 * 
+	 * @param controller
+	 * 		The controller to register.
+	 * @param rank
+	 * 		Order of the controller among the controllers with the same time.
+	 * @return <tt>true</tt> if the controller was not registered yet.
+	 */
+	public boolean register(final C controller, final long rank) {
+		if (entries_.containsKey(controller))
+			return false;
+		entries_.put(controller, new Entry<U, C>(controller, rank));
+		if (rank >= nextRank_)
+			nextRank_ = rank + 1;
+		return true;
+	}
+
+	/**
+	 * Tells if a controller is registered.
+	 * 
+	 * @param controller
+	 * 		The controller.
+	 * @return <tt>true</tt> if the controller was registered.
+	 */
+	public boolean isRegistered(final C controller) {
+		return entries_.containsKey(controller);
+	}
+
+	/**
+	 * Sets the time of the next pending event of a controller, registering 
+	 * the controller if needed. An infinite time removes the controller from
+	 * the heap.
+	 * 
+	 * @param controller
+	 * 		The controller.
+	 * @param time
+	 * 		The time of its next pending event.
+	 */
+	public void update(final C controller, final ModelingTimeAPI<U> time) {
+		Entry<U, C> e = entries_.get(controller);
+		if (e == null) {
+			register(controller);
+			e = entries_.get(controller);
+		}
+		if (time.isInfinite()) {
+			remove(e);
+			return;
+		}
+		if (e.index_ < 0) {
+			e.time_ = time;
+			if (size_ == heap_.length)
+				heap_ = Arrays.copyOf(heap_, size_ << 1);
+			e.index_ = size_;
+			heap_[size_++] = e;
+			siftUp(e.index_);
+			return;
+		}
+		final int c = time.compareTo(e.time_);
+		e.time_ = time;
+		if (c < 0)
+			siftUp(e.index_);
+		else if (c > 0)
+			siftDown(e.index_);
+	}
+
+	/**
+	 * Removes a controller from the heap. It stays registered.
+	 * 
+	 * @param controller
+	 * 		The controller.
+	 * @return <tt>true</tt> if the controller was in the heap.
+	 */
+	public boolean remove(final C controller) {
+		final Entry<U, C> e = entries_.get(controller);
+		return e != null && remove(e);
+	}
+
+	/**
+	 * Gets the controller with the earliest time.
+	 * 
+	 * @return the first controller, or <tt>null</tt> if the heap is empty.
+	 */
+	public C peek() {
+		return size_ == 0 ? null : heap_[0].controller_;
+	}
+
+	/**
+	 * Gets the earliest time.
+	 * 
+	 * @return the time of the first controller, or <tt>null</tt> if the heap
+	 * 		is empty.
+	 */
+	public ModelingTimeAPI<U> peekTime() {
+		return size_ == 0 ? null : heap_[0].time_;
+	}
+
+	/**
+	 * Removes the controller with the earliest time from the heap.
+	 * 
+	 * @return the first controller, or <tt>null</tt> if the heap is empty.
+	 */
+	public C poll() {
+		if (size_ == 0)
+			return null;
+		final Entry<U, C> e = heap_[0];
+		remove(e);
+		return e.controller_;
+	}
+
+	/**
+	 * Gets the time for which a controller is queued.
+	 * 
+	 * @param controller
+	 * 		The controller.
+	 * @return its time, or <tt>null</tt> if it is not in the heap.
+	 */
+	public ModelingTimeAPI<U> getTime(final C controller) {
+		final Entry<U, C> e = entries_.get(controller);
+		return (e == null || e.index_ < 0) ? null : e.time_;
+	}
+
+	/**
+	 * Tells if a controller is in the heap.
+	 * 
+	 * @param controller
+	 * 		The controller.
+	 * @return <tt>true</tt> if the controller has a finite time.
+	 */
+	public boolean contains(final C controller) {
+		final Entry<U, C> e = entries_.get(controller);
+		return e != null && e.index_ >= 0;
+	}
+
+	/**
+	 * Gets the registered controllers, in no particular order.
+	 * 
+	 * @return an unmodifiable view of the registered controllers.
+	 */
+	public Collection<C> getRegistered() {
+		return Collections.unmodifiableSet(entries_.keySet());
+	}
+
+	public boolean isEmpty() {
+		return size_ == 0;
+	}
+
+	/** Number of controllers in the heap. */
+	public int size() {
+		return size_;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "ControllerHeap[size=" + size_ + ", registered=" + entries_.size()
+				+ ", first=" + peekTime() + "]";
+	}
+
+	private boolean remove(final Entry<U, C> e) {
+		final int i = e.index_;
+		if (i < 0)
+			return false;
+		e.index_ = -1;
+		final Entry<U, C> last = heap_[--size_];
+		heap_[size_] = null;
+		if (last != e) {
+			heap_[i] = last;
+			last.index_ = i;
+			siftDown(i);
+			if (heap_[i] == last)
+				siftUp(i);
+		}
+		return true;
+	}
+
+	private void siftUp(int i) {
+		final Entry<U, C> e = heap_[i];
+		while (i > 0) {
+			final int parent = (i - 1) >>> 1;
+			final Entry<U, C> p = heap_[parent];
+			if (!e.before(p))
+				break;
+			heap_[i] = p;
+			p.index_ = i;
+			i = parent;
+		}
+		heap_[i] = e;
+		e.index_ = i;
+	}
+
+	private void siftDown(int i) {
+		final Entry<U, C> e = heap_[i];
+		final int half = size_ >>> 1;
+		while (i < half) {
+			int child = (i << 1) + 1;
+			Entry<U, C> c = heap_[child];
+			final int right = child + 1;
+			if (right < size_ && heap_[right].before(c))
+				c = heap_[child = right];
+			if (!c.before(e))
+				break;
+			heap_[i] = c;
+			c.index_ = i;
+			i = child;
+		}
+		heap_[i] = e;
+		e.index_ = i;
+	}
+
+}
@@ -0,0 +1,35 @@
+/** ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++--> 
+<!--                Open Simulation Architecture (OSA)                  -->
+<!--                                                                    -->
+<!--      This software is distributed under the terms of the           -->
+<!--           CECILL-C FREE SOFTWARE LICENSE AGREEMENT                 -->
+<!--  (see http://www.cecill.info/licences/Licence_CeCILL-C_V1-en.html) -->
+<!--                                                                    -->
+<!--  Copyright © 2006-2015 Université Nice Sophia Antipolis            -->
+<!--  Contact author: Olivier Dalle (olivier.dalle@unice.fr)            -->
+<!--                                                                    -->
+<!--  Parts of this software development were supported and hosted by   -->
+<!--  INRIA from 2006 to 2015, in the context of the common research    -->
+<!--  teams of INRIA and I3S, UMR CNRS 7172 (MASCOTTE, COATI, OASIS and -->
+<!--  SCALE).                                                           -->
+<!--++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++**/ 
+package org.osadev.osa.simapis.simulation;
+
+/**
+ * Observer of the events dispatched by a simulation controller, eg. to 
+ * record or verify an event trace.
+ * 
+ * @see AbstractEventSimulationController#setDispatchListener(DispatchListenerItf)
+ */
+public interface DispatchListenerItf<U extends Comparable<U>> {
+
+	/**
+	 * Called by the controller just before it invokes an event, once the 
+	 * local time is set to the time of the event.
+	 * 
+	 * @param event
+	 * 		The event about to be dispatched.
+	 */
+	public void dispatching(AbstractEvent<U> event);
+
+}
@@ -20,5 +20,22 @@ import org.osadev.osa.simapis.modeling.ModelingTimeAPI;
 public interface EventFactoryItf<U extends Comparable<U>> {
 	
 	public AbstractEvent<U> create(String method, Object[] params, ModelingTimeAPI<U> time, Object instance);
+	
+	/**
+	 * Creates an event with a given identifier.
+	 * 
+	 * <p>The default implementation ignores the identifier and delegates to 
+	 * {@link #create(String, Object[], ModelingTimeAPI, Object)}: the event
+	 * gets its identifier from the sequence shared by the whole JVM, so that 
+	 * identifiers are neither partitioned between the logical processes nor 
+	 * preserved by checkpoints, and batches of events cannot be scheduled. 
+	 * Factories should override it.
+	 * 
+	 * @param eventId
+	 * 		Identifier allocated from the {@link EventIdSequence} of the simulation.
+	 */
+	public default AbstractEvent<U> create(long eventId, String method, Object[] params, ModelingTimeAPI<U> time, Object instance) {
+		return create(method, params, time, instance);
+	}
 
 }
@@ -0,0 +1,149 @@
+/** ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++--> 
+<!--                Open Simulation Architecture (OSA)                  -->
+<!--                                                                    -->
+<!--      This software is distributed under the terms of the           -->
+<!--           CECILL-C FREE SOFTWARE LICENSE AGREEMENT                 -->
+<!--  (see http://www.cecill.info/licences/Licence_CeCILL-C_V1-en.html) -->
+<!--                                                                    -->
+<!--  Copyright © 2006-2015 Université Nice Sophia Antipolis            -->
+<!--  Contact author: Olivier Dalle (olivier.dalle@unice.fr)            -->
+<!--                                                                    -->
+<!--  Parts of this software development were supported and hosted by   -->
+<!--  INRIA from 2006 to 2015, in the context of the common research    -->
+<!--  teams of INRIA and I3S, UMR CNRS 7172 (MASCOTTE, COATI, OASIS and -->
+<!--  SCALE).                                                           -->
+<!--++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++**/ 
+package org.osadev.osa.simapis.simulation;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Allocator of event identifiers.
+ * 
+ * <p>Each simulation is expected to own its sequence and to hand it over to the
+ * event factories of its simulation controllers, so that several simulations 
+ * running in the same JVM do not share (and contend on) a common counter. 
+ * Allocation is lock-free and identifiers are primitive <code>long</code>
+ * values.
+ * 
+ * <p>Identifiers are given in allocation order, starting at a first value and
+ * increasing by a fixed stride. Hence a simulation that creates its events in
+ * a deterministic order always gets the same identifiers. When events are 
+ * created concurrently by several logical processes, each process should use 
+ * its own partition of the identifier space (see 
+ * {@link #partition(int, int)}) so that the identifiers remain deterministic
+ * and the processes never write to the same counter.
+ * 
+ */
+public final class EventIdSequence {
+
+	/**
+	 * First identifier given by default. This is the identifier of the first
+	 * event created with the former JVM-wide counter, kept such that traces
+	 * remain comparable.
+	 */
+	public static final long FIRST_ID = 2L;
+
+	private final AtomicLong next_;
+
+	private final long stride_;
+
+	/**
+	 * Creates a sequence starting at {@link #FIRST_ID}.
+	 */
+	public EventIdSequence() {
+		this(FIRST_ID, 1L);
+	}
+
+	/**
+	 * Creates a sequence.
+	 * 
+	 * @param first
+	 * 		The first identifier given by the sequence.
+	 * @param stride
+	 * 		The increment between two successive identifiers (strictly positive).
+	 */
+	public EventIdSequence(final long first, final long stride) {
+		if (stride <= 0)
+			throw new IllegalArgumentException("Illegal stride: " + stride);
+		next_ = new AtomicLong(first);
+		stride_ = stride;
+	}
+
+	/**
+	 * Creates the sequence of one partition of the identifier space.
+	 * 
+	 * <p>The <code>count</code> partitions created this way give disjoint
+	 * identifiers: partition <code>i</code> gives <code>FIRST_ID + i</code>,
+	 * <code>FIRST_ID + i + count</code>, and so on.
+	 * 
+	 * @param index
+	 * 		Index of the partition, in <code>[0, count)</code>.
+	 * @param count
+	 * 		Number of partitions.
+	 * @return
+	 * 		A new sequence.
+	 */
+	public static EventIdSequence partition(final int index, final int count) {
+		if (index < 0 || index >= count)
+			throw new IllegalArgumentException(String.format(
+					"Illegal partition %d of %d", index, count));
+		return new EventIdSequence(FIRST_ID + index, count);
+	}
+
+	/**
+	 * Allocates the next identifier.
+	 * 
+	 * @return a new event identifier.
+	 */
+	public long next() {
+		return next_.getAndAdd(stride_);
+	}
+
+	/**
+	 * Allocates a block of identifiers at once.
+	 * 
+	 * <p>The identifiers of the block are <code>first + k * stride</code> for
+	 * <code>k</code> in <code>[0, count)</code>, where <code>first</code> is
+	 * the returned value.
+	 * 
+	 * @param count
+	 * 		Number of identifiers to allocate.
+	 * @return
+	 * 		The first identifier of the block.
+	 */
+	public long next(final int count) {
+		if (count < 0)
+			throw new IllegalArgumentException("Illegal count: " + count);
+		return next_.getAndAdd(stride_ * count);
+	}
+
+	/**
+	 * Gives the identifier that will be returned by the next allocation.
+	 * 
+	 * @return the next identifier.
+	 */
+	public long peek() {
+		return next_.get();
+	}
+
+	/**
+	 * Restarts the sequence at a given identifier, eg. when a simulation is
+	 * restored. Must not be called while events are being created.
+	 * 
+	 * @param next
+	 * 		The identifier to be returned by the next allocation.
+	 */
+	public void reset(final long next) {
+		next_.set(next);
+	}
+
+	public long getStride() {
+		return stride_;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("EventIdSequence[next=%d, stride=%d]", next_.get(), stride_);
+	}
+}
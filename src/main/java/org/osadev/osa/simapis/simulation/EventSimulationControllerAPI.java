@@ -147,6 +147,48 @@ extends SimulationTimeAPI<U>, Comparable<EventSimulationControllerAPI<U>>
 	 */
 	public boolean resumeNext(ModelingTimeAPI<U> currentTime) throws SimSchedulingException;
 	
+	/**
+	 * Request a simulation component to wake up and process all its events
+	 * pending at the current time.
+	 * 
+	 * <p>This is equivalent to calling {@link #resumeNext(ModelingTimeAPI)} 
+	 * as long as the first pending event is scheduled at the current time: 
+	 * events are processed in the same (deterministic) order, including the
+	 * events scheduled for the current time by the processed events 
+	 * themselves. The super-scheduler is only notified of the next pending 
+	 * event once the batch is complete, which saves one round trip per event
+	 * in models where many events share the same time (eg. synchronous 
+	 * clocks).
+	 * 
+	 * <p>Events are processed synchronously, in the caller thread. Controllers
+	 * that may process events asynchronously must be resumed with 
+	 * {@link #resumeNext(ModelingTimeAPI)}.
+	 * 
+	 * <p>The default implementation calls {@link #resumeNext(ModelingTimeAPI)}
+	 * as long as {@link #getNextScheduleTime()} is the current time, without 
+	 * saving the notifications of the super-scheduler. It stops after an 
+	 * event processed asynchronously.
+	 * 
+	 * @param currentTime
+	 * 		The current simulation time <b>before</b> the next pending event is processed.
+	 * @return
+	 * 		The number of events processed.
+	 * 
+	 * @throws SimSchedulingException if the first pending event is scheduled
+	 * 		at a different time than the given currentTime.
+	 */
+	public default int resumeAll(ModelingTimeAPI<U> currentTime) throws SimSchedulingException {
+		int count = 1;
+		if (resumeNext(currentTime))
+			return count;
+		while (getNextScheduleTime().compareTo(currentTime) == 0) {
+			count++;
+			if (resumeNext(currentTime))
+				break;
+		}
+		return count;
+	}
+	
 	
 	/**
 	 * Gets the schedule time of the next pending event.
@@ -0,0 +1,139 @@
+/** ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++--> 
+<!--                Open Simulation Architecture (OSA)                  -->
+<!--                                                                    -->
+<!--      This software is distributed under the terms of the           -->
+<!--           CECILL-C FREE SOFTWARE LICENSE AGREEMENT                 -->
+<!--  (see http://www.cecill.info/licences/Licence_CeCILL-C_V1-en.html) -->
+<!--                                                                    -->
+<!--  Copyright © 2006-2015 Université Nice Sophia Antipolis            -->
+<!--  Contact author: Olivier Dalle (olivier.dalle@unice.fr)            -->
+<!--                                                                    -->
+<!--  Parts of this software development were supported and hosted by   -->
+<!--  INRIA from 2006 to 2015, in the context of the common research    -->
+<!--  teams of INRIA and I3S, UMR CNRS 7172 (MASCOTTE, COATI, OASIS and -->
+<!--  SCALE).                                                           -->
+<!--++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++**/ 
+package org.osadev.osa.simapis.simulation;
+
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.io.ObjectOutput;
+import java.io.Serializable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The fields holding the state of a model component, saved by default when
+ * the component is rolled back 
+ * ({@link org.osadev.osa.simapis.simulation.optimistic.TimeWarpController})
+ * or checkpointed 
+ * ({@link org.osadev.osa.simapis.simulation.checkpoint.CheckpointWriter}).
+ * 
+ * <p>These are the non-static, non-transient fields of the class of the 
+ * component and of its superclasses, including the final ones: a final 
+ * field may reference a mutable object, eg. a random generator or a 
+ * collection. Fields that are part of the assembly rather than of the state
+ * (bindings, simulation APIs, loggers) are declared <tt>transient</tt> to be
+ * left out. A checkpoint saves the values with Java serialization, so a 
+ * field holding a value that cannot be serialized is an error there; a 
+ * rollback restores the values written to the fields (see 
+ * {@link org.osadev.osa.simapis.simulation.optimistic.RollbackableItf}).
+ * 
+ */
+public final class ModelFields {
+
+	private static final ConcurrentMap<Class<?>, Field[]> FIELDS = new ConcurrentHashMap<Class<?>, Field[]>();
+
+	private ModelFields() {
+	}
+
+	/**
+	 * Gives the state fields of a model class, in a fixed order.
+	 * 
+	 * @param type
+	 * 		The class of the model.
+	 * @return the fields, accessible. The array must not be modified.
+	 */
+	public static Field[] of(final Class<?> type) {
+		Field[] fields = FIELDS.get(type);
+		if (fields == null) {
+			final List<Field> list = new ArrayList<Field>();
+			for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+				for (Field f : c.getDeclaredFields()) {
+					final int m = f.getModifiers();
+					if (Modifier.isStatic(m) || Modifier.isTransient(m) || f.isSynthetic())
+						continue;
+					f.setAccessible(true);
+					list.add(f);
+				}
+			}
+			fields = list.toArray(new Field[list.size()]);
+			FIELDS.putIfAbsent(type, fields);
+		}
+		return fields;
+	}
+
+	/**
+	 * Gets the value of a state field.
+	 * 
+	 * @throws IllegalStateException
+	 * 		If the field cannot be read.
+	 */
+	public static Object get(final Field field, final Object instance) {
+		try {
+			return field.get(instance);
+		} catch (IllegalAccessException e) {
+			throw new IllegalStateException("Cannot save field " + field, e);
+		}
+	}
+
+	/**
+	 * Sets the value of a state field, final or not.
+	 * 
+	 * @throws IllegalStateException
+	 * 		If the field cannot be written.
+	 * @throws IllegalArgumentException
+	 * 		If the value does not match the type of the field.
+	 */
+	public static void set(final Field field, final Object instance, final Object value) {
+		try {
+			field.set(instance, value);
+		} catch (IllegalAccessException e) {
+			throw new IllegalStateException("Cannot restore field " + field, e);
+		}
+	}
+
+	/**
+	 * Writes the value of a state field.
+	 * 
+	 * @param out
+	 * 		The stream.
+	 * @param field
+	 * 		The field.
+	 * @param value
+	 * 		Its value.
+	 * @throws NotSerializableException
+	 * 		If the value, or an object it references, cannot be serialized.
+	 * @throws IOException
+	 * 		If the stream cannot be written.
+	 */
+	public static void writeValue(final ObjectOutput out, final Field field, final Object value)
+			throws IOException {
+		if (value != null && !(value instanceof Serializable))
+			throw new NotSerializableException(String.format(
+					"Field %s holds a %s: declare it transient if it is not part of the state",
+					field, value.getClass().getName()));
+		try {
+			out.writeObject(value);
+		} catch (NotSerializableException e) {
+			throw new NotSerializableException(String.format(
+					"Field %s references a %s: declare it transient if it is not part of the state",
+					field, e.getMessage()));
+		}
+	}
+
+}
@@ -15,7 +15,10 @@
 <!--++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++**/ 
 package org.osadev.osa.simapis.simulation;
 
-import java.util.concurrent.Semaphore;
+import org.osadev.osa.simapis.modeling.ConditionHandle;
+import org.osadev.osa.simapis.simulation.jfr.ProcessParked;
+import org.osadev.osa.simapis.simulation.jfr.ProcessResumed;
+import org.osadev.osa.simapis.simulation.process.Handoff;
 
 /**
  * Simple implementation of the {@link SimulationWaitRequestItf} interface.
@@ -27,12 +30,39 @@ public class WaitRequest<U extends Comparable<U>> implements
         SimulationWaitRequestItf<U> {
 
     public static final String    TIMEDOUT   = "TimeOut";
-    private final Semaphore       sema_      = new Semaphore(0);
+    private final Handoff         handoff_;
     private String                result_;
     private SimulationEventItf<U> event_;
     private String                condition_ = null;
+    private ConditionHandle<?>    handle_    = null;
+    private Object                value_;
+    private boolean               timedOut_;
 
+    /* Links in the waiter queue of a ConditionRegistry. */
+    ConditionRegistry.WaiterQueue<U>    waitQueue_;
+    int                                 waitEpoch_;
+    WaitRequest<U>                      prevWaiter_;
+    WaitRequest<U>                      nextWaiter_;
+    ProcessSimulationControllerAPI<U>   owner_;
+
+    /**
+     * Creates a wait request whose handoff spins for the
+     * {@link Handoff#getDefaultMaxSpins() default} number of times before
+     * parking.
+     */
     public WaitRequest() {
+        handoff_ = new Handoff();
+    }
+
+    /**
+     * Creates a wait request whose handoff spins at most the given number of
+     * times before parking.
+     * 
+     * @param maxSpins
+     *            Maximum number of spins, zero to park immediately.
+     */
+    public WaitRequest(final int maxSpins) {
+        handoff_ = new Handoff(maxSpins);
     }
 
     /*
@@ -47,6 +77,33 @@ public class WaitRequest<U extends Comparable<U>> implements
             throw new RuntimeException("Illegal result " + TIMEDOUT
                     + " is a reserved keyword");
         result_ = result;
+        value_ = result;
+        timedOut_ = false;
+    }
+
+    /**
+     * Sets the typed result of the request, as given by the releaser of a
+     * {@link ConditionHandle}.
+     * 
+     * <p>Unlike the <code>String</code> result, it is not synchronized: it is
+     * published to the waiter by the handoff that resumes it.
+     * 
+     * @param value
+     *            The value to return to the waiter.
+     */
+    public void setValue(final Object value) {
+        value_ = value;
+        timedOut_ = false;
+    }
+
+    /**
+     * Gets the typed result of the request.
+     * 
+     * @return the value given by the releaser, the <code>String</code> result
+     *         if any, or <code>null</code> if the request timed out.
+     */
+    public final Object getValue() {
+        return value_;
     }
 
     /*
@@ -58,10 +115,37 @@ public class WaitRequest<U extends Comparable<U>> implements
      */
     public synchronized void setTimedOut() {
         result_ = TIMEDOUT;
+        value_ = null;
+        timedOut_ = true;
     }
 
     public void setCondition(String condition) {
         condition_ = condition;
+        handle_ = null;
+    }
+
+    /**
+     * Sets the condition of the request from its interned handle.
+     * 
+     * @param condition
+     *            The handle of the wait condition.
+     */
+    public void setConditionHandle(final ConditionHandle<?> condition) {
+        condition_ = condition.getName();
+        handle_ = condition;
+    }
+
+    /**
+     * Gets the handle of the wait condition, which is looked up without
+     * being created if the condition was set as a <code>String</code>.
+     * 
+     * @return the condition handle, or <code>null</code> if no condition is
+     *         set or it has no handle.
+     */
+    public final ConditionHandle<?> getConditionHandle() {
+        if (handle_ == null && condition_ != null)
+            handle_ = ConditionHandle.lookup(condition_);
+        return handle_;
     }
 
     /*
@@ -93,7 +177,7 @@ public class WaitRequest<U extends Comparable<U>> implements
      * ()
      */
     public boolean isTimedOut() {
-        return (result_ != null) && result_.equals(TIMEDOUT);
+        return timedOut_;
     }
 
     /*
@@ -111,18 +195,32 @@ public class WaitRequest<U extends Comparable<U>> implements
         return this.condition_;
     }
 
+    /**
+     * Tells if this request is registered in a {@link ConditionRegistry}.
+     * 
+     * @return true if the request waits on its condition.
+     */
+    public final boolean isWaiting() {
+        return this.waitQueue_ != null;
+    }
+
     /**
      * Used to block the simulation thread on a with condition.
      * 
      * <p>
-     * This is just a delegate method for
-     * {@link java.lang.concurrent.Semaphore#acquire() }
+     * This is just a delegate method for {@link Handoff#acquire()}, which
+     * spins for a while before parking.
      * 
      * @throws InterruptedException
-     * @see java.lang.concurrent.Semaphore#acquire()
+     * @see Handoff#acquire()
      */
     public void acquire() throws InterruptedException {
-        this.sema_.acquire();
+        final ProcessParked recording = new ProcessParked();
+        recording.begin();
+        this.handoff_.acquire();
+        if (recording.shouldCommit())
+            recording.commit(Thread.currentThread().getName(), this.condition_,
+                    (this.event_ == null) ? null : this.event_.getTime());
     }
 
     /**
@@ -130,18 +228,26 @@ public class WaitRequest<U extends Comparable<U>> implements
      * condition.
      * 
      * <p>
-     * This is just a delegate method for
-     * {@link java.lang.concurrent.Semaphore#releasee() }
+     * This is just a delegate method for {@link Handoff#release()}.
      * 
-     * @throws InterruptedException
-     * @see java.lang.concurrent.Semaphore#release()
+     * @see Handoff#release()
      */
     public void release() {
-        this.sema_.release();
+        new ProcessResumed().commit(null, this.condition_);
+        this.handoff_.release();
     }
 
     public int availablePermits() {
-        return sema_.availablePermits();
+        return handoff_.availablePermits();
+    }
+
+    /**
+     * Gets the handoff used to block and resume the simulation thread.
+     * 
+     * @return the handoff of this request.
+     */
+    public final Handoff getHandoff() {
+        return handoff_;
     }
 
     /*
@@ -0,0 +1,67 @@
+/** ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++--> 
+<!--                Open Simulation Architecture (OSA)                  -->
+<!--                                                                    -->
+<!--      This software is distributed under the terms of the           -->
+<!--           CECILL-C FREE SOFTWARE LICENSE AGREEMENT                 -->
+<!--  (see http://www.cecill.info/licences/Licence_CeCILL-C_V1-en.html) -->
+<!--                                                                    -->
+<!--  Copyright © 2006-2015 Université Nice Sophia Antipolis            -->
+<!--  Contact author: Olivier Dalle (olivier.dalle@unice.fr)            -->
+<!--                                                                    -->
+<!--  Parts of this software development were supported and hosted by   -->
+<!--  INRIA from 2006 to 2015, in the context of the common research    -->
+<!--  teams of INRIA and I3S, UMR CNRS 7172 (MASCOTTE, COATI, OASIS and -->
+<!--  SCALE).                                                           -->
+<!--++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++**/ 
+package org.osadev.osa.simapis.simulation.checkpoint;
+
+/**
+ * Layout of the checkpoint files.
+ * 
+ * <p>A checkpoint is a Java object stream starting with {@link #MAGIC} and 
+ * {@link #VERSION}, followed by tagged sections, and ending with 
+ * {@link #END}:
+ * <ul>
+ * <li> {@link #SEQUENCE}: the next identifier and the stride of an event id
+ * sequence;
+ * <li> {@link #CONTROLLER}: the class name of the model, the number of 
+ * pending events, the local time, the model state and the pending events.
+ * </ul>
+ * 
+ * <p>A model state is either written by the model (see 
+ * {@link CheckpointableItf}) or is a list of (field index, value) pairs 
+ * ended by -1, for each of its state fields (see 
+ * {@link org.osadev.osa.simapis.simulation.ModelFields}). An event is its identifier, its method (an index in the 
+ * dictionary of the file, followed by the name the first time), its time 
+ * and its parameter array. A time is a tag byte followed by a 
+ * <code>long</code> value or by a serialized value.
+ * 
+ */
+final class CheckpointFormat {
+
+	/** "OSAK" */
+	static final int MAGIC = 0x4F53414B;
+
+	static final short VERSION = 1;
+
+	static final byte SEQUENCE = 'S';
+
+	static final byte CONTROLLER = 'C';
+
+	static final byte END = 'E';
+
+	static final byte TIME_LONG = 'L';
+
+	static final byte TIME_INFINITE = 'I';
+
+	static final byte TIME_OBJECT = 'O';
+
+	/** Number of events after which the stream forgets the objects written. */
+	static final int RESET_PERIOD = 1024;
+
+	static final int BUFFER_SIZE = 64 << 10;
+
+	private CheckpointFormat() {
+	}
+
+}
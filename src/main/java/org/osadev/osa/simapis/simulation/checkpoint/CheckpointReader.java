@@ -0,0 +1,306 @@
+/** ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++--> 
+<!--                Open Simulation Architecture (OSA)                  -->
+<!--                                                                    -->
+<!--      This software is distributed under the terms of the           -->
+<!--           CECILL-C FREE SOFTWARE LICENSE AGREEMENT                 -->
+<!--  (see http://www.cecill.info/licences/Licence_CeCILL-C_V1-en.html) -->
+<!--                                                                    -->
+<!--  Copyright © 2006-2015 Université Nice Sophia Antipolis            -->
+<!--  Contact author: Olivier Dalle (olivier.dalle@unice.fr)            -->
+<!--                                                                    -->
+<!--  Parts of this software development were supported and hosted by   -->
+<!--  INRIA from 2006 to 2015, in the context of the common research    -->
+<!--  teams of INRIA and I3S, UMR CNRS 7172 (MASCOTTE, COATI, OASIS and -->
+<!--  SCALE).                                                           -->
+<!--++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++**/ 
+package org.osadev.osa.simapis.simulation.checkpoint;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.StreamCorruptedException;
+import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.osadev.osa.simapis.modeling.ModelingTimeAPI;
+import org.osadev.osa.simapis.modeling.ModelingTimeSymbols;
+import org.osadev.osa.simapis.modeling.TimeFactoryItf;
+import org.osadev.osa.simapis.simulation.AbstractEvent;
+import org.osadev.osa.simapis.simulation.AbstractEventSimulationController;
+import org.osadev.osa.simapis.simulation.EventFactoryItf;
+import org.osadev.osa.simapis.simulation.EventIdSequence;
+import org.osadev.osa.simapis.simulation.ModelFields;
+
+/**
+ * Reads a checkpoint written by a {@link CheckpointWriter}.
+ * 
+ * <p>The simulation is restored into an assembly of the same model: the 
+ * sections are read in the order in which they were written, and each 
+ * controller replaces its pending events, local time and model state with
+ * those of the checkpoint (see 
+ * {@link AbstractEventSimulationController#restore(CheckpointReader)}). The
+ * events are read one at a time and added to the pending event sets, which
+ * then give them back in the same order as in the checkpointed simulation.
+ * 
+ */
+public final class CheckpointReader implements Closeable {
+
+	private final Path file_;
+
+	private final ObjectInputStream in_;
+
+	private final List<String> methods_ = new ArrayList<String>();
+
+	private int controllers_ = 0;
+
+	private long events_ = 0;
+
+	/**
+	 * Opens a checkpoint file.
+	 * 
+	 * @param file
+	 * 		Path of the checkpoint.
+	 * @throws IOException
+	 * 		If the file cannot be opened or is not a checkpoint.
+	 */
+	public CheckpointReader(final Path file) throws IOException {
+		file_ = file;
+		in_ = new ObjectInputStream(new BufferedInputStream(
+				Files.newInputStream(file), CheckpointFormat.BUFFER_SIZE));
+		final int magic = in_.readInt();
+		final short version = in_.readShort();
+		if (magic != CheckpointFormat.MAGIC || version != CheckpointFormat.VERSION) {
+			in_.close();
+			throw new StreamCorruptedException(String.format(
+					"%s: not a checkpoint of version %d", file, CheckpointFormat.VERSION));
+		}
+	}
+
+	/**
+	 * Restores a simulation from a checkpoint written by 
+	 * {@link CheckpointWriter#save(Path, EventIdSequence, Iterable)}.
+	 * 
+	 * @param file
+	 * 		Path of the checkpoint.
+	 * @param sequence
+	 * 		The event id sequence of the simulation.
+	 * @param controllers
+	 * 		The controllers of the simulation, in the order in which they were 
+	 *      saved.
+	 * @throws IOException
+	 * 		If the checkpoint cannot be read or does not match the controllers.
+	 */
+	public static <U extends Comparable<U>> void load(final Path file,
+			final EventIdSequence sequence,
+			final Iterable<? extends AbstractEventSimulationController<U>> controllers)
+			throws IOException {
+		final CheckpointReader reader = new CheckpointReader(file);
+		try {
+			reader.readSequence(sequence);
+			for (AbstractEventSimulationController<U> controller : controllers)
+				controller.restore(reader);
+			reader.readEnd();
+		} finally {
+			reader.close();
+		}
+	}
+
+	/**
+	 * Restores an event id sequence.
+	 * 
+	 * @param sequence
+	 * 		The sequence, not used while the checkpoint is restored.
+	 * @throws IOException
+	 * 		If the checkpoint cannot be read, or the saved sequence has another
+	 *      stride.
+	 */
+	public void readSequence(final EventIdSequence sequence) throws IOException {
+		expect(CheckpointFormat.SEQUENCE);
+		final long next = in_.readLong();
+		final long stride = in_.readLong();
+		if (stride != sequence.getStride())
+			throw new InvalidObjectException(String.format(
+					"Saved sequence has stride %d, not %d", stride, sequence.getStride()));
+		sequence.reset(next);
+	}
+
+	/**
+	 * Starts reading the section of a controller. Called by the controllers,
+	 * which then read their local time, the state of their model and their 
+	 * pending events.
+	 * 
+	 * @param instance
+	 * 		The model of the controller.
+	 * @return
+	 * 		The number of pending events in the section.
+	 * @throws IOException
+	 * 		If the checkpoint cannot be read, or the section was written by a 
+	 *      controller of another model class.
+	 */
+	public int beginController(final Object instance) throws IOException {
+		expect(CheckpointFormat.CONTROLLER);
+		final String type = in_.readUTF();
+		if (!type.equals(instance.getClass().getName()))
+			throw new InvalidObjectException(String.format(
+					"Controller %d was saved with a model of %s, not %s", controllers_,
+					type, instance.getClass().getName()));
+		controllers_++;
+		return in_.readInt();
+	}
+
+	/**
+	 * Reads a simulation time.
+	 * 
+	 * @param timeFactory
+	 * 		Factory of the time type.
+	 * @return the time.
+	 * @throws IOException
+	 * 		If the checkpoint cannot be read.
+	 */
+	@SuppressWarnings("unchecked")
+	public <U extends Comparable<U>> ModelingTimeAPI<U> readTime(
+			final TimeFactoryItf<U> timeFactory) throws IOException {
+		final byte tag = in_.readByte();
+		switch (tag) {
+		case CheckpointFormat.TIME_LONG:
+			return timeFactory.create((U) Long.valueOf(in_.readLong()));
+		case CheckpointFormat.TIME_INFINITE:
+			return timeFactory.create(ModelingTimeSymbols.INFINITY.name());
+		case CheckpointFormat.TIME_OBJECT:
+			return timeFactory.create((U) readObject());
+		default:
+			throw new StreamCorruptedException("Illegal time tag " + tag);
+		}
+	}
+
+	/**
+	 * Restores the state of a model, written by 
+	 * {@link CheckpointWriter#writeState(Object)}. The transient fields keep 
+	 * their value.
+	 * 
+	 * @param instance
+	 * 		The model.
+	 * @throws IOException
+	 * 		If the checkpoint cannot be read.
+	 */
+	public void readState(final Object instance) throws IOException {
+		if (instance instanceof CheckpointableItf) {
+			try {
+				((CheckpointableItf) instance).readState(in_);
+			} catch (ClassNotFoundException e) {
+				throw new IOException("Cannot restore the state of " + instance, e);
+			}
+			return;
+		}
+		final Field[] fields = ModelFields.of(instance.getClass());
+		int i;
+		while ((i = in_.readInt()) >= 0) {
+			if (i >= fields.length)
+				throw new InvalidObjectException(String.format(
+						"No field %d in %s", i, instance.getClass().getName()));
+			try {
+				ModelFields.set(fields[i], instance, readObject());
+			} catch (IllegalArgumentException e) {
+				throw new InvalidObjectException(String.format(
+						"Cannot restore field %s: %s", fields[i], e.getMessage()));
+			}
+		}
+	}
+
+	/**
+	 * Reads a pending event.
+	 * 
+	 * @param eventFactory
+	 * 		Factory of events.
+	 * @param timeFactory
+	 * 		Factory of the time type.
+	 * @param instance
+	 * 		The model of the controller, on which the event is called.
+	 * @return
+	 * 		A new event, with the saved identifier.
+	 * @throws InvalidObjectException
+	 * 		If the event factory does not keep the saved identifier.
+	 * @throws IOException
+	 * 		If the checkpoint cannot be read.
+	 */
+	public <U extends Comparable<U>> AbstractEvent<U> readEvent(
+			final EventFactoryItf<U> eventFactory, final TimeFactoryItf<U> timeFactory,
+			final Object instance) throws IOException {
+		final long id = in_.readLong();
+		final int index = in_.readInt();
+		final String method;
+		if (index == methods_.size()) {
+			method = in_.readUTF();
+			methods_.add(method);
+		} else if (index >= 0 && index < methods_.size()) {
+			method = methods_.get(index);
+		} else {
+			throw new StreamCorruptedException("Illegal method index " + index);
+		}
+		final ModelingTimeAPI<U> time = readTime(timeFactory);
+		final Object[] params = (Object[]) readObject();
+		final AbstractEvent<U> event = eventFactory.create(id, method, params, time, instance);
+		// the factory may not honour the identifier (see EventFactoryItf)
+		if (event.getId() != id)
+			throw new InvalidObjectException(String.format(
+					"The event factory gave the identifier %d to the saved event %d",
+					event.getId(), id));
+		events_++;
+		return event;
+	}
+
+	/**
+	 * Checks that all the sections of the checkpoint were read.
+	 * 
+	 * @throws IOException
+	 * 		If the checkpoint has more sections.
+	 */
+	public void readEnd() throws IOException {
+		expect(CheckpointFormat.END);
+	}
+
+	public void close() throws IOException {
+		in_.close();
+	}
+
+	public Path getFile() {
+		return file_;
+	}
+
+	/** Number of controller sections read. */
+	public int getControllerCount() {
+		return controllers_;
+	}
+
+	/** Number of pending events read. */
+	public long getEventCount() {
+		return events_;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("CheckpointReader[%s, controllers=%d, events=%d]",
+				file_, controllers_, events_);
+	}
+
+	private void expect(final byte tag) throws IOException {
+		final byte read = in_.readByte();
+		if (read != tag)
+			throw new StreamCorruptedException(String.format(
+					"%s: expected section '%c', found '%c'", file_, (char) tag, (char) read));
+	}
+
+	private Object readObject() throws IOException {
+		try {
+			return in_.readObject();
+		} catch (ClassNotFoundException e) {
+			throw new IOException("Cannot restore an object of " + file_, e);
+		}
+	}
+
+}
@@ -0,0 +1,336 @@
+/** ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++--> 
+<!--                Open Simulation Architecture (OSA)                  -->
+<!--                                                                    -->
+<!--      This software is distributed under the terms of the           -->
+<!--           CECILL-C FREE SOFTWARE LICENSE AGREEMENT                 -->
+<!--  (see http://www.cecill.info/licences/Licence_CeCILL-C_V1-en.html) -->
+<!--                                                                    -->
+<!--  Copyright © 2006-2015 Université Nice Sophia Antipolis            -->
+<!--  Contact author: Olivier Dalle (olivier.dalle@unice.fr)            -->
+<!--                                                                    -->
+<!--  Parts of this software development were supported and hosted by   -->
+<!--  INRIA from 2006 to 2015, in the context of the common research    -->
+<!--  teams of INRIA and I3S, UMR CNRS 7172 (MASCOTTE, COATI, OASIS and -->
+<!--  SCALE).                                                           -->
+<!--++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++**/ 
+package org.osadev.osa.simapis.simulation.checkpoint;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.lang.reflect.Field;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.osadev.osa.simapis.modeling.ModelingTimeAPI;
+import org.osadev.osa.simapis.simulation.AbstractEvent;
+import org.osadev.osa.simapis.simulation.AbstractEventSimulationController;
+import org.osadev.osa.simapis.simulation.EventIdSequence;
+import org.osadev.osa.simapis.simulation.ModelFields;
+
+/**
+ * Writes a checkpoint of a simulation to a file.
+ * 
+ * <p>A checkpoint is taken at a quiescent point of the simulation, between
+ * two calls to 
+ * {@link AbstractEventSimulationController#resumeNext(ModelingTimeAPI)}: it
+ * holds the event id sequence of the simulation, then the local time, the 
+ * model state and the pending events of each controller (see 
+ * {@link AbstractEventSimulationController#checkpoint(CheckpointWriter)}).
+ * The events are written one at a time while iterating over the pending 
+ * event sets, and the stream periodically forgets the objects it wrote, so
+ * that taking a checkpoint does not copy the simulation in memory.
+ * 
+ * <p>The parameters of the events and the saved fields of the models are 
+ * written with Java serialization. Parameter objects shared by several 
+ * events may be restored as distinct copies.
+ * 
+ * <p>The checkpoint is written to a temporary file next to the target, 
+ * which is forced to the storage and moved atomically in place of the 
+ * target by {@link #close()}. The previous checkpoint is thus kept intact
+ * until the new one is complete, even if the process dies while writing.
+ * 
+ */
+public final class CheckpointWriter implements Closeable {
+
+	private final Path file_;
+
+	/** The file being written, moved to <tt>file_</tt> on close. */
+	private final Path temporary_;
+
+	private final FileChannel channel_;
+
+	private final ObjectOutputStream out_;
+
+	private final Map<String, Integer> methods_ = new HashMap<String, Integer>();
+
+	private int unreset_ = 0;
+
+	private int controllers_ = 0;
+
+	private long events_ = 0;
+
+	private boolean closed_ = false;
+
+	/**
+	 * Starts a checkpoint, which replaces any existing file once closed.
+	 * 
+	 * @param file
+	 * 		Path of the checkpoint.
+	 * @throws IOException
+	 * 		If the temporary file cannot be created.
+	 */
+	public CheckpointWriter(final Path file) throws IOException {
+		file_ = file;
+		final Path dir = file.toAbsolutePath().getParent();
+		temporary_ = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+		ObjectOutputStream out = null;
+		FileChannel channel = null;
+		try {
+			channel = FileChannel.open(temporary_, StandardOpenOption.WRITE);
+			out = new ObjectOutputStream(new BufferedOutputStream(
+					Channels.newOutputStream(channel), CheckpointFormat.BUFFER_SIZE));
+			out.writeInt(CheckpointFormat.MAGIC);
+			out.writeShort(CheckpointFormat.VERSION);
+		} catch (IOException e) {
+			if (channel != null)
+				channel.close();
+			Files.deleteIfExists(temporary_);
+			throw e;
+		}
+		channel_ = channel;
+		out_ = out;
+	}
+
+	/**
+	 * Writes a checkpoint of a simulation.
+	 * 
+	 * @param file
+	 * 		Path of the checkpoint.
+	 * @param sequence
+	 * 		The event id sequence of the simulation.
+	 * @param controllers
+	 * 		The controllers of the simulation, in the order in which they are 
+	 *      restored.
+	 * @throws IOException
+	 * 		If the checkpoint cannot be written.
+	 */
+	public static <U extends Comparable<U>> void save(final Path file,
+			final EventIdSequence sequence,
+			final Iterable<? extends AbstractEventSimulationController<U>> controllers)
+			throws IOException {
+		final CheckpointWriter writer = new CheckpointWriter(file);
+		boolean written = false;
+		try {
+			writer.writeSequence(sequence);
+			for (AbstractEventSimulationController<U> controller : controllers)
+				controller.checkpoint(writer);
+			writer.close();
+			written = true;
+		} finally {
+			if (!written)
+				writer.abort();
+		}
+	}
+
+	/**
+	 * Writes the state of an event id sequence.
+	 * 
+	 * @param sequence
+	 * 		The sequence, not used while the checkpoint is taken.
+	 * @throws IOException
+	 * 		If the checkpoint cannot be written.
+	 */
+	public void writeSequence(final EventIdSequence sequence) throws IOException {
+		out_.writeByte(CheckpointFormat.SEQUENCE);
+		out_.writeLong(sequence.peek());
+		out_.writeLong(sequence.getStride());
+	}
+
+	/**
+	 * Starts the section of a controller. Called by the controllers, which 
+	 * then write their local time, the state of their model and their 
+	 * pending events.
+	 * 
+	 * @param instance
+	 * 		The model of the controller.
+	 * @param eventCount
+	 * 		The number of pending events written in the section.
+	 * @throws IOException
+	 * 		If the checkpoint cannot be written.
+	 */
+	public void beginController(final Object instance, final int eventCount)
+			throws IOException {
+		out_.writeByte(CheckpointFormat.CONTROLLER);
+		out_.writeUTF(instance.getClass().getName());
+		out_.writeInt(eventCount);
+		controllers_++;
+	}
+
+	/**
+	 * Writes a simulation time.
+	 * 
+	 * @param time
+	 * 		The time.
+	 * @throws IOException
+	 * 		If the checkpoint cannot be written.
+	 */
+	public void writeTime(final ModelingTimeAPI<?> time) throws IOException {
+		if (time.isInfinite()) {
+			out_.writeByte(CheckpointFormat.TIME_INFINITE);
+			return;
+		}
+		final Object value = time.get();
+		if (value instanceof Long) {
+			out_.writeByte(CheckpointFormat.TIME_LONG);
+			out_.writeLong(((Long) value).longValue());
+		} else {
+			out_.writeByte(CheckpointFormat.TIME_OBJECT);
+			out_.writeObject(value);
+		}
+	}
+
+	/**
+	 * Writes the state of a model, either by calling 
+	 * {@link CheckpointableItf#writeState(java.io.ObjectOutput)} or by 
+	 * writing its state fields, final ones included (see {@link ModelFields}).
+	 * Fields that are part of the assembly rather than of the state, such as
+	 * the bindings of the component or its simulation API, must be declared
+	 * <tt>transient</tt>.
+	 * 
+	 * @param instance
+	 * 		The model.
+	 * @throws java.io.NotSerializableException
+	 * 		If the value of a state field cannot be serialized.
+	 * @throws IOException
+	 * 		If the checkpoint cannot be written.
+	 */
+	public void writeState(final Object instance) throws IOException {
+		if (instance instanceof CheckpointableItf) {
+			((CheckpointableItf) instance).writeState(out_);
+		} else {
+			final Field[] fields = ModelFields.of(instance.getClass());
+			for (int i = 0; i < fields.length; i++) {
+				out_.writeInt(i);
+				ModelFields.writeValue(out_, fields[i], ModelFields.get(fields[i], instance));
+			}
+			out_.writeInt(-1);
+		}
+		reset();
+	}
+
+	/**
+	 * Writes a pending event. Its instance is not written: events are 
+	 * restored on the model of their controller.
+	 * 
+	 * @param event
+	 * 		The event.
+	 * @throws IOException
+	 * 		If the checkpoint cannot be written, or a parameter of the event
+	 *      cannot be serialized.
+	 */
+	public void writeEvent(final AbstractEvent<?> event) throws IOException {
+		out_.writeLong(event.getId());
+		final String method = event.getEvtMethod();
+		final Integer index = methods_.get(method);
+		if (index == null) {
+			final int next = methods_.size();
+			methods_.put(method, next);
+			out_.writeInt(next);
+			out_.writeUTF(method);
+		} else {
+			out_.writeInt(index.intValue());
+		}
+		writeTime(event.getTime());
+		out_.writeObject(event.getEvtParam());
+		events_++;
+		if (++unreset_ == CheckpointFormat.RESET_PERIOD)
+			reset();
+	}
+
+	/**
+	 * Ends the checkpoint, forces it to the storage and moves it in place of
+	 * the target file. A writer that failed is {@link #abort() aborted} 
+	 * instead, to keep the previous checkpoint.
+	 * 
+	 * @throws IOException
+	 * 		If the checkpoint cannot be completed, in which case it is 
+	 * 		discarded.
+	 */
+	public void close() throws IOException {
+		if (closed_)
+			return;
+		closed_ = true;
+		boolean moved = false;
+		try {
+			out_.writeByte(CheckpointFormat.END);
+			out_.flush();
+			channel_.force(true);
+			out_.close();
+			Files.move(temporary_, file_, StandardCopyOption.ATOMIC_MOVE,
+					StandardCopyOption.REPLACE_EXISTING);
+			moved = true;
+		} finally {
+			if (!moved)
+				discard();
+		}
+	}
+
+	/**
+	 * Discards the checkpoint being written, leaving the target file as it 
+	 * was.
+	 */
+	public void abort() {
+		if (closed_)
+			return;
+		closed_ = true;
+		discard();
+	}
+
+	private void discard() {
+		try {
+			out_.close();
+		} catch (IOException e) {
+			// the checkpoint is discarded anyway
+		}
+		try {
+			Files.deleteIfExists(temporary_);
+		} catch (IOException e) {
+			// a stale temporary file does not affect the target
+		}
+	}
+
+	public Path getFile() {
+		return file_;
+	}
+
+	/** Number of controller sections written. */
+	public int getControllerCount() {
+		return controllers_;
+	}
+
+	/** Number of pending events written. */
+	public long getEventCount() {
+		return events_;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("CheckpointWriter[%s, controllers=%d, events=%d]",
+				file_, controllers_, events_);
+	}
+
+	/** Forgets the objects written, such that they can be collected. */
+	private void reset() throws IOException {
+		out_.reset();
+		unreset_ = 0;
+	}
+
+}
@@ -0,0 +1,58 @@
+/** ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++--> 
+<!--                Open Simulation Architecture (OSA)                  -->
+<!--                                                                    -->
+<!--      This software is distributed under the terms of the           -->
+<!--           CECILL-C FREE SOFTWARE LICENSE AGREEMENT                 -->
+<!--  (see http://www.cecill.info/licences/Licence_CeCILL-C_V1-en.html) -->
+<!--                                                                    -->
+<!--  Copyright © 2006-2015 Université Nice Sophia Antipolis            -->
+<!--  Contact author: Olivier Dalle (olivier.dalle@unice.fr)            -->
+<!--                                                                    -->
+<!--  Parts of this software development were supported and hosted by   -->
+<!--  INRIA from 2006 to 2015, in the context of the common research    -->
+<!--  teams of INRIA and I3S, UMR CNRS 7172 (MASCOTTE, COATI, OASIS and -->
+<!--  SCALE).                                                           -->
+<!--++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++**/ 
+package org.osadev.osa.simapis.simulation.checkpoint;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+
+/**
+ * Model component that saves its own state in checkpoints.
+ * 
+ * <p>By default, a checkpoint serializes the non-static, non-transient 
+ * fields of a model, final ones included (see 
+ * {@link org.osadev.osa.simapis.simulation.ModelFields}). Components whose
+ * state cannot be serialized, or that can write it more compactly, 
+ * implement this interface instead. The state is written to the checkpoint stream, so that
+ * large states need not be copied in memory.
+ * 
+ */
+public interface CheckpointableItf {
+
+	/**
+	 * Writes the state of the component.
+	 * 
+	 * @param out
+	 * 		The checkpoint stream.
+	 * @throws IOException
+	 * 		If the state cannot be written.
+	 */
+	public void writeState(ObjectOutput out) throws IOException;
+
+	/**
+	 * Restores the state of the component, reading what 
+	 * {@link #writeState(ObjectOutput)} wrote.
+	 * 
+	 * @param in
+	 * 		The checkpoint stream.
+	 * @throws IOException
+	 * 		If the state cannot be read.
+	 * @throws ClassNotFoundException
+	 * 		If the class of a saved object cannot be found.
+	 */
+	public void readState(ObjectInput in) throws IOException, ClassNotFoundException;
+
+}
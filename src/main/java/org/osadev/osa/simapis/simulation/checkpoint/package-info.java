@@ -0,0 +1,6 @@
+/**
+ * Checkpoints of a running simulation: the pending events, clocks and model
+ * states of its controllers, streamed to a binary file and restored later.
+ *
+ */
+package org.osadev.osa.simapis.simulation.checkpoint;
@@ -0,0 +1,340 @@
+/** ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++--> 
+<!--                Open Simulation Architecture (OSA)                  -->
+<!--                                                                    -->
+<!--      This software is distributed under the terms of the           -->
+<!--           CECILL-C FREE SOFTWARE LICENSE AGREEMENT                 -->
+<!--  (see http://www.cecill.info/licences/Licence_CeCILL-C_V1-en.html) -->
+<!--                                                                    -->
+<!--  Copyright © 2006-2015 Université Nice Sophia Antipolis            -->
+<!--  Contact author: Olivier Dalle (olivier.dalle@unice.fr)            -->
+<!--                                                                    -->
+<!--  Parts of this software development were supported and hosted by   -->
+<!--  INRIA from 2006 to 2015, in the context of the common research    -->
+<!--  teams of INRIA and I3S, UMR CNRS 7172 (MASCOTTE, COATI, OASIS and -->
+<!--  SCALE).                                                           -->
+<!--++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++**/ 
+package org.osadev.osa.simapis.simulation.dispatch;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.osadev.osa.simapis.exceptions.IllegalEventMethodException;
+import org.osadev.osa.simapis.exceptions.UnknownEventMethodException;
+
+/**
+ * Cached dispatch engine used to execute the method designated by an event.
+ * 
+ * <p>The method is resolved once for each (instance class, method name,
+ * argument types) triple and the result is kept as a {@link MethodHandle}
+ * adapted to the <tt>(Object, Object[])</tt> calling convention. The matching
+ * rules are those historically implemented by
+ * {@link org.osadev.osa.simapis.simulation.AbstractEvent#invoke()}:
+ * <ol>
+ * <li> exact match: a public method whose parameter types are exactly the
+ * run-time classes of the event parameters;
+ * <li> relaxed match: a public method with the same arity and all parameters
+ * declared with the <tt>Object</tt> type.
+ * </ol>
+ * 
+ * <p>Once a triple has been resolved, subsequent dispatches do not allocate 
+ * and only compare the run-time classes of the parameters with the cached 
+ * ones. Failed resolutions are not cached, so that an unknown method keeps 
+ * raising a {@link NoSuchMethodException} on every call.
+ * 
+ * <p>Only the throwables raised by the called method are reported as 
+ * {@link InvocationTargetException}: a failure of the dispatch itself (eg. a
+ * {@link java.lang.invoke.WrongMethodTypeException}) is propagated as is.
+ * 
+ * <p>Cache hits and misses are counted and can be read at any time, eg. to
+ * check that a model does not defeat the cache with highly polymorphic
+ * parameters.
+ * 
+ * <p>This class is thread-safe.
+ */
+public final class EventDispatcher {
+
+	/** Dispatcher shared by default by all events of the JVM. */
+	private static final EventDispatcher DEFAULT = new EventDispatcher();
+
+	private static final Object[] NO_PARAMS = new Object[0];
+
+	/** Handle of {@link #targetFailed(Throwable)}. */
+	private static final MethodHandle TARGET_FAILED;
+
+	static {
+		try {
+			TARGET_FAILED = MethodHandles.lookup().findStatic(EventDispatcher.class,
+					"targetFailed", MethodType.methodType(Object.class, Throwable.class));
+		} catch (ReflectiveOperationException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	private final ClassValue<ClassTable> tables_ = new ClassValue<ClassTable>() {
+		@Override
+		protected ClassTable computeValue(Class<?> type) {
+			return new ClassTable();
+		}
+	};
+
+	private final LongAdder hits_ = new LongAdder();
+
+	private final LongAdder misses_ = new LongAdder();
+
+	private final LongAdder relaxed_ = new LongAdder();
+
+	/**
+	 * Gets the dispatcher shared by default by all events.
+	 * 
+	 * @return the default dispatcher.
+	 */
+	public static EventDispatcher getDefault() {
+		return DEFAULT;
+	}
+
+	/**
+	 * Calls a method on the given instance.
+	 * 
+	 * @param instance
+	 * 		The target object.
+	 * @param method
+	 * 		The name of the method to call.
+	 * @param params
+	 * 		The method parameters, possibly <code>null</code> when the
+	 *      method takes no parameter.
+	 * 
+	 * @throws IllegalAccessException
+	 * 		If the resolved method is not accessible.
+	 * @throws InvocationTargetException
+	 * 		If the called method throws an exception.
+	 * @throws NoSuchMethodException
+	 * 		If neither an exact nor a relaxed match can be found.
+	 */
+	public void invoke(final Object instance, final String method,
+			final Object[] params) throws IllegalAccessException,
+			InvocationTargetException, NoSuchMethodException {
+		final Object[] args = (params == null) ? NO_PARAMS : params;
+		final Entry entry = lookup(instance.getClass(), method, args);
+		try {
+			// the cast is required to match the exact type of the invoker
+			final Object ignored = (Object) entry.invoker_.invokeExact(instance, args);
+		} catch (InvocationTargetException e) {
+			throw e;
+		} catch (RuntimeException e) {
+			throw e;
+		} catch (Error e) {
+			throw e;
+		} catch (Throwable t) {
+			// not thrown by the target, which is guarded by targetFailed
+			throw new IllegalStateException("Cannot dispatch " + method, t);
+		}
+	}
+
+	/**
+	 * Checks that events can be built for a method name, ie. that the class
+	 * has at least one public instance method with this name.
+	 * 
+	 * <p>Successful checks are cached, such that this method can be called 
+	 * each time an event is scheduled.
+	 * 
+	 * @param type
+	 * 		The class of the event instance.
+	 * @param method
+	 * 		The name of the event method.
+	 * @throws UnknownEventMethodException
+	 * 		If the class has no public method with this name.
+	 * @throws IllegalEventMethodException
+	 * 		If the public methods with this name are all static.
+	 */
+	public void checkMethod(final Class<?> type, final String method)
+			throws UnknownEventMethodException, IllegalEventMethodException {
+		final ClassTable table = tables_.get(type);
+		if (table.checked_.contains(method))
+			return;
+		boolean found = false;
+		for (Method m : type.getMethods()) {
+			if (m.getName().equals(method)) {
+				if (!Modifier.isStatic(m.getModifiers())) {
+					table.checked_.add(method);
+					return;
+				}
+				found = true;
+			}
+		}
+		if (found)
+			throw new IllegalEventMethodException();
+		throw new UnknownEventMethodException();
+	}
+
+	/**
+	 * Number of dispatches served from the cache since creation or the last
+	 * call to {@link #resetStatistics()}.
+	 * 
+	 * @return the cache hit count.
+	 */
+	public long getHitCount() {
+		return hits_.sum();
+	}
+
+	/**
+	 * Number of dispatches that required a method resolution since creation
+	 * or the last call to {@link #resetStatistics()}.
+	 * 
+	 * @return the cache miss count.
+	 */
+	public long getMissCount() {
+		return misses_.sum();
+	}
+
+	/**
+	 * Number of resolutions that fell back to the relaxed (<tt>Object</tt> 
+	 * typed) match.
+	 * 
+	 * @return the relaxed resolution count.
+	 */
+	public long getRelaxedCount() {
+		return relaxed_.sum();
+	}
+
+	/**
+	 * Resets the hit, miss and relaxed counters. The cache is kept.
+	 */
+	public void resetStatistics() {
+		hits_.reset();
+		misses_.reset();
+		relaxed_.reset();
+	}
+
+	private Entry lookup(final Class<?> type, final String method,
+			final Object[] args) throws IllegalAccessException,
+			NoSuchMethodException {
+		final ClassTable table = tables_.get(type);
+		final Entry[] entries = table.get(method);
+		if (entries != null) {
+			for (Entry e : entries) {
+				if (e.matches(args)) {
+					hits_.increment();
+					return e;
+				}
+			}
+		}
+		misses_.increment();
+		final Entry entry = resolve(type, method, args);
+		table.add(method, entry);
+		return entry;
+	}
+
+	private Entry resolve(final Class<?> type, final String method,
+			final Object[] args) throws IllegalAccessException,
+			NoSuchMethodException {
+		final Class<?>[] argTypes = new Class<?>[args.length];
+		for (int i = 0; i < args.length; i++) {
+			argTypes[i] = args[i].getClass();
+		}
+		Method target;
+		try {
+			// Simple case: an exact match is found
+			target = type.getMethod(method, argTypes);
+		} catch (NoSuchMethodException nse) {
+			// tricky case: attempt a relaxed match with parameters having
+			// Object type (eg. abstract class where parameter type is not known)
+			final Class<?>[] objTypes = new Class<?>[args.length];
+			for (int i = 0; i < args.length; i++) {
+				objTypes[i] = Object.class;
+			}
+			target = type.getMethod(method, objTypes);
+			relaxed_.increment();
+		}
+		final MethodHandle handle = MethodHandles.publicLookup().unreflect(target);
+		// Wraps the throwables of the target alone, before the adaptations
+		final MethodHandle guarded = MethodHandles.catchException(handle, Throwable.class,
+				MethodHandles.dropArguments(TARGET_FAILED.asType(MethodType.methodType(
+						handle.type().returnType(), Throwable.class)),
+						1, handle.type().parameterList()));
+		final MethodHandle invoker = guarded
+				.asType(MethodType.genericMethodType(args.length + 1))
+				.asSpreader(Object[].class, args.length);
+		return new Entry(argTypes, invoker);
+	}
+
+	/**
+	 * Handler of the throwables raised by the event methods.
+	 */
+	@SuppressWarnings("unused")
+	private static Object targetFailed(final Throwable t)
+			throws InvocationTargetException {
+		throw new InvocationTargetException(t);
+	}
+
+	/**
+	 * Resolved methods of a given class, indexed by name.
+	 */
+	private static final class ClassTable {
+
+		private final ConcurrentHashMap<String, Entry[]> byName_ = new ConcurrentHashMap<String, Entry[]>();
+
+		/** Names of the methods known to be usable for events. */
+		private final Set<String> checked_ = ConcurrentHashMap.newKeySet();
+
+		Entry[] get(String method) {
+			return byName_.get(method);
+		}
+
+		synchronized void add(String method, Entry entry) {
+			final Entry[] old = byName_.get(method);
+			final Entry[] updated;
+			if (old == null) {
+				updated = new Entry[] { entry };
+			} else {
+				for (Entry e : old) {
+					// lost a race with another thread resolving the same key
+					if (e.sameKey(entry)) return;
+				}
+				updated = new Entry[old.length + 1];
+				System.arraycopy(old, 0, updated, 0, old.length);
+				updated[old.length] = entry;
+			}
+			byName_.put(method, updated);
+		}
+	}
+
+	/**
+	 * A resolved method: the run-time argument classes used as key and the
+	 * adapted method handle.
+	 */
+	private static final class Entry {
+
+		private final Class<?>[] argTypes_;
+
+		private final MethodHandle invoker_;
+
+		Entry(Class<?>[] argTypes, MethodHandle invoker) {
+			argTypes_ = argTypes;
+			invoker_ = invoker;
+		}
+
+		boolean matches(Object[] args) {
+			if (args.length != argTypes_.length) return false;
+			for (int i = 0; i < args.length; i++) {
+				if (args[i].getClass() != argTypes_[i]) return false;
+			}
+			return true;
+		}
+
+		boolean sameKey(Entry other) {
+			if (other.argTypes_.length != argTypes_.length) return false;
+			for (int i = 0; i < argTypes_.length; i++) {
+				if (other.argTypes_[i] != argTypes_[i]) return false;
+			}
+			return true;
+		}
+	}
+
+}
@@ -0,0 +1,5 @@
+/**
+ * Event dispatch: resolution and caching of the methods called by events.
+ *
+ */
+package org.osadev.osa.simapis.simulation.dispatch;
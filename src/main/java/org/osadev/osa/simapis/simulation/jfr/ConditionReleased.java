@@ -0,0 +1,61 @@
+/** ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++--> 
+<!--                Open Simulation Architecture (OSA)                  -->
+<!--                                                                    -->
+<!--      This software is distributed under the terms of the           -->
+<!--           CECILL-C FREE SOFTWARE LICENSE AGREEMENT                 -->
+<!--  (see http://www.cecill.info/licences/Licence_CeCILL-C_V1-en.html) -->
+<!--                                                                    -->
+<!--  Copyright © 2006-2015 Université Nice Sophia Antipolis            -->
+<!--  Contact author: Olivier Dalle (olivier.dalle@unice.fr)            -->
+<!--                                                                    -->
+<!--  Parts of this software development were supported and hosted by   -->
+<!--  INRIA from 2006 to 2015, in the context of the common research    -->
+<!--  teams of INRIA and I3S, UMR CNRS 7172 (MASCOTTE, COATI, OASIS and -->
+<!--  SCALE).                                                           -->
+<!--++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++**/ 
+package org.osadev.osa.simapis.simulation.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Release of a thread waiting on a condition.
+ * 
+ */
+@Name("org.osadev.osa.ConditionReleased")
+@Label("Condition Released")
+@Category({ "OSA", "Process" })
+@Description("A thread waiting on a condition released")
+@Enabled(false)
+@StackTrace(false)
+public final class ConditionReleased extends Event {
+
+	@Label("Simulation Time")
+	@Description("Time of the controller of the released thread")
+	String simulationTime;
+
+	@Label("Condition")
+	String condition;
+
+	/**
+	 * Commits this event, if it is recorded.
+	 * 
+	 * @param condition
+	 * 		The condition released.
+	 * @param time
+	 * 		The time of the controller of the released thread.
+	 */
+	public void commit(final String condition, final Object time) {
+		if (!shouldCommit())
+			return;
+		this.condition = condition;
+		simulationTime = String.valueOf(time);
+		commit();
+	}
+
+}
@@ -0,0 +1,70 @@
+/** ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++--> 
+<!--                Open Simulation Architecture (OSA)                  -->
+<!--                                                                    -->
+<!--      This software is distributed under the terms of the           -->
+<!--           CECILL-C FREE SOFTWARE LICENSE AGREEMENT                 -->
+<!--  (see http://www.cecill.info/licences/Licence_CeCILL-C_V1-en.html) -->
+<!--                                                                    -->
+<!--  Copyright © 2006-2015 Université Nice Sophia Antipolis            -->
+<!--  Contact author: Olivier Dalle (olivier.dalle@unice.fr)            -->
+<!--                                                                    -->
+<!--  Parts of this software development were supported and hosted by   -->
+<!--  INRIA from 2006 to 2015, in the context of the common research    -->
+<!--  teams of INRIA and I3S, UMR CNRS 7172 (MASCOTTE, COATI, OASIS and -->
+<!--  SCALE).                                                           -->
+<!--++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++**/ 
+package org.osadev.osa.simapis.simulation.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import org.osadev.osa.simapis.simulation.AbstractEvent;
+
+/**
+ * Scheduling of an event by a model.
+ * 
+ */
+@Name("org.osadev.osa.EventScheduled")
+@Label("Event Scheduled")
+@Category({ "OSA", "Simulation" })
+@Description("An event scheduled by a model")
+@Enabled(false)
+@StackTrace(false)
+public final class EventScheduled extends Event {
+
+	@Label("Simulation Time")
+	@Description("Time of the event")
+	String simulationTime;
+
+	@Label("Event Id")
+	long eventId;
+
+	@Label("Method")
+	String method;
+
+	@Label("Model Class")
+	Class<?> modelClass;
+
+	/**
+	 * Commits this event for a scheduled event, if it is recorded.
+	 * 
+	 * @param event
+	 * 		The scheduled event.
+	 */
+	public void commit(final AbstractEvent<?> event) {
+		if (!shouldCommit())
+			return;
+		simulationTime = String.valueOf(event.getTime());
+		eventId = event.getId();
+		method = event.getEvtMethod();
+		final Object instance = event.getEvtInstance();
+		modelClass = (instance == null) ? null : instance.getClass();
+		commit();
+	}
+
+}
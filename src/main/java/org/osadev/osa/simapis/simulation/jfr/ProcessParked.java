@@ -0,0 +1,71 @@
+/** ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++--> 
+<!--                Open Simulation Architecture (OSA)                  -->
+<!--                                                                    -->
+<!--      This software is distributed under the terms of the           -->
+<!--           CECILL-C FREE SOFTWARE LICENSE AGREEMENT                 -->
+<!--  (see http://www.cecill.info/licences/Licence_CeCILL-C_V1-en.html) -->
+<!--                                                                    -->
+<!--  Copyright © 2006-2015 Université Nice Sophia Antipolis            -->
+<!--  Contact author: Olivier Dalle (olivier.dalle@unice.fr)            -->
+<!--                                                                    -->
+<!--  Parts of this software development were supported and hosted by   -->
+<!--  INRIA from 2006 to 2015, in the context of the common research    -->
+<!--  teams of INRIA and I3S, UMR CNRS 7172 (MASCOTTE, COATI, OASIS and -->
+<!--  SCALE).                                                           -->
+<!--++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++**/ 
+package org.osadev.osa.simapis.simulation.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Process thread waiting to be resumed, lasting until it is resumed: a 
+ * {@link org.osadev.osa.simapis.simulation.process.LightweightProcess} 
+ * parked, or a thread waiting on a 
+ * {@link org.osadev.osa.simapis.simulation.WaitRequest}.
+ * 
+ */
+@Name("org.osadev.osa.ProcessParked")
+@Label("Process Parked")
+@Category({ "OSA", "Process" })
+@Description("A process thread waiting to be resumed")
+@Enabled(false)
+@StackTrace(false)
+public final class ProcessParked extends Event {
+
+	@Label("Process")
+	String process;
+
+	@Label("Condition")
+	@Description("Condition waited on, if any")
+	String condition;
+
+	@Label("Simulation Time")
+	@Description("Time of the event waited for, if any")
+	String simulationTime;
+
+	/**
+	 * Ends and commits this event, if it is recorded.
+	 * 
+	 * @param process
+	 * 		Name of the process.
+	 * @param condition
+	 * 		Condition waited on, <code>null</code> if none.
+	 * @param time
+	 * 		Time of the event waited for, <code>null</code> if none.
+	 */
+	public void commit(final String process, final String condition, final Object time) {
+		if (!shouldCommit())
+			return;
+		this.process = process;
+		this.condition = condition;
+		simulationTime = (time == null) ? null : time.toString();
+		commit();
+	}
+
+}
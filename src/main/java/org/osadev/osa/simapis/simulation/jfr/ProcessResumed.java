@@ -0,0 +1,64 @@
+/** ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++--> 
+<!--                Open Simulation Architecture (OSA)                  -->
+<!--                                                                    -->
+<!--      This software is distributed under the terms of the           -->
+<!--           CECILL-C FREE SOFTWARE LICENSE AGREEMENT                 -->
+<!--  (see http://www.cecill.info/licences/Licence_CeCILL-C_V1-en.html) -->
+<!--                                                                    -->
+<!--  Copyright © 2006-2015 Université Nice Sophia Antipolis            -->
+<!--  Contact author: Olivier Dalle (olivier.dalle@unice.fr)            -->
+<!--                                                                    -->
+<!--  Parts of this software development were supported and hosted by   -->
+<!--  INRIA from 2006 to 2015, in the context of the common research    -->
+<!--  teams of INRIA and I3S, UMR CNRS 7172 (MASCOTTE, COATI, OASIS and -->
+<!--  SCALE).                                                           -->
+<!--++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++**/ 
+package org.osadev.osa.simapis.simulation.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Control given to a process thread: lasting until the process parks again 
+ * when resumed by a {@link org.osadev.osa.simapis.simulation.process.ProcessEngine},
+ * during which the scheduler thread is parked; instantaneous when a thread
+ * waiting on a {@link org.osadev.osa.simapis.simulation.WaitRequest} is released.
+ * 
+ */
+@Name("org.osadev.osa.ProcessResumed")
+@Label("Process Resumed")
+@Category({ "OSA", "Process" })
+@Description("Control given to a process thread")
+@Enabled(false)
+@StackTrace(false)
+public final class ProcessResumed extends Event {
+
+	@Label("Process")
+	String process;
+
+	@Label("Condition")
+	@Description("Condition waited on, if any")
+	String condition;
+
+	/**
+	 * Ends and commits this event, if it is recorded.
+	 * 
+	 * @param process
+	 * 		Name of the process.
+	 * @param condition
+	 * 		Condition waited on, <code>null</code> if none.
+	 */
+	public void commit(final String process, final String condition) {
+		if (!shouldCommit())
+			return;
+		this.process = process;
+		this.condition = condition;
+		commit();
+	}
+
+}
@@ -0,0 +1,14 @@
+/**
+ * JDK Flight Recorder events of the simulation engine: scheduling, 
+ * dispatch and cancellation of events, process switches and condition 
+ * releases, in the <tt>OSA</tt> category.
+ * 
+ * <p>The events are disabled by default, being emitted for each simulation
+ * event. They are enabled in a recording settings file, or on the command 
+ * line since JDK 17, eg. 
+ * <tt>-XX:StartFlightRecording:+org.osadev.osa.EventDispatched#enabled=true</tt>.
+ * When they are not recorded, creating them costs no more than a branch 
+ * once compiled.
+ *
+ */
+package org.osadev.osa.simapis.simulation.jfr;
@@ -0,0 +1,360 @@
+/** ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++--> 
+<!--                Open Simulation Architecture (OSA)                  -->
+<!--                                                                    -->
+<!--      This software is distributed under the terms of the           -->
+<!--           CECILL-C FREE SOFTWARE LICENSE AGREEMENT                 -->
+<!--  (see http://www.cecill.info/licences/Licence_CeCILL-C_V1-en.html) -->
+<!--                                                                    -->
+<!--  Copyright © 2006-2015 Université Nice Sophia Antipolis            -->
+<!--  Contact author: Olivier Dalle (olivier.dalle@unice.fr)            -->
+<!--                                                                    -->
+<!--  Parts of this software development were supported and hosted by   -->
+<!--  INRIA from 2006 to 2015, in the context of the common research    -->
+<!--  teams of INRIA and I3S, UMR CNRS 7172 (MASCOTTE, COATI, OASIS and -->
+<!--  SCALE).                                                           -->
+<!--++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++**/ 
+package org.osadev.osa.simapis.simulation.logging;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.osadev.osa.simapis.modeling.ModelingTimeAPI;
+import org.slf4j.Logger;
+import org.slf4j.event.Level;
+import org.slf4j.helpers.FormattingTuple;
+import org.slf4j.helpers.MessageFormatter;
+
+/**
+ * Ring buffer and background writer thread shared by 
+ * {@link AsyncSimulationLogger}s.
+ * 
+ * <p>The loggers are cheap facades, one per model, that copy their log calls
+ * into a slot of the buffer of their sink, together with the simulation time
+ * and the id of the event being dispatched. The background thread formats 
+ * the records in order and writes each of them to the target SLF4J logger of
+ * its facade, prefixed with the simulation time and event id. A simulation 
+ * thus needs a single writer thread whatever its number of models.
+ * 
+ * <p>Memory is bounded by the capacity of the buffer. When it is full, the
+ * {@link OverflowPolicy} either drops the record or makes the caller wait.
+ * The records of a thread are written in call order; several threads may log
+ * concurrently, eg. the logical processes of a parallel simulation.
+ * 
+ */
+public final class AsyncLogSink {
+
+	/** Default number of slots of the ring buffer. */
+	public static final int DEFAULT_CAPACITY = 1 << 14;
+
+	private static final long IDLE_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(200);
+
+	private static final int DEBUG = Level.DEBUG.toInt();
+
+	private static final int INFO = Level.INFO.toInt();
+
+	private static final int WARN = Level.WARN.toInt();
+
+	private static final int ERROR = Level.ERROR.toInt();
+
+	/** Argument count of the records holding an argument array. */
+	static final int ARRAY = -1;
+
+	private static final AtomicInteger SINK_COUNT = new AtomicInteger();
+
+	/** Holder of the sink shared by default, started on first use. */
+	private static final class DefaultHolder {
+		static final AsyncLogSink DEFAULT = createDefault();
+
+		/**
+		 * Creates the default sink, flushed when the JVM shuts down since its
+		 * daemon writer thread would otherwise stop with records pending.
+		 */
+		private static AsyncLogSink createDefault() {
+			final AsyncLogSink sink = new AsyncLogSink(DEFAULT_CAPACITY, OverflowPolicy.DROP);
+			Runtime.getRuntime().addShutdownHook(new Thread(new Runnable() {
+				@Override
+				public void run() {
+					sink.flush();
+				}
+			}, "osa-log-sink-shutdown"));
+			return sink;
+		}
+	}
+
+	/** A slot of the ring buffer. */
+	private static final class Slot {
+
+		/** Sequence of the record published in the slot. */
+		volatile long published_ = -1L;
+
+		Logger target_;
+
+		ModelingTimeAPI<?> time_;
+
+		long eventId_;
+
+		int level_;
+
+		String template_;
+
+		int argc_;
+
+		Object arg1_;
+
+		Object arg2_;
+
+		Object[] args_;
+
+		Throwable throwable_;
+
+		void clear() {
+			target_ = null;
+			time_ = null;
+			template_ = null;
+			arg1_ = null;
+			arg2_ = null;
+			args_ = null;
+			throwable_ = null;
+		}
+	}
+
+	private final Slot[] slots_;
+
+	private final int mask_;
+
+	private final OverflowPolicy policy_;
+
+	/** Next sequence to claim. */
+	private final AtomicLong head_ = new AtomicLong();
+
+	/** Next sequence to write, only advanced by the background thread. */
+	private volatile long tail_ = 0L;
+
+	private volatile boolean closed_ = false;
+
+	private final AtomicLong dropped_ = new AtomicLong();
+
+	private final Thread writer_;
+
+	/**
+	 * Gets the sink shared by default by the loggers, dropping records on 
+	 * overflow. It is never closed, but it is flushed by a shutdown hook: 
+	 * the records logged before a normal exit of the JVM are written. 
+	 * Applications that need them written earlier, or that exit with 
+	 * <tt>Runtime.halt</tt>, call {@link #flush()}.
+	 * 
+	 * @return the default sink.
+	 */
+	public static AsyncLogSink getDefault() {
+		return DefaultHolder.DEFAULT;
+	}
+
+	/**
+	 * Creates a sink and starts its background thread.
+	 * 
+	 * @param capacity
+	 * 		Number of slots of the ring buffer, rounded up to a power of two.
+	 * @param policy
+	 * 		What to do with the records when the buffer is full.
+	 * @throws IllegalArgumentException
+	 * 		If the capacity is not strictly positive.
+	 */
+	public AsyncLogSink(final int capacity, final OverflowPolicy policy) {
+		if (capacity <= 0 || capacity > (1 << 30))
+			throw new IllegalArgumentException("Illegal capacity " + capacity);
+		policy_ = policy;
+		final int size = Integer.highestOneBit(capacity - 1) << 1;
+		slots_ = new Slot[Math.max(1, size)];
+		for (int i = 0; i < slots_.length; i++)
+			slots_[i] = new Slot();
+		mask_ = slots_.length - 1;
+		writer_ = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				drain();
+			}
+		}, "osa-log-sink-" + SINK_COUNT.incrementAndGet());
+		writer_.setDaemon(true);
+		writer_.start();
+	}
+
+	/**
+	 * Waits until all the records logged before the call are written.
+	 */
+	public void flush() {
+		final long target = head_.get();
+		while (tail_ < target && writer_.isAlive()) {
+			LockSupport.unpark(writer_);
+			LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+		}
+	}
+
+	/**
+	 * Writes the pending records and stops the background thread. Records 
+	 * logged afterwards, by any of the loggers of the sink, are dropped.
+	 * 
+	 * @throws InterruptedException
+	 * 		If interrupted while waiting for the background thread.
+	 */
+	public void close() throws InterruptedException {
+		closed_ = true;
+		LockSupport.unpark(writer_);
+		writer_.join();
+	}
+
+	/** Number of slots of the ring buffer. */
+	public int getCapacity() {
+		return slots_.length;
+	}
+
+	public OverflowPolicy getOverflowPolicy() {
+		return policy_;
+	}
+
+	/** Number of records written to the target loggers. */
+	public long getWrittenCount() {
+		return tail_;
+	}
+
+	/** Number of records dropped because the buffer was full or closed. */
+	public long getDroppedCount() {
+		return dropped_.get();
+	}
+
+	/** Number of records waiting in the buffer. */
+	public int getPendingCount() {
+		return (int) (head_.get() - tail_);
+	}
+
+	@Override
+	public String toString() {
+		return String.format("AsyncLogSink[%s, pending=%d, written=%d, dropped=%d]",
+				writer_.getName(), getPendingCount(), tail_, dropped_.get());
+	}
+
+	/**
+	 * Copies a log call into the next slot of the ring buffer.
+	 */
+	void record(final Logger target, final ModelingTimeAPI<?> time,
+			final long eventId, final int level, final String template,
+			final int argc, final Object arg1, final Object arg2,
+			final Object[] args, final Throwable t) {
+		final long seq = claim();
+		if (seq < 0L)
+			return;
+		final Slot slot = slots_[(int) seq & mask_];
+		slot.target_ = target;
+		slot.time_ = time;
+		slot.eventId_ = eventId;
+		slot.level_ = level;
+		slot.template_ = template;
+		slot.argc_ = argc;
+		slot.arg1_ = arg1;
+		slot.arg2_ = arg2;
+		slot.args_ = args;
+		slot.throwable_ = t;
+		slot.published_ = seq;
+	}
+
+	/**
+	 * Claims the next sequence, applying the overflow policy.
+	 * 
+	 * @return the claimed sequence, or -1 if the record is dropped.
+	 */
+	private long claim() {
+		while (true) {
+			if (closed_) {
+				dropped_.incrementAndGet();
+				return -1L;
+			}
+			final long seq = head_.get();
+			if (seq - tail_ >= slots_.length) {
+				if (policy_ == OverflowPolicy.DROP) {
+					dropped_.incrementAndGet();
+					return -1L;
+				}
+				LockSupport.unpark(writer_);
+				Thread.yield();
+			} else if (head_.compareAndSet(seq, seq + 1)) {
+				return seq;
+			}
+		}
+	}
+
+	/**
+	 * Loop of the background thread: writes the records in sequence order
+	 * until the sink is closed and the buffer is empty.
+	 */
+	private void drain() {
+		long seq = tail_;
+		while (true) {
+			final Slot slot = slots_[(int) seq & mask_];
+			if (slot.published_ == seq) {
+				try {
+					write(slot);
+				} catch (final RuntimeException e) {
+					// A failing record must not stop the sink.
+				}
+				slot.clear();
+				tail_ = ++seq;
+			} else if (closed_ && seq == head_.get()) {
+				return;
+			} else {
+				LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+			}
+		}
+	}
+
+	private static void write(final Slot slot) {
+		final Logger target = slot.target_;
+		final int level = slot.level_;
+		if (!isEnabled(target, level))
+			return;
+		final String message;
+		Throwable t = slot.throwable_;
+		if (slot.argc_ == 0) {
+			message = slot.template_;
+		} else {
+			final FormattingTuple tuple;
+			if (slot.argc_ == 1)
+				tuple = MessageFormatter.format(slot.template_, slot.arg1_);
+			else if (slot.argc_ == 2)
+				tuple = MessageFormatter.format(slot.template_, slot.arg1_, slot.arg2_);
+			else
+				tuple = MessageFormatter.arrayFormat(slot.template_, slot.args_);
+			message = tuple.getMessage();
+			if (t == null)
+				t = tuple.getThrowable();
+		}
+		final StringBuilder line = new StringBuilder(message == null ? 32 : message.length() + 32);
+		line.append('[').append(slot.time_);
+		if (slot.eventId_ >= 0L)
+			line.append(" #").append(slot.eventId_);
+		line.append("] ").append(message);
+		if (level == ERROR)
+			target.error(line.toString(), t);
+		else if (level == WARN)
+			target.warn(line.toString(), t);
+		else if (level == INFO)
+			target.info(line.toString(), t);
+		else if (level == DEBUG)
+			target.debug(line.toString(), t);
+		else
+			target.trace(line.toString(), t);
+	}
+
+	private static boolean isEnabled(final Logger target, final int level) {
+		if (level == ERROR)
+			return target.isErrorEnabled();
+		if (level == WARN)
+			return target.isWarnEnabled();
+		if (level == INFO)
+			return target.isInfoEnabled();
+		if (level == DEBUG)
+			return target.isDebugEnabled();
+		return target.isTraceEnabled();
+	}
+
+}
@@ -0,0 +1,295 @@
+/** ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++--> 
+<!--                Open Simulation Architecture (OSA)                  -->
+<!--                                                                    -->
+<!--      This software is distributed under the terms of the           -->
+<!--           CECILL-C FREE SOFTWARE LICENSE AGREEMENT                 -->
+<!--  (see http://www.cecill.info/licences/Licence_CeCILL-C_V1-en.html) -->
+<!--                                                                    -->
+<!--  Copyright © 2006-2015 Université Nice Sophia Antipolis            -->
+<!--  Contact author: Olivier Dalle (olivier.dalle@unice.fr)            -->
+<!--                                                                    -->
+<!--  Parts of this software development were supported and hosted by   -->
+<!--  INRIA from 2006 to 2015, in the context of the common research    -->
+<!--  teams of INRIA and I3S, UMR CNRS 7172 (MASCOTTE, COATI, OASIS and -->
+<!--  SCALE).                                                           -->
+<!--++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++**/ 
+package org.osadev.osa.simapis.simulation.logging;
+
+import org.osadev.osa.simapis.modeling.SimulationTimeAPI;
+import org.osadev.osa.simapis.simulation.AbstractEventSimulationController;
+import org.osadev.osa.simapis.simulation.SimulationLoggerItf;
+import org.slf4j.Logger;
+import org.slf4j.event.Level;
+import org.slf4j.helpers.MarkerIgnoringBase;
+
+/**
+ * Simulation logger recording the calls in the ring buffer of an 
+ * {@link AsyncLogSink}, whose background thread formats them.
+ * 
+ * <p>A log call whose level is below the {@link #setLevel(Level) threshold} 
+ * only reads the threshold. Otherwise it claims a slot of the buffer of the 
+ * sink and copies into it the simulation time, the id of the event being 
+ * dispatched (if the time API is an {@link AbstractEventSimulationController}),
+ * the level, the message template and its raw arguments. Arguments are thus
+ * formatted after the call returns: they must not be modified by the model 
+ * once logged. Markers are ignored.
+ * 
+ * <p>A logger only holds its target, threshold and time API: each model has 
+ * its own logger, bound to its controller, while the buffer and the writer 
+ * thread are shared by all the loggers of a sink.
+ * 
+ * @param <U>
+ * 		Type of the simulation time.
+ */
+public class AsyncSimulationLogger<U extends Comparable<U>> extends MarkerIgnoringBase 
+		implements SimulationLoggerItf<U> {
+
+	private static final long serialVersionUID = 1L;
+
+	private static final int TRACE = Level.TRACE.toInt();
+
+	private static final int DEBUG = Level.DEBUG.toInt();
+
+	private static final int INFO = Level.INFO.toInt();
+
+	private static final int WARN = Level.WARN.toInt();
+
+	private static final int ERROR = Level.ERROR.toInt();
+
+	private static final int ARRAY = AsyncLogSink.ARRAY;
+
+	private final transient AsyncLogSink sink_;
+
+	private final transient Logger target_;
+
+	private volatile int threshold_ = INFO;
+
+	private transient SimulationTimeAPI<U> timeApi_;
+
+	private transient AbstractEventSimulationController<U> controller_;
+
+	/**
+	 * Creates a logger writing through the {@link AsyncLogSink#getDefault() 
+	 * default sink}. That sink is only flushed when the JVM shuts down: call
+	 * {@link #flush()} to have the records written before, eg. at the end 
+	 * of a simulation run.
+	 * 
+	 * @param target
+	 * 		The logger to which the records are written. Its name is also the
+	 *      name of this logger.
+	 */
+	public AsyncSimulationLogger(final Logger target) {
+		this(AsyncLogSink.getDefault(), target);
+	}
+
+	/**
+	 * Creates a logger writing through a given sink.
+	 * 
+	 * @param sink
+	 * 		The sink buffering and writing the records.
+	 * @param target
+	 * 		The logger to which the records are written. Its name is also the
+	 *      name of this logger.
+	 */
+	public AsyncSimulationLogger(final AsyncLogSink sink, final Logger target) {
+		sink_ = sink;
+		target_ = target;
+		name = target.getName();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.osadev.osa.simapis.simulation.TimeApiSetterItf#setTimeApi(org.osadev.osa.simapis.modeling.SimulationTimeAPI)
+	 */
+	public void setTimeApi(final SimulationTimeAPI<U> timeApi) {
+		timeApi_ = timeApi;
+		controller_ = (timeApi instanceof AbstractEventSimulationController) 
+				? (AbstractEventSimulationController<U>) timeApi : null;
+	}
+
+	/**
+	 * Sets the lowest level of the records logged.
+	 * 
+	 * @param level
+	 * 		The new threshold.
+	 */
+	public void setLevel(final Level level) {
+		threshold_ = level.toInt();
+	}
+
+	/** The sink buffering and writing the records of this logger. */
+	public AsyncLogSink getSink() {
+		return sink_;
+	}
+
+	/**
+	 * Waits until all the records logged through the sink before the call 
+	 * are written.
+	 */
+	public void flush() {
+		sink_.flush();
+	}
+
+	@Override
+	public String toString() {
+		return String.format("AsyncSimulationLogger[%s, %s]", name, sink_);
+	}
+
+	public boolean isTraceEnabled() {
+		return threshold_ <= TRACE;
+	}
+
+	public void trace(final String msg) {
+		if (threshold_ <= TRACE)
+			record(TRACE, msg, 0, null, null, null, null);
+	}
+
+	public void trace(final String format, final Object arg) {
+		if (threshold_ <= TRACE)
+			record(TRACE, format, 1, arg, null, null, null);
+	}
+
+	public void trace(final String format, final Object arg1, final Object arg2) {
+		if (threshold_ <= TRACE)
+			record(TRACE, format, 2, arg1, arg2, null, null);
+	}
+
+	public void trace(final String format, final Object... arguments) {
+		if (threshold_ <= TRACE)
+			record(TRACE, format, ARRAY, null, null, arguments, null);
+	}
+
+	public void trace(final String msg, final Throwable t) {
+		if (threshold_ <= TRACE)
+			record(TRACE, msg, 0, null, null, null, t);
+	}
+
+	public boolean isDebugEnabled() {
+		return threshold_ <= DEBUG;
+	}
+
+	public void debug(final String msg) {
+		if (threshold_ <= DEBUG)
+			record(DEBUG, msg, 0, null, null, null, null);
+	}
+
+	public void debug(final String format, final Object arg) {
+		if (threshold_ <= DEBUG)
+			record(DEBUG, format, 1, arg, null, null, null);
+	}
+
+	public void debug(final String format, final Object arg1, final Object arg2) {
+		if (threshold_ <= DEBUG)
+			record(DEBUG, format, 2, arg1, arg2, null, null);
+	}
+
+	public void debug(final String format, final Object... arguments) {
+		if (threshold_ <= DEBUG)
+			record(DEBUG, format, ARRAY, null, null, arguments, null);
+	}
+
+	public void debug(final String msg, final Throwable t) {
+		if (threshold_ <= DEBUG)
+			record(DEBUG, msg, 0, null, null, null, t);
+	}
+
+	public boolean isInfoEnabled() {
+		return threshold_ <= INFO;
+	}
+
+	public void info(final String msg) {
+		if (threshold_ <= INFO)
+			record(INFO, msg, 0, null, null, null, null);
+	}
+
+	public void info(final String format, final Object arg) {
+		if (threshold_ <= INFO)
+			record(INFO, format, 1, arg, null, null, null);
+	}
+
+	public void info(final String format, final Object arg1, final Object arg2) {
+		if (threshold_ <= INFO)
+			record(INFO, format, 2, arg1, arg2, null, null);
+	}
+
+	public void info(final String format, final Object... arguments) {
+		if (threshold_ <= INFO)
+			record(INFO, format, ARRAY, null, null, arguments, null);
+	}
+
+	public void info(final String msg, final Throwable t) {
+		if (threshold_ <= INFO)
+			record(INFO, msg, 0, null, null, null, t);
+	}
+
+	public boolean isWarnEnabled() {
+		return threshold_ <= WARN;
+	}
+
+	public void warn(final String msg) {
+		if (threshold_ <= WARN)
+			record(WARN, msg, 0, null, null, null, null);
+	}
+
+	public void warn(final String format, final Object arg) {
+		if (threshold_ <= WARN)
+			record(WARN, format, 1, arg, null, null, null);
+	}
+
+	public void warn(final String format, final Object arg1, final Object arg2) {
+		if (threshold_ <= WARN)
+			record(WARN, format, 2, arg1, arg2, null, null);
+	}
+
+	public void warn(final String format, final Object... arguments) {
+		if (threshold_ <= WARN)
+			record(WARN, format, ARRAY, null, null, arguments, null);
+	}
+
+	public void warn(final String msg, final Throwable t) {
+		if (threshold_ <= WARN)
+			record(WARN, msg, 0, null, null, null, t);
+	}
+
+	public boolean isErrorEnabled() {
+		return threshold_ <= ERROR;
+	}
+
+	public void error(final String msg) {
+		if (threshold_ <= ERROR)
+			record(ERROR, msg, 0, null, null, null, null);
+	}
+
+	public void error(final String format, final Object arg) {
+		if (threshold_ <= ERROR)
+			record(ERROR, format, 1, arg, null, null, null);
+	}
+
+	public void error(final String format, final Object arg1, final Object arg2) {
+		if (threshold_ <= ERROR)
+			record(ERROR, format, 2, arg1, arg2, null, null);
+	}
+
+	public void error(final String format, final Object... arguments) {
+		if (threshold_ <= ERROR)
+			record(ERROR, format, ARRAY, null, null, arguments, null);
+	}
+
+	public void error(final String msg, final Throwable t) {
+		if (threshold_ <= ERROR)
+			record(ERROR, msg, 0, null, null, null, t);
+	}
+
+	/**
+	 * Copies a log call into the sink, with the current time and event id.
+	 */
+	private void record(final int level, final String template, final int argc,
+			final Object arg1, final Object arg2, final Object[] args, final Throwable t) {
+		final SimulationTimeAPI<U> timeApi = timeApi_;
+		final AbstractEventSimulationController<U> controller = controller_;
+		sink_.record(target_, (timeApi == null) ? null : timeApi.getSimulationTime(),
+				(controller == null) ? -1L : controller.getCurrentEventId(),
+				level, template, argc, arg1, arg2, args, t);
+	}
+
+}
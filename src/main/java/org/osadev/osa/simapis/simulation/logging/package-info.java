@@ -0,0 +1,6 @@
+/**
+ * Implementations of the simulation logger that keep formatting and output 
+ * off the simulation threads.
+ *
+ */
+package org.osadev.osa.simapis.simulation.logging;
@@ -0,0 +1,169 @@
+/** ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++--> 
+<!--                Open Simulation Architecture (OSA)                  -->
+<!--                                                                    -->
+<!--      This software is distributed under the terms of the           -->
+<!--           CECILL-C FREE SOFTWARE LICENSE AGREEMENT                 -->
+<!--  (see http://www.cecill.info/licences/Licence_CeCILL-C_V1-en.html) -->
+<!--                                                                    -->
+<!--  Copyright © 2006-2015 Université Nice Sophia Antipolis            -->
+<!--  Contact author: Olivier Dalle (olivier.dalle@unice.fr)            -->
+<!--                                                                    -->
+<!--  Parts of this software development were supported and hosted by   -->
+<!--  INRIA from 2006 to 2015, in the context of the common research    -->
+<!--  teams of INRIA and I3S, UMR CNRS 7172 (MASCOTTE, COATI, OASIS and -->
+<!--  SCALE).                                                           -->
+<!--++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++**/ 
+package org.osadev.osa.simapis.simulation.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.osadev.osa.simapis.simulation.AbstractEvent;
+
+/**
+ * Metrics of the events dispatched by a simulation controller, ie. of one
+ * component: number of events, depth of the pending event set and latency 
+ * of the event methods, overall and per method.
+ * 
+ * <p>The metrics are updated by the controller, in the thread that
+ * dispatches its events, without locks. The latency of one event out of 
+ * {@link #getSamplingInterval()} is measured, which bounds the cost of
+ * reading the clock when events are short. With an optimistic 
+ * super-scheduler, the events rolled back are counted each time they are
+ * dispatched.
+ * 
+ * @see org.osadev.osa.simapis.simulation.AbstractEventSimulationController#setMetrics(ControllerMetrics)
+ */
+public final class ControllerMetrics {
+
+	/** Value of {@link #start()} for the events whose latency is not measured. */
+	public static final long NOT_SAMPLED = Long.MIN_VALUE;
+
+	private final String name_;
+
+	private final int mask_;
+
+	private final AtomicLong events_ = new AtomicLong();
+
+	private final AtomicLong pending_ = new AtomicLong();
+
+	private final AtomicLong maxPending_ = new AtomicLong();
+
+	private final LatencyHistogram latency_ = new LatencyHistogram();
+
+	private final ConcurrentMap<String, LatencyHistogram> methods_ = 
+			new ConcurrentHashMap<String, LatencyHistogram>();
+
+	/**
+	 * @param name
+	 * 		Name of the component.
+	 * @param samplingInterval
+	 * 		Measure the latency of one event out of this number, rounded up to 
+	 * 		a power of two.
+	 * @throws IllegalArgumentException
+	 * 		If the interval is not strictly positive.
+	 */
+	public ControllerMetrics(final String name, final int samplingInterval) {
+		if (samplingInterval <= 0 || samplingInterval > (1 << 30))
+			throw new IllegalArgumentException("Illegal sampling interval " + samplingInterval);
+		name_ = name;
+		mask_ = (samplingInterval == 1) ? 0 : (Integer.highestOneBit(samplingInterval - 1) << 1) - 1;
+	}
+
+	/**
+	 * Counts an event about to be dispatched.
+	 * 
+	 * @return the start time of the event in nanoseconds, or 
+	 * 		{@link #NOT_SAMPLED} if its latency is not measured.
+	 */
+	public long start() {
+		final long count = events_.get();
+		events_.lazySet(count + 1);
+		return ((count & mask_) == 0) ? System.nanoTime() : NOT_SAMPLED;
+	}
+
+	/**
+	 * Records the end of the dispatch of an event.
+	 * 
+	 * @param event
+	 * 		The event dispatched.
+	 * @param start
+	 * 		The value returned by {@link #start()} for this event.
+	 * @param pending
+	 * 		The number of events pending in the controller.
+	 */
+	public void dispatched(final AbstractEvent<?> event, final long start, final int pending) {
+		if (start != NOT_SAMPLED) {
+			final long latency = System.nanoTime() - start;
+			latency_.record(latency);
+			final String method = event.getEvtMethod();
+			LatencyHistogram histogram = methods_.get(method);
+			if (histogram == null) {
+				histogram = new LatencyHistogram();
+				methods_.put(method, histogram);
+			}
+			histogram.record(latency);
+		}
+		pending_.lazySet(pending);
+		if (pending > maxPending_.get())
+			maxPending_.lazySet(pending);
+	}
+
+	public String getName() {
+		return name_;
+	}
+
+	public int getSamplingInterval() {
+		return mask_ + 1;
+	}
+
+	/**
+	 * @return the number of events dispatched.
+	 */
+	public long getEventCount() {
+		return events_.get();
+	}
+
+	/**
+	 * @return the number of events pending after the last dispatch.
+	 */
+	public long getPendingCount() {
+		return pending_.get();
+	}
+
+	/**
+	 * @return the largest number of events pending after a dispatch.
+	 */
+	public long getMaxPendingCount() {
+		return maxPending_.get();
+	}
+
+	/**
+	 * @return a copy of the latency histogram of all the events.
+	 */
+	public HistogramSnapshot getLatency() {
+		return latency_.snapshot();
+	}
+
+	/**
+	 * @return copies of the latency histograms of the events of each method,
+	 * 		sorted by method name.
+	 */
+	public Map<String, HistogramSnapshot> getMethodLatencies() {
+		final Map<String, HistogramSnapshot> result = new TreeMap<String, HistogramSnapshot>();
+		for (Map.Entry<String, LatencyHistogram> e : methods_.entrySet())
+			result.put(e.getKey(), e.getValue().snapshot());
+		return Collections.unmodifiableMap(result);
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s: events=%d pending=%d (max %d) latency %s", name_,
+				getEventCount(), getPendingCount(), getMaxPendingCount(), getLatency());
+	}
+
+}
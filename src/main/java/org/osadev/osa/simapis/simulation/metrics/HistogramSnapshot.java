@@ -0,0 +1,127 @@
+/** ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++--> 
+<!--                Open Simulation Architecture (OSA)                  -->
+<!--                                                                    -->
+<!--      This software is distributed under the terms of the           -->
+<!--           CECILL-C FREE SOFTWARE LICENSE AGREEMENT                 -->
+<!--  (see http://www.cecill.info/licences/Licence_CeCILL-C_V1-en.html) -->
+<!--                                                                    -->
+<!--  Copyright © 2006-2015 Université Nice Sophia Antipolis            -->
+<!--  Contact author: Olivier Dalle (olivier.dalle@unice.fr)            -->
+<!--                                                                    -->
+<!--  Parts of this software development were supported and hosted by   -->
+<!--  INRIA from 2006 to 2015, in the context of the common research    -->
+<!--  teams of INRIA and I3S, UMR CNRS 7172 (MASCOTTE, COATI, OASIS and -->
+<!--  SCALE).                                                           -->
+<!--++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++**/ 
+package org.osadev.osa.simapis.simulation.metrics;
+
+/**
+ * Copy of the content of a {@link LatencyHistogram}. Snapshots of several
+ * histograms may be merged, eg. to get the latency of all the components.
+ * 
+ */
+public final class HistogramSnapshot {
+
+	/** The empty histogram. */
+	public static final HistogramSnapshot EMPTY = new HistogramSnapshot(
+			new long[LatencyHistogram.BUCKETS], 0L, 0L);
+
+	private final long[] counts_;
+
+	private final long count_;
+
+	private final long total_;
+
+	private final long max_;
+
+	HistogramSnapshot(final long[] counts, final long total, final long max) {
+		counts_ = counts;
+		long count = 0;
+		for (long c : counts)
+			count += c;
+		count_ = count;
+		total_ = total;
+		max_ = max;
+	}
+
+	/**
+	 * @return the number of values recorded.
+	 */
+	public long getCount() {
+		return count_;
+	}
+
+	/**
+	 * @return the sum of the values recorded, in nanoseconds.
+	 */
+	public long getTotal() {
+		return total_;
+	}
+
+	/**
+	 * @return the mean of the values recorded, 0 if none.
+	 */
+	public double getMean() {
+		return (count_ == 0) ? 0.0 : (double) total_ / count_;
+	}
+
+	/**
+	 * @return the largest value recorded, 0 if none.
+	 */
+	public long getMax() {
+		return max_;
+	}
+
+	/**
+	 * Gets the value below which a given percentage of the values recorded 
+	 * fall, up to the precision of the histogram.
+	 * 
+	 * @param percentile
+	 * 		The percentage, between 0 and 100.
+	 * @return the largest value of the bucket of the percentile, bounded by
+	 * 		the largest value recorded, 0 if none.
+	 * @throws IllegalArgumentException
+	 * 		If the percentage is out of range.
+	 */
+	public long getValueAtPercentile(final double percentile) {
+		if (!(percentile >= 0.0 && percentile <= 100.0))
+			throw new IllegalArgumentException("Illegal percentile " + percentile);
+		if (count_ == 0)
+			return 0L;
+		final long rank = Math.max(1L, (long) Math.ceil(percentile / 100.0 * count_));
+		long seen = 0;
+		for (int i = 0; i < counts_.length; i++) {
+			seen += counts_[i];
+			if (seen >= rank)
+				return Math.min(LatencyHistogram.highestValueOf(i), max_);
+		}
+		return max_;
+	}
+
+	/**
+	 * Merges this snapshot with another one.
+	 * 
+	 * @param other
+	 * 		The other snapshot.
+	 * @return a snapshot of the values of both.
+	 */
+	public HistogramSnapshot merge(final HistogramSnapshot other) {
+		final long[] counts = counts_.clone();
+		for (int i = 0; i < counts.length; i++)
+			counts[i] += other.counts_[i];
+		return new HistogramSnapshot(counts, total_ + other.total_,
+				Math.max(max_, other.max_));
+	}
+
+	/**
+	 * Latencies in nanoseconds: count, mean, median, 99th and 99.9th 
+	 * percentiles, and maximum.
+	 */
+	@Override
+	public String toString() {
+		return String.format("n=%d mean=%.0f p50=%d p99=%d p99.9=%d max=%d",
+				count_, getMean(), getValueAtPercentile(50.0),
+				getValueAtPercentile(99.0), getValueAtPercentile(99.9), max_);
+	}
+
+}
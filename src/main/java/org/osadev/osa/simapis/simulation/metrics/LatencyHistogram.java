@@ -0,0 +1,107 @@
+/** ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++--> 
+<!--                Open Simulation Architecture (OSA)                  -->
+<!--                                                                    -->
+<!--      This software is distributed under the terms of the           -->
+<!--           CECILL-C FREE SOFTWARE LICENSE AGREEMENT                 -->
+<!--  (see http://www.cecill.info/licences/Licence_CeCILL-C_V1-en.html) -->
+<!--                                                                    -->
+<!--  Copyright © 2006-2015 Université Nice Sophia Antipolis            -->
+<!--  Contact author: Olivier Dalle (olivier.dalle@unice.fr)            -->
+<!--                                                                    -->
+<!--  Parts of this software development were supported and hosted by   -->
+<!--  INRIA from 2006 to 2015, in the context of the common research    -->
+<!--  teams of INRIA and I3S, UMR CNRS 7172 (MASCOTTE, COATI, OASIS and -->
+<!--  SCALE).                                                           -->
+<!--++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++**/ 
+package org.osadev.osa.simapis.simulation.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histogram of latencies in nanoseconds, with log-linear buckets in the 
+ * manner of HDR histograms: each power of two is split in 
+ * {@value #SUB_BUCKETS} buckets, so values are recorded with a relative 
+ * error below 1/{@value #SUB_BUCKETS}, from 0 to about 36 minutes. Larger
+ * values are recorded in the last bucket.
+ * 
+ * <p>A histogram has a single writer: values are recorded without locks nor
+ * atomic read-modify-write instructions, and may be read at the same time 
+ * by any thread through {@link #snapshot()}.
+ * 
+ */
+public final class LatencyHistogram {
+
+	/** Bits of the sub-bucket index. */
+	static final int SUB_BITS = 4;
+
+	/** Number of buckets per power of two. */
+	public static final int SUB_BUCKETS = 1 << SUB_BITS;
+
+	/** Highest power of two recorded exactly. */
+	static final int MAX_MAGNITUDE = 40;
+
+	static final int BUCKETS = (MAX_MAGNITUDE - SUB_BITS + 2) * SUB_BUCKETS;
+
+	/** Largest value recorded exactly. */
+	static final long MAX_VALUE = (1L << (MAX_MAGNITUDE + 1)) - 1;
+
+	private final AtomicLongArray counts_ = new AtomicLongArray(BUCKETS);
+
+	private final AtomicLong total_ = new AtomicLong();
+
+	private final AtomicLong max_ = new AtomicLong();
+
+	/**
+	 * Records a value. Must be called by a single thread at a time.
+	 * 
+	 * @param nanos
+	 * 		The value recorded, negative values are recorded as 0.
+	 */
+	public void record(final long nanos) {
+		final long value = (nanos < 0) ? 0 : nanos;
+		final int index = indexOf(value);
+		counts_.lazySet(index, counts_.get(index) + 1);
+		total_.lazySet(total_.get() + value);
+		if (value > max_.get())
+			max_.lazySet(value);
+	}
+
+	/**
+	 * Copies the current content of the histogram. The copy may miss the
+	 * values being recorded while it is made.
+	 * 
+	 * @return the copy.
+	 */
+	public HistogramSnapshot snapshot() {
+		final long[] counts = new long[BUCKETS];
+		for (int i = 0; i < BUCKETS; i++)
+			counts[i] = counts_.get(i);
+		return new HistogramSnapshot(counts, total_.get(), max_.get());
+	}
+
+	/**
+	 * @return the index of the bucket of a positive value.
+	 */
+	static int indexOf(final long value) {
+		if (value < SUB_BUCKETS)
+			return (int) value;
+		if (value > MAX_VALUE)
+			return BUCKETS - 1;
+		final int magnitude = 63 - Long.numberOfLeadingZeros(value);
+		return (magnitude - SUB_BITS + 1) * SUB_BUCKETS
+				+ (int) ((value >>> (magnitude - SUB_BITS)) & (SUB_BUCKETS - 1));
+	}
+
+	/**
+	 * @return the largest value recorded in a bucket.
+	 */
+	static long highestValueOf(final int index) {
+		if (index < SUB_BUCKETS)
+			return index;
+		final int shift = index / SUB_BUCKETS - 1;
+		final long lowest = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+		return lowest + (1L << shift) - 1;
+	}
+
+}
@@ -0,0 +1,34 @@
+/** ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++--> 
+<!--                Open Simulation Architecture (OSA)                  -->
+<!--                                                                    -->
+<!--      This software is distributed under the terms of the           -->
+<!--           CECILL-C FREE SOFTWARE LICENSE AGREEMENT                 -->
+<!--  (see http://www.cecill.info/licences/Licence_CeCILL-C_V1-en.html) -->
+<!--                                                                    -->
+<!--  Copyright © 2006-2015 Université Nice Sophia Antipolis            -->
+<!--  Contact author: Olivier Dalle (olivier.dalle@unice.fr)            -->
+<!--                                                                    -->
+<!--  Parts of this software development were supported and hosted by   -->
+<!--  INRIA from 2006 to 2015, in the context of the common research    -->
+<!--  teams of INRIA and I3S, UMR CNRS 7172 (MASCOTTE, COATI, OASIS and -->
+<!--  SCALE).                                                           -->
+<!--++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++**/ 
+package org.osadev.osa.simapis.simulation.metrics;
+
+/**
+ * Receiver of the snapshots taken periodically by {@link SimulationMetrics}.
+ * 
+ * @see SimulationMetrics#startReporting(long, java.util.concurrent.TimeUnit, MetricsListenerItf)
+ */
+public interface MetricsListenerItf {
+
+	/**
+	 * Called in the reporting thread of the metrics, not in a simulation 
+	 * thread.
+	 * 
+	 * @param snapshot
+	 * 		The new snapshot.
+	 */
+	public void snapshot(MetricsSnapshot snapshot);
+
+}
@@ -0,0 +1,205 @@
+/** ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++--> 
+<!--                Open Simulation Architecture (OSA)                  -->
+<!--                                                                    -->
+<!--      This software is distributed under the terms of the           -->
+<!--           CECILL-C FREE SOFTWARE LICENSE AGREEMENT                 -->
+<!--  (see http://www.cecill.info/licences/Licence_CeCILL-C_V1-en.html) -->
+<!--                                                                    -->
+<!--  Copyright © 2006-2015 Université Nice Sophia Antipolis            -->
+<!--  Contact author: Olivier Dalle (olivier.dalle@unice.fr)            -->
+<!--                                                                    -->
+<!--  Parts of this software development were supported and hosted by   -->
+<!--  INRIA from 2006 to 2015, in the context of the common research    -->
+<!--  teams of INRIA and I3S, UMR CNRS 7172 (MASCOTTE, COATI, OASIS and -->
+<!--  SCALE).                                                           -->
+<!--++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++**/ 
+package org.osadev.osa.simapis.simulation.metrics;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Metrics of all the components of a simulation at a point in time, taken 
+ * by {@link SimulationMetrics#snapshot()}.
+ * 
+ */
+public final class MetricsSnapshot {
+
+	/**
+	 * Metrics of one component.
+	 */
+	public static final class Component {
+
+		private final String name_;
+
+		private final long events_;
+
+		private final long pending_;
+
+		private final long maxPending_;
+
+		private final HistogramSnapshot latency_;
+
+		private final Map<String, HistogramSnapshot> methods_;
+
+		Component(final ControllerMetrics metrics) {
+			name_ = metrics.getName();
+			events_ = metrics.getEventCount();
+			pending_ = metrics.getPendingCount();
+			maxPending_ = metrics.getMaxPendingCount();
+			latency_ = metrics.getLatency();
+			methods_ = metrics.getMethodLatencies();
+		}
+
+		public String getName() {
+			return name_;
+		}
+
+		public long getEventCount() {
+			return events_;
+		}
+
+		public long getPendingCount() {
+			return pending_;
+		}
+
+		public long getMaxPendingCount() {
+			return maxPending_;
+		}
+
+		public HistogramSnapshot getLatency() {
+			return latency_;
+		}
+
+		/**
+		 * @return the latency of the events of each method, sorted by name.
+		 */
+		public Map<String, HistogramSnapshot> getMethodLatencies() {
+			return methods_;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("%s: events=%d pending=%d (max %d) latency %s",
+					name_, events_, pending_, maxPending_, latency_);
+		}
+	}
+
+	private final long time_;
+
+	private final long interval_;
+
+	private final long events_;
+
+	private final long intervalEvents_;
+
+	private final long pending_;
+
+	private final HistogramSnapshot latency_;
+
+	private final Map<String, HistogramSnapshot> methods_;
+
+	private final List<Component> components_;
+
+	/**
+	 * @param time
+	 * 		Time of the snapshot, from {@link System#nanoTime()}.
+	 * @param previous
+	 * 		The previous snapshot, <code>null</code> if none.
+	 * @param components
+	 * 		Metrics of the components.
+	 */
+	MetricsSnapshot(final long time, final MetricsSnapshot previous,
+			final List<Component> components) {
+		time_ = time;
+		components_ = Collections.unmodifiableList(components);
+		long events = 0;
+		long pending = 0;
+		HistogramSnapshot latency = HistogramSnapshot.EMPTY;
+		final Map<String, HistogramSnapshot> methods = new TreeMap<String, HistogramSnapshot>();
+		for (Component c : components) {
+			events += c.events_;
+			pending += c.pending_;
+			latency = latency.merge(c.latency_);
+			for (Map.Entry<String, HistogramSnapshot> e : c.methods_.entrySet()) {
+				final HistogramSnapshot h = methods.get(e.getKey());
+				methods.put(e.getKey(), (h == null) ? e.getValue() : h.merge(e.getValue()));
+			}
+		}
+		events_ = events;
+		pending_ = pending;
+		latency_ = latency;
+		methods_ = Collections.unmodifiableMap(methods);
+		interval_ = (previous == null) ? 0L : time - previous.time_;
+		intervalEvents_ = (previous == null) ? 0L : events - previous.events_;
+	}
+
+	/**
+	 * @return the time of the snapshot, from {@link System#nanoTime()}.
+	 */
+	public long getTime() {
+		return time_;
+	}
+
+	/**
+	 * @return the nanoseconds elapsed since the previous snapshot, 0 for the 
+	 * 		first one.
+	 */
+	public long getInterval() {
+		return interval_;
+	}
+
+	/**
+	 * @return the number of events dispatched by all the components.
+	 */
+	public long getEventCount() {
+		return events_;
+	}
+
+	/**
+	 * @return the events dispatched per second of wall-clock time since the
+	 * 		previous snapshot, 0 for the first one.
+	 */
+	public double getEventRate() {
+		return (interval_ <= 0) ? 0.0 : intervalEvents_ * 1e9 / interval_;
+	}
+
+	/**
+	 * @return the number of events pending in all the components, each 
+	 * 		counted after its last dispatch.
+	 */
+	public long getPendingCount() {
+		return pending_;
+	}
+
+	/**
+	 * @return the latency of the events of all the components.
+	 */
+	public HistogramSnapshot getLatency() {
+		return latency_;
+	}
+
+	/**
+	 * @return the latency of the events of each method, over all the 
+	 * 		components, sorted by method name.
+	 */
+	public Map<String, HistogramSnapshot> getMethodLatencies() {
+		return methods_;
+	}
+
+	/**
+	 * @return the metrics of each component, in registration order.
+	 */
+	public List<Component> getComponents() {
+		return components_;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("events=%d rate=%.0f/s pending=%d latency %s",
+				events_, getEventRate(), pending_, latency_);
+	}
+
+}
@@ -0,0 +1,315 @@
+/** ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++--> 
+<!--                Open Simulation Architecture (OSA)                  -->
+<!--                                                                    -->
+<!--      This software is distributed under the terms of the           -->
+<!--           CECILL-C FREE SOFTWARE LICENSE AGREEMENT                 -->
+<!--  (see http://www.cecill.info/licences/Licence_CeCILL-C_V1-en.html) -->
+<!--                                                                    -->
+<!--  Copyright © 2006-2015 Université Nice Sophia Antipolis            -->
+<!--  Contact author: Olivier Dalle (olivier.dalle@unice.fr)            -->
+<!--                                                                    -->
+<!--  Parts of this software development were supported and hosted by   -->
+<!--  INRIA from 2006 to 2015, in the context of the common research    -->
+<!--  teams of INRIA and I3S, UMR CNRS 7172 (MASCOTTE, COATI, OASIS and -->
+<!--  SCALE).                                                           -->
+<!--++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++**/ 
+package org.osadev.osa.simapis.simulation.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.osadev.osa.simapis.simulation.AbstractEventSimulationController;
+
+/**
+ * Metrics of the components of a simulation, whatever its super-scheduler.
+ * 
+ * <p>The controllers are registered with {@link #register(AbstractEventSimulationController, String)},
+ * which enables their metrics. Controllers that are not registered have no
+ * metrics and no overhead. The metrics are then read without stopping the 
+ * simulation, either by {@link #snapshot()}, by a listener called 
+ * periodically (see {@link #startReporting(long, TimeUnit, MetricsListenerItf)}),
+ * or as the attributes of an MBean (see {@link #registerMBean(String)}).
+ * 
+ * <p>Registration is expected before the simulation runs; the other methods
+ * are thread-safe.
+ * 
+ */
+public final class SimulationMetrics implements SimulationMetricsMBean {
+
+	/** 
+	 * Default number of events per latency measure, which keeps the overhead
+	 * of the metrics low for events of a few hundred nanoseconds.
+	 */
+	public static final int DEFAULT_SAMPLING_INTERVAL = 8;
+
+	/** Largest age, in nanoseconds, of the snapshot read by the MBean attributes. */
+	private static final long MAX_ATTRIBUTE_AGE = 100000000L;
+
+	private final int samplingInterval_;
+
+	private final List<ControllerMetrics> controllers_ = new CopyOnWriteArrayList<ControllerMetrics>();
+
+	private MetricsSnapshot last_ = null;
+
+	private ScheduledExecutorService reporter_ = null;
+
+	private ObjectName objectName_ = null;
+
+	/**
+	 * Creates metrics measuring the latency of one event out of 
+	 * {@value #DEFAULT_SAMPLING_INTERVAL}.
+	 */
+	public SimulationMetrics() {
+		this(DEFAULT_SAMPLING_INTERVAL);
+	}
+
+	/**
+	 * @param samplingInterval
+	 * 		The latency of one event out of this number is measured, in each 
+	 * 		controller.
+	 * @throws IllegalArgumentException
+	 * 		If the interval is not strictly positive.
+	 */
+	public SimulationMetrics(final int samplingInterval) {
+		if (samplingInterval <= 0)
+			throw new IllegalArgumentException("Illegal sampling interval " + samplingInterval);
+		samplingInterval_ = samplingInterval;
+	}
+
+	/**
+	 * Enables the metrics of a controller.
+	 * 
+	 * @param controller
+	 * 		The controller.
+	 * @param name
+	 * 		Name of the component of the controller in the metrics.
+	 * @return the metrics of the controller.
+	 * @throws IllegalStateException
+	 * 		If the controller already has metrics.
+	 */
+	public ControllerMetrics register(final AbstractEventSimulationController<?> controller,
+			final String name) {
+		if (controller.getMetrics() != null)
+			throw new IllegalStateException("Metrics already enabled for " + name);
+		final ControllerMetrics metrics = new ControllerMetrics(name, samplingInterval_);
+		controller.setMetrics(metrics);
+		controllers_.add(metrics);
+		return metrics;
+	}
+
+	/**
+	 * @return the metrics of the controllers, in registration order.
+	 */
+	public List<ControllerMetrics> getControllers() {
+		return controllers_;
+	}
+
+	/**
+	 * Takes a snapshot of the metrics of all the controllers. The event rate
+	 * of the snapshot is computed since the previous one.
+	 * 
+	 * @return the new snapshot.
+	 */
+	public synchronized MetricsSnapshot snapshot() {
+		final List<MetricsSnapshot.Component> components = 
+				new ArrayList<MetricsSnapshot.Component>(controllers_.size());
+		for (ControllerMetrics c : controllers_)
+			components.add(new MetricsSnapshot.Component(c));
+		last_ = new MetricsSnapshot(System.nanoTime(), last_, components);
+		return last_;
+	}
+
+	/**
+	 * Calls a listener periodically with a new snapshot, from a daemon thread.
+	 * 
+	 * @param period
+	 * 		The period between snapshots.
+	 * @param unit
+	 * 		Unit of the period.
+	 * @param listener
+	 * 		The listener.
+	 * @throws IllegalStateException
+	 * 		If reporting is already started.
+	 */
+	public synchronized void startReporting(final long period, final TimeUnit unit,
+			final MetricsListenerItf listener) {
+		if (reporter_ != null)
+			throw new IllegalStateException("Reporting already started");
+		reporter_ = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+			@Override
+			public Thread newThread(final Runnable r) {
+				final Thread thread = new Thread(r, "osa-metrics");
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+		reporter_.scheduleAtFixedRate(new Runnable() {
+			@Override
+			public void run() {
+				listener.snapshot(snapshot());
+			}
+		}, period, period, unit);
+	}
+
+	/**
+	 * Stops calling the listener, if any. A call in progress is not 
+	 * interrupted.
+	 */
+	public synchronized void stopReporting() {
+		if (reporter_ != null) {
+			reporter_.shutdown();
+			reporter_ = null;
+		}
+	}
+
+	/**
+	 * Registers these metrics in the platform MBean server.
+	 * 
+	 * @param name
+	 * 		The object name, eg. <code>org.osadev.osa:type=SimulationMetrics</code>.
+	 * @throws JMException
+	 * 		If the name is malformed or already registered.
+	 * @throws IllegalStateException
+	 * 		If these metrics are already registered.
+	 */
+	public synchronized void registerMBean(final String name) throws JMException {
+		if (objectName_ != null)
+			throw new IllegalStateException("Already registered as " + objectName_);
+		final ObjectName objectName = new ObjectName(name);
+		ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+		objectName_ = objectName;
+	}
+
+	/**
+	 * Removes these metrics from the platform MBean server, if registered.
+	 * 
+	 * @throws JMException
+	 * 		If they cannot be removed.
+	 */
+	public synchronized void unregisterMBean() throws JMException {
+		if (objectName_ == null)
+			return;
+		final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		if (server.isRegistered(objectName_))
+			server.unregisterMBean(objectName_);
+		objectName_ = null;
+	}
+
+	/**
+	 * @return the last snapshot, or a new one if it is too old.
+	 */
+	private synchronized MetricsSnapshot current() {
+		if (last_ == null || System.nanoTime() - last_.getTime() > MAX_ATTRIBUTE_AGE)
+			return snapshot();
+		return last_;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.osadev.osa.simapis.simulation.metrics.SimulationMetricsMBean#getComponentCount()
+	 */
+	public int getComponentCount() {
+		return controllers_.size();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.osadev.osa.simapis.simulation.metrics.SimulationMetricsMBean#getEventCount()
+	 */
+	public long getEventCount() {
+		return current().getEventCount();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.osadev.osa.simapis.simulation.metrics.SimulationMetricsMBean#getEventRate()
+	 */
+	public double getEventRate() {
+		return current().getEventRate();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.osadev.osa.simapis.simulation.metrics.SimulationMetricsMBean#getPendingCount()
+	 */
+	public long getPendingCount() {
+		return current().getPendingCount();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.osadev.osa.simapis.simulation.metrics.SimulationMetricsMBean#getDispatchLatencyMean()
+	 */
+	public double getDispatchLatencyMean() {
+		return current().getLatency().getMean();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.osadev.osa.simapis.simulation.metrics.SimulationMetricsMBean#getDispatchLatency50()
+	 */
+	public long getDispatchLatency50() {
+		return current().getLatency().getValueAtPercentile(50.0);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.osadev.osa.simapis.simulation.metrics.SimulationMetricsMBean#getDispatchLatency99()
+	 */
+	public long getDispatchLatency99() {
+		return current().getLatency().getValueAtPercentile(99.0);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.osadev.osa.simapis.simulation.metrics.SimulationMetricsMBean#getDispatchLatency999()
+	 */
+	public long getDispatchLatency999() {
+		return current().getLatency().getValueAtPercentile(99.9);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.osadev.osa.simapis.simulation.metrics.SimulationMetricsMBean#getDispatchLatencyMax()
+	 */
+	public long getDispatchLatencyMax() {
+		return current().getLatency().getMax();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.osadev.osa.simapis.simulation.metrics.SimulationMetricsMBean#getMethodStatistics()
+	 */
+	public String[] getMethodStatistics() {
+		final Map<String, HistogramSnapshot> methods = current().getMethodLatencies();
+		final String[] result = new String[methods.size()];
+		int i = 0;
+		for (Map.Entry<String, HistogramSnapshot> e : methods.entrySet())
+			result[i++] = e.getKey() + ": " + e.getValue();
+		return result;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.osadev.osa.simapis.simulation.metrics.SimulationMetricsMBean#getComponentStatistics()
+	 */
+	public String[] getComponentStatistics() {
+		final List<MetricsSnapshot.Component> components = current().getComponents();
+		final String[] result = new String[components.size()];
+		for (int i = 0; i < result.length; i++)
+			result[i] = components.get(i).toString();
+		return result;
+	}
+
+}
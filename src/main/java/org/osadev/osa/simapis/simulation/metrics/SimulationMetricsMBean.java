@@ -0,0 +1,54 @@
+/** ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++--> 
+<!--                Open Simulation Architecture (OSA)                  -->
+<!--                                                                    -->
+<!--      This software is distributed under the terms of the           -->
+<!--           CECILL-C FREE SOFTWARE LICENSE AGREEMENT                 -->
+<!--  (see http://www.cecill.info/licences/Licence_CeCILL-C_V1-en.html) -->
+<!--                                                                    -->
+<!--  Copyright © 2006-2015 Université Nice Sophia Antipolis            -->
+<!--  Contact author: Olivier Dalle (olivier.dalle@unice.fr)            -->
+<!--                                                                    -->
+<!--  Parts of this software development were supported and hosted by   -->
+<!--  INRIA from 2006 to 2015, in the context of the common research    -->
+<!--  teams of INRIA and I3S, UMR CNRS 7172 (MASCOTTE, COATI, OASIS and -->
+<!--  SCALE).                                                           -->
+<!--++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++**/ 
+package org.osadev.osa.simapis.simulation.metrics;
+
+/**
+ * Management interface of {@link SimulationMetrics}. Latencies are in 
+ * nanoseconds; the rate is computed since the previous read of the 
+ * attributes, or the previous snapshot.
+ * 
+ */
+public interface SimulationMetricsMBean {
+
+	public int getComponentCount();
+
+	public long getEventCount();
+
+	public double getEventRate();
+
+	public long getPendingCount();
+
+	public double getDispatchLatencyMean();
+
+	public long getDispatchLatency50();
+
+	public long getDispatchLatency99();
+
+	public long getDispatchLatency999();
+
+	public long getDispatchLatencyMax();
+
+	/**
+	 * @return one line per event method: name and latency.
+	 */
+	public String[] getMethodStatistics();
+
+	/**
+	 * @return one line per component: name, events, pending events and latency.
+	 */
+	public String[] getComponentStatistics();
+
+}
@@ -0,0 +1,7 @@
+/**
+ * Run-time metrics of the simulation controllers: event counts and rates,
+ * pending event set depth and histograms of the dispatch latency, readable
+ * while the simulation runs by snapshots or through JMX.
+ *
+ */
+package org.osadev.osa.simapis.simulation.metrics;
@@ -0,0 +1,378 @@
+/** ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++--> 
+<!--                Open Simulation Architecture (OSA)                  -->
+<!--                                                                    -->
+<!--      This software is distributed under the terms of the           -->
+<!--           CECILL-C FREE SOFTWARE LICENSE AGREEMENT                 -->
+<!--  (see http://www.cecill.info/licences/Licence_CeCILL-C_V1-en.html) -->
+<!--                                                                    -->
+<!--  Copyright © 2006-2015 Université Nice Sophia Antipolis            -->
+<!--  Contact author: Olivier Dalle (olivier.dalle@unice.fr)            -->
+<!--                                                                    -->
+<!--  Parts of this software development were supported and hosted by   -->
+<!--  INRIA from 2006 to 2015, in the context of the common research    -->
+<!--  teams of INRIA and I3S, UMR CNRS 7172 (MASCOTTE, COATI, OASIS and -->
+<!--  SCALE).                                                           -->
+<!--++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++**/ 
+package org.osadev.osa.simapis.simulation.optimistic;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.osadev.osa.simapis.exceptions.SimSchedulingException;
+import org.osadev.osa.simapis.modeling.EventModelingAPI;
+import org.osadev.osa.simapis.modeling.ModelingTimeAPI;
+import org.osadev.osa.simapis.modeling.ModelingTimeSymbols;
+import org.osadev.osa.simapis.modeling.TimeFactoryItf;
+
+/**
+ * Optimistic parallel super-scheduler (Time Warp).
+ * 
+ * <p>The simulation components are partitioned into a fixed number of 
+ * {@link TimeWarpProcess logical processes}, each run by its own thread. The
+ * simulation controllers are {@link TimeWarpController}s bound to the 
+ * logical process of their partition as to a sequential super-scheduler. 
+ * Components of different partitions only interact through 
+ * {@link TimeWarpLink links}. Unlike the conservative 
+ * {@link org.osadev.osa.simapis.simulation.parallel.ParallelSuperScheduler},
+ * the logical processes do not wait for each other: they roll back when they
+ * receive an event in their past.
+ * 
+ * <p>The global virtual time (GVT), below which no rollback can happen, is
+ * computed periodically: all the logical processes stop, handle the 
+ * messages in transit until none is left, then the GVT is the smallest time
+ * of their next steps. The history before the GVT is then reclaimed. The 
+ * simulation ends when the GVT passes the end time.
+ * 
+ * <p>The events of a component are processed in the same order, at the same
+ * times and with the same parameters as with a single logical process, 
+ * provided that the component states are saved correctly (see 
+ * {@link RollbackableItf}). The efficiency (proportion of the processed 
+ * events that were committed) and the rollback counts are available from 
+ * the scheduler and from each logical process.
+ * 
+ * <p>A scheduler runs once: create the logical processes, bind the 
+ * controllers and create the links, initialize the controllers, then call 
+ * {@link #run(ModelingTimeAPI)}.
+ * 
+ */
+public final class OptimisticSuperScheduler<U extends Comparable<U>> {
+
+	private final ModelingTimeAPI<U> start_;
+
+	private final ModelingTimeAPI<U> infinity_;
+
+	private final List<TimeWarpProcess<U>> processes_;
+
+	private final List<TimeWarpLink<U>> links_ = new ArrayList<TimeWarpLink<U>>();
+
+	private final AtomicInteger controllers_ = new AtomicInteger();
+
+	/** Number of messages and anti-messages sent between logical processes. */
+	private final AtomicLong transmitted_ = new AtomicLong();
+
+	private final Phaser barrier_;
+
+	private ModelingTimeAPI<U> end_;
+
+	private boolean started_ = false;
+
+	private volatile boolean aborted_ = false;
+
+	private final AtomicReference<Throwable> failure_ = new AtomicReference<Throwable>();
+
+	private volatile boolean gvtRequested_ = false;
+
+	private volatile ModelingTimeAPI<U> gvt_;
+
+	private volatile long gvtRounds_ = 0;
+
+	// state of the GVT computation, accessed by the barrier action and
+	// by the logical processes between barriers
+
+	private int phase_ = 0;
+
+	private long mark_ = 0;
+
+	private boolean stable_ = false;
+
+	private boolean finished_ = false;
+
+	private final ModelingTimeAPI<U>[] minima_;
+
+	/**
+	 * @param processCount
+	 * 		Number of logical processes (and threads).
+	 * @param timeFactory
+	 * 		Factory of the time type.
+	 */
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	public OptimisticSuperScheduler(final int processCount,
+			final TimeFactoryItf<U> timeFactory) {
+		if (processCount <= 0)
+			throw new IllegalArgumentException("Illegal logical process count: " + processCount);
+		start_ = timeFactory.create();
+		infinity_ = timeFactory.create(ModelingTimeSymbols.INFINITY.name());
+		gvt_ = start_;
+		final List<TimeWarpProcess<U>> processes = new ArrayList<TimeWarpProcess<U>>(processCount);
+		for (int i = 0; i < processCount; i++)
+			processes.add(new TimeWarpProcess<U>(this, i, start_, infinity_));
+		processes_ = Collections.unmodifiableList(processes);
+		minima_ = new ModelingTimeAPI[processCount];
+		barrier_ = new Phaser(processCount) {
+			@Override
+			protected boolean onAdvance(final int phase, final int parties) {
+				onBarrier();
+				return false;
+			}
+		};
+	}
+
+	public int getLogicalProcessCount() {
+		return processes_.size();
+	}
+
+	/**
+	 * Gets a logical process, to be bound to the simulation controllers of
+	 * the corresponding partition.
+	 * 
+	 * @param index
+	 * 		Index of the logical process.
+	 * @return the logical process.
+	 */
+	public TimeWarpProcess<U> getLogicalProcess(final int index) {
+		return processes_.get(index);
+	}
+
+	public List<TimeWarpProcess<U>> getLogicalProcesses() {
+		return processes_;
+	}
+
+	/**
+	 * Runs the simulation until the global virtual time passes the given 
+	 * time.
+	 * 
+	 * @param end
+	 * 		The last time to process (possibly infinite).
+	 * @throws SimSchedulingException
+	 * 		If a controller is not ready at the time it registered for.
+	 * @throws InterruptedException
+	 * 		If the calling thread is interrupted, in which case the simulation
+	 * 		is aborted.
+	 */
+	public void run(final ModelingTimeAPI<U> end) throws SimSchedulingException,
+			InterruptedException {
+		synchronized (this) {
+			if (started_)
+				throw new IllegalStateException("Optimistic simulation already run");
+			started_ = true;
+		}
+		end_ = end;
+		final List<Thread> threads = new ArrayList<Thread>(processes_.size());
+		for (final TimeWarpProcess<U> lp : processes_) {
+			threads.add(new Thread(new Runnable() {
+				public void run() {
+					try {
+						lp.run(end);
+					} catch (Throwable t) {
+						abort(t);
+					}
+				}
+			}, "osa-timewarp-" + lp.getIndex()));
+		}
+		for (Thread t : threads)
+			t.start();
+		try {
+			for (Thread t : threads)
+				t.join();
+		} catch (InterruptedException e) {
+			abort(e);
+			for (Thread t : threads)
+				t.join();
+			throw e;
+		}
+		final Throwable failure = failure_.get();
+		if (failure instanceof SimSchedulingException)
+			throw (SimSchedulingException) failure;
+		if (failure instanceof RuntimeException)
+			throw (RuntimeException) failure;
+		if (failure instanceof Error)
+			throw (Error) failure;
+		if (failure != null)
+			throw new SimSchedulingException("Logical process failed", failure);
+	}
+
+	/**
+	 * Tells whether the simulation was aborted after a failure.
+	 * 
+	 * @return <code>true</code> if the simulation was aborted.
+	 */
+	public boolean isAborted() {
+		return aborted_;
+	}
+
+	/** Last global virtual time computed. */
+	public ModelingTimeAPI<U> getGvt() {
+		return gvt_;
+	}
+
+	/** Number of global virtual time computations. */
+	public long getGvtRoundCount() {
+		return gvtRounds_;
+	}
+
+	/** Number of events processed by all the logical processes. */
+	public long getProcessedCount() {
+		long count = 0;
+		for (TimeWarpProcess<U> lp : processes_)
+			count += lp.getProcessedCount();
+		return count;
+	}
+
+	/** Number of events committed by all the logical processes. */
+	public long getCommittedCount() {
+		long count = 0;
+		for (TimeWarpProcess<U> lp : processes_)
+			count += lp.getCommittedCount();
+		return count;
+	}
+
+	/** Number of events undone by all the logical processes. */
+	public long getRolledBackCount() {
+		long count = 0;
+		for (TimeWarpProcess<U> lp : processes_)
+			count += lp.getRolledBackCount();
+		return count;
+	}
+
+	/** Number of rollbacks of all the logical processes. */
+	public long getRollbackCount() {
+		long count = 0;
+		for (TimeWarpProcess<U> lp : processes_)
+			count += lp.getRollbackCount();
+		return count;
+	}
+
+	/**
+	 * Gives the proportion of the processed events that were committed.
+	 * 
+	 * @return the efficiency, 1 if no event was processed.
+	 */
+	public double getEfficiency() {
+		final long processed = getProcessedCount();
+		return (processed == 0) ? 1.0 : (double) getCommittedCount() / processed;
+	}
+
+	TimeWarpLink<U> bind(final TimeWarpProcess<U> source,
+			final TimeWarpProcess<U> destination, final EventModelingAPI<U> target,
+			final U lookahead) {
+		if (start_.getDelayed(lookahead).compareTo(start_) <= 0)
+			throw new IllegalArgumentException("Lookahead must be strictly positive: " + lookahead);
+		synchronized (this) {
+			if (started_)
+				throw new IllegalStateException("Links must be created before the simulation is run");
+			final TimeWarpLink<U> link = new TimeWarpLink<U>(links_.size(),
+					source, destination, target, lookahead);
+			links_.add(link);
+			return link;
+		}
+	}
+
+	TimeWarpLink<U> getLink(final int index) {
+		return links_.get(index);
+	}
+
+	int nextControllerIndex() {
+		return controllers_.getAndIncrement();
+	}
+
+	/** Sends a message or an anti-message to another logical process. */
+	void transmit(final TimeWarpMessage<U> message,
+			final TimeWarpProcess<U> destination) {
+		transmitted_.incrementAndGet();
+		destination.post(message);
+	}
+
+	/** Sends the anti-message of a message. */
+	void cancel(final TimeWarpMessage<U> message) {
+		transmit(new TimeWarpMessage<U>(message),
+				links_.get(message.link_).getDestination());
+	}
+
+	boolean isGvtRequested() {
+		return gvtRequested_;
+	}
+
+	void requestGvt() {
+		if (!gvtRequested_) {
+			gvtRequested_ = true;
+			for (TimeWarpProcess<U> lp : processes_)
+				lp.signal();
+		}
+	}
+
+	/**
+	 * Takes part in the computation of the global virtual time, then 
+	 * reclaims the history of the logical process.
+	 * 
+	 * @return <code>false</code> if the simulation is over.
+	 */
+	boolean computeGvt(final TimeWarpProcess<U> lp) {
+		// the barrier is terminated when the simulation is aborted
+		if (barrier_.arriveAndAwaitAdvance() < 0)
+			return false;
+		do {
+			lp.receive();
+			if (barrier_.arriveAndAwaitAdvance() < 0)
+				return false;
+		} while (!stable_);
+		minima_[lp.getIndex()] = lp.getLocalMinimum();
+		if (barrier_.arriveAndAwaitAdvance() < 0)
+			return false;
+		lp.fossilCollect(gvt_);
+		return !finished_;
+	}
+
+	private void onBarrier() {
+		switch (phase_) {
+		case 0:
+			// all the logical processes stopped
+			mark_ = transmitted_.get();
+			phase_ = 1;
+			break;
+		case 1:
+			// end of a phase of message handling
+			final long transmitted = transmitted_.get();
+			stable_ = (transmitted == mark_);
+			mark_ = transmitted;
+			if (stable_)
+				phase_ = 2;
+			break;
+		default:
+			ModelingTimeAPI<U> gvt = infinity_;
+			for (ModelingTimeAPI<U> t : minima_) {
+				if (t.compareTo(gvt) < 0)
+					gvt = t;
+			}
+			gvt_ = gvt;
+			finished_ = gvt.isInfinite() || gvt.compareTo(end_) > 0;
+			gvtRounds_++;
+			gvtRequested_ = false;
+			phase_ = 0;
+			break;
+		}
+	}
+
+	private void abort(final Throwable t) {
+		failure_.compareAndSet(null, t);
+		aborted_ = true;
+		barrier_.forceTermination();
+		for (TimeWarpProcess<U> lp : processes_)
+			lp.signal();
+	}
+
+}
@@ -0,0 +1,51 @@
+/** ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++--> 
+<!--                Open Simulation Architecture (OSA)                  -->
+<!--                                                                    -->
+<!--      This software is distributed under the terms of the           -->
+<!--           CECILL-C FREE SOFTWARE LICENSE AGREEMENT                 -->
+<!--  (see http://www.cecill.info/licences/Licence_CeCILL-C_V1-en.html) -->
+<!--                                                                    -->
+<!--  Copyright © 2006-2015 Université Nice Sophia Antipolis            -->
+<!--  Contact author: Olivier Dalle (olivier.dalle@unice.fr)            -->
+<!--                                                                    -->
+<!--  Parts of this software development were supported and hosted by   -->
+<!--  INRIA from 2006 to 2015, in the context of the common research    -->
+<!--  teams of INRIA and I3S, UMR CNRS 7172 (MASCOTTE, COATI, OASIS and -->
+<!--  SCALE).                                                           -->
+<!--++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++**/ 
+package org.osadev.osa.simapis.simulation.optimistic;
+
+/**
+ * Interface of the model components that save and restore their own state.
+ * 
+ * <p>This is how a component whose state holds mutable objects (collections,
+ * arrays, random generators) is run by a {@link TimeWarpController}. Without
+ * it, the controller only logs the writes to the state fields of the 
+ * component (see {@link org.osadev.osa.simapis.simulation.ModelFields}), 
+ * which must then hold immutable values.
+ * 
+ * <p>{@link #saveState()} is called after each event. A component that keeps
+ * its state in objects it never modifies, and replaces them when the state
+ * changes (copy-on-write), returns them as they are: saving is then cheap, 
+ * and returning the same object as after the previous event records nothing.
+ * 
+ */
+public interface RollbackableItf {
+
+	/**
+	 * Gets a copy of the state of the component.
+	 * 
+	 * @return
+	 * 		An object holding the state, not modified by later events.
+	 */
+	public Object saveState();
+
+	/**
+	 * Restores a state of the component.
+	 * 
+	 * @param state
+	 * 		A state returned by {@link #saveState()}.
+	 */
+	public void restoreState(Object state);
+
+}
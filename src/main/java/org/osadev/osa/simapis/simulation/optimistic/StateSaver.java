@@ -0,0 +1,257 @@
+/** ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++--> 
+<!--                Open Simulation Architecture (OSA)                  -->
+<!--                                                                    -->
+<!--      This software is distributed under the terms of the           -->
+<!--           CECILL-C FREE SOFTWARE LICENSE AGREEMENT                 -->
+<!--  (see http://www.cecill.info/licences/Licence_CeCILL-C_V1-en.html) -->
+<!--                                                                    -->
+<!--  Copyright © 2006-2015 Université Nice Sophia Antipolis            -->
+<!--  Contact author: Olivier Dalle (olivier.dalle@unice.fr)            -->
+<!--                                                                    -->
+<!--  Parts of this software development were supported and hosted by   -->
+<!--  INRIA from 2006 to 2015, in the context of the common research    -->
+<!--  teams of INRIA and I3S, UMR CNRS 7172 (MASCOTTE, COATI, OASIS and -->
+<!--  SCALE).                                                           -->
+<!--++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++**/ 
+package org.osadev.osa.simapis.simulation.optimistic;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.osadev.osa.simapis.simulation.ModelFields;
+
+/**
+ * Saves the state of a model component, once after each event.
+ * 
+ * <p>Each call to {@link #record()} returns what is needed to restore the
+ * state saved by the previous call. Records are undone in reverse order.
+ * 
+ */
+abstract class StateSaver {
+
+	/**
+	 * Saves the changes since the previous call.
+	 * 
+	 * @return the undo record, <code>null</code> if nothing changed.
+	 */
+	abstract Object record();
+
+	/**
+	 * Restores the state saved before the record was taken.
+	 * 
+	 * @param record
+	 * 		The last record not undone yet.
+	 */
+	abstract void undo(Object record);
+
+	/**
+	 * Creates the state saver of a component, taking its initial state.
+	 */
+	static StateSaver of(final Object instance) {
+		if (instance instanceof RollbackableItf)
+			return new CopyStateSaver((RollbackableItf) instance);
+		return new FieldStateSaver(instance);
+	}
+
+	/**
+	 * Copy state saving, delegated to the component. A state identical to 
+	 * the one saved after the previous event records nothing.
+	 */
+	private static final class CopyStateSaver extends StateSaver {
+
+		private final RollbackableItf instance_;
+
+		private Object last_;
+
+		CopyStateSaver(final RollbackableItf instance) {
+			instance_ = instance;
+			last_ = instance.saveState();
+		}
+
+		Object record() {
+			final Object state = instance_.saveState();
+			if (state == last_)
+				return null;
+			final Object undo = last_;
+			last_ = state;
+			return undo;
+		}
+
+		void undo(final Object record) {
+			instance_.restoreState(record);
+			last_ = record;
+		}
+	}
+
+	/**
+	 * Incremental state saving: an undo log of the field writes of each 
+	 * event. After an event, the state fields (see {@link ModelFields}) are
+	 * compared with their values after the previous event, and only the 
+	 * previous values of the modified fields are recorded. Nothing is 
+	 * copied: restoring a field puts back the value it held.
+	 * 
+	 * <p>A field write is the only change this can see, so every state 
+	 * field must hold an immutable value: a primitive, a boxed primitive, a
+	 * string or an enum constant. The final ones are constants and are not
+	 * compared. A state field of any other type could be modified in place,
+	 * and is rejected: the component implements {@link RollbackableItf} 
+	 * instead, or declares the field <tt>transient</tt> if it is not part 
+	 * of the state (eg. a binding).
+	 */
+	private static final class FieldStateSaver extends StateSaver {
+
+		/** Undo record: the modified fields and their previous values. */
+		private static final class Delta {
+
+			final int[] fields_;
+
+			final long[] bits_;
+
+			final Object[] refs_;
+
+			Delta(final int[] fields, final long[] bits, final Object[] refs) {
+				fields_ = fields;
+				bits_ = bits;
+				refs_ = refs;
+			}
+		}
+
+		private final Object instance_;
+
+		private final Field[] fields_;
+
+		/** Values of the primitive fields after the previous event, as bits. */
+		private final long[] bits_;
+
+		/** Values of the reference fields after the previous event. */
+		private final Object[] refs_;
+
+		FieldStateSaver(final Object instance) {
+			instance_ = instance;
+			final List<Field> fields = new ArrayList<Field>();
+			for (Field f : ModelFields.of(instance.getClass())) {
+				if (!isImmutable(f.getType()))
+					throw new IllegalStateException(String.format(
+							"Field %s of type %s may be modified in place: "
+							+ "implement RollbackableItf, or declare it transient if it is not part of the state",
+							f, f.getType().getName()));
+				if (!Modifier.isFinal(f.getModifiers()))
+					fields.add(f);
+			}
+			fields_ = fields.toArray(new Field[fields.size()]);
+			bits_ = new long[fields_.length];
+			refs_ = new Object[fields_.length];
+			for (int i = 0; i < fields_.length; i++) {
+				if (fields_[i].getType().isPrimitive())
+					bits_[i] = getBits(fields_[i]);
+				else
+					refs_[i] = ModelFields.get(fields_[i], instance_);
+			}
+		}
+
+		Object record() {
+			int[] changed = null;
+			long[] bits = null;
+			Object[] refs = null;
+			int n = 0;
+			for (int i = 0; i < fields_.length; i++) {
+				final Field f = fields_[i];
+				if (f.getType().isPrimitive()) {
+					final long v = getBits(f);
+					if (v == bits_[i])
+						continue;
+					if (changed == null) {
+						changed = new int[fields_.length - i];
+						bits = new long[fields_.length - i];
+						refs = new Object[fields_.length - i];
+					}
+					bits[n] = bits_[i];
+					bits_[i] = v;
+				} else {
+					final Object v = ModelFields.get(f, instance_);
+					if (v == refs_[i])
+						continue;
+					if (changed == null) {
+						changed = new int[fields_.length - i];
+						bits = new long[fields_.length - i];
+						refs = new Object[fields_.length - i];
+					}
+					refs[n] = refs_[i];
+					refs_[i] = v;
+				}
+				changed[n++] = i;
+			}
+			if (n == 0)
+				return null;
+			return new Delta(Arrays.copyOf(changed, n), Arrays.copyOf(bits, n),
+					Arrays.copyOf(refs, n));
+		}
+
+		void undo(final Object record) {
+			final Delta delta = (Delta) record;
+			for (int k = 0; k < delta.fields_.length; k++) {
+				final int i = delta.fields_[k];
+				if (fields_[i].getType().isPrimitive()) {
+					bits_[i] = delta.bits_[k];
+					setBits(fields_[i], delta.bits_[k]);
+				} else {
+					refs_[i] = delta.refs_[k];
+					ModelFields.set(fields_[i], instance_, delta.refs_[k]);
+				}
+			}
+		}
+
+		/** Whether the values of a type can only change by a field write. */
+		private static boolean isImmutable(final Class<?> type) {
+			return type.isPrimitive() || type.isEnum() || type == String.class
+					|| type == Boolean.class || type == Character.class
+					|| type == Byte.class || type == Short.class
+					|| type == Integer.class || type == Long.class
+					|| type == Float.class || type == Double.class;
+		}
+
+		/** Reads a primitive field without boxing its value. */
+		private long getBits(final Field f) {
+			try {
+				final Class<?> type = f.getType();
+				if (type == double.class)
+					return Double.doubleToRawLongBits(f.getDouble(instance_));
+				if (type == float.class)
+					return Float.floatToRawIntBits(f.getFloat(instance_));
+				if (type == boolean.class)
+					return f.getBoolean(instance_) ? 1L : 0L;
+				return f.getLong(instance_);
+			} catch (IllegalAccessException e) {
+				throw new IllegalStateException("Cannot save field " + f, e);
+			}
+		}
+
+		private void setBits(final Field f, final long bits) {
+			try {
+				final Class<?> type = f.getType();
+				if (type == long.class)
+					f.setLong(instance_, bits);
+				else if (type == int.class)
+					f.setInt(instance_, (int) bits);
+				else if (type == double.class)
+					f.setDouble(instance_, Double.longBitsToDouble(bits));
+				else if (type == float.class)
+					f.setFloat(instance_, Float.intBitsToFloat((int) bits));
+				else if (type == boolean.class)
+					f.setBoolean(instance_, bits != 0L);
+				else if (type == short.class)
+					f.setShort(instance_, (short) bits);
+				else if (type == char.class)
+					f.setChar(instance_, (char) bits);
+				else
+					f.setByte(instance_, (byte) bits);
+			} catch (IllegalAccessException e) {
+				throw new IllegalStateException("Cannot restore field " + f, e);
+			}
+		}
+	}
+
+}
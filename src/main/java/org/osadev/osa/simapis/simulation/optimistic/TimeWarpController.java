@@ -0,0 +1,231 @@
+/** ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++--> 
+<!--                Open Simulation Architecture (OSA)                  -->
+<!--                                                                    -->
+<!--      This software is distributed under the terms of the           -->
+<!--           CECILL-C FREE SOFTWARE LICENSE AGREEMENT                 -->
+<!--  (see http://www.cecill.info/licences/Licence_CeCILL-C_V1-en.html) -->
+<!--                                                                    -->
+<!--  Copyright © 2006-2015 Université Nice Sophia Antipolis            -->
+<!--  Contact author: Olivier Dalle (olivier.dalle@unice.fr)            -->
+<!--                                                                    -->
+<!--  Parts of this software development were supported and hosted by   -->
+<!--  INRIA from 2006 to 2015, in the context of the common research    -->
+<!--  teams of INRIA and I3S, UMR CNRS 7172 (MASCOTTE, COATI, OASIS and -->
+<!--  SCALE).                                                           -->
+<!--++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++**/ 
+package org.osadev.osa.simapis.simulation.optimistic;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.osadev.osa.simapis.exceptions.IllegalEventMethodException;
+import org.osadev.osa.simapis.exceptions.UnknownEventMethodException;
+import org.osadev.osa.simapis.modeling.EventIdRange;
+import org.osadev.osa.simapis.modeling.ModelingTimeAPI;
+import org.osadev.osa.simapis.modeling.TimeFactoryItf;
+import org.osadev.osa.simapis.simulation.AbstractEvent;
+import org.osadev.osa.simapis.simulation.AbstractEventSimulationController;
+import org.osadev.osa.simapis.simulation.EventFactoryItf;
+import org.osadev.osa.simapis.simulation.EventIdSequence;
+import org.osadev.osa.simapis.simulation.jfr.EventCancelled;
+import org.osadev.osa.simapis.simulation.pending.PendingEventSetItf;
+
+/**
+ * Event simulation controller that can be rolled back, for the optimistic
+ * {@link TimeWarpProcess logical processes}.
+ * 
+ * <p>The controller keeps the history of the events it processed since the 
+ * last fossil collection: for each event, the events it scheduled and 
+ * cancelled, and the changes it made to the state of the model component 
+ * (see {@link RollbackableItf}). Rolling back to a time undoes the events 
+ * processed at or after that time, in reverse order, and puts them back in 
+ * the pending event set.
+ * 
+ * <p>Model components run unchanged, provided that their state is saved 
+ * properly and that they only interact with components of other logical 
+ * processes through {@link TimeWarpLink links}. Side effects outside the 
+ * component (eg. output) may be repeated when events are rolled back.
+ * 
+ */
+public abstract class TimeWarpController<U extends Comparable<U>> extends
+		AbstractEventSimulationController<U> {
+
+	/** A processed event and how to undo it. */
+	private static final class Entry<U extends Comparable<U>> {
+
+		final AbstractEvent<U> event_;
+
+		final ModelingTimeAPI<U> time_;
+
+		List<Long> scheduled_ = null;
+
+		List<AbstractEvent<U>> cancelled_ = null;
+
+		Object undo_ = null;
+
+		Entry(final AbstractEvent<U> event) {
+			event_ = event;
+			time_ = event.getTime();
+		}
+	}
+
+	private final ArrayDeque<Entry<U>> history_ = new ArrayDeque<Entry<U>>();
+
+	private Entry<U> current_ = null;
+
+	private StateSaver saver_ = null;
+
+	/** Time of the last event committed by fossil collection. */
+	private ModelingTimeAPI<U> committedTime_;
+
+	private long rolledBack_ = 0;
+
+	/**
+	 * @see AbstractEventSimulationController#AbstractEventSimulationController(PendingEventSetItf, TimeFactoryItf, EventFactoryItf, EventIdSequence)
+	 */
+	protected TimeWarpController(final PendingEventSetItf<U> pending,
+			final TimeFactoryItf<U> timeFactory,
+			final EventFactoryItf<U> eventFactory, final EventIdSequence sequence) {
+		super(pending, timeFactory, eventFactory, sequence);
+		committedTime_ = timeFactory.create();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.osadev.osa.simapis.simulation.AbstractEventSimulationController#scheduleEventMyself(java.lang.String, java.lang.Object[], org.osadev.osa.simapis.modeling.ModelingTimeAPI)
+	 */
+	@Override
+	public long scheduleEventMyself(final String methodName,
+			final Object[] parameters, final ModelingTimeAPI<U> time)
+			throws UnknownEventMethodException, IllegalEventMethodException {
+		final long id = super.scheduleEventMyself(methodName, parameters, time);
+		if (current_ != null) {
+			if (current_.scheduled_ == null)
+				current_.scheduled_ = new ArrayList<Long>(2);
+			current_.scheduled_.add(id);
+		}
+		return id;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.osadev.osa.simapis.simulation.AbstractEventSimulationController#scheduleEventsMyself(java.lang.String, java.lang.Object[][], org.osadev.osa.simapis.modeling.ModelingTimeAPI[])
+	 */
+	@Override
+	public EventIdRange scheduleEventsMyself(final String methodName,
+			final Object[][] parameters, final ModelingTimeAPI<U>[] times)
+			throws UnknownEventMethodException, IllegalEventMethodException {
+		final EventIdRange ids = super.scheduleEventsMyself(methodName, parameters, times);
+		if (current_ != null) {
+			if (current_.scheduled_ == null)
+				current_.scheduled_ = new ArrayList<Long>(ids.size());
+			for (int i = 0; i < ids.size(); i++)
+				current_.scheduled_.add(ids.get(i));
+		}
+		return ids;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.osadev.osa.simapis.simulation.AbstractEventSimulationController#cancelEvent(long)
+	 */
+	@Override
+	public boolean cancelEvent(final long eventId) {
+		final AbstractEvent<U> event = getPendingEvents().remove(eventId);
+		if (event == null)
+			return false;
+		if (current_ != null) {
+			if (current_.cancelled_ == null)
+				current_.cancelled_ = new ArrayList<AbstractEvent<U>>(2);
+			current_.cancelled_.add(event);
+		}
+		new EventCancelled().commit(event);
+		notifySuperScheduler();
+		return true;
+	}
+
+	/**
+	 * Executes an event and records how to undo it.
+	 */
+	@Override
+	protected void dispatch(final AbstractEvent<U> event) {
+		if (saver_ == null)
+			saver_ = StateSaver.of(getModelInstance());
+		final Entry<U> entry = new Entry<U>(event);
+		current_ = entry;
+		try {
+			super.dispatch(event);
+		} finally {
+			current_ = null;
+		}
+		entry.undo_ = saver_.record();
+		history_.addLast(entry);
+	}
+
+	/**
+	 * Undoes the events processed at or after a given time, and reports the
+	 * new first pending event to the super-scheduler.
+	 * 
+	 * @param time
+	 * 		The rollback time.
+	 * @return the number of events undone.
+	 */
+	public int rollback(final ModelingTimeAPI<U> time) {
+		final PendingEventSetItf<U> pending = getPendingEvents();
+		int count = 0;
+		Entry<U> entry;
+		while ((entry = history_.peekLast()) != null && entry.time_.compareTo(time) >= 0) {
+			history_.pollLast();
+			if (entry.undo_ != null)
+				saver_.undo(entry.undo_);
+			// cancellations first: an event may cancel an event it scheduled
+			if (entry.cancelled_ != null) {
+				for (AbstractEvent<U> cancelled : entry.cancelled_)
+					pending.add(cancelled);
+			}
+			if (entry.scheduled_ != null) {
+				for (Long id : entry.scheduled_)
+					pending.remove(id);
+			}
+			pending.add(entry.event_);
+			count++;
+		}
+		entry = history_.peekLast();
+		setSimulationTime((entry == null) ? committedTime_ : entry.time_);
+		rolledBack_ += count;
+		resetRegistration();
+		notifySuperScheduler();
+		return count;
+	}
+
+	/**
+	 * Forgets the history of the events processed before a given time, 
+	 * which can not be rolled back anymore.
+	 * 
+	 * @param gvt
+	 * 		The global virtual time.
+	 * @return the number of events committed.
+	 */
+	public int fossilCollect(final ModelingTimeAPI<U> gvt) {
+		int count = 0;
+		Entry<U> entry;
+		while ((entry = history_.peekFirst()) != null && entry.time_.compareTo(gvt) < 0) {
+			history_.pollFirst();
+			committedTime_ = entry.time_;
+			count++;
+		}
+		return count;
+	}
+
+	/** Number of events processed and not committed yet. */
+	public int getHistorySize() {
+		return history_.size();
+	}
+
+	/** Number of events undone by rollbacks. */
+	public long getRolledBackCount() {
+		return rolledBack_;
+	}
+
+}
@@ -0,0 +1,116 @@
+/** ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++--> 
+<!--                Open Simulation Architecture (OSA)                  -->
+<!--                                                                    -->
+<!--      This software is distributed under the terms of the           -->
+<!--           CECILL-C FREE SOFTWARE LICENSE AGREEMENT                 -->
+<!--  (see http://www.cecill.info/licences/Licence_CeCILL-C_V1-en.html) -->
+<!--                                                                    -->
+<!--  Copyright © 2006-2015 Université Nice Sophia Antipolis            -->
+<!--  Contact author: Olivier Dalle (olivier.dalle@unice.fr)            -->
+<!--                                                                    -->
+<!--  Parts of this software development were supported and hosted by   -->
+<!--  INRIA from 2006 to 2015, in the context of the common research    -->
+<!--  teams of INRIA and I3S, UMR CNRS 7172 (MASCOTTE, COATI, OASIS and -->
+<!--  SCALE).                                                           -->
+<!--++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++**/ 
+package org.osadev.osa.simapis.simulation.optimistic;
+
+import org.osadev.osa.simapis.exceptions.IllegalModelingTimeException;
+import org.osadev.osa.simapis.modeling.EventModelingAPI;
+import org.osadev.osa.simapis.modeling.ModelingTimeAPI;
+
+/**
+ * A binding from a component to another component, possibly run by another
+ * logical process, along which events are scheduled with a minimum delay.
+ * 
+ * <p>Events sent through links are scheduled in their target when its 
+ * logical process reaches their time, in the order of the links (creation 
+ * order), then in sending order. They get fresh identifiers and thus run 
+ * after the events already pending in the target at that time. When the 
+ * sending event is rolled back, the sent event is cancelled by an 
+ * anti-message.
+ * 
+ * <p>A link must only be used by the components of its source logical 
+ * process.
+ * 
+ * @see TimeWarpProcess#bind(TimeWarpProcess, EventModelingAPI, Comparable)
+ */
+public final class TimeWarpLink<U extends Comparable<U>> {
+
+	private final int index_;
+
+	private final TimeWarpProcess<U> source_;
+
+	private final TimeWarpProcess<U> destination_;
+
+	private final EventModelingAPI<U> target_;
+
+	private final U lookahead_;
+
+	private long seq_ = 0;
+
+	TimeWarpLink(final int index, final TimeWarpProcess<U> source,
+			final TimeWarpProcess<U> destination,
+			final EventModelingAPI<U> target, final U lookahead) {
+		index_ = index;
+		source_ = source;
+		destination_ = destination;
+		target_ = target;
+		lookahead_ = lookahead;
+	}
+
+	/**
+	 * Schedules an event in the target component.
+	 * 
+	 * @param methodName
+	 * 		The method of the target component that must be called.
+	 * @param parameters
+	 * 		The method's parameters.
+	 * @param time
+	 * 		The simulation time at which the method must be executed.
+	 * @throws IllegalModelingTimeException
+	 * 		If the time is earlier than the current time of the source plus 
+	 * 		the lookahead of the link.
+	 */
+	public void send(final String methodName, final Object[] parameters,
+			final ModelingTimeAPI<U> time) {
+		final ModelingTimeAPI<U> earliest = source_.getSimulationTime().getDelayed(lookahead_);
+		if (time.compareTo(earliest) < 0)
+			throw new IllegalModelingTimeException(
+					"Event sent before the lookahead of the link (t=%s)", time);
+		source_.send(new TimeWarpMessage<U>(time, index_, seq_++, target_,
+				methodName, parameters), destination_);
+	}
+
+	/** Rewinds the sending order after a rollback. */
+	void rewind(final long seq) {
+		seq_ = seq;
+	}
+
+	public TimeWarpProcess<U> getSource() {
+		return source_;
+	}
+
+	public TimeWarpProcess<U> getDestination() {
+		return destination_;
+	}
+
+	public EventModelingAPI<U> getTarget() {
+		return target_;
+	}
+
+	public U getLookahead() {
+		return lookahead_;
+	}
+
+	int getIndex() {
+		return index_;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("TimeWarpLink[%d: LP%d -> LP%d, lookahead=%s]",
+				index_, source_.getIndex(), destination_.getIndex(), lookahead_);
+	}
+
+}
@@ -0,0 +1,93 @@
+/** ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++--> 
+<!--                Open Simulation Architecture (OSA)                  -->
+<!--                                                                    -->
+<!--      This software is distributed under the terms of the           -->
+<!--           CECILL-C FREE SOFTWARE LICENSE AGREEMENT                 -->
+<!--  (see http://www.cecill.info/licences/Licence_CeCILL-C_V1-en.html) -->
+<!--                                                                    -->
+<!--  Copyright © 2006-2015 Université Nice Sophia Antipolis            -->
+<!--  Contact author: Olivier Dalle (olivier.dalle@unice.fr)            -->
+<!--                                                                    -->
+<!--  Parts of this software development were supported and hosted by   -->
+<!--  INRIA from 2006 to 2015, in the context of the common research    -->
+<!--  teams of INRIA and I3S, UMR CNRS 7172 (MASCOTTE, COATI, OASIS and -->
+<!--  SCALE).                                                           -->
+<!--++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++**/ 
+package org.osadev.osa.simapis.simulation.optimistic;
+
+import org.osadev.osa.simapis.modeling.EventModelingAPI;
+import org.osadev.osa.simapis.modeling.ModelingTimeAPI;
+
+/**
+ * An event sent through a {@link TimeWarpLink}, or the anti-message that 
+ * cancels it.
+ * 
+ * <p>Messages are ordered by time, then by link and by sending order on the
+ * link, which does not depend on the thread timing. An anti-message refers
+ * to the message it cancels.
+ * 
+ */
+final class TimeWarpMessage<U extends Comparable<U>> implements
+		Comparable<TimeWarpMessage<U>> {
+
+	final ModelingTimeAPI<U> time_;
+
+	final int link_;
+
+	final long seq_;
+
+	final EventModelingAPI<U> target_;
+
+	final String method_;
+
+	final Object[] params_;
+
+	/** The cancelled message for an anti-message, <code>null</code> otherwise. */
+	final TimeWarpMessage<U> cancelled_;
+
+	/** Identifier of the event scheduled in the target, if delivered. */
+	long eventId_ = -1L;
+
+	TimeWarpMessage(final ModelingTimeAPI<U> time, final int link,
+			final long seq, final EventModelingAPI<U> target,
+			final String method, final Object[] params) {
+		time_ = time;
+		link_ = link;
+		seq_ = seq;
+		target_ = target;
+		method_ = method;
+		params_ = params;
+		cancelled_ = null;
+	}
+
+	/** Creates the anti-message of a message. */
+	TimeWarpMessage(final TimeWarpMessage<U> cancelled) {
+		time_ = cancelled.time_;
+		link_ = cancelled.link_;
+		seq_ = cancelled.seq_;
+		target_ = cancelled.target_;
+		method_ = cancelled.method_;
+		params_ = null;
+		cancelled_ = cancelled;
+	}
+
+	boolean isAnti() {
+		return cancelled_ != null;
+	}
+
+	public int compareTo(final TimeWarpMessage<U> o) {
+		final int c = time_.compareTo(o.time_);
+		if (c != 0)
+			return c;
+		if (link_ != o.link_)
+			return (link_ < o.link_) ? -1 : 1;
+		return (seq_ < o.seq_) ? -1 : ((seq_ == o.seq_) ? 0 : 1);
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s[t=%s, link=%d, seq=%d, method=%s]",
+				isAnti() ? "AntiMessage" : "Message", time_, link_, seq_, method_);
+	}
+
+}
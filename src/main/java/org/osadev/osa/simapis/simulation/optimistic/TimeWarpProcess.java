@@ -0,0 +1,448 @@
+/** ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++--> 
+<!--                Open Simulation Architecture (OSA)                  -->
+<!--                                                                    -->
+<!--      This software is distributed under the terms of the           -->
+<!--           CECILL-C FREE SOFTWARE LICENSE AGREEMENT                 -->
+<!--  (see http://www.cecill.info/licences/Licence_CeCILL-C_V1-en.html) -->
+<!--                                                                    -->
+<!--  Copyright © 2006-2015 Université Nice Sophia Antipolis            -->
+<!--  Contact author: Olivier Dalle (olivier.dalle@unice.fr)            -->
+<!--                                                                    -->
+<!--  Parts of this software development were supported and hosted by   -->
+<!--  INRIA from 2006 to 2015, in the context of the common research    -->
+<!--  teams of INRIA and I3S, UMR CNRS 7172 (MASCOTTE, COATI, OASIS and -->
+<!--  SCALE).                                                           -->
+<!--++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++**/ 
+package org.osadev.osa.simapis.simulation.optimistic;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.osadev.osa.simapis.exceptions.IllegalEventMethodException;
+import org.osadev.osa.simapis.exceptions.SimSchedulingException;
+import org.osadev.osa.simapis.exceptions.UnknownEventMethodException;
+import org.osadev.osa.simapis.modeling.EventModelingAPI;
+import org.osadev.osa.simapis.modeling.ModelingTimeAPI;
+import org.osadev.osa.simapis.simulation.ControllerHeap;
+import org.osadev.osa.simapis.simulation.EventSimulationControllerAPI;
+import org.osadev.osa.simapis.simulation.EventSuperSchedulerItf;
+
+/**
+ * A logical process of an {@link OptimisticSuperScheduler}: the optimistic
+ * super-scheduler of a partition of the simulation components.
+ * 
+ * <p>The logical process processes its events in time order without waiting
+ * for the other logical processes. A step processes one time: the messages
+ * received for that time are scheduled in their targets, then the 
+ * controllers with events pending at that time are run, in registration 
+ * order (see {@link #register(TimeWarpController)}). When a message is 
+ * received for a time already processed (straggler), the steps processed at
+ * or after that time are rolled back: the controllers undo their events, 
+ * the delivered messages are taken back and anti-messages are sent for the
+ * messages sent by the undone steps.
+ * 
+ * <p>The history of the steps is reclaimed once the global virtual time 
+ * (GVT) has passed them (fossil collection).
+ * 
+ * <p>The methods of this class are called by the thread of the logical 
+ * process, except the registration methods and 
+ * {@link #bind(TimeWarpProcess, EventModelingAPI, Comparable)} which must be 
+ * called before the simulation is run.
+ * 
+ */
+public final class TimeWarpProcess<U extends Comparable<U>> implements
+		EventSuperSchedulerItf<U> {
+
+	/** Number of steps after which a GVT computation is requested. */
+	private static final int GVT_PERIOD = 1024;
+
+	private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+	/** A processed time and how to undo it. */
+	private static final class Step<U extends Comparable<U>> {
+
+		final ModelingTimeAPI<U> time_;
+
+		final List<TimeWarpMessage<U>> delivered_ = new ArrayList<TimeWarpMessage<U>>(2);
+
+		final List<TimeWarpController<U>> resumed_ = new ArrayList<TimeWarpController<U>>(2);
+
+		final List<TimeWarpMessage<U>> sent_ = new ArrayList<TimeWarpMessage<U>>(2);
+
+		int events_ = 0;
+
+		Step(final ModelingTimeAPI<U> time) {
+			time_ = time;
+		}
+	}
+
+	private final OptimisticSuperScheduler<U> scheduler_;
+
+	private final int index_;
+
+	private final ModelingTimeAPI<U> infinity_;
+
+	/** Local virtual time: the time of the last step processed. */
+	private ModelingTimeAPI<U> now_;
+
+	/** Time of the last committed step. */
+	private ModelingTimeAPI<U> committedTime_;
+
+	private final ControllerHeap<U, TimeWarpController<U>> agenda_ = new ControllerHeap<U, TimeWarpController<U>>();
+
+	private final PriorityQueue<TimeWarpMessage<U>> inbox_ = new PriorityQueue<TimeWarpMessage<U>>();
+
+	/** Messages and anti-messages sent by the other logical processes. */
+	private final ConcurrentLinkedQueue<TimeWarpMessage<U>> incoming_ = new ConcurrentLinkedQueue<TimeWarpMessage<U>>();
+
+	private final ArrayDeque<Step<U>> steps_ = new ArrayDeque<Step<U>>();
+
+	private Step<U> current_ = null;
+
+	private volatile Thread thread_ = null;
+
+	/** Steps processed and messages received since the last fossil collection. */
+	private long activity_ = 0;
+
+	private long processed_ = 0;
+
+	private long committed_ = 0;
+
+	private long rolledBack_ = 0;
+
+	private long rollbacks_ = 0;
+
+	private long messages_ = 0;
+
+	private long antiMessages_ = 0;
+
+	TimeWarpProcess(final OptimisticSuperScheduler<U> scheduler, final int index,
+			final ModelingTimeAPI<U> start, final ModelingTimeAPI<U> infinity) {
+		scheduler_ = scheduler;
+		index_ = index;
+		now_ = start;
+		committedTime_ = start;
+		infinity_ = infinity;
+	}
+
+	public int getIndex() {
+		return index_;
+	}
+
+	/**
+	 * Registers a simulation controller in this logical process.
+	 * 
+	 * <p>Controllers scheduled at the same time are run in registration 
+	 * order. Controllers are registered automatically when they first call
+	 * {@link #waitUntil(ModelingTimeAPI, EventSimulationControllerAPI)}, but
+	 * the registration order (global to all the logical processes) is only 
+	 * deterministic if the controllers are registered or initialized by a
+	 * single thread before the simulation is run.
+	 * 
+	 * @param controller
+	 * 		The controller to register.
+	 */
+	public void register(final TimeWarpController<U> controller) {
+		if (!agenda_.isRegistered(controller))
+			agenda_.register(controller, scheduler_.nextControllerIndex());
+	}
+
+	/**
+	 * Creates a link from a component of this logical process to a component
+	 * of another (or the same) logical process.
+	 * 
+	 * @param destination
+	 * 		The logical process of the target component.
+	 * @param target
+	 * 		The target component.
+	 * @param lookahead
+	 * 		Minimum delay of the events sent through the link (strictly 
+	 *      positive).
+	 * @return the new link.
+	 */
+	public TimeWarpLink<U> bind(final TimeWarpProcess<U> destination,
+			final EventModelingAPI<U> target, final U lookahead) {
+		return scheduler_.bind(this, destination, target, lookahead);
+	}
+
+	/**
+	 * Registers the next pending event of a controller.
+	 * 
+	 * @throws ClassCastException
+	 * 		If the controller is not a {@link TimeWarpController}.
+	 */
+	public void waitUntil(final ModelingTimeAPI<U> time,
+			final EventSimulationControllerAPI<U> callBack) {
+		final TimeWarpController<U> controller = (TimeWarpController<U>) callBack;
+		register(controller);
+		agenda_.update(controller, time);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.osadev.osa.simapis.modeling.SimulationTimeAPI#getSimulationTime()
+	 */
+	public ModelingTimeAPI<U> getSimulationTime() {
+		return now_;
+	}
+
+	/** Number of events processed, including the events rolled back. */
+	public long getProcessedCount() {
+		return processed_;
+	}
+
+	/** Number of events committed by fossil collection. */
+	public long getCommittedCount() {
+		return committed_;
+	}
+
+	/** Number of events undone by rollbacks. */
+	public long getRolledBackCount() {
+		return rolledBack_;
+	}
+
+	/** Number of rollbacks. */
+	public long getRollbackCount() {
+		return rollbacks_;
+	}
+
+	/** Number of messages received through links. */
+	public long getMessageCount() {
+		return messages_;
+	}
+
+	/** Number of anti-messages sent. */
+	public long getAntiMessageCount() {
+		return antiMessages_;
+	}
+
+	/**
+	 * Gives the proportion of the processed events that were committed.
+	 * 
+	 * @return the efficiency, 1 if no event was processed.
+	 */
+	public double getEfficiency() {
+		return (processed_ == 0) ? 1.0 : (double) committed_ / processed_;
+	}
+
+	@Override
+	public String toString() {
+		return String.format(
+				"TimeWarpLP%d[t=%s, processed=%d, committed=%d, rolledBack=%d, rollbacks=%d, messages=%d, antiMessages=%d]",
+				index_, now_, processed_, committed_, rolledBack_, rollbacks_,
+				messages_, antiMessages_);
+	}
+
+	/** Sends a message through a link of this logical process. */
+	void send(final TimeWarpMessage<U> message,
+			final TimeWarpProcess<U> destination) {
+		if (current_ != null)
+			current_.sent_.add(message);
+		if (destination == this)
+			inbox_.add(message);
+		else
+			scheduler_.transmit(message, destination);
+	}
+
+	/** Receives a message or an anti-message from another logical process. */
+	void post(final TimeWarpMessage<U> message) {
+		incoming_.add(message);
+		signal();
+	}
+
+	/** Wakes the thread of the logical process up. */
+	void signal() {
+		final Thread thread = thread_;
+		if (thread != null)
+			LockSupport.unpark(thread);
+	}
+
+	/**
+	 * Runs the logical process until the global virtual time passes the 
+	 * given time.
+	 * 
+	 * @param end
+	 * 		The last time to process.
+	 * @throws SimSchedulingException
+	 * 		If a controller is not ready at the time it registered for.
+	 */
+	void run(final ModelingTimeAPI<U> end) throws SimSchedulingException {
+		thread_ = Thread.currentThread();
+		try {
+			while (!scheduler_.isAborted()) {
+				if (scheduler_.isGvtRequested()) {
+					if (!scheduler_.computeGvt(this))
+						return;
+					continue;
+				}
+				receive();
+				final ModelingTimeAPI<U> next = nextTime();
+				if (!next.isInfinite() && next.compareTo(end) <= 0) {
+					advance(next);
+					if (++activity_ >= GVT_PERIOD)
+						scheduler_.requestGvt();
+				} else {
+					// nothing to do until a message is received: if none
+					// comes, commit (which also detects the end)
+					LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+					if (incoming_.isEmpty()
+							&& (activity_ > 0 || scheduler_.getGvtRoundCount() == 0))
+						scheduler_.requestGvt();
+				}
+			}
+		} finally {
+			thread_ = null;
+		}
+	}
+
+	/**
+	 * Handles the messages and anti-messages received from the other logical
+	 * processes, rolling back if needed.
+	 * 
+	 * @return the number of messages handled.
+	 */
+	int receive() {
+		int count = 0;
+		TimeWarpMessage<U> message;
+		while ((message = incoming_.poll()) != null) {
+			count++;
+			activity_++;
+			if (message.isAnti()) {
+				final TimeWarpMessage<U> cancelled = message.cancelled_;
+				if (!inbox_.remove(cancelled)) {
+					// delivered: take it back
+					rollback(cancelled.time_);
+					if (!inbox_.remove(cancelled))
+						throw new IllegalStateException("Anti-message without message: " + message);
+				}
+			} else {
+				messages_++;
+				final Step<U> last = steps_.peekLast();
+				if (last != null && message.time_.compareTo(last.time_) <= 0)
+					rollback(message.time_);
+				inbox_.add(message);
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Gives a lower bound of the times of the steps this logical process 
+	 * may still roll back to, provided that no message is in transit.
+	 */
+	ModelingTimeAPI<U> getLocalMinimum() {
+		return nextTime();
+	}
+
+	/**
+	 * Commits the steps processed before the global virtual time.
+	 */
+	void fossilCollect(final ModelingTimeAPI<U> gvt) {
+		Step<U> step;
+		while ((step = steps_.peekFirst()) != null && step.time_.compareTo(gvt) < 0) {
+			steps_.pollFirst();
+			committed_ += step.events_;
+			committedTime_ = step.time_;
+		}
+		for (TimeWarpController<U> c : agenda_.getRegistered())
+			c.fossilCollect(gvt);
+		activity_ = 0;
+	}
+
+	private ModelingTimeAPI<U> nextTime() {
+		ModelingTimeAPI<U> next = agenda_.isEmpty() ? infinity_ : agenda_.peekTime();
+		final TimeWarpMessage<U> head = inbox_.peek();
+		if (head != null && head.time_.compareTo(next) < 0)
+			next = head.time_;
+		return next;
+	}
+
+	/**
+	 * Processes a step: schedules the messages received for the given time,
+	 * then runs the controllers in order.
+	 */
+	private void advance(final ModelingTimeAPI<U> time)
+			throws SimSchedulingException {
+		now_ = time;
+		final Step<U> step = new Step<U>(time);
+		current_ = step;
+		try {
+			TimeWarpMessage<U> message;
+			while ((message = inbox_.peek()) != null && message.time_.compareTo(time) == 0) {
+				inbox_.poll();
+				deliver(message);
+				step.delivered_.add(message);
+			}
+			while (!agenda_.isEmpty() && agenda_.peekTime().compareTo(time) == 0) {
+				final TimeWarpController<U> c = agenda_.poll();
+				step.resumed_.add(c);
+				step.events_ += c.resumeAll(time);
+			}
+		} finally {
+			current_ = null;
+		}
+		processed_ += step.events_;
+		steps_.addLast(step);
+	}
+
+	private void deliver(final TimeWarpMessage<U> message) {
+		try {
+			message.eventId_ = message.target_.scheduleEventMyself(
+					message.method_, message.params_, message.time_);
+		} catch (UnknownEventMethodException e) {
+			throw new RuntimeException("Cannot deliver " + message, e);
+		} catch (IllegalEventMethodException e) {
+			throw new RuntimeException("Cannot deliver " + message, e);
+		}
+	}
+
+	/**
+	 * Undoes the steps processed at or after the given time.
+	 */
+	private void rollback(final ModelingTimeAPI<U> time) {
+		final List<Step<U>> undone = new ArrayList<Step<U>>();
+		Step<U> step;
+		while ((step = steps_.peekLast()) != null && step.time_.compareTo(time) >= 0)
+			undone.add(steps_.pollLast());
+		if (undone.isEmpty())
+			return;
+		rollbacks_++;
+		// controllers first: they put the delivered events back if processed
+		for (Step<U> s : undone) {
+			rolledBack_ += s.events_;
+			for (TimeWarpController<U> c : s.resumed_) {
+				agenda_.remove(c);
+				c.rollback(time);
+			}
+		}
+		for (Step<U> s : undone) {
+			for (TimeWarpMessage<U> m : s.delivered_) {
+				m.target_.cancelEvent(m.eventId_);
+				m.eventId_ = -1L;
+				inbox_.add(m);
+			}
+		}
+		// undone steps are in reverse order: sent messages are cancelled last first
+		for (Step<U> s : undone) {
+			for (int i = s.sent_.size() - 1; i >= 0; i--) {
+				final TimeWarpMessage<U> m = s.sent_.get(i);
+				final TimeWarpLink<U> link = scheduler_.getLink(m.link_);
+				link.rewind(m.seq_);
+				if (link.getDestination() == this) {
+					inbox_.remove(m);
+				} else {
+					antiMessages_++;
+					scheduler_.cancel(m);
+				}
+			}
+		}
+		step = steps_.peekLast();
+		now_ = (step == null) ? committedTime_ : step.time_;
+	}
+
+}
@@ -0,0 +1,7 @@
+/**
+ * Optimistic parallel simulation (Time Warp): logical processes execute 
+ * events speculatively and roll back when they receive an event in their
+ * past.
+ *
+ */
+package org.osadev.osa.simapis.simulation.optimistic;
@@ -0,0 +1,99 @@
+/** ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++--> 
+<!--                Open Simulation Architecture (OSA)                  -->
+<!--                                                                    -->
+<!--      This software is distributed under the terms of the           -->
+<!--           CECILL-C FREE SOFTWARE LICENSE AGREEMENT                 -->
+<!--  (see http://www.cecill.info/licences/Licence_CeCILL-C_V1-en.html) -->
+<!--                                                                    -->
+<!--  Copyright © 2006-2015 Université Nice Sophia Antipolis            -->
+<!--  Contact author: Olivier Dalle (olivier.dalle@unice.fr)            -->
+<!--                                                                    -->
+<!--  Parts of this software development were supported and hosted by   -->
+<!--  INRIA from 2006 to 2015, in the context of the common research    -->
+<!--  teams of INRIA and I3S, UMR CNRS 7172 (MASCOTTE, COATI, OASIS and -->
+<!--  SCALE).                                                           -->
+<!--++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++**/ 
+package org.osadev.osa.simapis.simulation.parallel;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.osadev.osa.simapis.modeling.ModelingTimeAPI;
+
+/**
+ * One-way communication channel between two logical processes.
+ * 
+ * <p>The channel carries the messages of all the links from its source to 
+ * its destination, and a time bound: the sender guarantees that no message
+ * sent later will be scheduled before the bound. Raising the bound is the
+ * equivalent of a null message. The bound is written after the messages it
+ * covers are queued, and read before they are drained.
+ * 
+ */
+final class Channel<U extends Comparable<U>> {
+
+	private final LogicalProcess<U> source_;
+
+	private final LogicalProcess<U> destination_;
+
+	private final ConcurrentLinkedQueue<Message<U>> queue_ = new ConcurrentLinkedQueue<Message<U>>();
+
+	/** Smallest lookahead of the links carried by the channel. */
+	private U lookahead_;
+
+	private volatile ModelingTimeAPI<U> bound_;
+
+	Channel(final LogicalProcess<U> source, final LogicalProcess<U> destination,
+			final U lookahead, final ModelingTimeAPI<U> start) {
+		source_ = source;
+		destination_ = destination;
+		lookahead_ = lookahead;
+		bound_ = start;
+	}
+
+	LogicalProcess<U> getSource() {
+		return source_;
+	}
+
+	LogicalProcess<U> getDestination() {
+		return destination_;
+	}
+
+	U getLookahead() {
+		return lookahead_;
+	}
+
+	void addLookahead(final U lookahead) {
+		if (lookahead.compareTo(lookahead_) < 0)
+			lookahead_ = lookahead;
+	}
+
+	ModelingTimeAPI<U> getBound() {
+		return bound_;
+	}
+
+	void send(final Message<U> message) {
+		queue_.add(message);
+		destination_.signal();
+	}
+
+	/**
+	 * Raises the time bound of the channel.
+	 * 
+	 * @return <code>true</code> if the bound was raised.
+	 */
+	boolean raise(final ModelingTimeAPI<U> bound) {
+		if (bound.compareTo(bound_) <= 0)
+			return false;
+		bound_ = bound;
+		destination_.signal();
+		return true;
+	}
+
+	void drainTo(final Collection<Message<U>> inbox) {
+		Message<U> message;
+		while ((message = queue_.poll()) != null)
+			inbox.add(message);
+	}
+
+}
@@ -0,0 +1,118 @@
+/** ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++--> 
+<!--                Open Simulation Architecture (OSA)                  -->
+<!--                                                                    -->
+<!--      This software is distributed under the terms of the           -->
+<!--           CECILL-C FREE SOFTWARE LICENSE AGREEMENT                 -->
+<!--  (see http://www.cecill.info/licences/Licence_CeCILL-C_V1-en.html) -->
+<!--                                                                    -->
+<!--  Copyright © 2006-2015 Université Nice Sophia Antipolis            -->
+<!--  Contact author: Olivier Dalle (olivier.dalle@unice.fr)            -->
+<!--                                                                    -->
+<!--  Parts of this software development were supported and hosted by   -->
+<!--  INRIA from 2006 to 2015, in the context of the common research    -->
+<!--  teams of INRIA and I3S, UMR CNRS 7172 (MASCOTTE, COATI, OASIS and -->
+<!--  SCALE).                                                           -->
+<!--++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++**/ 
+package org.osadev.osa.simapis.simulation.parallel;
+
+import org.osadev.osa.simapis.exceptions.IllegalModelingTimeException;
+import org.osadev.osa.simapis.modeling.EventModelingAPI;
+import org.osadev.osa.simapis.modeling.ModelingTimeAPI;
+
+/**
+ * A binding from a component to another component, possibly run by another
+ * logical process, along which events are scheduled with a minimum delay: 
+ * the lookahead.
+ * 
+ * <p>Components of different logical processes must only interact through
+ * links: an event sent at time <code>t</code> is scheduled in the target 
+ * component at a time not earlier than <code>t + lookahead</code>. Events
+ * sent through links are scheduled in their target when its logical process
+ * reaches their time, in the order of the links (creation order), then in 
+ * sending order. Like any event scheduled by the target itself, they get 
+ * fresh identifiers and thus run after the events already pending in the 
+ * target at that time.
+ * 
+ * <p>A link must only be used by the components of its source logical 
+ * process.
+ * 
+ * @see LogicalProcess#bind(LogicalProcess, EventModelingAPI, Comparable)
+ */
+public final class Link<U extends Comparable<U>> {
+
+	private final int index_;
+
+	private final LogicalProcess<U> source_;
+
+	private final LogicalProcess<U> destination_;
+
+	private final EventModelingAPI<U> target_;
+
+	private final U lookahead_;
+
+	/** Channel to the destination, <code>null</code> for a local link. */
+	private final Channel<U> channel_;
+
+	private long seq_ = 0;
+
+	Link(final int index, final LogicalProcess<U> source,
+			final LogicalProcess<U> destination, final EventModelingAPI<U> target,
+			final U lookahead, final Channel<U> channel) {
+		index_ = index;
+		source_ = source;
+		destination_ = destination;
+		target_ = target;
+		lookahead_ = lookahead;
+		channel_ = channel;
+	}
+
+	/**
+	 * Schedules an event in the target component.
+	 * 
+	 * @param methodName
+	 * 		The method of the target component that must be called.
+	 * @param parameters
+	 * 		The method's parameters.
+	 * @param time
+	 * 		The simulation time at which the method must be executed.
+	 * @throws IllegalModelingTimeException
+	 * 		If the time is earlier than the current time of the source plus 
+	 * 		the lookahead of the link.
+	 */
+	public void send(final String methodName, final Object[] parameters,
+			final ModelingTimeAPI<U> time) {
+		final ModelingTimeAPI<U> earliest = source_.getSimulationTime().getDelayed(lookahead_);
+		if (time.compareTo(earliest) < 0)
+			throw new IllegalModelingTimeException(
+					"Event sent before the lookahead of the link (t=%s)", time);
+		final Message<U> message = new Message<U>(time, index_, seq_++, target_,
+				methodName, parameters);
+		if (channel_ == null)
+			destination_.receive(message);
+		else
+			channel_.send(message);
+	}
+
+	public LogicalProcess<U> getSource() {
+		return source_;
+	}
+
+	public LogicalProcess<U> getDestination() {
+		return destination_;
+	}
+
+	public EventModelingAPI<U> getTarget() {
+		return target_;
+	}
+
+	public U getLookahead() {
+		return lookahead_;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("Link[%d: LP%d -> LP%d, lookahead=%s]", index_,
+				source_.getIndex(), destination_.getIndex(), lookahead_);
+	}
+
+}
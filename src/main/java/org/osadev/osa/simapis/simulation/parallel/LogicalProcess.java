@@ -0,0 +1,290 @@
+/** ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++--> 
+<!--                Open Simulation Architecture (OSA)                  -->
+<!--                                                                    -->
+<!--      This software is distributed under the terms of the           -->
+<!--           CECILL-C FREE SOFTWARE LICENSE AGREEMENT                 -->
+<!--  (see http://www.cecill.info/licences/Licence_CeCILL-C_V1-en.html) -->
+<!--                                                                    -->
+<!--  Copyright © 2006-2015 Université Nice Sophia Antipolis            -->
+<!--  Contact author: Olivier Dalle (olivier.dalle@unice.fr)            -->
+<!--                                                                    -->
+<!--  Parts of this software development were supported and hosted by   -->
+<!--  INRIA from 2006 to 2015, in the context of the common research    -->
+<!--  teams of INRIA and I3S, UMR CNRS 7172 (MASCOTTE, COATI, OASIS and -->
+<!--  SCALE).                                                           -->
+<!--++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++**/ 
+package org.osadev.osa.simapis.simulation.parallel;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.LockSupport;
+
+import org.osadev.osa.simapis.exceptions.IllegalEventMethodException;
+import org.osadev.osa.simapis.exceptions.SimSchedulingException;
+import org.osadev.osa.simapis.exceptions.UnknownEventMethodException;
+import org.osadev.osa.simapis.modeling.EventModelingAPI;
+import org.osadev.osa.simapis.modeling.ModelingTimeAPI;
+import org.osadev.osa.simapis.simulation.ControllerHeap;
+import org.osadev.osa.simapis.simulation.EventSimulationControllerAPI;
+import org.osadev.osa.simapis.simulation.EventSuperSchedulerItf;
+
+/**
+ * A logical process of a {@link ParallelSuperScheduler}: the super-scheduler
+ * of a partition of the simulation components.
+ * 
+ * <p>The simulation controllers of the partition are bound to their logical
+ * process as to a sequential super-scheduler. The logical process runs the 
+ * controllers with the earliest pending event, in time order then in 
+ * registration order (see {@link #register(EventSimulationControllerAPI)}),
+ * processing all the events of a controller pending at the same time in one
+ * call ({@link EventSimulationControllerAPI#resumeAll(ModelingTimeAPI)}).
+ * 
+ * <p>The logical process only advances to a time <code>t</code> when the 
+ * time bounds of all its input channels are greater than <code>t</code>, 
+ * ie. when no event can be received anymore for a time earlier or equal to
+ * <code>t</code>. After each step, it raises the bounds of its output 
+ * channels to its own lower bound plus the lookahead of the channel.
+ * 
+ * <p>The methods of this class are called by the thread of the logical 
+ * process, except the registration methods and 
+ * {@link #bind(LogicalProcess, EventModelingAPI, Comparable)} which must be 
+ * called before the simulation is run.
+ * 
+ */
+public final class LogicalProcess<U extends Comparable<U>> implements
+		EventSuperSchedulerItf<U> {
+
+	private final ParallelSuperScheduler<U> scheduler_;
+
+	private final int index_;
+
+	private final ModelingTimeAPI<U> infinity_;
+
+	private ModelingTimeAPI<U> now_;
+
+	private final ControllerHeap<U, EventSimulationControllerAPI<U>> agenda_ = new ControllerHeap<U, EventSimulationControllerAPI<U>>();
+
+	private final PriorityQueue<Message<U>> inbox_ = new PriorityQueue<Message<U>>();
+
+	private final List<Channel<U>> inputs_ = new ArrayList<Channel<U>>();
+
+	private final List<Channel<U>> outputs_ = new ArrayList<Channel<U>>();
+
+	private volatile Thread thread_ = null;
+
+	private long steps_ = 0;
+
+	private long events_ = 0;
+
+	private long messages_ = 0;
+
+	private long nullMessages_ = 0;
+
+	private long blocks_ = 0;
+
+	LogicalProcess(final ParallelSuperScheduler<U> scheduler, final int index,
+			final ModelingTimeAPI<U> start, final ModelingTimeAPI<U> infinity) {
+		scheduler_ = scheduler;
+		index_ = index;
+		now_ = start;
+		infinity_ = infinity;
+	}
+
+	public int getIndex() {
+		return index_;
+	}
+
+	/**
+	 * Registers a simulation controller in this logical process.
+	 * 
+	 * <p>Controllers scheduled at the same time are run in registration 
+	 * order. Controllers are registered automatically when they first call
+	 * {@link #waitUntil(ModelingTimeAPI, EventSimulationControllerAPI)}, but
+	 * the registration order (global to all the logical processes) is only 
+	 * deterministic if the controllers are registered or initialized by a
+	 * single thread before the simulation is run.
+	 * 
+	 * @param controller
+	 * 		The controller to register.
+	 */
+	public void register(final EventSimulationControllerAPI<U> controller) {
+		if (!agenda_.isRegistered(controller))
+			agenda_.register(controller, scheduler_.nextControllerIndex());
+	}
+
+	/**
+	 * Creates a link from a component of this logical process to a component
+	 * of another (or the same) logical process.
+	 * 
+	 * @param destination
+	 * 		The logical process of the target component.
+	 * @param target
+	 * 		The target component.
+	 * @param lookahead
+	 * 		Minimum delay of the events sent through the link (strictly
+	 *      positive).
+	 * @return the new link.
+	 */
+	public Link<U> bind(final LogicalProcess<U> destination,
+			final EventModelingAPI<U> target, final U lookahead) {
+		return scheduler_.bind(this, destination, target, lookahead);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.osadev.osa.simapis.simulation.EventSuperSchedulerItf#waitUntil(org.osadev.osa.simapis.modeling.ModelingTimeAPI, org.osadev.osa.simapis.simulation.EventSimulationControllerAPI)
+	 */
+	public void waitUntil(final ModelingTimeAPI<U> time,
+			final EventSimulationControllerAPI<U> callBack) {
+		register(callBack);
+		agenda_.update(callBack, time);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.osadev.osa.simapis.modeling.SimulationTimeAPI#getSimulationTime()
+	 */
+	public ModelingTimeAPI<U> getSimulationTime() {
+		return now_;
+	}
+
+	/** Number of distinct times processed. */
+	public long getStepCount() {
+		return steps_;
+	}
+
+	/** Number of events processed by the controllers. */
+	public long getEventCount() {
+		return events_;
+	}
+
+	/** Number of messages received through links. */
+	public long getMessageCount() {
+		return messages_;
+	}
+
+	/** Number of time bound updates sent to other logical processes. */
+	public long getNullMessageCount() {
+		return nullMessages_;
+	}
+
+	/** Number of times the logical process waited for its input channels. */
+	public long getBlockedCount() {
+		return blocks_;
+	}
+
+	@Override
+	public String toString() {
+		return String.format(
+				"LP%d[t=%s, steps=%d, events=%d, messages=%d, nullMessages=%d, blocked=%d]",
+				index_, now_, steps_, events_, messages_, nullMessages_, blocks_);
+	}
+
+	void addInput(final Channel<U> channel) {
+		inputs_.add(channel);
+	}
+
+	void addOutput(final Channel<U> channel) {
+		outputs_.add(channel);
+	}
+
+	/** Receives a message sent by a local link. */
+	void receive(final Message<U> message) {
+		inbox_.add(message);
+	}
+
+	/** Wakes the thread of the logical process up. */
+	void signal() {
+		final Thread thread = thread_;
+		if (thread != null)
+			LockSupport.unpark(thread);
+	}
+
+	/**
+	 * Runs the logical process until the given time.
+	 * 
+	 * @param end
+	 * 		The last time to process.
+	 * @throws SimSchedulingException
+	 * 		If a controller is not ready at the time it registered for.
+	 */
+	void run(final ModelingTimeAPI<U> end) throws SimSchedulingException {
+		thread_ = Thread.currentThread();
+		try {
+			while (!scheduler_.isAborted()) {
+				// read the bounds first: the messages they cover are queued
+				ModelingTimeAPI<U> safe = infinity_;
+				for (Channel<U> c : inputs_) {
+					final ModelingTimeAPI<U> bound = c.getBound();
+					if (bound.compareTo(safe) < 0)
+						safe = bound;
+				}
+				for (Channel<U> c : inputs_)
+					c.drainTo(inbox_);
+				final ModelingTimeAPI<U> next = nextTime();
+				final ModelingTimeAPI<U> lower = (next.compareTo(safe) < 0) ? next : safe;
+				if (lower.isInfinite() || lower.compareTo(end) > 0) {
+					raiseBounds(infinity_);
+					return;
+				}
+				raiseBounds(lower);
+				if (next.compareTo(safe) < 0 && next.compareTo(end) <= 0) {
+					advance(next);
+				} else {
+					blocks_++;
+					LockSupport.park(this);
+				}
+			}
+		} finally {
+			thread_ = null;
+		}
+	}
+
+	private ModelingTimeAPI<U> nextTime() {
+		ModelingTimeAPI<U> next = agenda_.isEmpty() ? infinity_ : agenda_.peekTime();
+		final Message<U> head = inbox_.peek();
+		if (head != null && head.time_.compareTo(next) < 0)
+			next = head.time_;
+		return next;
+	}
+
+	private void raiseBounds(final ModelingTimeAPI<U> lower) {
+		for (Channel<U> c : outputs_) {
+			final ModelingTimeAPI<U> bound = lower.isInfinite() ? infinity_
+					: lower.getDelayed(c.getLookahead());
+			if (c.raise(bound))
+				nullMessages_++;
+		}
+	}
+
+	/**
+	 * Processes the given time: schedules the messages received for this 
+	 * time, then runs the controllers in order.
+	 */
+	private void advance(final ModelingTimeAPI<U> time)
+			throws SimSchedulingException {
+		now_ = time;
+		steps_++;
+		Message<U> message;
+		while ((message = inbox_.peek()) != null && message.time_.compareTo(time) == 0) {
+			inbox_.poll();
+			deliver(message);
+		}
+		while (!agenda_.isEmpty() && agenda_.peekTime().compareTo(time) == 0)
+			events_ += agenda_.poll().resumeAll(time);
+	}
+
+	private void deliver(final Message<U> message) {
+		messages_++;
+		try {
+			message.target_.scheduleEventMyself(message.method_,
+					message.params_, message.time_);
+		} catch (UnknownEventMethodException e) {
+			throw new RuntimeException("Cannot deliver " + message, e);
+		} catch (IllegalEventMethodException e) {
+			throw new RuntimeException("Cannot deliver " + message, e);
+		}
+	}
+
+}
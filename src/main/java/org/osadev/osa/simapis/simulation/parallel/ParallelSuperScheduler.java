@@ -0,0 +1,211 @@
+/** ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++--> 
+<!--                Open Simulation Architecture (OSA)                  -->
+<!--                                                                    -->
+<!--      This software is distributed under the terms of the           -->
+<!--           CECILL-C FREE SOFTWARE LICENSE AGREEMENT                 -->
+<!--  (see http://www.cecill.info/licences/Licence_CeCILL-C_V1-en.html) -->
+<!--                                                                    -->
+<!--  Copyright © 2006-2015 Université Nice Sophia Antipolis            -->
+<!--  Contact author: Olivier Dalle (olivier.dalle@unice.fr)            -->
+<!--                                                                    -->
+<!--  Parts of this software development were supported and hosted by   -->
+<!--  INRIA from 2006 to 2015, in the context of the common research    -->
+<!--  teams of INRIA and I3S, UMR CNRS 7172 (MASCOTTE, COATI, OASIS and -->
+<!--  SCALE).                                                           -->
+<!--++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++**/ 
+package org.osadev.osa.simapis.simulation.parallel;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.osadev.osa.simapis.exceptions.SimSchedulingException;
+import org.osadev.osa.simapis.modeling.EventModelingAPI;
+import org.osadev.osa.simapis.modeling.ModelingTimeAPI;
+import org.osadev.osa.simapis.modeling.ModelingTimeSymbols;
+import org.osadev.osa.simapis.modeling.TimeFactoryItf;
+
+/**
+ * Conservative parallel super-scheduler (Chandy-Misra-Bryant).
+ * 
+ * <p>The simulation components are partitioned into a fixed number of 
+ * {@link LogicalProcess logical processes}, each run by its own thread. Each
+ * simulation controller is bound to the logical process of its partition as
+ * to a sequential super-scheduler. Components of different partitions only 
+ * interact through {@link Link links}, on which a lookahead is declared. The
+ * logical processes exchange time bounds (null messages) derived from the 
+ * lookahead so that each of them only processes events that can not be 
+ * preceded by an event received later. Since every link has a strictly 
+ * positive lookahead, the simulation can not deadlock.
+ * 
+ * <p>The events of a component are processed in the same order, at the same
+ * times and with the same parameters whatever the number of logical 
+ * processes and the partitioning, and in particular as with a single logical
+ * process (sequential execution). Event identifiers may differ when the
+ * logical processes share an event identifier sequence.
+ * 
+ * <p>A scheduler runs once: create the logical processes, bind the 
+ * controllers and create the links, initialize the controllers, then call 
+ * {@link #run(ModelingTimeAPI)}. Only synchronous (event-driven) controllers
+ * are supported.
+ * 
+ */
+public final class ParallelSuperScheduler<U extends Comparable<U>> {
+
+	private final ModelingTimeAPI<U> start_;
+
+	private final List<LogicalProcess<U>> processes_;
+
+	/** Channels, indexed by source then destination. */
+	private final Channel<U>[][] channels_;
+
+	private final AtomicInteger controllers_ = new AtomicInteger();
+
+	private int links_ = 0;
+
+	private boolean started_ = false;
+
+	private volatile boolean aborted_ = false;
+
+	private final AtomicReference<Throwable> failure_ = new AtomicReference<Throwable>();
+
+	/**
+	 * @param processCount
+	 * 		Number of logical processes (and threads).
+	 * @param timeFactory
+	 * 		Factory of the time type.
+	 */
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	public ParallelSuperScheduler(final int processCount,
+			final TimeFactoryItf<U> timeFactory) {
+		if (processCount <= 0)
+			throw new IllegalArgumentException("Illegal logical process count: " + processCount);
+		start_ = timeFactory.create();
+		final ModelingTimeAPI<U> infinity = timeFactory.create(ModelingTimeSymbols.INFINITY.name());
+		final List<LogicalProcess<U>> processes = new ArrayList<LogicalProcess<U>>(processCount);
+		for (int i = 0; i < processCount; i++)
+			processes.add(new LogicalProcess<U>(this, i, start_, infinity));
+		processes_ = Collections.unmodifiableList(processes);
+		channels_ = new Channel[processCount][processCount];
+	}
+
+	public int getLogicalProcessCount() {
+		return processes_.size();
+	}
+
+	/**
+	 * Gets a logical process, to be bound to the simulation controllers of
+	 * the corresponding partition.
+	 * 
+	 * @param index
+	 * 		Index of the logical process.
+	 * @return the logical process.
+	 */
+	public LogicalProcess<U> getLogicalProcess(final int index) {
+		return processes_.get(index);
+	}
+
+	public List<LogicalProcess<U>> getLogicalProcesses() {
+		return processes_;
+	}
+
+	/**
+	 * Runs the simulation until all the logical processes have processed
+	 * all their events up to the given time.
+	 * 
+	 * @param end
+	 * 		The last time to process (possibly infinite).
+	 * @throws SimSchedulingException
+	 * 		If a controller is not ready at the time it registered for.
+	 * @throws InterruptedException
+	 * 		If the calling thread is interrupted, in which case the simulation
+	 * 		is aborted.
+	 */
+	public void run(final ModelingTimeAPI<U> end) throws SimSchedulingException,
+			InterruptedException {
+		synchronized (this) {
+			if (started_)
+				throw new IllegalStateException("Parallel simulation already run");
+			started_ = true;
+		}
+		final List<Thread> threads = new ArrayList<Thread>(processes_.size());
+		for (final LogicalProcess<U> lp : processes_) {
+			threads.add(new Thread(new Runnable() {
+				public void run() {
+					try {
+						lp.run(end);
+					} catch (Throwable t) {
+						abort(t);
+					}
+				}
+			}, "osa-lp-" + lp.getIndex()));
+		}
+		for (Thread t : threads)
+			t.start();
+		try {
+			for (Thread t : threads)
+				t.join();
+		} catch (InterruptedException e) {
+			abort(e);
+			for (Thread t : threads)
+				t.join();
+			throw e;
+		}
+		final Throwable failure = failure_.get();
+		if (failure instanceof SimSchedulingException)
+			throw (SimSchedulingException) failure;
+		if (failure instanceof RuntimeException)
+			throw (RuntimeException) failure;
+		if (failure instanceof Error)
+			throw (Error) failure;
+		if (failure != null)
+			throw new SimSchedulingException("Logical process failed", failure);
+	}
+
+	/**
+	 * Tells whether the simulation was aborted after a failure.
+	 * 
+	 * @return <code>true</code> if the simulation was aborted.
+	 */
+	public boolean isAborted() {
+		return aborted_;
+	}
+
+	Link<U> bind(final LogicalProcess<U> source,
+			final LogicalProcess<U> destination, final EventModelingAPI<U> target,
+			final U lookahead) {
+		if (start_.getDelayed(lookahead).compareTo(start_) <= 0)
+			throw new IllegalArgumentException("Lookahead must be strictly positive: " + lookahead);
+		synchronized (this) {
+			if (started_)
+				throw new IllegalStateException("Links must be created before the simulation is run");
+			Channel<U> channel = null;
+			if (source != destination) {
+				channel = channels_[source.getIndex()][destination.getIndex()];
+				if (channel == null) {
+					channel = new Channel<U>(source, destination, lookahead, start_);
+					channels_[source.getIndex()][destination.getIndex()] = channel;
+					source.addOutput(channel);
+					destination.addInput(channel);
+				} else {
+					channel.addLookahead(lookahead);
+				}
+			}
+			return new Link<U>(links_++, source, destination, target, lookahead, channel);
+		}
+	}
+
+	int nextControllerIndex() {
+		return controllers_.getAndIncrement();
+	}
+
+	private void abort(final Throwable t) {
+		failure_.compareAndSet(null, t);
+		aborted_ = true;
+		for (LogicalProcess<U> lp : processes_)
+			lp.signal();
+	}
+
+}
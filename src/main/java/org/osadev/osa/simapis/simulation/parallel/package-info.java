@@ -0,0 +1,7 @@
+/**
+ * Conservative parallel simulation: the simulation controllers are 
+ * partitioned into logical processes run by separate threads, which 
+ * synchronize using the lookahead declared on the links between them.
+ *
+ */
+package org.osadev.osa.simapis.simulation.parallel;
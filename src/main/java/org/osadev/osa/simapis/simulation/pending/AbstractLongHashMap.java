@@ -0,0 +1,160 @@
+/** ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++--> 
+<!--                Open Simulation Architecture (OSA)                  -->
+<!--                                                                    -->
+<!--      This software is distributed under the terms of the           -->
+<!--           CECILL-C FREE SOFTWARE LICENSE AGREEMENT                 -->
+<!--  (see http://www.cecill.info/licences/Licence_CeCILL-C_V1-en.html) -->
+<!--                                                                    -->
+<!--  Copyright © 2006-2015 Université Nice Sophia Antipolis            -->
+<!--  Contact author: Olivier Dalle (olivier.dalle@unice.fr)            -->
+<!--                                                                    -->
+<!--  Parts of this software development were supported and hosted by   -->
+<!--  INRIA from 2006 to 2015, in the context of the common research    -->
+<!--  teams of INRIA and I3S, UMR CNRS 7172 (MASCOTTE, COATI, OASIS and -->
+<!--  SCALE).                                                           -->
+<!--++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++**/ 
+package org.osadev.osa.simapis.simulation.pending;
+
+/**
+ * Open addressing hash map from <code>long</code> keys to values stored in
+ * a primitive or object array of type <code>A</code>, without boxing the 
+ * keys.
+ * 
+ * <p>Uses linear probing with backward shift deletion, so that removals
+ * leave no tombstone behind. This class holds the keys and the probing; the
+ * subclasses hold the values, whose reserved free value marks the free 
+ * slots, and expose the typed accessors.
+ * 
+ * @param <A>
+ * 		Type of the array of values.
+ */
+abstract class AbstractLongHashMap<A> {
+
+	private static final int MIN_CAPACITY = 16;
+
+	private long[] keys_;
+
+	/** Values, indexed like the keys. */
+	A values_;
+
+	private int mask_;
+
+	private int size_ = 0;
+
+	AbstractLongHashMap() {
+		allocate(MIN_CAPACITY);
+	}
+
+	/** Creates an array of free values. */
+	abstract A newValues(int capacity);
+
+	/** Tells if a slot of a value array is free. */
+	abstract boolean isFree(A values, int slot);
+
+	/** Copies a value between two slots, possibly of different arrays. */
+	abstract void copyValue(A from, int fromSlot, A to, int toSlot);
+
+	/** Marks a slot as free. */
+	abstract void freeValue(A values, int slot);
+
+	int size() {
+		return size_;
+	}
+
+	void clear() {
+		allocate(MIN_CAPACITY);
+		size_ = 0;
+	}
+
+	/**
+	 * Finds the slot of a key.
+	 * 
+	 * @return the slot, or -1 if the key is absent.
+	 */
+	final int find(final long key) {
+		final A values = values_;
+		int i = slot(key);
+		while (!isFree(values, i)) {
+			if (keys_[i] == key)
+				return i;
+			i = (i + 1) & mask_;
+		}
+		return -1;
+	}
+
+	/**
+	 * Finds the slot of a key, or the free slot where it must be inserted, in
+	 * which case the key is stored and the caller must store a value and 
+	 * then call {@link #added()}.
+	 */
+	final int claim(final long key) {
+		final A values = values_;
+		int i = slot(key);
+		while (!isFree(values, i)) {
+			if (keys_[i] == key)
+				return i;
+			i = (i + 1) & mask_;
+		}
+		keys_[i] = key;
+		return i;
+	}
+
+	/** Accounts for a value stored in a slot given by {@link #claim(long)}. */
+	final void added() {
+		if (++size_ > (keys_.length >>> 1))
+			rehash(keys_.length << 1);
+	}
+
+	/** Removes the entry of a slot given by {@link #find(long)}. */
+	final void delete(final int slot) {
+		shiftBack(slot);
+		if (--size_ < (keys_.length >>> 3) && keys_.length > MIN_CAPACITY)
+			rehash(keys_.length >>> 1);
+	}
+
+	/** Closes the gap at slot i by moving back the entries that probed past it. */
+	private void shiftBack(int gap) {
+		final A values = values_;
+		int i = gap;
+		while (true) {
+			i = (i + 1) & mask_;
+			if (isFree(values, i))
+				break;
+			final int home = slot(keys_[i]);
+			// move the entry if its home slot is not in the cyclic range (gap, i]
+			if (((i - home) & mask_) >= ((i - gap) & mask_)) {
+				keys_[gap] = keys_[i];
+				copyValue(values, i, values, gap);
+				gap = i;
+			}
+		}
+		freeValue(values, gap);
+	}
+
+	private int slot(final long key) {
+		final long h = key * 0x9E3779B97F4A7C15L;
+		return (int) (h ^ (h >>> 32)) & mask_;
+	}
+
+	private void allocate(final int capacity) {
+		keys_ = new long[capacity];
+		values_ = newValues(capacity);
+		mask_ = capacity - 1;
+	}
+
+	private void rehash(final int capacity) {
+		final long[] keys = keys_;
+		final A values = values_;
+		allocate(capacity);
+		for (int j = 0; j < keys.length; j++) {
+			if (!isFree(values, j)) {
+				int i = slot(keys[j]);
+				while (!isFree(values_, i))
+					i = (i + 1) & mask_;
+				keys_[i] = keys[j];
+				copyValue(values, j, values_, i);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,162 @@
+/** ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++--> 
+<!--                Open Simulation Architecture (OSA)                  -->
+<!--                                                                    -->
+<!--      This software is distributed under the terms of the           -->
+<!--           CECILL-C FREE SOFTWARE LICENSE AGREEMENT                 -->
+<!--  (see http://www.cecill.info/licences/Licence_CeCILL-C_V1-en.html) -->
+<!--                                                                    -->
+<!--  Copyright © 2006-2015 Université Nice Sophia Antipolis            -->
+<!--  Contact author: Olivier Dalle (olivier.dalle@unice.fr)            -->
+<!--                                                                    -->
+<!--  Parts of this software development were supported and hosted by   -->
+<!--  INRIA from 2006 to 2015, in the context of the common research    -->
+<!--  teams of INRIA and I3S, UMR CNRS 7172 (MASCOTTE, COATI, OASIS and -->
+<!--  SCALE).                                                           -->
+<!--++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++**/ 
+package org.osadev.osa.simapis.simulation.pending;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+
+import org.osadev.osa.simapis.simulation.AbstractEvent;
+
+/**
+ * Pending event set implemented as an array-based binary heap.
+ * 
+ * <p>Insertion and removal of the first event cost O(log n). Removal by 
+ * identifier requires a linear search (see {@link IndexedHeapPendingSet} 
+ * when cancellations are frequent). This implementation works with any time
+ * type.
+ * 
+ */
+public class BinaryHeapPendingSet<U extends Comparable<U>> implements
+		PendingEventSetItf<U> {
+
+	private static final int DEFAULT_CAPACITY = 64;
+
+	private AbstractEvent<U>[] heap_;
+
+	private int size_ = 0;
+
+	public BinaryHeapPendingSet() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	public BinaryHeapPendingSet(final int initialCapacity) {
+		heap_ = new AbstractEvent[Math.max(1, initialCapacity)];
+	}
+
+	public void add(final AbstractEvent<U> event) {
+		if (size_ == heap_.length)
+			heap_ = Arrays.copyOf(heap_, heap_.length * 2);
+		siftUp(size_++, event);
+	}
+
+	/**
+	 * Appends the events and restores the heap order in linear time when the
+	 * batch is large compared to the heap, inserts them one by one otherwise.
+	 */
+	public void addAll(final Collection<? extends AbstractEvent<U>> events) {
+		final int count = events.size();
+		final int total = size_ + count;
+		if (total > heap_.length)
+			heap_ = Arrays.copyOf(heap_, Math.max(total, heap_.length * 2));
+		if (isHeapifyCheaper(size_, count)) {
+			for (AbstractEvent<U> event : events)
+				heap_[size_++] = event;
+			for (int i = (size_ >>> 1) - 1; i >= 0; i--)
+				siftDown(i, heap_[i]);
+		} else {
+			for (AbstractEvent<U> event : events)
+				siftUp(size_++, event);
+		}
+	}
+
+	public AbstractEvent<U> peek() {
+		return (size_ == 0) ? null : heap_[0];
+	}
+
+	public AbstractEvent<U> poll() {
+		if (size_ == 0)
+			return null;
+		return removeAt(0);
+	}
+
+	public AbstractEvent<U> remove(final long eventId) {
+		for (int i = 0; i < size_; i++) {
+			if (heap_[i].getId() == eventId)
+				return removeAt(i);
+		}
+		return null;
+	}
+
+	public int size() {
+		return size_;
+	}
+
+	public boolean isEmpty() {
+		return size_ == 0;
+	}
+
+	public void clear() {
+		Arrays.fill(heap_, 0, size_, null);
+		size_ = 0;
+	}
+
+	public Iterator<AbstractEvent<U>> iterator() {
+		return EventIterator.of(heap_, size_);
+	}
+
+	/**
+	 * Tells whether rebuilding the heap is cheaper than inserting a batch 
+	 * event by event. Rebuilding costs O(size + count) while insertions cost
+	 * up to O(count log(size + count)): rebuild when the batch is at least 
+	 * as large as the heap.
+	 */
+	static boolean isHeapifyCheaper(final int size, final int count) {
+		return count >= size;
+	}
+
+	private AbstractEvent<U> removeAt(final int i) {
+		final AbstractEvent<U> removed = heap_[i];
+		final AbstractEvent<U> last = heap_[--size_];
+		heap_[size_] = null;
+		if (i < size_) {
+			siftDown(i, last);
+			if (heap_[i] == last)
+				siftUp(i, last);
+		}
+		return removed;
+	}
+
+	private void siftUp(int i, final AbstractEvent<U> event) {
+		while (i > 0) {
+			final int parent = (i - 1) >>> 1;
+			final AbstractEvent<U> p = heap_[parent];
+			if (EventOrder.compare(event, p) >= 0)
+				break;
+			heap_[i] = p;
+			i = parent;
+		}
+		heap_[i] = event;
+	}
+
+	private void siftDown(int i, final AbstractEvent<U> event) {
+		final int half = size_ >>> 1;
+		while (i < half) {
+			int child = (i << 1) + 1;
+			AbstractEvent<U> c = heap_[child];
+			final int right = child + 1;
+			if (right < size_ && EventOrder.compare(heap_[right], c) < 0)
+				c = heap_[child = right];
+			if (EventOrder.compare(event, c) <= 0)
+				break;
+			heap_[i] = c;
+			i = child;
+		}
+		heap_[i] = event;
+	}
+
+}
@@ -0,0 +1,430 @@
+/** ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++--> 
+<!--                Open Simulation Architecture (OSA)                  -->
+<!--                                                                    -->
+<!--      This software is distributed under the terms of the           -->
+<!--           CECILL-C FREE SOFTWARE LICENSE AGREEMENT                 -->
+<!--  (see http://www.cecill.info/licences/Licence_CeCILL-C_V1-en.html) -->
+<!--                                                                    -->
+<!--  Copyright © 2006-2015 Université Nice Sophia Antipolis            -->
+<!--  Contact author: Olivier Dalle (olivier.dalle@unice.fr)            -->
+<!--                                                                    -->
+<!--  Parts of this software development were supported and hosted by   -->
+<!--  INRIA from 2006 to 2015, in the context of the common research    -->
+<!--  teams of INRIA and I3S, UMR CNRS 7172 (MASCOTTE, COATI, OASIS and -->
+<!--  SCALE).                                                           -->
+<!--++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++**/ 
+package org.osadev.osa.simapis.simulation.pending;
+
+import java.util.Collection;
+import java.util.Iterator;
+
+import org.osadev.osa.simapis.simulation.AbstractEvent;
+
+/**
+ * Pending event set implemented as a calendar queue.
+ * 
+ * <p>This is the structure described by R. Brown ("Calendar queues: a fast 
+ * O(1) priority queue implementation for the simulation event set problem", 
+ * CACM 31(10), 1988). Events are hashed by time into an array of buckets, 
+ * each bucket covering a time interval of fixed width and holding a sorted
+ * list. The buckets are visited in turn like the days of a calendar year, and
+ * the events of a bucket that belong to a later year are skipped.
+ * 
+ * <p>The number of buckets is doubled (resp. halved) when the number of 
+ * events exceeds twice (resp. falls below half) the number of buckets. The 
+ * bucket width is recomputed at each resize from the average separation of 
+ * the first events, and also when too many dequeues fail to find an event in 
+ * the current year, which happens when the time distribution of the events 
+ * drifts away from the current width.
+ * 
+ * <p>Enqueue and dequeue cost O(1) on average when the distribution of time
+ * increments is stable. Distributions mixing very different time scales are
+ * better handled by {@link LadderQueue}. Removal by identifier requires a
+ * linear search.
+ * 
+ * <p>Times must be non-negative; the infinite time is ordered after any other
+ * time (see {@link EventOrder#longKey(AbstractEvent)}).
+ * 
+ */
+public class CalendarQueue implements PendingEventSetItf<Long> {
+
+	private static final int MIN_BUCKETS = 2;
+
+	/** Maximum number of events sampled to estimate the bucket width. */
+	private static final int MAX_SAMPLES = 25;
+
+	/** Maximum number of list nodes kept for reuse. */
+	private static final int MAX_FREE_NODES = 1024;
+
+	private Node[] buckets_;
+
+	/** Last node of each bucket, used to append without walking the list. */
+	private Node[] tails_;
+
+	private int mask_;
+
+	private long width_;
+
+	/** Virtual bucket (ie. key / width) currently visited. */
+	private long current_;
+
+	private int size_ = 0;
+
+	private int growThreshold_;
+
+	private int shrinkThreshold_;
+
+	/** Dequeues that had to search the whole calendar since last resize. */
+	private int directSearches_ = 0;
+
+	private long resizes_ = 0;
+
+	private Node free_ = null;
+
+	private int freeCount_ = 0;
+
+	public CalendarQueue() {
+		this(MIN_BUCKETS, 1L);
+	}
+
+	/**
+	 * Creates a calendar queue with a given initial geometry.
+	 * 
+	 * @param buckets
+	 * 		Initial number of buckets, rounded up to a power of two.
+	 * @param width
+	 * 		Initial bucket width, in time units.
+	 */
+	public CalendarQueue(final int buckets, final long width) {
+		if (width <= 0)
+			throw new IllegalArgumentException("Illegal bucket width: " + width);
+		width_ = width;
+		allocate(Math.max(MIN_BUCKETS, Integer.highestOneBit(Math.max(1, buckets - 1)) << 1));
+	}
+
+	public void add(final AbstractEvent<Long> event) {
+		final long key = EventOrder.longKey(event);
+		final Node n = newNode(event, key);
+		insert(n);
+		if (n.vbucket_ < current_)
+			current_ = n.vbucket_;
+		if (++size_ > growThreshold_)
+			resize(buckets_.length << 1);
+	}
+
+	public void addAll(final Collection<? extends AbstractEvent<Long>> events) {
+		for (AbstractEvent<Long> event : events)
+			add(event);
+	}
+
+	public AbstractEvent<Long> peek() {
+		if (size_ == 0)
+			return null;
+		return buckets_[locateFirst()].event_;
+	}
+
+	public AbstractEvent<Long> poll() {
+		if (size_ == 0)
+			return null;
+		final int b = locateFirst();
+		final Node n = buckets_[b];
+		buckets_[b] = n.next_;
+		if (n.next_ == null)
+			tails_[b] = null;
+		final AbstractEvent<Long> event = n.event_;
+		release(n);
+		if (--size_ < shrinkThreshold_)
+			resize(buckets_.length >>> 1);
+		else if (directSearches_ > buckets_.length && size_ > 1)
+			resize(buckets_.length);
+		return event;
+	}
+
+	public AbstractEvent<Long> remove(final long eventId) {
+		for (int b = 0; b < buckets_.length; b++) {
+			Node prev = null;
+			for (Node n = buckets_[b]; n != null; prev = n, n = n.next_) {
+				if (n.id_ == eventId) {
+					if (prev == null)
+						buckets_[b] = n.next_;
+					else
+						prev.next_ = n.next_;
+					if (n.next_ == null)
+						tails_[b] = prev;
+					final AbstractEvent<Long> event = n.event_;
+					release(n);
+					if (--size_ < shrinkThreshold_)
+						resize(buckets_.length >>> 1);
+					return event;
+				}
+			}
+		}
+		return null;
+	}
+
+	public int size() {
+		return size_;
+	}
+
+	public boolean isEmpty() {
+		return size_ == 0;
+	}
+
+	public void clear() {
+		width_ = 1L;
+		current_ = 0L;
+		size_ = 0;
+		free_ = null;
+		freeCount_ = 0;
+		allocate(MIN_BUCKETS);
+	}
+
+	public Iterator<AbstractEvent<Long>> iterator() {
+		return new EventIterator<Long>() {
+
+			private int bucket_ = 0;
+
+			private Node node_ = null;
+
+			AbstractEvent<Long> fetch() {
+				while (node_ == null) {
+					if (bucket_ == buckets_.length)
+						return null;
+					node_ = buckets_[bucket_++];
+				}
+				final Node n = node_;
+				node_ = n.next_;
+				return n.event_;
+			}
+		};
+	}
+
+	/**
+	 * Gives the current number of buckets.
+	 * 
+	 * @return the number of buckets.
+	 */
+	public int getBucketCount() {
+		return buckets_.length;
+	}
+
+	/**
+	 * Gives the current width of the buckets.
+	 * 
+	 * @return the bucket width, in time units.
+	 */
+	public long getBucketWidth() {
+		return width_;
+	}
+
+	/**
+	 * Gives the number of times the calendar was rebuilt.
+	 * 
+	 * @return the resize count.
+	 */
+	public long getResizeCount() {
+		return resizes_;
+	}
+
+	/**
+	 * Finds the bucket holding the first event and moves the current virtual
+	 * bucket on it. The set must not be empty.
+	 */
+	private int locateFirst() {
+		int b = (int) (current_ & mask_);
+		for (int i = 0; i < buckets_.length; i++) {
+			final Node head = buckets_[b];
+			if (head != null && head.vbucket_ <= current_)
+				return b;
+			b = (b + 1) & mask_;
+			current_++;
+		}
+		// No event in the coming year: direct search of the minimum
+		directSearches_++;
+		Node min = null;
+		int minBucket = -1;
+		for (int i = 0; i < buckets_.length; i++) {
+			final Node head = buckets_[i];
+			if (head != null && (min == null || head.before(min))) {
+				min = head;
+				minBucket = i;
+			}
+		}
+		current_ = min.vbucket_;
+		return minBucket;
+	}
+
+	/** Inserts a node in its bucket, keeping the bucket sorted. */
+	private void insert(final Node n) {
+		n.vbucket_ = n.key_ / width_;
+		final int b = (int) (n.vbucket_ & mask_);
+		final Node tail = tails_[b];
+		if (tail == null || tail.before(n)) {
+			// append: most frequent case with increasing times and identifiers
+			n.next_ = null;
+			if (tail == null)
+				buckets_[b] = n;
+			else
+				tail.next_ = n;
+			tails_[b] = n;
+			return;
+		}
+		Node prev = null;
+		Node cur = buckets_[b];
+		while (cur != null && !n.before(cur)) {
+			prev = cur;
+			cur = cur.next_;
+		}
+		n.next_ = cur;
+		if (prev == null)
+			buckets_[b] = n;
+		else
+			prev.next_ = n;
+	}
+
+	private void allocate(final int buckets) {
+		buckets_ = new Node[buckets];
+		tails_ = new Node[buckets];
+		mask_ = buckets - 1;
+		growThreshold_ = buckets << 1;
+		shrinkThreshold_ = (buckets > MIN_BUCKETS) ? (buckets >>> 1) : -1;
+		directSearches_ = 0;
+	}
+
+	/**
+	 * Rebuilds the calendar with a given number of buckets and a new width 
+	 * estimated from the first events.
+	 */
+	private void resize(final int buckets) {
+		resizes_++;
+		final long width = estimateWidth();
+		final Node[] old = buckets_;
+		width_ = width;
+		allocate(Math.max(MIN_BUCKETS, buckets));
+		long first = Long.MAX_VALUE;
+		for (Node head : old) {
+			Node n = head;
+			while (n != null) {
+				final Node next = n.next_;
+				insert(n);
+				if (n.vbucket_ < first)
+					first = n.vbucket_;
+				n = next;
+			}
+		}
+		current_ = (size_ == 0) ? 0L : first;
+	}
+
+	/**
+	 * Estimates the bucket width as three times the average separation of 
+	 * the first events, ignoring separations larger than twice the average.
+	 */
+	private long estimateWidth() {
+		final int samples = Math.min(size_, MAX_SAMPLES);
+		if (samples < 2)
+			return width_;
+		// Collect the smallest keys by walking the calendar from the first event
+		final long[] keys = new long[samples];
+		int count = 0;
+		long vbucket = current_;
+		int b = (int) (vbucket & mask_);
+		int empty = 0;
+		while (count < samples && empty < buckets_.length) {
+			boolean found = false;
+			for (Node n = buckets_[b]; n != null && count < samples; n = n.next_) {
+				if (n.vbucket_ == vbucket) {
+					keys[count++] = n.key_;
+					found = true;
+				} else if (n.vbucket_ > vbucket) {
+					break;
+				}
+			}
+			empty = found ? 0 : empty + 1;
+			b = (b + 1) & mask_;
+			vbucket++;
+		}
+		if (count < samples) {
+			// sparse calendar: fall back to a full scan of the smallest keys
+			count = smallestKeys(keys);
+		}
+		if (count < 2)
+			return width_;
+		double total = 0;
+		for (int i = 1; i < count; i++)
+			total += (double) keys[i] - keys[i - 1];
+		final double average = total / (count - 1);
+		double kept = 0;
+		int keptCount = 0;
+		for (int i = 1; i < count; i++) {
+			final double sep = (double) keys[i] - keys[i - 1];
+			if (sep <= 2 * average) {
+				kept += sep;
+				keptCount++;
+			}
+		}
+		final double width = (keptCount == 0) ? average : 3 * kept / keptCount;
+		if (width < 1)
+			return 1L;
+		return (width >= Long.MAX_VALUE / 2) ? Long.MAX_VALUE / 2 : (long) width;
+	}
+
+	/** Fills the array with the smallest keys of the calendar, sorted. */
+	private int smallestKeys(final long[] keys) {
+		int count = 0;
+		for (Node head : buckets_) {
+			for (Node n = head; n != null; n = n.next_) {
+				if (count < keys.length) {
+					keys[count++] = n.key_;
+				} else if (n.key_ < keys[count - 1]) {
+					keys[count - 1] = n.key_;
+				} else {
+					continue;
+				}
+				for (int i = count - 1; i > 0 && keys[i] < keys[i - 1]; i--) {
+					final long tmp = keys[i];
+					keys[i] = keys[i - 1];
+					keys[i - 1] = tmp;
+				}
+			}
+		}
+		return count;
+	}
+
+	private Node newNode(final AbstractEvent<Long> event, final long key) {
+		Node n = free_;
+		if (n == null) {
+			n = new Node();
+		} else {
+			free_ = n.next_;
+			freeCount_--;
+		}
+		n.event_ = event;
+		n.key_ = key;
+		n.id_ = event.getId();
+		return n;
+	}
+
+	private void release(final Node n) {
+		n.event_ = null;
+		if (freeCount_ < MAX_FREE_NODES) {
+			n.next_ = free_;
+			free_ = n;
+			freeCount_++;
+		} else {
+			n.next_ = null;
+		}
+	}
+
+	private static final class Node {
+		AbstractEvent<Long> event_;
+		long key_;
+		long id_;
+		long vbucket_;
+		Node next_;
+
+		boolean before(final Node other) {
+			return key_ < other.key_ || (key_ == other.key_ && id_ < other.id_);
+		}
+	}
+
+}
@@ -0,0 +1,72 @@
+/** ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++--> 
+<!--                Open Simulation Architecture (OSA)                  -->
+<!--                                                                    -->
+<!--      This software is distributed under the terms of the           -->
+<!--           CECILL-C FREE SOFTWARE LICENSE AGREEMENT                 -->
+<!--  (see http://www.cecill.info/licences/Licence_CeCILL-C_V1-en.html) -->
+<!--                                                                    -->
+<!--  Copyright © 2006-2015 Université Nice Sophia Antipolis            -->
+<!--  Contact author: Olivier Dalle (olivier.dalle@unice.fr)            -->
+<!--                                                                    -->
+<!--  Parts of this software development were supported and hosted by   -->
+<!--  INRIA from 2006 to 2015, in the context of the common research    -->
+<!--  teams of INRIA and I3S, UMR CNRS 7172 (MASCOTTE, COATI, OASIS and -->
+<!--  SCALE).                                                           -->
+<!--++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++**/ 
+package org.osadev.osa.simapis.simulation.pending;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.osadev.osa.simapis.simulation.AbstractEvent;
+
+/**
+ * Base of the iterators of the pending event sets: subclasses only give the
+ * next event of their traversal.
+ * 
+ */
+abstract class EventIterator<U extends Comparable<U>> implements
+		Iterator<AbstractEvent<U>> {
+
+	private AbstractEvent<U> next_ = null;
+
+	private boolean fetched_ = false;
+
+	/**
+	 * Advances the traversal.
+	 * 
+	 * @return the next event, or <code>null</code> if all events were given.
+	 */
+	abstract AbstractEvent<U> fetch();
+
+	public boolean hasNext() {
+		if (!fetched_) {
+			next_ = fetch();
+			fetched_ = true;
+		}
+		return next_ != null;
+	}
+
+	public AbstractEvent<U> next() {
+		if (!hasNext())
+			throw new NoSuchElementException();
+		fetched_ = false;
+		return next_;
+	}
+
+	/**
+	 * Iterates over the first events of an array.
+	 */
+	static <U extends Comparable<U>> EventIterator<U> of(
+			final AbstractEvent<U>[] events, final int size) {
+		return new EventIterator<U>() {
+
+			private int i_ = 0;
+
+			AbstractEvent<U> fetch() {
+				return (i_ < size) ? events[i_++] : null;
+			}
+		};
+	}
+
+}
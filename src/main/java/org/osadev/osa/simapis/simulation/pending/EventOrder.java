@@ -0,0 +1,66 @@
+/** ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++--> 
+<!--                Open Simulation Architecture (OSA)                  -->
+<!--                                                                    -->
+<!--      This software is distributed under the terms of the           -->
+<!--           CECILL-C FREE SOFTWARE LICENSE AGREEMENT                 -->
+<!--  (see http://www.cecill.info/licences/Licence_CeCILL-C_V1-en.html) -->
+<!--                                                                    -->
+<!--  Copyright © 2006-2015 Université Nice Sophia Antipolis            -->
+<!--  Contact author: Olivier Dalle (olivier.dalle@unice.fr)            -->
+<!--                                                                    -->
+<!--  Parts of this software development were supported and hosted by   -->
+<!--  INRIA from 2006 to 2015, in the context of the common research    -->
+<!--  teams of INRIA and I3S, UMR CNRS 7172 (MASCOTTE, COATI, OASIS and -->
+<!--  SCALE).                                                           -->
+<!--++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++**/ 
+package org.osadev.osa.simapis.simulation.pending;
+
+import org.osadev.osa.simapis.modeling.LongModelingTimeAPI;
+import org.osadev.osa.simapis.modeling.ModelingTimeAPI;
+import org.osadev.osa.simapis.simulation.AbstractEvent;
+
+/**
+ * Total order of pending events: by time, then by event identifier.
+ * 
+ */
+public final class EventOrder {
+
+	private EventOrder() {
+	}
+
+	/**
+	 * Compares two events by time, then by identifier.
+	 * 
+	 * @return a negative integer, zero, or a positive integer as the first event
+	 * 		must be processed before, is the same as, or must be processed after
+	 * 		the second one.
+	 */
+	public static <U extends Comparable<U>> int compare(final AbstractEvent<U> e1,
+			final AbstractEvent<U> e2) {
+		final int c = e1.getTime().compareTo(e2.getTime());
+		if (c != 0)
+			return c;
+		return Long.compare(e1.getId(), e2.getId());
+	}
+
+	/**
+	 * Gives the time of an event as an ordering key.
+	 * 
+	 * <p>The key of a finite time is its value, and the key of an infinite time
+	 * is <code>Long.MAX_VALUE</code>, such that keys sort like times as long as
+	 * finite times are non-negative.
+	 * 
+	 * @param event
+	 * 		An event with a long time.
+	 * @return the ordering key.
+	 */
+	public static long longKey(final AbstractEvent<Long> event) {
+		final ModelingTimeAPI<Long> time = event.getTime();
+		if (time instanceof LongModelingTimeAPI) {
+			final long t = ((LongModelingTimeAPI) time).getLong();
+			return (t == LongModelingTimeAPI.INFINITE) ? Long.MAX_VALUE : t;
+		}
+		return time.isInfinite() ? Long.MAX_VALUE : time.get();
+	}
+
+}
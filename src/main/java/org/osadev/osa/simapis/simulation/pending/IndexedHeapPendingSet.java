@@ -0,0 +1,233 @@
+/** ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++--> 
+<!--                Open Simulation Architecture (OSA)                  -->
+<!--                                                                    -->
+<!--      This software is distributed under the terms of the           -->
+<!--           CECILL-C FREE SOFTWARE LICENSE AGREEMENT                 -->
+<!--  (see http://www.cecill.info/licences/Licence_CeCILL-C_V1-en.html) -->
+<!--                                                                    -->
+<!--  Copyright © 2006-2015 Université Nice Sophia Antipolis            -->
+<!--  Contact author: Olivier Dalle (olivier.dalle@unice.fr)            -->
+<!--                                                                    -->
+<!--  Parts of this software development were supported and hosted by   -->
+<!--  INRIA from 2006 to 2015, in the context of the common research    -->
+<!--  teams of INRIA and I3S, UMR CNRS 7172 (MASCOTTE, COATI, OASIS and -->
+<!--  SCALE).                                                           -->
+<!--++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++**/ 
+package org.osadev.osa.simapis.simulation.pending;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+
+import org.osadev.osa.simapis.simulation.AbstractEvent;
+
+/**
+ * Pending event set implemented as a binary heap indexed by event identifier.
+ * 
+ * <p>In addition to the heap array, this implementation maintains the 
+ * position of each event in the heap, keyed on its identifier 
+ * ({@link AbstractEvent#getIndex()}). Removal by identifier and rescheduling
+ * of a pending event ({@link #replace(AbstractEvent)}) thus cost O(log n), 
+ * like insertion and removal of the first event. This is the implementation
+ * of choice for models that cancel most of their events, eg. timeouts.
+ * 
+ * <p>Removed events are not referenced anymore by the set, and the heap array
+ * and the index shrink when the set gets much smaller than its capacity.
+ * 
+ * <p>This implementation works with any time type. Event identifiers must 
+ * be unique among the pending events.
+ * 
+ */
+public class IndexedHeapPendingSet<U extends Comparable<U>> implements
+		PendingEventSetItf<U> {
+
+	private static final int DEFAULT_CAPACITY = 64;
+
+	private AbstractEvent<U>[] heap_;
+
+	private final LongIntHashMap slots_ = new LongIntHashMap();
+
+	private int size_ = 0;
+
+	private final int minCapacity_;
+
+	public IndexedHeapPendingSet() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	public IndexedHeapPendingSet(final int initialCapacity) {
+		minCapacity_ = Math.max(1, initialCapacity);
+		heap_ = new AbstractEvent[minCapacity_];
+	}
+
+	/**
+	 * @throws IllegalArgumentException
+	 * 		If an event with the same identifier is already pending.
+	 */
+	public void add(final AbstractEvent<U> event) {
+		if (slots_.get(event.getId()) != LongIntHashMap.NO_VALUE)
+			throw new IllegalArgumentException("Event already pending: " + event);
+		if (size_ == heap_.length)
+			heap_ = Arrays.copyOf(heap_, heap_.length * 2);
+		siftUp(size_++, event);
+	}
+
+	/**
+	 * Appends the events and restores the heap order in linear time when the
+	 * batch is large compared to the heap, inserts them one by one otherwise.
+	 * 
+	 * @throws IllegalArgumentException
+	 * 		If an event with the same identifier is already pending, in which 
+	 * 		case no event of the batch is added.
+	 */
+	public void addAll(final Collection<? extends AbstractEvent<U>> events) {
+		final int count = events.size();
+		final int total = size_ + count;
+		if (total > heap_.length)
+			heap_ = Arrays.copyOf(heap_, Math.max(total, heap_.length * 2));
+		final int start = size_;
+		for (AbstractEvent<U> event : events) {
+			if (slots_.get(event.getId()) != LongIntHashMap.NO_VALUE) {
+				// roll back the events of the batch already indexed
+				for (int i = start; i < size_; i++) {
+					slots_.remove(heap_[i].getId());
+					heap_[i] = null;
+				}
+				size_ = start;
+				throw new IllegalArgumentException("Event already pending: " + event);
+			}
+			set(size_++, event);
+		}
+		if (BinaryHeapPendingSet.isHeapifyCheaper(start, count)) {
+			for (int i = (size_ >>> 1) - 1; i >= 0; i--)
+				siftDown(i, heap_[i]);
+		} else {
+			for (int i = start; i < size_; i++)
+				siftUp(i, heap_[i]);
+		}
+	}
+
+	public AbstractEvent<U> peek() {
+		return (size_ == 0) ? null : heap_[0];
+	}
+
+	public AbstractEvent<U> poll() {
+		if (size_ == 0)
+			return null;
+		return removeAt(0);
+	}
+
+	public AbstractEvent<U> remove(final long eventId) {
+		final int i = slots_.get(eventId);
+		if (i == LongIntHashMap.NO_VALUE)
+			return null;
+		return removeAt(i);
+	}
+
+	/**
+	 * Replaces a pending event by another one with the same identifier, 
+	 * typically to change its time.
+	 * 
+	 * @param event
+	 * 		The new event.
+	 * @return
+	 * 		The replaced event, or <code>null</code> if no event with the same
+	 * 		identifier is pending (in which case the set is left unchanged).
+	 */
+	public AbstractEvent<U> replace(final AbstractEvent<U> event) {
+		final int i = slots_.get(event.getId());
+		if (i == LongIntHashMap.NO_VALUE)
+			return null;
+		final AbstractEvent<U> old = heap_[i];
+		siftDown(i, event);
+		if (heap_[i] == event)
+			siftUp(i, event);
+		return old;
+	}
+
+	/**
+	 * Gets a pending event by identifier.
+	 * 
+	 * @param eventId
+	 * 		The event identifier.
+	 * @return
+	 * 		The event, or <code>null</code> if no such event is pending.
+	 */
+	public AbstractEvent<U> get(final long eventId) {
+		final int i = slots_.get(eventId);
+		return (i == LongIntHashMap.NO_VALUE) ? null : heap_[i];
+	}
+
+	public boolean contains(final long eventId) {
+		return slots_.get(eventId) != LongIntHashMap.NO_VALUE;
+	}
+
+	public int size() {
+		return size_;
+	}
+
+	public boolean isEmpty() {
+		return size_ == 0;
+	}
+
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	public void clear() {
+		heap_ = new AbstractEvent[minCapacity_];
+		slots_.clear();
+		size_ = 0;
+	}
+
+	public Iterator<AbstractEvent<U>> iterator() {
+		return EventIterator.of(heap_, size_);
+	}
+
+	private AbstractEvent<U> removeAt(final int i) {
+		final AbstractEvent<U> removed = heap_[i];
+		slots_.remove(removed.getId());
+		final AbstractEvent<U> last = heap_[--size_];
+		heap_[size_] = null;
+		if (i < size_) {
+			siftDown(i, last);
+			if (heap_[i] == last)
+				siftUp(i, last);
+		}
+		if (size_ < (heap_.length >>> 2) && heap_.length > minCapacity_)
+			heap_ = Arrays.copyOf(heap_, Math.max(minCapacity_, heap_.length >>> 1));
+		return removed;
+	}
+
+	private void set(final int i, final AbstractEvent<U> event) {
+		heap_[i] = event;
+		slots_.put(event.getId(), i);
+	}
+
+	private void siftUp(int i, final AbstractEvent<U> event) {
+		while (i > 0) {
+			final int parent = (i - 1) >>> 1;
+			final AbstractEvent<U> p = heap_[parent];
+			if (EventOrder.compare(event, p) >= 0)
+				break;
+			set(i, p);
+			i = parent;
+		}
+		set(i, event);
+	}
+
+	private void siftDown(int i, final AbstractEvent<U> event) {
+		final int half = size_ >>> 1;
+		while (i < half) {
+			int child = (i << 1) + 1;
+			AbstractEvent<U> c = heap_[child];
+			final int right = child + 1;
+			if (right < size_ && EventOrder.compare(heap_[right], c) < 0)
+				c = heap_[child = right];
+			if (EventOrder.compare(event, c) <= 0)
+				break;
+			set(i, c);
+			i = child;
+		}
+		set(i, event);
+	}
+
+}
@@ -0,0 +1,665 @@
+/** ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++--> 
+<!--                Open Simulation Architecture (OSA)                  -->
+<!--                                                                    -->
+<!--      This software is distributed under the terms of the           -->
+<!--           CECILL-C FREE SOFTWARE LICENSE AGREEMENT                 -->
+<!--  (see http://www.cecill.info/licences/Licence_CeCILL-C_V1-en.html) -->
+<!--                                                                    -->
+<!--  Copyright © 2006-2015 Université Nice Sophia Antipolis            -->
+<!--  Contact author: Olivier Dalle (olivier.dalle@unice.fr)            -->
+<!--                                                                    -->
+<!--  Parts of this software development were supported and hosted by   -->
+<!--  INRIA from 2006 to 2015, in the context of the common research    -->
+<!--  teams of INRIA and I3S, UMR CNRS 7172 (MASCOTTE, COATI, OASIS and -->
+<!--  SCALE).                                                           -->
+<!--++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++**/ 
+package org.osadev.osa.simapis.simulation.pending;
+
+import java.util.Collection;
+import java.util.Iterator;
+
+import org.osadev.osa.simapis.simulation.AbstractEvent;
+
+/**
+ * Pending event set implemented as a ladder queue.
+ * 
+ * <p>This is the structure described by W.T. Tang, R.S.M. Goh and I.L.J. Thng 
+ * ("Ladder queue: an O(1) priority queue structure for large-scale discrete 
+ * event simulation", ACM TOMACS 15(3), 2005). Events are kept in three tiers:
+ * <ul>
+ * <li> <em>top</em>: an unsorted list of the events far in the future, which
+ * are only sorted when the ladder and the bottom are empty;
+ * <li> <em>ladder</em>: up to {@link #DEFAULT_MAX_RUNGS} rungs of unsorted
+ * buckets. The first rung is built from the top with one bucket per event.
+ * When the next bucket to process holds more than <tt>threshold</tt> events,
+ * it is spread into a new rung of narrower buckets instead of being sorted;
+ * <li> <em>bottom</em>: a short sorted list of the events to process next.
+ * </ul>
+ * 
+ * <p>Because the bucket width of each rung is derived from the events actually
+ * present, the structure adapts to skewed distributions of time increments
+ * (eg. short bursts mixed with long timers), where a calendar queue with a
+ * single bucket width degrades. Enqueue and dequeue cost O(1) amortized.
+ * Removal by identifier requires a linear search.
+ * 
+ * <p>The statistics accessors give the current shape of the ladder and the
+ * number of structural operations, eg. to tune the threshold.
+ * 
+ * <p>Times must be non-negative; the infinite time is ordered after any other
+ * time (see {@link EventOrder#longKey(AbstractEvent)}).
+ * 
+ */
+public class LadderQueue implements PendingEventSetItf<Long> {
+
+	/** Bucket size above which a new rung is spawned (value of the paper). */
+	public static final int DEFAULT_THRESHOLD = 50;
+
+	/** Maximum number of rungs (value of the paper). */
+	public static final int DEFAULT_MAX_RUNGS = 8;
+
+	/** Maximum number of list nodes kept for reuse. */
+	private static final int MAX_FREE_NODES = 1024;
+
+	private final int threshold_;
+
+	private final int maxRungs_;
+
+	// Top tier
+	private Node top_ = null;
+
+	private int topSize_ = 0;
+
+	private long topMin_;
+
+	private long topMax_;
+
+	/** Events with a key greater or equal go to the top. */
+	private long topStart_ = Long.MIN_VALUE;
+
+	// Ladder tier
+	private final Rung[] rungs_;
+
+	private int rungCount_ = 0;
+
+	private int ladderSize_ = 0;
+
+	// Bottom tier
+	private Node bottom_ = null;
+
+	private Node bottomTail_ = null;
+
+	private int bottomSize_ = 0;
+
+	// Statistics
+	private long epochs_ = 0;
+
+	private long spawns_ = 0;
+
+	private long overflows_ = 0;
+
+	private int maxRungCount_ = 0;
+
+	private Node free_ = null;
+
+	private int freeCount_ = 0;
+
+	/** List head used while merging. */
+	private final Node merge_ = new Node();
+
+	public LadderQueue() {
+		this(DEFAULT_THRESHOLD, DEFAULT_MAX_RUNGS);
+	}
+
+	/**
+	 * @param threshold
+	 * 		Bucket size above which a bucket is spread into a new rung.
+	 * @param maxRungs
+	 * 		Maximum number of rungs.
+	 */
+	public LadderQueue(final int threshold, final int maxRungs) {
+		if (threshold < 1 || maxRungs < 1)
+			throw new IllegalArgumentException(String.format(
+					"Illegal ladder geometry: threshold=%d, rungs=%d", threshold, maxRungs));
+		threshold_ = threshold;
+		maxRungs_ = maxRungs;
+		rungs_ = new Rung[maxRungs];
+		for (int i = 0; i < maxRungs; i++)
+			rungs_[i] = new Rung();
+	}
+
+	public void add(final AbstractEvent<Long> event) {
+		final Node n = newNode(event);
+		final long key = n.key_;
+		if (key >= topStart_) {
+			n.next_ = top_;
+			top_ = n;
+			if (topSize_++ == 0) {
+				topMin_ = key;
+				topMax_ = key;
+			} else if (key < topMin_) {
+				topMin_ = key;
+			} else if (key > topMax_) {
+				topMax_ = key;
+			}
+			return;
+		}
+		for (int x = 0; x < rungCount_; x++) {
+			final Rung r = rungs_[x];
+			if (key >= r.current_) {
+				r.add(n);
+				ladderSize_++;
+				return;
+			}
+		}
+		insertBottom(n);
+		if (bottomSize_ > threshold_ && rungCount_ < maxRungs_)
+			spreadBottom();
+	}
+
+	public void addAll(final Collection<? extends AbstractEvent<Long>> events) {
+		for (AbstractEvent<Long> event : events)
+			add(event);
+	}
+
+	public AbstractEvent<Long> peek() {
+		if (bottom_ == null && !fillBottom())
+			return null;
+		return bottom_.event_;
+	}
+
+	public AbstractEvent<Long> poll() {
+		if (bottom_ == null && !fillBottom())
+			return null;
+		final Node n = bottom_;
+		bottom_ = n.next_;
+		if (bottom_ == null)
+			bottomTail_ = null;
+		bottomSize_--;
+		final AbstractEvent<Long> event = n.event_;
+		release(n);
+		return event;
+	}
+
+	public AbstractEvent<Long> remove(final long eventId) {
+		// bottom
+		Node prev = null;
+		for (Node n = bottom_; n != null; prev = n, n = n.next_) {
+			if (n.id_ == eventId) {
+				if (prev == null)
+					bottom_ = n.next_;
+				else
+					prev.next_ = n.next_;
+				if (bottomTail_ == n)
+					bottomTail_ = prev;
+				bottomSize_--;
+				return unlinked(n);
+			}
+		}
+		// ladder
+		for (int x = 0; x < rungCount_; x++) {
+			final Node n = rungs_[x].remove(eventId);
+			if (n != null) {
+				ladderSize_--;
+				return unlinked(n);
+			}
+		}
+		// top (min and max are kept as bounds)
+		prev = null;
+		for (Node n = top_; n != null; prev = n, n = n.next_) {
+			if (n.id_ == eventId) {
+				if (prev == null)
+					top_ = n.next_;
+				else
+					prev.next_ = n.next_;
+				topSize_--;
+				return unlinked(n);
+			}
+		}
+		return null;
+	}
+
+	public int size() {
+		return topSize_ + ladderSize_ + bottomSize_;
+	}
+
+	public boolean isEmpty() {
+		return size() == 0;
+	}
+
+	public void clear() {
+		top_ = null;
+		topSize_ = 0;
+		topStart_ = Long.MIN_VALUE;
+		for (int x = 0; x < rungCount_; x++)
+			rungs_[x].clear();
+		rungCount_ = 0;
+		ladderSize_ = 0;
+		bottom_ = null;
+		bottomTail_ = null;
+		bottomSize_ = 0;
+		free_ = null;
+		freeCount_ = 0;
+	}
+
+	/**
+	 * Iterates over the bottom, then over the unprocessed buckets of each 
+	 * rung, then over the top.
+	 */
+	public Iterator<AbstractEvent<Long>> iterator() {
+		return new EventIterator<Long>() {
+
+			private Node node_ = bottom_;
+
+			/** Rung being traversed, rungCount_ for the top. */
+			private int rung_ = -1;
+
+			private int bucket_ = 0;
+
+			AbstractEvent<Long> fetch() {
+				while (node_ == null) {
+					if (rung_ == rungCount_)
+						return null;
+					if (rung_ < 0 || bucket_ == rungs_[rung_].count_) {
+						if (++rung_ == rungCount_) {
+							node_ = top_;
+							continue;
+						}
+						bucket_ = rungs_[rung_].index_;
+						continue;
+					}
+					node_ = rungs_[rung_].buckets_[bucket_++];
+				}
+				final Node n = node_;
+				node_ = n.next_;
+				return n.event_;
+			}
+		};
+	}
+
+	/** Number of events in the top tier. */
+	public int getTopSize() {
+		return topSize_;
+	}
+
+	/** Number of events in the rungs of the ladder. */
+	public int getLadderSize() {
+		return ladderSize_;
+	}
+
+	/** Number of events in the bottom tier. */
+	public int getBottomSize() {
+		return bottomSize_;
+	}
+
+	/** Current number of rungs. */
+	public int getRungCount() {
+		return rungCount_;
+	}
+
+	/** Highest number of rungs used simultaneously. */
+	public int getMaxRungCount() {
+		return maxRungCount_;
+	}
+
+	/**
+	 * Bucket width of a rung.
+	 * 
+	 * @param rung
+	 * 		Rung index, in <code>[0, getRungCount())</code>.
+	 * @return the bucket width, in time units.
+	 */
+	public long getBucketWidth(final int rung) {
+		checkRung(rung);
+		return rungs_[rung].width_;
+	}
+
+	/**
+	 * Number of buckets of a rung.
+	 * 
+	 * @param rung
+	 * 		Rung index, in <code>[0, getRungCount())</code>.
+	 * @return the number of buckets.
+	 */
+	public int getBucketCount(final int rung) {
+		checkRung(rung);
+		return rungs_[rung].count_;
+	}
+
+	/** Number of transfers of the top tier to a new ladder. */
+	public long getEpochCount() {
+		return epochs_;
+	}
+
+	/** Number of rungs spawned from an over-full bucket or bottom. */
+	public long getSpawnCount() {
+		return spawns_;
+	}
+
+	/**
+	 * Number of over-full buckets that had to be sorted into the bottom 
+	 * because no rung could be spawned (maximum number of rungs reached or 
+	 * bucket of unit width). A high value suggests to raise the threshold or
+	 * the number of rungs.
+	 */
+	public long getOverflowCount() {
+		return overflows_;
+	}
+
+	@Override
+	public String toString() {
+		final StringBuilder sb = new StringBuilder();
+		sb.append(String.format("LadderQueue[top=%d, ladder=%d, bottom=%d, rungs=[",
+				topSize_, ladderSize_, bottomSize_));
+		for (int x = 0; x < rungCount_; x++) {
+			if (x > 0)
+				sb.append(", ");
+			sb.append(String.format("%dx%d", rungs_[x].count_, rungs_[x].width_));
+		}
+		sb.append(String.format("], epochs=%d, spawns=%d, overflows=%d]",
+				epochs_, spawns_, overflows_));
+		return sb.toString();
+	}
+
+	private void checkRung(final int rung) {
+		if (rung < 0 || rung >= rungCount_)
+			throw new IndexOutOfBoundsException("No rung " + rung);
+	}
+
+	/**
+	 * Fills the (empty) bottom with the next bucket of the ladder, building
+	 * a new ladder from the top if needed.
+	 * 
+	 * @return false if the queue is empty.
+	 */
+	private boolean fillBottom() {
+		while (true) {
+			if (rungCount_ == 0) {
+				if (topSize_ == 0)
+					return false;
+				transferTop();
+			}
+			final Rung r = rungs_[rungCount_ - 1];
+			final int k = r.nextBucket();
+			if (k < 0) {
+				// rung exhausted
+				r.clear();
+				rungCount_--;
+				continue;
+			}
+			final Node bucket = r.take(k);
+			final int size = r.lastTakenSize_;
+			ladderSize_ -= size;
+			if (size > threshold_) {
+				if (rungCount_ < maxRungs_ && r.width_ > 1) {
+					spawn(bucket, size, r.bucketStart(k), r.width_ - 1);
+					continue;
+				}
+				overflows_++;
+			}
+			sortIntoBottom(bucket, size);
+			return true;
+		}
+	}
+
+	/** Moves the top tier to a new first rung. */
+	private void transferTop() {
+		epochs_++;
+		final Rung r = rungs_[0];
+		r.init(topMin_, topMax_ - topMin_, topSize_);
+		rungCount_ = 1;
+		maxRungCount_ = Math.max(maxRungCount_, 1);
+		topStart_ = (topMax_ == Long.MAX_VALUE) ? Long.MAX_VALUE : topMax_ + 1;
+		Node n = top_;
+		while (n != null) {
+			final Node next = n.next_;
+			r.add(n);
+			n = next;
+		}
+		ladderSize_ += topSize_;
+		top_ = null;
+		topSize_ = 0;
+	}
+
+	/**
+	 * Spreads a list of events into a new rung.
+	 * 
+	 * @param start
+	 * 		Lower bound of the keys.
+	 * @param span
+	 * 		Difference between the upper bound (inclusive) and the lower bound.
+	 */
+	private void spawn(final Node list, final int size, final long start, final long span) {
+		spawns_++;
+		final Rung r = rungs_[rungCount_++];
+		maxRungCount_ = Math.max(maxRungCount_, rungCount_);
+		r.init(start, span, size);
+		Node n = list;
+		while (n != null) {
+			final Node next = n.next_;
+			r.add(n);
+			n = next;
+		}
+		ladderSize_ += size;
+	}
+
+	/** Turns an over-full bottom into a new rung. */
+	private void spreadBottom() {
+		final long start = bottom_.key_;
+		final long upper = (rungCount_ == 0) ? topStart_ : rungs_[rungCount_ - 1].current_;
+		final long span = upper - 1 - start;
+		if (span <= 0)
+			return;
+		final Node list = bottom_;
+		final int size = bottomSize_;
+		bottom_ = null;
+		bottomTail_ = null;
+		bottomSize_ = 0;
+		spawn(list, size, start, span);
+	}
+
+	private void insertBottom(final Node n) {
+		bottomSize_++;
+		if (bottomTail_ == null) {
+			n.next_ = null;
+			bottom_ = bottomTail_ = n;
+			return;
+		}
+		if (bottomTail_.before(n)) {
+			n.next_ = null;
+			bottomTail_.next_ = n;
+			bottomTail_ = n;
+			return;
+		}
+		Node prev = null;
+		Node cur = bottom_;
+		while (!n.before(cur)) {
+			prev = cur;
+			cur = cur.next_;
+		}
+		n.next_ = cur;
+		if (prev == null)
+			bottom_ = n;
+		else
+			prev.next_ = n;
+	}
+
+	/** Sorts an unsorted list into the empty bottom. */
+	private void sortIntoBottom(final Node list, final int size) {
+		Node sorted = mergeSort(list, size);
+		bottom_ = sorted;
+		bottomSize_ = size;
+		while (sorted.next_ != null)
+			sorted = sorted.next_;
+		bottomTail_ = sorted;
+	}
+
+	/** Merge sort of a linked list of a known length. */
+	private Node mergeSort(final Node list, final int size) {
+		if (size <= 1) {
+			if (list != null)
+				list.next_ = null;
+			return list;
+		}
+		final int half = size >>> 1;
+		Node mid = list;
+		for (int i = 1; i < half; i++)
+			mid = mid.next_;
+		Node second = mid.next_;
+		mid.next_ = null;
+		Node a = mergeSort(list, half);
+		Node b = mergeSort(second, size - half);
+		Node tail = merge_;
+		while (a != null && b != null) {
+			if (a.before(b)) {
+				tail.next_ = a;
+				a = a.next_;
+			} else {
+				tail.next_ = b;
+				b = b.next_;
+			}
+			tail = tail.next_;
+		}
+		tail.next_ = (a != null) ? a : b;
+		final Node head = merge_.next_;
+		merge_.next_ = null;
+		return head;
+	}
+
+	private AbstractEvent<Long> unlinked(final Node n) {
+		final AbstractEvent<Long> event = n.event_;
+		release(n);
+		return event;
+	}
+
+	private Node newNode(final AbstractEvent<Long> event) {
+		Node n = free_;
+		if (n == null) {
+			n = new Node();
+		} else {
+			free_ = n.next_;
+			freeCount_--;
+		}
+		n.event_ = event;
+		n.key_ = EventOrder.longKey(event);
+		n.id_ = event.getId();
+		return n;
+	}
+
+	private void release(final Node n) {
+		n.event_ = null;
+		if (freeCount_ < MAX_FREE_NODES) {
+			n.next_ = free_;
+			free_ = n;
+			freeCount_++;
+		} else {
+			n.next_ = null;
+		}
+	}
+
+	private static final class Node {
+		AbstractEvent<Long> event_;
+		long key_;
+		long id_;
+		Node next_;
+
+		boolean before(final Node other) {
+			return key_ < other.key_ || (key_ == other.key_ && id_ < other.id_);
+		}
+	}
+
+	/**
+	 * A rung: an array of unsorted buckets of equal width.
+	 */
+	private static final class Rung {
+
+		private Node[] buckets_ = new Node[0];
+
+		private int[] sizes_ = new int[0];
+
+		private int count_;
+
+		private long start_;
+
+		private long width_;
+
+		/** Index of the next bucket to process. */
+		private int index_;
+
+		/** Lower bound of the bucket to process next: smaller keys go below. */
+		private long current_;
+
+		private int lastTakenSize_;
+
+		/**
+		 * Sets up the rung for keys in [start, start + span] spread over at
+		 * most <code>n</code> buckets.
+		 */
+		void init(final long start, final long span, final int n) {
+			start_ = start;
+			width_ = span / Math.max(1, n) + 1;
+			count_ = (int) (span / width_) + 1;
+			if (buckets_.length < count_) {
+				buckets_ = new Node[count_];
+				sizes_ = new int[count_];
+			}
+			index_ = 0;
+			current_ = start;
+		}
+
+		long bucketStart(final int k) {
+			return start_ + k * width_;
+		}
+
+		void add(final Node n) {
+			final int k = (int) ((n.key_ - start_) / width_);
+			n.next_ = buckets_[k];
+			buckets_[k] = n;
+			sizes_[k]++;
+		}
+
+		/** Gives the next non-empty bucket, or -1 if the rung is exhausted. */
+		int nextBucket() {
+			while (index_ < count_ && buckets_[index_] == null)
+				index_++;
+			return (index_ < count_) ? index_ : -1;
+		}
+
+		/** Removes the content of bucket k, which becomes processed. */
+		Node take(final int k) {
+			final Node list = buckets_[k];
+			lastTakenSize_ = sizes_[k];
+			buckets_[k] = null;
+			sizes_[k] = 0;
+			index_ = k + 1;
+			current_ = (index_ < count_) ? bucketStart(index_) : Long.MAX_VALUE;
+			return list;
+		}
+
+		Node remove(final long eventId) {
+			for (int k = index_; k < count_; k++) {
+				Node prev = null;
+				for (Node n = buckets_[k]; n != null; prev = n, n = n.next_) {
+					if (n.id_ == eventId) {
+						if (prev == null)
+							buckets_[k] = n.next_;
+						else
+							prev.next_ = n.next_;
+						sizes_[k]--;
+						return n;
+					}
+				}
+			}
+			return null;
+		}
+
+		void clear() {
+			for (int k = index_; k < count_; k++) {
+				buckets_[k] = null;
+				sizes_[k] = 0;
+			}
+			count_ = 0;
+			index_ = 0;
+		}
+	}
+
+}
@@ -0,0 +1,250 @@
+/** ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++--> 
+<!--                Open Simulation Architecture (OSA)                  -->
+<!--                                                                    -->
+<!--      This software is distributed under the terms of the           -->
+<!--           CECILL-C FREE SOFTWARE LICENSE AGREEMENT                 -->
+<!--  (see http://www.cecill.info/licences/Licence_CeCILL-C_V1-en.html) -->
+<!--                                                                    -->
+<!--  Copyright © 2006-2015 Université Nice Sophia Antipolis            -->
+<!--  Contact author: Olivier Dalle (olivier.dalle@unice.fr)            -->
+<!--                                                                    -->
+<!--  Parts of this software development were supported and hosted by   -->
+<!--  INRIA from 2006 to 2015, in the context of the common research    -->
+<!--  teams of INRIA and I3S, UMR CNRS 7172 (MASCOTTE, COATI, OASIS and -->
+<!--  SCALE).                                                           -->
+<!--++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++**/ 
+package org.osadev.osa.simapis.simulation.pending;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+
+import org.osadev.osa.simapis.simulation.AbstractEvent;
+
+/**
+ * Pending event set decorator implementing lazy cancellation.
+ * 
+ * <p>Removal by identifier ({@link #remove(long)}, used to cancel events) 
+ * does not touch the underlying set: the event is only forgotten from an 
+ * index of the live events, in O(1), and stays in the underlying set as a 
+ * <em>tombstone</em>. Tombstones are skipped when they reach the head of the 
+ * set. When the proportion of tombstones in the underlying set exceeds the 
+ * compaction ratio, the underlying set is rebuilt with the live events only.
+ * 
+ * <p>This mode trades some memory for a constant cancellation cost, whatever
+ * the underlying implementation. It pays off for models that cancel most of
+ * the events they schedule (eg. retry and timeout protocols). The number of
+ * cancellations, skipped tombstones and compactions can be monitored to 
+ * tune the compaction ratio.
+ * 
+ */
+public class LazyCancellationPendingSet<U extends Comparable<U>> implements
+		PendingEventSetItf<U> {
+
+	/** Default compaction ratio. */
+	public static final double DEFAULT_COMPACTION_RATIO = 0.5;
+
+	/** Underlying sets smaller than this are never compacted. */
+	private static final int MIN_COMPACTION_SIZE = 64;
+
+	private final PendingEventSetItf<U> delegate_;
+
+	private final double compactionRatio_;
+
+	/** Live events, by identifier. */
+	private final LongObjectHashMap<AbstractEvent<U>> live_ = new LongObjectHashMap<AbstractEvent<U>>();
+
+	private int tombstones_ = 0;
+
+	private long cancelled_ = 0;
+
+	private long skipped_ = 0;
+
+	private long compactions_ = 0;
+
+	private long compacted_ = 0;
+
+	/**
+	 * Decorates a pending event set with the default compaction ratio.
+	 * 
+	 * @param delegate
+	 * 		The underlying (empty) pending event set.
+	 */
+	public LazyCancellationPendingSet(final PendingEventSetItf<U> delegate) {
+		this(delegate, DEFAULT_COMPACTION_RATIO);
+	}
+
+	/**
+	 * Decorates a pending event set.
+	 * 
+	 * @param delegate
+	 * 		The underlying (empty) pending event set.
+	 * @param compactionRatio
+	 * 		Proportion of tombstones in the underlying set above which it is
+	 *      compacted, in <code>(0, 1]</code>.
+	 */
+	public LazyCancellationPendingSet(final PendingEventSetItf<U> delegate,
+			final double compactionRatio) {
+		if (!(compactionRatio > 0 && compactionRatio <= 1))
+			throw new IllegalArgumentException("Illegal compaction ratio: " + compactionRatio);
+		delegate_ = delegate;
+		compactionRatio_ = compactionRatio;
+	}
+
+	public void add(final AbstractEvent<U> event) {
+		live_.put(event.getId(), event);
+		delegate_.add(event);
+	}
+
+	public void addAll(final Collection<? extends AbstractEvent<U>> events) {
+		for (AbstractEvent<U> event : events)
+			live_.put(event.getId(), event);
+		delegate_.addAll(events);
+	}
+
+	public AbstractEvent<U> peek() {
+		while (true) {
+			final AbstractEvent<U> head = delegate_.peek();
+			if (head == null || live_.get(head.getId()) == head)
+				return head;
+			discardHead();
+		}
+	}
+
+	public AbstractEvent<U> poll() {
+		while (true) {
+			final AbstractEvent<U> head = delegate_.poll();
+			if (head == null)
+				return null;
+			final long id = head.getId();
+			if (live_.get(id) == head) {
+				live_.remove(id);
+				return head;
+			}
+			tombstones_--;
+			skipped_++;
+		}
+	}
+
+	/**
+	 * Cancels a pending event: the event becomes a tombstone in the underlying
+	 * set. Triggers a compaction when the tombstone ratio is exceeded.
+	 */
+	public AbstractEvent<U> remove(final long eventId) {
+		final AbstractEvent<U> event = live_.remove(eventId);
+		if (event == null)
+			return null;
+		tombstones_++;
+		cancelled_++;
+		final int total = delegate_.size();
+		if (total >= MIN_COMPACTION_SIZE && tombstones_ > compactionRatio_ * total)
+			compact();
+		return event;
+	}
+
+	public int size() {
+		return live_.size();
+	}
+
+	public boolean isEmpty() {
+		return live_.size() == 0;
+	}
+
+	public void clear() {
+		delegate_.clear();
+		live_.clear();
+		tombstones_ = 0;
+	}
+
+	/**
+	 * Iterates over the underlying set, skipping the tombstones.
+	 */
+	public Iterator<AbstractEvent<U>> iterator() {
+		final Iterator<AbstractEvent<U>> all = delegate_.iterator();
+		return new EventIterator<U>() {
+
+			AbstractEvent<U> fetch() {
+				while (all.hasNext()) {
+					final AbstractEvent<U> event = all.next();
+					if (live_.get(event.getId()) == event)
+						return event;
+				}
+				return null;
+			}
+		};
+	}
+
+	/**
+	 * Rebuilds the underlying set without its tombstones.
+	 */
+	public void compact() {
+		if (tombstones_ == 0)
+			return;
+		final List<AbstractEvent<U>> survivors = new ArrayList<AbstractEvent<U>>(live_.size());
+		AbstractEvent<U> event;
+		while ((event = delegate_.poll()) != null) {
+			if (live_.get(event.getId()) == event)
+				survivors.add(event);
+		}
+		delegate_.addAll(survivors);
+		compactions_++;
+		compacted_ += tombstones_;
+		tombstones_ = 0;
+	}
+
+	/** Gets the underlying pending event set. */
+	public PendingEventSetItf<U> getDelegate() {
+		return delegate_;
+	}
+
+	/** Compaction ratio given at construction time. */
+	public double getCompactionRatio() {
+		return compactionRatio_;
+	}
+
+	/** Number of tombstones currently held by the underlying set. */
+	public int getTombstoneCount() {
+		return tombstones_;
+	}
+
+	/** Current proportion of tombstones in the underlying set. */
+	public double getTombstoneRatio() {
+		final int total = delegate_.size();
+		return (total == 0) ? 0.0 : (double) tombstones_ / total;
+	}
+
+	/** Number of events cancelled since creation. */
+	public long getCancelledCount() {
+		return cancelled_;
+	}
+
+	/** Number of tombstones skipped when reaching the head of the set. */
+	public long getSkippedCount() {
+		return skipped_;
+	}
+
+	/** Number of compactions performed. */
+	public long getCompactionCount() {
+		return compactions_;
+	}
+
+	/** Number of tombstones purged by compactions. */
+	public long getCompactedCount() {
+		return compacted_;
+	}
+
+	@Override
+	public String toString() {
+		return String.format(
+				"LazyCancellation[live=%d, tombstones=%d, cancelled=%d, skipped=%d, compactions=%d, compacted=%d]",
+				live_.size(), tombstones_, cancelled_, skipped_, compactions_, compacted_);
+	}
+
+	private void discardHead() {
+		delegate_.poll();
+		tombstones_--;
+		skipped_++;
+	}
+
+}
@@ -0,0 +1,85 @@
+/** ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++--> 
+<!--                Open Simulation Architecture (OSA)                  -->
+<!--                                                                    -->
+<!--      This software is distributed under the terms of the           -->
+<!--           CECILL-C FREE SOFTWARE LICENSE AGREEMENT                 -->
+<!--  (see http://www.cecill.info/licences/Licence_CeCILL-C_V1-en.html) -->
+<!--                                                                    -->
+<!--  Copyright © 2006-2015 Université Nice Sophia Antipolis            -->
+<!--  Contact author: Olivier Dalle (olivier.dalle@unice.fr)            -->
+<!--                                                                    -->
+<!--  Parts of this software development were supported and hosted by   -->
+<!--  INRIA from 2006 to 2015, in the context of the common research    -->
+<!--  teams of INRIA and I3S, UMR CNRS 7172 (MASCOTTE, COATI, OASIS and -->
+<!--  SCALE).                                                           -->
+<!--++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++**/ 
+package org.osadev.osa.simapis.simulation.pending;
+
+import java.util.Arrays;
+
+/**
+ * Hash map from <code>long</code> keys to non-negative <code>int</code> 
+ * values, without boxing.
+ * 
+ */
+final class LongIntHashMap extends AbstractLongHashMap<int[]> {
+
+	/** Value returned when a key is absent. */
+	static final int NO_VALUE = -1;
+
+	int get(final long key) {
+		final int i = find(key);
+		return (i < 0) ? NO_VALUE : values_[i];
+	}
+
+	/**
+	 * Associates a value to a key.
+	 * 
+	 * @param value
+	 * 		A non-negative value.
+	 */
+	void put(final long key, final int value) {
+		final int i = claim(key);
+		final boolean absent = values_[i] == NO_VALUE;
+		values_[i] = value;
+		if (absent)
+			added();
+	}
+
+	/**
+	 * Removes a key.
+	 * 
+	 * @return the removed value, or {@link #NO_VALUE} if the key was absent.
+	 */
+	int remove(final long key) {
+		final int i = find(key);
+		if (i < 0)
+			return NO_VALUE;
+		final int v = values_[i];
+		delete(i);
+		return v;
+	}
+
+	@Override
+	int[] newValues(final int capacity) {
+		final int[] values = new int[capacity];
+		Arrays.fill(values, NO_VALUE);
+		return values;
+	}
+
+	@Override
+	boolean isFree(final int[] values, final int slot) {
+		return values[slot] == NO_VALUE;
+	}
+
+	@Override
+	void copyValue(final int[] from, final int fromSlot, final int[] to, final int toSlot) {
+		to[toSlot] = from[fromSlot];
+	}
+
+	@Override
+	void freeValue(final int[] values, final int slot) {
+		values[slot] = NO_VALUE;
+	}
+
+}
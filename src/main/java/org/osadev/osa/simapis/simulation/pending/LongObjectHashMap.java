@@ -0,0 +1,80 @@
+/** ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++--> 
+<!--                Open Simulation Architecture (OSA)                  -->
+<!--                                                                    -->
+<!--      This software is distributed under the terms of the           -->
+<!--           CECILL-C FREE SOFTWARE LICENSE AGREEMENT                 -->
+<!--  (see http://www.cecill.info/licences/Licence_CeCILL-C_V1-en.html) -->
+<!--                                                                    -->
+<!--  Copyright © 2006-2015 Université Nice Sophia Antipolis            -->
+<!--  Contact author: Olivier Dalle (olivier.dalle@unice.fr)            -->
+<!--                                                                    -->
+<!--  Parts of this software development were supported and hosted by   -->
+<!--  INRIA from 2006 to 2015, in the context of the common research    -->
+<!--  teams of INRIA and I3S, UMR CNRS 7172 (MASCOTTE, COATI, OASIS and -->
+<!--  SCALE).                                                           -->
+<!--++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++**/ 
+package org.osadev.osa.simapis.simulation.pending;
+
+/**
+ * Hash map from <code>long</code> keys to non-null objects, without boxing 
+ * the keys.
+ * 
+ */
+final class LongObjectHashMap<V> extends AbstractLongHashMap<Object[]> {
+
+	@SuppressWarnings("unchecked")
+	V get(final long key) {
+		final int i = find(key);
+		return (i < 0) ? null : (V) values_[i];
+	}
+
+	/**
+	 * Associates a value to a key.
+	 * 
+	 * @param value
+	 * 		A non-null value.
+	 */
+	void put(final long key, final V value) {
+		final int i = claim(key);
+		final boolean absent = values_[i] == null;
+		values_[i] = value;
+		if (absent)
+			added();
+	}
+
+	/**
+	 * Removes a key.
+	 * 
+	 * @return the removed value, or <code>null</code> if the key was absent.
+	 */
+	@SuppressWarnings("unchecked")
+	V remove(final long key) {
+		final int i = find(key);
+		if (i < 0)
+			return null;
+		final V v = (V) values_[i];
+		delete(i);
+		return v;
+	}
+
+	@Override
+	Object[] newValues(final int capacity) {
+		return new Object[capacity];
+	}
+
+	@Override
+	boolean isFree(final Object[] values, final int slot) {
+		return values[slot] == null;
+	}
+
+	@Override
+	void copyValue(final Object[] from, final int fromSlot, final Object[] to, final int toSlot) {
+		to[toSlot] = from[fromSlot];
+	}
+
+	@Override
+	void freeValue(final Object[] values, final int slot) {
+		values[slot] = null;
+	}
+
+}
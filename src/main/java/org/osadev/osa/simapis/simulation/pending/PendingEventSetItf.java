@@ -0,0 +1,103 @@
+/** ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++--> 
+<!--                Open Simulation Architecture (OSA)                  -->
+<!--                                                                    -->
+<!--      This software is distributed under the terms of the           -->
+<!--           CECILL-C FREE SOFTWARE LICENSE AGREEMENT                 -->
+<!--  (see http://www.cecill.info/licences/Licence_CeCILL-C_V1-en.html) -->
+<!--                                                                    -->
+<!--  Copyright © 2006-2015 Université Nice Sophia Antipolis            -->
+<!--  Contact author: Olivier Dalle (olivier.dalle@unice.fr)            -->
+<!--                                                                    -->
+<!--  Parts of this software development were supported and hosted by   -->
+<!--  INRIA from 2006 to 2015, in the context of the common research    -->
+<!--  teams of INRIA and I3S, UMR CNRS 7172 (MASCOTTE, COATI, OASIS and -->
+<!--  SCALE).                                                           -->
+<!--++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++**/ 
+package org.osadev.osa.simapis.simulation.pending;
+
+import java.util.Collection;
+import java.util.Iterator;
+
+import org.osadev.osa.simapis.simulation.AbstractEvent;
+
+/**
+ * The set of pending events of a simulation controller.
+ * 
+ * <p>Implementations give the events back in increasing order of time. Events
+ * scheduled at the same time are given back in increasing order of their
+ * identifier ({@link AbstractEvent#getId()}), which makes the processing order
+ * deterministic (see {@link EventOrder}).
+ * 
+ * <p>Implementations are not thread-safe: a pending event set is owned by a 
+ * single simulation controller.
+ * 
+ */
+public interface PendingEventSetItf<U extends Comparable<U>> extends
+		Iterable<AbstractEvent<U>> {
+
+	/**
+	 * Adds an event to the set.
+	 * 
+	 * @param event
+	 * 		The event to add.
+	 */
+	public void add(AbstractEvent<U> event);
+
+	/**
+	 * Adds a batch of events to the set.
+	 * 
+	 * <p>The result is the same as adding the events one by one, but 
+	 * implementations may insert a large batch at a lower cost.
+	 * 
+	 * @param events
+	 * 		The events to add.
+	 */
+	public void addAll(Collection<? extends AbstractEvent<U>> events);
+
+	/**
+	 * Gets the first pending event without removing it.
+	 * 
+	 * @return the first event, or <code>null</code> if the set is empty.
+	 */
+	public AbstractEvent<U> peek();
+
+	/**
+	 * Removes and returns the first pending event.
+	 * 
+	 * @return the first event, or <code>null</code> if the set is empty.
+	 */
+	public AbstractEvent<U> poll();
+
+	/**
+	 * Removes a pending event given its identifier.
+	 * 
+	 * @param eventId
+	 * 		The identifier of the event to remove.
+	 * @return
+	 * 		The removed event, or <code>null</code> if no such event is pending.
+	 */
+	public AbstractEvent<U> remove(long eventId);
+
+	/**
+	 * Gives the number of pending events.
+	 * 
+	 * @return the number of events in the set.
+	 */
+	public int size();
+
+	public boolean isEmpty();
+
+	/**
+	 * Removes all events.
+	 */
+	public void clear();
+
+	/**
+	 * Iterates over the pending events, in no particular order, eg. to save 
+	 * them. The set must not be modified during the iteration.
+	 * 
+	 * @return an iterator that does not support removal.
+	 */
+	public Iterator<AbstractEvent<U>> iterator();
+
+}
@@ -0,0 +1,119 @@
+/** ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++--> 
+<!--                Open Simulation Architecture (OSA)                  -->
+<!--                                                                    -->
+<!--      This software is distributed under the terms of the           -->
+<!--           CECILL-C FREE SOFTWARE LICENSE AGREEMENT                 -->
+<!--  (see http://www.cecill.info/licences/Licence_CeCILL-C_V1-en.html) -->
+<!--                                                                    -->
+<!--  Copyright © 2006-2015 Université Nice Sophia Antipolis            -->
+<!--  Contact author: Olivier Dalle (olivier.dalle@unice.fr)            -->
+<!--                                                                    -->
+<!--  Parts of this software development were supported and hosted by   -->
+<!--  INRIA from 2006 to 2015, in the context of the common research    -->
+<!--  teams of INRIA and I3S, UMR CNRS 7172 (MASCOTTE, COATI, OASIS and -->
+<!--  SCALE).                                                           -->
+<!--++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++**/ 
+package org.osadev.osa.simapis.simulation.pending;
+
+/**
+ * The available implementations of the pending event set for long times.
+ * 
+ * <p>Simulation controllers select their implementation by name, eg. from the
+ * {@value #PROPERTY} system property (see {@link #getDefault()}), so that 
+ * implementations can be compared on the same model without changing code.
+ * 
+ */
+public enum PendingEventSetType {
+
+	/** Array-based binary heap, O(log n). */
+	BINARY_HEAP {
+		@Override
+		public PendingEventSetItf<Long> create() {
+			return new BinaryHeapPendingSet<Long>();
+		}
+	},
+
+	/** Binary heap indexed by event id, O(log n) including removal by id. */
+	INDEXED_HEAP {
+		@Override
+		public PendingEventSetItf<Long> create() {
+			return new IndexedHeapPendingSet<Long>();
+		}
+	},
+
+	/** Calendar queue, O(1) on average for stable time distributions. */
+	CALENDAR_QUEUE {
+		@Override
+		public PendingEventSetItf<Long> create() {
+			return new CalendarQueue();
+		}
+	},
+
+	/** Ladder queue, O(1) amortized including for skewed time distributions. */
+	LADDER_QUEUE {
+		@Override
+		public PendingEventSetItf<Long> create() {
+			return new LadderQueue();
+		}
+	};
+
+	/** Name of the system property used to select the default implementation. */
+	public static final String PROPERTY = "osa.simulation.pendingset";
+
+	/**
+	 * Name of the system property enabling lazy cancellation in the default
+	 * implementation. Its value is the compaction ratio, or <tt>true</tt> for 
+	 * the default ratio.
+	 */
+	public static final String LAZY_CANCELLATION_PROPERTY = "osa.simulation.pendingset.lazycancel";
+
+	/**
+	 * Creates an empty pending event set of this type.
+	 * 
+	 * @return a new pending event set.
+	 */
+	public abstract PendingEventSetItf<Long> create();
+
+	/**
+	 * Creates an empty pending event set of this type with lazy cancellation.
+	 * 
+	 * @param compactionRatio
+	 * 		Tombstone ratio above which the set is compacted.
+	 * @return a new pending event set.
+	 * @see LazyCancellationPendingSet
+	 */
+	public PendingEventSetItf<Long> createLazy(final double compactionRatio) {
+		return new LazyCancellationPendingSet<Long>(create(), compactionRatio);
+	}
+
+	/**
+	 * Creates the pending event set selected by the {@value #PROPERTY} and
+	 * {@value #LAZY_CANCELLATION_PROPERTY} system properties.
+	 * 
+	 * @return a new pending event set.
+	 */
+	public static PendingEventSetItf<Long> createDefault() {
+		final String lazy = System.getProperty(LAZY_CANCELLATION_PROPERTY);
+		if (lazy == null || lazy.trim().equalsIgnoreCase("false"))
+			return getDefault().create();
+		if (lazy.trim().equalsIgnoreCase("true"))
+			return getDefault().createLazy(LazyCancellationPendingSet.DEFAULT_COMPACTION_RATIO);
+		return getDefault().createLazy(Double.parseDouble(lazy.trim()));
+	}
+
+	/**
+	 * Gets the implementation selected by the {@value #PROPERTY} system 
+	 * property, or {@link #BINARY_HEAP} if the property is not set.
+	 * 
+	 * @return the default implementation.
+	 * @throws IllegalArgumentException
+	 * 		If the property does not name a known implementation.
+	 */
+	public static PendingEventSetType getDefault() {
+		final String name = System.getProperty(PROPERTY);
+		if (name == null)
+			return BINARY_HEAP;
+		return valueOf(name.trim().toUpperCase());
+	}
+
+}
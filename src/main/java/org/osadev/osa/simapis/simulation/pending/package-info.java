@@ -0,0 +1,6 @@
+/**
+ * Pending event sets: the data structures used by simulation controllers to
+ * keep their scheduled events in time order.
+ *
+ */
+package org.osadev.osa.simapis.simulation.pending;
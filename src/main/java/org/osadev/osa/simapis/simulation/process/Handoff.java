@@ -0,0 +1,264 @@
+/** ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++--> 
+<!--                Open Simulation Architecture (OSA)                  -->
+<!--                                                                    -->
+<!--      This software is distributed under the terms of the           -->
+<!--           CECILL-C FREE SOFTWARE LICENSE AGREEMENT                 -->
+<!--  (see http://www.cecill.info/licences/Licence_CeCILL-C_V1-en.html) -->
+<!--                                                                    -->
+<!--  Copyright © 2006-2015 Université Nice Sophia Antipolis            -->
+<!--  Contact author: Olivier Dalle (olivier.dalle@unice.fr)            -->
+<!--                                                                    -->
+<!--  Parts of this software development were supported and hosted by   -->
+<!--  INRIA from 2006 to 2015, in the context of the common research    -->
+<!--  teams of INRIA and I3S, UMR CNRS 7172 (MASCOTTE, COATI, OASIS and -->
+<!--  SCALE).                                                           -->
+<!--++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++**/ 
+package org.osadev.osa.simapis.simulation.process;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Counting handoff between the scheduler and a process thread, spinning 
+ * before parking.
+ * 
+ * <p>It behaves as a {@link java.util.concurrent.Semaphore} used by a single
+ * waiting thread at a time, which is how control is transferred between the
+ * scheduler and the processes. A thread that {@link #acquire() acquires} a 
+ * permit first spins for a while, since the other side often hands control 
+ * back after a short burst, and only then parks. The spin budget adapts 
+ * between zero and the configured maximum: it doubles each time a permit is
+ * obtained while spinning and halves each time the thread had to park. Once
+ * it has decayed, the full budget is tried again every {@value #PROBE_PERIOD}
+ * parks.
+ * 
+ * <p>Spinning only pays off when both sides run on distinct cores: the 
+ * default maximum ({@link #getDefaultMaxSpins()}) is zero on a single 
+ * processor.
+ * 
+ */
+public final class Handoff {
+
+	/** 
+	 * Name of the system property giving the default maximum number of spins
+	 * before parking.
+	 */
+	public static final String SPINS_PROPERTY = "osa.simulation.handoff.spins";
+
+	/** Default maximum number of spins on multiprocessors. */
+	public static final int DEFAULT_MAX_SPINS = 1 << 10;
+
+	/** Number of parks between two spin probes when the budget has decayed. */
+	public static final int PROBE_PERIOD = 64;
+
+	/** 
+	 * Handle of <tt>Thread.onSpinWait()</tt>, <tt>null</tt> before Java 9 
+	 * where the spin loop runs without the hint.
+	 */
+	private static final MethodHandle ON_SPIN_WAIT;
+
+	static {
+		MethodHandle onSpinWait;
+		try {
+			onSpinWait = MethodHandles.publicLookup().findStatic(Thread.class,
+					"onSpinWait", MethodType.methodType(void.class));
+		} catch (ReflectiveOperationException e) {
+			onSpinWait = null;
+		}
+		ON_SPIN_WAIT = onSpinWait;
+	}
+
+	private final AtomicInteger permits_ = new AtomicInteger();
+
+	private volatile Thread waiter_;
+
+	private final int maxSpins_;
+
+	/** Current spin budget, only used by the waiting thread. */
+	private int spins_;
+
+	private long parkCount_;
+
+	/**
+	 * Creates a handoff without permits and with the 
+	 * {@link #getDefaultMaxSpins() default} maximum number of spins.
+	 */
+	public Handoff() {
+		this(getDefaultMaxSpins());
+	}
+
+	/**
+	 * Creates a handoff without permits.
+	 * 
+	 * @param maxSpins
+	 * 		Maximum number of spins before parking, zero to always park.
+	 * @throws IllegalArgumentException
+	 * 		If the number of spins is negative.
+	 */
+	public Handoff(final int maxSpins) {
+		if (maxSpins < 0)
+			throw new IllegalArgumentException("Negative spin count " + maxSpins);
+		maxSpins_ = maxSpins;
+		spins_ = maxSpins;
+	}
+
+	/**
+	 * Gets the maximum number of spins given by the {@value #SPINS_PROPERTY}
+	 * system property, or else {@value #DEFAULT_MAX_SPINS} on multiprocessors
+	 * and zero on a single processor.
+	 * 
+	 * @return the default maximum number of spins.
+	 */
+	public static int getDefaultMaxSpins() {
+		final String spins = System.getProperty(SPINS_PROPERTY);
+		if (spins != null)
+			return Integer.parseInt(spins.trim());
+		return Runtime.getRuntime().availableProcessors() > 1 ? DEFAULT_MAX_SPINS : 0;
+	}
+
+	/**
+	 * Takes a permit, waiting until one is released.
+	 * 
+	 * @throws InterruptedException
+	 * 		If the thread is interrupted while parked.
+	 */
+	public void acquire() throws InterruptedException {
+		if (spin())
+			return;
+		waiter_ = Thread.currentThread();
+		try {
+			while (!tryAcquire()) {
+				LockSupport.park(this);
+				if (Thread.interrupted())
+					throw new InterruptedException();
+			}
+		} finally {
+			waiter_ = null;
+		}
+	}
+
+	/**
+	 * Takes a permit, waiting until one is released whatever the interrupts.
+	 * The interrupt status of the thread is preserved.
+	 */
+	public void acquireUninterruptibly() {
+		if (spin())
+			return;
+		waiter_ = Thread.currentThread();
+		boolean interrupted = false;
+		try {
+			while (!tryAcquire()) {
+				LockSupport.park(this);
+				interrupted |= Thread.interrupted();
+			}
+		} finally {
+			waiter_ = null;
+			if (interrupted)
+				Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Takes a permit if one is available, without waiting.
+	 * 
+	 * @return <tt>true</tt> if a permit was taken.
+	 */
+	public boolean tryAcquire() {
+		int permits;
+		while ((permits = permits_.get()) > 0)
+			if (permits_.compareAndSet(permits, permits - 1))
+				return true;
+		return false;
+	}
+
+	/**
+	 * Releases a permit, waking the waiting thread if any.
+	 */
+	public void release() {
+		permits_.incrementAndGet();
+		final Thread waiter = waiter_;
+		if (waiter != null)
+			LockSupport.unpark(waiter);
+	}
+
+	/**
+	 * Gets the number of permits currently available.
+	 * 
+	 * @return the available permits.
+	 */
+	public int availablePermits() {
+		return permits_.get();
+	}
+
+	/**
+	 * Gets the maximum number of spins before parking.
+	 * 
+	 * @return the maximum number of spins.
+	 */
+	public int getMaxSpins() {
+		return maxSpins_;
+	}
+
+	/**
+	 * Gets the number of times the waiting thread had to park, that is the
+	 * number of acquisitions not satisfied by spinning.
+	 * 
+	 * @return the park count.
+	 */
+	public long getParkCount() {
+		return parkCount_;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "Handoff[permits=" + permits_.get() + ", spins=" + spins_ 
+				+ "/" + maxSpins_ + ", parks=" + parkCount_ + "]";
+	}
+
+	/**
+	 * Spins within the current budget, and adapts the budget.
+	 * 
+	 * @return <tt>true</tt> if a permit was taken while spinning.
+	 */
+	private boolean spin() {
+		if (tryAcquire())
+			return true;
+		final int spins = spins_;
+		for (int i = 0; i < spins; i++) {
+			onSpinWait();
+			if (tryAcquire()) {
+				spins_ = Math.min(maxSpins_, Math.max(1, spins << 1));
+				return true;
+			}
+		}
+		parkCount_++;
+		// Probes periodically with the full budget once it has decayed.
+		spins_ = spins > 1 || (parkCount_ & (PROBE_PERIOD - 1)) != 0 ? spins >> 1 : maxSpins_;
+		return false;
+	}
+
+	/**
+	 * Tells the processor that the thread is spinning, when the JVM supports
+	 * the hint.
+	 */
+	private static void onSpinWait() {
+		if (ON_SPIN_WAIT == null)
+			return;
+		try {
+			ON_SPIN_WAIT.invokeExact();
+		} catch (RuntimeException e) {
+			throw e;
+		} catch (Error e) {
+			throw e;
+		} catch (Throwable e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+}
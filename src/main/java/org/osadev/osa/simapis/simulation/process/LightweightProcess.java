@@ -0,0 +1,188 @@
+/** ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++--> 
+<!--                Open Simulation Architecture (OSA)                  -->
+<!--                                                                    -->
+<!--      This software is distributed under the terms of the           -->
+<!--           CECILL-C FREE SOFTWARE LICENSE AGREEMENT                 -->
+<!--  (see http://www.cecill.info/licences/Licence_CeCILL-C_V1-en.html) -->
+<!--                                                                    -->
+<!--  Copyright © 2006-2015 Université Nice Sophia Antipolis            -->
+<!--  Contact author: Olivier Dalle (olivier.dalle@unice.fr)            -->
+<!--                                                                    -->
+<!--  Parts of this software development were supported and hosted by   -->
+<!--  INRIA from 2006 to 2015, in the context of the common research    -->
+<!--  teams of INRIA and I3S, UMR CNRS 7172 (MASCOTTE, COATI, OASIS and -->
+<!--  SCALE).                                                           -->
+<!--++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++**/ 
+package org.osadev.osa.simapis.simulation.process;
+
+import org.osadev.osa.simapis.simulation.jfr.ProcessParked;
+
+/**
+ * A simulation process run by a {@link ProcessEngine} on its own thread.
+ * 
+ * <p>Control is passed back and forth between the process and the thread that
+ * {@link ProcessEngine#resume(LightweightProcess) resumed} it through a pair
+ * of {@link Handoff handoffs}: each side releases the other then waits until
+ * it is released in turn, so exactly one of them runs at any time and all 
+ * writes of one side are visible to the other.
+ * 
+ */
+public final class LightweightProcess {
+
+	/** The process run by the current thread, if any. */
+	private static final ThreadLocal<LightweightProcess> CURRENT = new ThreadLocal<LightweightProcess>();
+
+	private final ProcessEngine engine_;
+
+	private final Runnable body_;
+
+	private Thread thread_;
+
+	/** Released to give control to this process. */
+	private final Handoff wake_;
+
+	/** Released by this process to hand control back. */
+	private final Handoff done_;
+
+	private boolean killed_;
+
+	private boolean terminated_;
+
+	private Throwable failure_;
+
+	LightweightProcess(final ProcessEngine engine, final Runnable body, final int maxSpins) {
+		engine_ = engine;
+		body_ = body;
+		wake_ = new Handoff(maxSpins);
+		done_ = new Handoff(maxSpins);
+	}
+
+	/**
+	 * Gets the process run by the current thread.
+	 * 
+	 * @return the current process, or <tt>null</tt> if the current thread
+	 * 		is not a process thread.
+	 */
+	public static LightweightProcess current() {
+		return CURRENT.get();
+	}
+
+	/**
+	 * Hands control back to the thread that resumed this process, and waits
+	 * until the process is resumed again.
+	 * 
+	 * @throws IllegalStateException
+	 * 		If not called by the thread of this process.
+	 */
+	public void park() {
+		if (Thread.currentThread() != thread_)
+			throw new IllegalStateException("Process " + getName()
+					+ " can only be parked by its own thread");
+		if (killed_)
+			throw Killed.INSTANCE;
+		final ProcessParked recording = new ProcessParked();
+		recording.begin();
+		done_.release();
+		wake_.acquireUninterruptibly();
+		recording.commit(getName(), null, null);
+		if (killed_)
+			throw Killed.INSTANCE;
+	}
+
+	/**
+	 * Gets the engine running this process.
+	 * 
+	 * @return the process engine.
+	 */
+	public ProcessEngine getEngine() {
+		return engine_;
+	}
+
+	/**
+	 * Gets the name of this process, that is the name of its thread.
+	 * 
+	 * @return the process name.
+	 */
+	public String getName() {
+		return thread_.getName();
+	}
+
+	/**
+	 * Tells if the body of this process has returned, failed or was killed.
+	 * 
+	 * @return <tt>true</tt> if this process cannot be resumed anymore.
+	 */
+	public boolean isTerminated() {
+		return terminated_;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return getName() + (terminated_ ? "[terminated]" : "");
+	}
+
+	void start(final Thread thread) {
+		thread_ = thread;
+		thread.start();
+	}
+
+	Runnable task() {
+		return new Runnable() {
+			@Override
+			public void run() {
+				CURRENT.set(LightweightProcess.this);
+				wake_.acquireUninterruptibly();
+				try {
+					if (!killed_)
+						body_.run();
+				} catch (final Killed e) {
+					// Unwound by the engine.
+				} catch (final Throwable t) {
+					failure_ = t;
+				} finally {
+					CURRENT.remove();
+					terminated_ = true;
+					done_.release();
+				}
+			}
+		};
+	}
+
+	/**
+	 * Passes control to this process and waits until it parks or terminates.
+	 * 
+	 * @param kill
+	 * 		Whether the process is unwound instead of continuing.
+	 * @return the failure of the process body, if it failed.
+	 */
+	Throwable resume(final boolean kill) {
+		if (terminated_)
+			throw new IllegalStateException("Process " + getName() + " is terminated");
+		if (Thread.currentThread() == thread_)
+			throw new IllegalStateException("Process " + getName() + " cannot resume itself");
+		killed_ |= kill;
+		wake_.release();
+		done_.acquireUninterruptibly();
+		return failure_;
+	}
+
+	/**
+	 * Unwinds the body of a killed process. Being an error, it is not caught
+	 * by models that catch exceptions.
+	 */
+	private static final class Killed extends Error {
+
+		private static final long serialVersionUID = 1L;
+
+		static final Killed INSTANCE = new Killed();
+
+		private Killed() {
+			super("Process killed", null, false, false);
+		}
+
+	}
+
+}
@@ -0,0 +1,226 @@
+/** ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++--> 
+<!--                Open Simulation Architecture (OSA)                  -->
+<!--                                                                    -->
+<!--      This software is distributed under the terms of the           -->
+<!--           CECILL-C FREE SOFTWARE LICENSE AGREEMENT                 -->
+<!--  (see http://www.cecill.info/licences/Licence_CeCILL-C_V1-en.html) -->
+<!--                                                                    -->
+<!--  Copyright © 2006-2015 Université Nice Sophia Antipolis            -->
+<!--  Contact author: Olivier Dalle (olivier.dalle@unice.fr)            -->
+<!--                                                                    -->
+<!--  Parts of this software development were supported and hosted by   -->
+<!--  INRIA from 2006 to 2015, in the context of the common research    -->
+<!--  teams of INRIA and I3S, UMR CNRS 7172 (MASCOTTE, COATI, OASIS and -->
+<!--  SCALE).                                                           -->
+<!--++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++**/ 
+package org.osadev.osa.simapis.simulation.process;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.ThreadFactory;
+
+import org.osadev.osa.simapis.simulation.jfr.ProcessResumed;
+
+/**
+ * Runs simulation processes on dedicated threads, one at a time.
+ * 
+ * <p>A process runs from its {@link #start(Runnable) start} or 
+ * {@link #resume(LightweightProcess) resumption} until it 
+ * {@link LightweightProcess#park() parks} or terminates, while the thread 
+ * that started or resumed it waits. Execution is thus strictly sequential and
+ * deterministic whatever the number of processes, and needs no further 
+ * synchronization in the models.
+ * 
+ * <p>With {@link ProcessThreadMode#VIRTUAL virtual threads}, a parked 
+ * process only costs its heap-allocated stack, so millions of processes can
+ * be alive at once; platform threads are limited to a few thousands.
+ * 
+ * <p>The engine is not thread-safe: it must only be called by the thread 
+ * currently having the control, that is the scheduler or the running process.
+ * 
+ */
+public final class ProcessEngine {
+
+	private final ProcessThreadMode mode_;
+
+	private final ThreadFactory factory_;
+
+	private final int maxSpins_;
+
+	private final Set<LightweightProcess> live_ = new LinkedHashSet<LightweightProcess>();
+
+	private long startedCount_;
+
+	private long resumeCount_;
+
+	/**
+	 * Creates an engine on threads of the {@link ProcessThreadMode#getDefault()
+	 * default} mode.
+	 */
+	public ProcessEngine() {
+		this(ProcessThreadMode.getDefault());
+	}
+
+	/**
+	 * Creates an engine on threads of the given mode.
+	 * 
+	 * @param mode
+	 * 		Kind of the process threads.
+	 * @throws UnsupportedOperationException
+	 * 		If the mode is not available on the running JVM.
+	 */
+	public ProcessEngine(final ProcessThreadMode mode) {
+		this(mode, Handoff.getDefaultMaxSpins());
+	}
+
+	/**
+	 * Creates an engine on threads of the given mode, with the given spin 
+	 * budget for the process switches.
+	 * 
+	 * @param mode
+	 * 		Kind of the process threads.
+	 * @param maxSpins
+	 * 		Maximum number of spins before parking on a switch.
+	 * @throws IllegalArgumentException
+	 * 		If the number of spins is negative.
+	 * @throws UnsupportedOperationException
+	 * 		If the mode is not available on the running JVM.
+	 * @see Handoff
+	 */
+	public ProcessEngine(final ProcessThreadMode mode, final int maxSpins) {
+		if (maxSpins < 0)
+			throw new IllegalArgumentException("Negative spin count " + maxSpins);
+		mode_ = mode;
+		maxSpins_ = maxSpins;
+		factory_ = mode.factory("osa-process-");
+	}
+
+	/**
+	 * Creates a process and runs it until it parks or terminates.
+	 * 
+	 * @param body
+	 * 		Code of the process.
+	 * @return the new process.
+	 * @throws RuntimeException
+	 * 		If the body fails before parking.
+	 */
+	public LightweightProcess start(final Runnable body) {
+		final LightweightProcess process = new LightweightProcess(this, body, maxSpins_);
+		process.start(factory_.newThread(process.task()));
+		startedCount_++;
+		live_.add(process);
+		resume(process);
+		return process;
+	}
+
+	/**
+	 * Runs a parked process until it parks again or terminates.
+	 * 
+	 * @param process
+	 * 		The process to run.
+	 * @throws IllegalStateException
+	 * 		If the process is terminated, belongs to another engine, or is the
+	 * 		calling process.
+	 * @throws RuntimeException
+	 * 		If the body of the process fails.
+	 */
+	public void resume(final LightweightProcess process) {
+		run(process, false);
+	}
+
+	/**
+	 * Kills all the live processes: each one is resumed and unwound from the
+	 * point where it parked.
+	 * 
+	 * @return the number of killed processes.
+	 */
+	public int shutdown() {
+		final ArrayList<LightweightProcess> live = new ArrayList<LightweightProcess>(live_);
+		int count = 0;
+		for (final LightweightProcess process : live) {
+			if (process == LightweightProcess.current())
+				continue;
+			try {
+				run(process, true);
+			} catch (final RuntimeException e) {
+				// Failures while unwinding are ignored.
+			}
+			count++;
+		}
+		return count;
+	}
+
+	/**
+	 * Gets the kind of the process threads.
+	 * 
+	 * @return the thread mode.
+	 */
+	public ProcessThreadMode getMode() {
+		return mode_;
+	}
+
+	/**
+	 * Gets the maximum number of spins before parking on a switch.
+	 * 
+	 * @return the maximum number of spins.
+	 */
+	public int getMaxSpins() {
+		return maxSpins_;
+	}
+
+	/**
+	 * Gets the number of processes started and not yet terminated.
+	 * 
+	 * @return the live process count.
+	 */
+	public int getLiveCount() {
+		return live_.size();
+	}
+
+	/**
+	 * Gets the number of processes started since the engine was created.
+	 * 
+	 * @return the started process count.
+	 */
+	public long getStartedCount() {
+		return startedCount_;
+	}
+
+	/**
+	 * Gets the number of times a process was given the control, including 
+	 * at start. Each of them is a round trip of two thread switches.
+	 * 
+	 * @return the resume count.
+	 */
+	public long getResumeCount() {
+		return resumeCount_;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "ProcessEngine[" + mode_ + ", live=" + live_.size() 
+				+ ", started=" + startedCount_ + ", resumed=" + resumeCount_ + "]";
+	}
+
+	private void run(final LightweightProcess process, final boolean kill) {
+		if (process.getEngine() != this)
+			throw new IllegalStateException("Process " + process 
+					+ " belongs to another engine");
+		resumeCount_++;
+		final ProcessResumed recording = new ProcessResumed();
+		recording.begin();
+		final Throwable failure = process.resume(kill);
+		recording.commit(process.getName(), null);
+		if (!process.isTerminated())
+			return;
+		live_.remove(process);
+		if (failure != null)
+			throw new RuntimeException("Process " + process.getName() 
+					+ " failed", failure);
+	}
+
+}
@@ -0,0 +1,192 @@
+/** ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++--> 
+<!--                Open Simulation Architecture (OSA)                  -->
+<!--                                                                    -->
+<!--      This software is distributed under the terms of the           -->
+<!--           CECILL-C FREE SOFTWARE LICENSE AGREEMENT                 -->
+<!--  (see http://www.cecill.info/licences/Licence_CeCILL-C_V1-en.html) -->
+<!--                                                                    -->
+<!--  Copyright © 2006-2015 Université Nice Sophia Antipolis            -->
+<!--  Contact author: Olivier Dalle (olivier.dalle@unice.fr)            -->
+<!--                                                                    -->
+<!--  Parts of this software development were supported and hosted by   -->
+<!--  INRIA from 2006 to 2015, in the context of the common research    -->
+<!--  teams of INRIA and I3S, UMR CNRS 7172 (MASCOTTE, COATI, OASIS and -->
+<!--  SCALE).                                                           -->
+<!--++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++**/ 
+package org.osadev.osa.simapis.simulation.process;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The kinds of threads on which the {@link ProcessEngine} runs simulation
+ * processes.
+ * 
+ * <p>Virtual threads need Java 21 or later. They are looked up reflectively
+ * so that this API still builds and runs on older versions, where 
+ * {@link #VIRTUAL} is not {@link #isAvailable() available}. The engine runs
+ * one process at a time whatever the number of carrier threads of the 
+ * virtual thread scheduler. Since that scheduler is global to the JVM, it is
+ * left as configured: applications that only run simulation processes on 
+ * virtual threads may restrict it to a single carrier thread (see 
+ * {@link #CARRIER_PARALLELISM_PROPERTY}), so that a switch never leaves the 
+ * carrier.
+ * 
+ */
+public enum ProcessThreadMode {
+
+	/** Daemon platform threads with a reduced stack size. */
+	PLATFORM {
+		@Override
+		public boolean isAvailable() {
+			return true;
+		}
+
+		@Override
+		public ThreadFactory factory(final String prefix) {
+			return new ThreadFactory() {
+				private final AtomicLong count_ = new AtomicLong();
+
+				@Override
+				public Thread newThread(final Runnable r) {
+					final Thread thread = new Thread(null, r,
+							prefix + count_.getAndIncrement(), PLATFORM_STACK_SIZE);
+					thread.setDaemon(true);
+					return thread;
+				}
+			};
+		}
+	},
+
+	/** Virtual threads (Java 21 or later). */
+	VIRTUAL {
+		@Override
+		public boolean isAvailable() {
+			return VirtualThreads.OF_VIRTUAL != null;
+		}
+
+		@Override
+		public ThreadFactory factory(final String prefix) {
+			if (!isAvailable())
+				throw new UnsupportedOperationException(
+						"Virtual threads are not available on Java " 
+						+ System.getProperty("java.specification.version"));
+			try {
+				Object builder = VirtualThreads.OF_VIRTUAL.invoke(null);
+				builder = VirtualThreads.NAME.invoke(builder, prefix, 0L);
+				return (ThreadFactory) VirtualThreads.FACTORY.invoke(builder);
+			} catch (final ReflectiveOperationException e) {
+				throw new UnsupportedOperationException(
+						"Virtual threads cannot be created", e);
+			}
+		}
+	};
+
+	/** Name of the system property used to select the default mode. */
+	public static final String PROPERTY = "osa.simulation.processthreads";
+
+	/** 
+	 * System property of the JDK giving the number of carrier threads of 
+	 * virtual threads. It is read when the first virtual thread is created, 
+	 * so it must be given on the command line, eg. 
+	 * <tt>-Djdk.virtualThreadScheduler.parallelism=1</tt>; this class does 
+	 * not set it.
+	 */
+	public static final String CARRIER_PARALLELISM_PROPERTY = "jdk.virtualThreadScheduler.parallelism";
+
+	/** Stack size requested for platform process threads, in bytes. */
+	public static final long PLATFORM_STACK_SIZE = 256 * 1024;
+
+	/**
+	 * Tells if threads of this kind can be created on the running JVM.
+	 * 
+	 * @return <tt>true</tt> if {@link #factory(String)} can be used.
+	 */
+	public abstract boolean isAvailable();
+
+	/**
+	 * Creates a factory of unstarted threads of this kind.
+	 * 
+	 * @param prefix
+	 * 		Prefix of the thread names, followed by a counter.
+	 * @return a new thread factory.
+	 * @throws UnsupportedOperationException
+	 * 		If this mode is not available.
+	 */
+	public abstract ThreadFactory factory(String prefix);
+
+	/**
+	 * Gets the mode selected by the {@value #PROPERTY} system property, or
+	 * else {@link #VIRTUAL} if available and {@link #PLATFORM} otherwise.
+	 * 
+	 * @return the default mode.
+	 * @throws IllegalArgumentException
+	 * 		If the property does not name a known mode.
+	 */
+	public static ProcessThreadMode getDefault() {
+		final String name = System.getProperty(PROPERTY);
+		if (name == null)
+			return VIRTUAL.isAvailable() ? VIRTUAL : PLATFORM;
+		return valueOf(name.trim().toUpperCase());
+	}
+
+	/**
+	 * Lazy holder of the reflective entry points of the virtual thread
+	 * builder.
+	 */
+	private static final class VirtualThreads {
+
+		static final Method OF_VIRTUAL;
+
+		static final Method NAME;
+
+		static final Method FACTORY;
+
+		static {
+			Method ofVirtual = null;
+			Method name = null;
+			Method factory = null;
+			// Preview versions (19 and 20) declare the builder but reject it.
+			if (featureVersion() >= 21) {
+				try {
+					final Class<?> builder = Class.forName("java.lang.Thread$Builder");
+					ofVirtual = Thread.class.getMethod("ofVirtual");
+					name = builder.getMethod("name", String.class, long.class);
+					factory = builder.getMethod("factory");
+				} catch (final ReflectiveOperationException e) {
+					ofVirtual = null;
+				}
+			}
+			OF_VIRTUAL = ofVirtual;
+			NAME = name;
+			FACTORY = factory;
+		}
+
+		private VirtualThreads() {
+		}
+
+		/**
+		 * Gets the major version of the Java platform, from a system property
+		 * since <tt>Runtime.version()</tt> does not exist on Java 8.
+		 * 
+		 * @return the version, eg. 8 for "1.8" or 21 for "21", or 0 if it
+		 * 		cannot be parsed.
+		 */
+		private static int featureVersion() {
+			String version = System.getProperty("java.specification.version", "0");
+			if (version.startsWith("1."))
+				version = version.substring(2);
+			final int dot = version.indexOf('.');
+			if (dot >= 0)
+				version = version.substring(0, dot);
+			try {
+				return Integer.parseInt(version);
+			} catch (final NumberFormatException e) {
+				return 0;
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,6 @@
+/**
+ * Execution of simulation processes on dedicated threads with a strict 
+ * handoff, such that exactly one process, or the scheduler, runs at a time.
+ *
+ */
+package org.osadev.osa.simapis.simulation.process;
@@ -0,0 +1,124 @@
+/** ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++--> 
+<!--                Open Simulation Architecture (OSA)                  -->
+<!--                                                                    -->
+<!--      This software is distributed under the terms of the           -->
+<!--           CECILL-C FREE SOFTWARE LICENSE AGREEMENT                 -->
+<!--  (see http://www.cecill.info/licences/Licence_CeCILL-C_V1-en.html) -->
+<!--                                                                    -->
+<!--  Copyright © 2006-2015 Université Nice Sophia Antipolis            -->
+<!--  Contact author: Olivier Dalle (olivier.dalle@unice.fr)            -->
+<!--                                                                    -->
+<!--  Parts of this software development were supported and hosted by   -->
+<!--  INRIA from 2006 to 2015, in the context of the common research    -->
+<!--  teams of INRIA and I3S, UMR CNRS 7172 (MASCOTTE, COATI, OASIS and -->
+<!--  SCALE).                                                           -->
+<!--++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++**/ 
+package org.osadev.osa.simapis.simulation.trace;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.osadev.osa.simapis.modeling.LongModelingTimeAPI;
+import org.osadev.osa.simapis.modeling.ModelingTimeAPI;
+
+/**
+ * Layout of the trace files.
+ * 
+ * <p>A trace named <tt>base</tt> is made of segment files 
+ * <tt>base.000000.trc</tt>, <tt>base.000001.trc</tt>, ... and of a dictionary 
+ * file <tt>base.dict</tt>.
+ * 
+ * <p>A segment starts with a header of {@value #HEADER_SIZE} bytes (magic 
+ * number, version, segment index, record size), followed by event records of
+ * {@value #RECORD_SIZE} bytes: event id (long), time (long), method id plus 
+ * one (int) and instance id (int). The segment ends at its first record whose
+ * method field is zero, or at the end of the file.
+ * 
+ * <p>The dictionary is a sequence of entries: kind ({@value #METHOD} or 
+ * {@value #INSTANCE} as a byte), id (int) and name (modified UTF-8), giving
+ * the method names and the class names of the instances in id order.
+ * 
+ */
+final class TraceFormat {
+
+	static final int MAGIC = 0x4F534154;
+
+	static final int VERSION = 1;
+
+	static final int HEADER_SIZE = 16;
+
+	static final int RECORD_SIZE = 24;
+
+	static final byte METHOD = 'M';
+
+	static final byte INSTANCE = 'I';
+
+	static final String SEGMENT_SUFFIX = ".trc";
+
+	static final String DICTIONARY_SUFFIX = ".dict";
+
+	private TraceFormat() {
+	}
+
+	static Path segment(final Path base, final int index) {
+		return base.resolveSibling(String.format("%s.%06d%s", 
+				base.getFileName(), index, SEGMENT_SUFFIX));
+	}
+
+	/**
+	 * Lists the indexes of the existing segments of a trace, in increasing
+	 * order.
+	 */
+	static List<Integer> segments(final Path base) throws IOException {
+		final String prefix = base.getFileName() + ".";
+		final List<Integer> indexes = new ArrayList<Integer>();
+		final Path dir = base.toAbsolutePath().getParent();
+		final DirectoryStream<Path> stream = Files.newDirectoryStream(dir);
+		try {
+			for (Path p : stream) {
+				final String name = p.getFileName().toString();
+				if (!name.startsWith(prefix) || !name.endsWith(SEGMENT_SUFFIX))
+					continue;
+				final String index = name.substring(prefix.length(), 
+						name.length() - SEGMENT_SUFFIX.length());
+				if (index.length() == 6 && index.matches("[0-9]+"))
+					indexes.add(Integer.valueOf(index));
+			}
+		} finally {
+			stream.close();
+		}
+		Collections.sort(indexes);
+		return indexes;
+	}
+
+	static Path dictionary(final Path base) {
+		return base.resolveSibling(base.getFileName() + DICTIONARY_SUFFIX);
+	}
+
+	/**
+	 * Gives the value of a time stored in the trace: its long value, or 
+	 * <code>Long.MAX_VALUE</code> for infinity.
+	 * 
+	 * @throws IllegalArgumentException
+	 * 		If the time value is not an integral number.
+	 */
+	static long timeKey(final ModelingTimeAPI<?> time) {
+		if (time instanceof LongModelingTimeAPI) {
+			final long t = ((LongModelingTimeAPI) time).getLong();
+			return (t == LongModelingTimeAPI.INFINITE) ? Long.MAX_VALUE : t;
+		}
+		if (time.isInfinite())
+			return Long.MAX_VALUE;
+		final Object value = time.get();
+		if (value instanceof Long || value instanceof Integer 
+				|| value instanceof Short || value instanceof Byte)
+			return ((Number) value).longValue();
+		throw new IllegalArgumentException("Time " + time + " cannot be traced as a long");
+	}
+
+}
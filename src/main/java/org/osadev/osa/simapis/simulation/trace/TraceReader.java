@@ -0,0 +1,230 @@
+/** ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++--> 
+<!--                Open Simulation Architecture (OSA)                  -->
+<!--                                                                    -->
+<!--      This software is distributed under the terms of the           -->
+<!--           CECILL-C FREE SOFTWARE LICENSE AGREEMENT                 -->
+<!--  (see http://www.cecill.info/licences/Licence_CeCILL-C_V1-en.html) -->
+<!--                                                                    -->
+<!--  Copyright © 2006-2015 Université Nice Sophia Antipolis            -->
+<!--  Contact author: Olivier Dalle (olivier.dalle@unice.fr)            -->
+<!--                                                                    -->
+<!--  Parts of this software development were supported and hosted by   -->
+<!--  INRIA from 2006 to 2015, in the context of the common research    -->
+<!--  teams of INRIA and I3S, UMR CNRS 7172 (MASCOTTE, COATI, OASIS and -->
+<!--  SCALE).                                                           -->
+<!--++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++**/ 
+package org.osadev.osa.simapis.simulation.trace;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads a trace written by a {@link TraceRecorder}, one record at a time.
+ * 
+ * <p>The segments are mapped one after the other, so that traces of any 
+ * size are read in constant memory. The reader is a cursor: {@link #next()}
+ * moves it to the next record, whose fields are then given by the getters.
+ * 
+ * <pre>
+ * TraceReader reader = new TraceReader(Paths.get("run"));
+ * try {
+ *     while (reader.next())
+ *         System.out.println(reader.getTime() + " " + reader.getMethod());
+ * } finally {
+ *     reader.close();
+ * }
+ * </pre>
+ * 
+ */
+public final class TraceReader implements Closeable {
+
+	private final Path base_;
+
+	private final List<String> methods_ = new ArrayList<String>();
+
+	private final List<String> instances_ = new ArrayList<String>();
+
+	private final List<Integer> segments_;
+
+	private int next_ = 0;
+
+	private int segment_ = -1;
+
+	private MappedByteBuffer buffer_ = null;
+
+	private long eventId_;
+
+	private long time_;
+
+	private int methodId_;
+
+	private int instanceId_;
+
+	private long position_ = -1;
+
+	/**
+	 * Opens a trace and reads its dictionary.
+	 * 
+	 * @param base
+	 * 		Path of the trace, without suffix.
+	 * @throws IOException
+	 * 		If the trace has no segment, or the dictionary cannot be read.
+	 */
+	public TraceReader(final Path base) throws IOException {
+		base_ = base;
+		segments_ = TraceFormat.segments(base);
+		if (segments_.isEmpty())
+			throw new NoSuchFileException(TraceFormat.segment(base, 0).toString());
+		readDictionary();
+	}
+
+	/**
+	 * Moves to the next record.
+	 * 
+	 * @return <tt>false</tt> if there are no more records.
+	 * @throws IOException
+	 * 		If a segment cannot be read or is not a trace segment.
+	 */
+	public boolean next() throws IOException {
+		while (true) {
+			if (buffer_ != null && buffer_.remaining() >= TraceFormat.RECORD_SIZE) {
+				final long eventId = buffer_.getLong();
+				final long time = buffer_.getLong();
+				final int method = buffer_.getInt();
+				final int instance = buffer_.getInt();
+				if (method != 0) {
+					eventId_ = eventId;
+					time_ = time;
+					methodId_ = method - 1;
+					instanceId_ = instance;
+					position_++;
+					return true;
+				}
+			}
+			if (next_ == segments_.size()) {
+				buffer_ = null;
+				return false;
+			}
+			open(segments_.get(next_++));
+		}
+	}
+
+	public long getEventId() {
+		return eventId_;
+	}
+
+	/** Time of the event, <code>Long.MAX_VALUE</code> if infinite. */
+	public long getTime() {
+		return time_;
+	}
+
+	public int getMethodId() {
+		return methodId_;
+	}
+
+	/** Name of the event method, or its id if missing from the dictionary. */
+	public String getMethod() {
+		return (methodId_ < methods_.size()) ? methods_.get(methodId_) : "#" + methodId_;
+	}
+
+	public int getInstanceId() {
+		return instanceId_;
+	}
+
+	/** 
+	 * Class name of the instance on which the event is called, or 
+	 * <tt>?</tt> if missing from the dictionary.
+	 */
+	public String getInstanceClass() {
+		return (instanceId_ < instances_.size()) ? instances_.get(instanceId_) : "?";
+	}
+
+	/** Index of the current segment. */
+	public int getSegmentIndex() {
+		return segment_;
+	}
+
+	/** Position of the current record in the trace, from zero. */
+	public long getPosition() {
+		return position_;
+	}
+
+	/** 
+	 * Gets the id of a method name.
+	 * 
+	 * @return the method id, or -1 if the method is not in the trace.
+	 */
+	public int getMethodId(final String method) {
+		return methods_.indexOf(method);
+	}
+
+	public Path getBase() {
+		return base_;
+	}
+
+	public void close() {
+		buffer_ = null;
+		next_ = segments_.size();
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%d\t#%d\t%s\t%s#%d", time_, eventId_, getMethod(),
+				getInstanceClass(), instanceId_);
+	}
+
+	private void open(final int index) throws IOException {
+		final Path path = TraceFormat.segment(base_, index);
+		final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+		try {
+			buffer_ = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		} finally {
+			channel.close();
+		}
+		if (buffer_.remaining() < TraceFormat.HEADER_SIZE || buffer_.getInt() != TraceFormat.MAGIC)
+			throw new IOException(path + " is not a trace segment");
+		final int version = buffer_.getInt();
+		buffer_.getInt();
+		final int recordSize = buffer_.getInt();
+		if (version != TraceFormat.VERSION || recordSize != TraceFormat.RECORD_SIZE)
+			throw new IOException(String.format("Unsupported version %d of %s", version, path));
+		segment_ = index;
+	}
+
+	private void readDictionary() throws IOException {
+		final DataInputStream in = new DataInputStream(new BufferedInputStream(
+				Files.newInputStream(TraceFormat.dictionary(base_))));
+		try {
+			while (true) {
+				final int kind;
+				try {
+					kind = in.readByte();
+				} catch (EOFException e) {
+					return;
+				}
+				final int id = in.readInt();
+				final String name = in.readUTF();
+				final List<String> names = (kind == TraceFormat.METHOD) ? methods_ : instances_;
+				if (id != names.size())
+					throw new IOException("Corrupted dictionary entry " + id + " " + name);
+				names.add(name);
+			}
+		} catch (EOFException e) {
+			// Truncated by a crash: the last entry is incomplete.
+		} finally {
+			in.close();
+		}
+	}
+
+}
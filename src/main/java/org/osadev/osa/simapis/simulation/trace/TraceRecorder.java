@@ -0,0 +1,413 @@
+/** ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++--> 
+<!--                Open Simulation Architecture (OSA)                  -->
+<!--                                                                    -->
+<!--      This software is distributed under the terms of the           -->
+<!--           CECILL-C FREE SOFTWARE LICENSE AGREEMENT                 -->
+<!--  (see http://www.cecill.info/licences/Licence_CeCILL-C_V1-en.html) -->
+<!--                                                                    -->
+<!--  Copyright © 2006-2015 Université Nice Sophia Antipolis            -->
+<!--  Contact author: Olivier Dalle (olivier.dalle@unice.fr)            -->
+<!--                                                                    -->
+<!--  Parts of this software development were supported and hosted by   -->
+<!--  INRIA from 2006 to 2015, in the context of the common research    -->
+<!--  teams of INRIA and I3S, UMR CNRS 7172 (MASCOTTE, COATI, OASIS and -->
+<!--  SCALE).                                                           -->
+<!--++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++**/ 
+package org.osadev.osa.simapis.simulation.trace;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.osadev.osa.simapis.simulation.AbstractEvent;
+import org.osadev.osa.simapis.simulation.DispatchListenerItf;
+
+/**
+ * Records a compact binary trace of the dispatched events.
+ * 
+ * <p>Each event is written as a fixed-size record (see {@link TraceFormat})
+ * in a memory-mapped segment file: recording is a few stores in memory, and 
+ * the operating system writes the pages to disk. Method names and instances
+ * are interned into small integer ids, whose names are appended to the 
+ * dictionary file once. Each new entry is flushed to the file at once, so 
+ * that the records in the mapped segments never refer to ids missing from 
+ * the dictionary if the process dies. Instances are only weakly referenced,
+ * so that the trace does not keep short-lived components alive; ids are 
+ * not reused. When a segment is full, the next one 
+ * is mapped; the oldest segments may be deleted to bound the disk usage of 
+ * long runs.
+ * 
+ * <p>The recorder is attached to the controllers with 
+ * {@link org.osadev.osa.simapis.simulation.AbstractEventSimulationController#setDispatchListener(DispatchListenerItf)}.
+ * It is not thread-safe: the controllers sharing a recorder must dispatch 
+ * their events in a single thread, eg. those of a sequential simulation or
+ * of a single logical process.
+ * 
+ * @param <U>
+ * 		Type of the simulation time, whose values must be integral numbers.
+ */
+public final class TraceRecorder<U extends Comparable<U>> implements
+		DispatchListenerItf<U>, Closeable {
+
+	/** Default size of the segment files, in bytes. */
+	public static final int DEFAULT_SEGMENT_SIZE = 64 << 20;
+
+	private final Path base_;
+
+	private final int segmentSize_;
+
+	private final int maxSegments_;
+
+	private final DataOutputStream dictionary_;
+
+	private final Map<String, Integer> methods_ = new HashMap<String, Integer>();
+
+	private final InstanceIds instances_ = new InstanceIds();
+
+	private int instanceCount_ = 0;
+
+	/** Id of the <code>null</code> instance, -1 if not recorded yet. */
+	private int nullInstanceId_ = -1;
+
+	private String lastMethod_ = null;
+
+	private int lastMethodId_ = -1;
+
+	private Object lastInstance_ = null;
+
+	private int lastInstanceId_ = -1;
+
+	private MappedByteBuffer buffer_ = null;
+
+	private int segment_ = -1;
+
+	private long count_ = 0;
+
+	private boolean closed_ = false;
+
+	/**
+	 * Creates a recorder with segments of the default size, all kept.
+	 * 
+	 * @param base
+	 * 		Path of the trace, without suffix.
+	 * @throws IOException
+	 * 		If the first segment or the dictionary cannot be created.
+	 */
+	public TraceRecorder(final Path base) throws IOException {
+		this(base, DEFAULT_SEGMENT_SIZE, 0);
+	}
+
+	/**
+	 * Creates a recorder. Existing files of a trace with the same name are
+	 * overwritten.
+	 * 
+	 * @param base
+	 * 		Path of the trace, without suffix.
+	 * @param segmentSize
+	 * 		Size of the segment files, in bytes.
+	 * @param maxSegments
+	 * 		Number of segments kept on disk, the oldest being deleted, or zero
+	 *      to keep them all.
+	 * @throws IOException
+	 * 		If the first segment or the dictionary cannot be created.
+	 * @throws IllegalArgumentException
+	 * 		If a segment cannot hold at least one record, or the number of 
+	 *      segments is negative.
+	 */
+	public TraceRecorder(final Path base, final int segmentSize,
+			final int maxSegments) throws IOException {
+		if (segmentSize < TraceFormat.HEADER_SIZE + TraceFormat.RECORD_SIZE || maxSegments < 0)
+			throw new IllegalArgumentException(String.format(
+					"Illegal segment size %d or count %d", segmentSize, maxSegments));
+		base_ = base;
+		segmentSize_ = segmentSize;
+		maxSegments_ = maxSegments;
+		for (Integer index : TraceFormat.segments(base))
+			Files.delete(TraceFormat.segment(base, index));
+		dictionary_ = new DataOutputStream(new BufferedOutputStream(
+				Files.newOutputStream(TraceFormat.dictionary(base))));
+		roll();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.osadev.osa.simapis.simulation.DispatchListenerItf#dispatching(org.osadev.osa.simapis.simulation.AbstractEvent)
+	 */
+	public void dispatching(final AbstractEvent<U> event) {
+		record(event.getId(), TraceFormat.timeKey(event.getTime()),
+				event.getEvtMethod(), event.getEvtInstance());
+	}
+
+	/**
+	 * Records an event.
+	 * 
+	 * @param eventId
+	 * 		The event id.
+	 * @param time
+	 * 		The event time.
+	 * @param method
+	 * 		The name of the event method.
+	 * @param instance
+	 * 		The object on which the method is called.
+	 * @throws IllegalStateException
+	 * 		If the recorder is closed.
+	 * @throws UncheckedIOException
+	 * 		If a new segment or a dictionary entry cannot be written.
+	 */
+	public void record(final long eventId, final long time, final String method,
+			final Object instance) {
+		if (closed_)
+			throw new IllegalStateException("Trace " + base_ + " is closed");
+		final int methodId = methodId(method);
+		final int instanceId = instanceId(instance);
+		MappedByteBuffer buffer = buffer_;
+		if (buffer.remaining() < TraceFormat.RECORD_SIZE) {
+			rollUnchecked();
+			buffer = buffer_;
+		}
+		buffer.putLong(eventId);
+		buffer.putLong(time);
+		buffer.putInt(methodId + 1);
+		buffer.putInt(instanceId);
+		count_++;
+	}
+
+	/**
+	 * Writes the dictionary entries and the records to the storage device.
+	 * 
+	 * @throws IOException
+	 * 		If the dictionary cannot be written.
+	 */
+	public void flush() throws IOException {
+		dictionary_.flush();
+		if (buffer_ != null)
+			buffer_.force();
+	}
+
+	/**
+	 * Flushes and closes the trace.
+	 * 
+	 * @throws IOException
+	 * 		If the dictionary cannot be written.
+	 */
+	public void close() throws IOException {
+		if (closed_)
+			return;
+		try {
+			flush();
+		} finally {
+			closed_ = true;
+			buffer_ = null;
+			dictionary_.close();
+		}
+	}
+
+	public Path getBase() {
+		return base_;
+	}
+
+	/** Number of events recorded. */
+	public long getRecordCount() {
+		return count_;
+	}
+
+	/** Index of the segment being written. */
+	public int getSegmentIndex() {
+		return segment_;
+	}
+
+	/** Number of distinct methods recorded. */
+	public int getMethodCount() {
+		return methods_.size();
+	}
+
+	/** Number of distinct instances recorded. */
+	public int getInstanceCount() {
+		return instanceCount_;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("TraceRecorder[%s, records=%d, segment=%d, methods=%d, instances=%d]",
+				base_, count_, segment_, methods_.size(), instanceCount_);
+	}
+
+	private int methodId(final String method) {
+		if (method == lastMethod_)
+			return lastMethodId_;
+		Integer id = methods_.get(method);
+		if (id == null) {
+			id = methods_.size();
+			define(TraceFormat.METHOD, id, method);
+			methods_.put(method, id);
+		}
+		lastMethod_ = method;
+		lastMethodId_ = id;
+		return id;
+	}
+
+	private int instanceId(final Object instance) {
+		if (instance == lastInstance_ && lastInstanceId_ >= 0)
+			return lastInstanceId_;
+		int id = (instance == null) ? nullInstanceId_ : instances_.get(instance);
+		if (id < 0) {
+			id = instanceCount_;
+			define(TraceFormat.INSTANCE, id, 
+					(instance == null) ? "null" : instance.getClass().getName());
+			instanceCount_++;
+			if (instance == null)
+				nullInstanceId_ = id;
+			else
+				instances_.put(instance, id);
+		}
+		lastInstance_ = instance;
+		lastInstanceId_ = id;
+		return id;
+	}
+
+	private void define(final byte kind, final int id, final String name) {
+		try {
+			dictionary_.writeByte(kind);
+			dictionary_.writeInt(id);
+			dictionary_.writeUTF(name);
+			// the records using the id reach the file without any flush
+			dictionary_.flush();
+		} catch (IOException e) {
+			throw new UncheckedIOException("Cannot write dictionary of " + base_, e);
+		}
+	}
+
+	private void rollUnchecked() {
+		try {
+			roll();
+		} catch (IOException e) {
+			throw new UncheckedIOException("Cannot create segment of " + base_, e);
+		}
+	}
+
+	/**
+	 * Maps the next segment, and deletes the oldest one if needed.
+	 */
+	private void roll() throws IOException {
+		if (buffer_ != null) {
+			buffer_.force();
+			dictionary_.flush();
+		}
+		final int index = segment_ + 1;
+		final RandomAccessFile file = new RandomAccessFile(
+				TraceFormat.segment(base_, index).toFile(), "rw");
+		try {
+			file.setLength(0);
+			file.setLength(segmentSize_);
+			buffer_ = file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, segmentSize_);
+		} finally {
+			file.close();
+		}
+		buffer_.putInt(TraceFormat.MAGIC);
+		buffer_.putInt(TraceFormat.VERSION);
+		buffer_.putInt(index);
+		buffer_.putInt(TraceFormat.RECORD_SIZE);
+		segment_ = index;
+		if (maxSegments_ > 0 && index >= maxSegments_)
+			Files.deleteIfExists(TraceFormat.segment(base_, index - maxSegments_));
+	}
+
+	/**
+	 * Ids of the recorded instances, compared by identity and only weakly 
+	 * referenced: the entries of the collected instances are dropped.
+	 */
+	private static final class InstanceIds {
+
+		private static final class Entry extends WeakReference<Object> {
+
+			final int hash_;
+
+			final int id_;
+
+			Entry next_;
+
+			Entry(final Object instance, final ReferenceQueue<Object> queue,
+					final int hash, final int id, final Entry next) {
+				super(instance, queue);
+				hash_ = hash;
+				id_ = id;
+				next_ = next;
+			}
+		}
+
+		private final ReferenceQueue<Object> queue_ = new ReferenceQueue<Object>();
+
+		private Entry[] table_ = new Entry[64];
+
+		private int size_ = 0;
+
+		/**
+		 * @return the id of an instance, -1 if it is not recorded.
+		 */
+		int get(final Object instance) {
+			expunge();
+			final int hash = System.identityHashCode(instance);
+			for (Entry e = table_[hash & (table_.length - 1)]; e != null; e = e.next_) {
+				if (e.hash_ == hash && e.get() == instance)
+					return e.id_;
+			}
+			return -1;
+		}
+
+		void put(final Object instance, final int id) {
+			final int hash = System.identityHashCode(instance);
+			final int index = hash & (table_.length - 1);
+			table_[index] = new Entry(instance, queue_, hash, id, table_[index]);
+			if (++size_ > table_.length - (table_.length >> 2))
+				resize();
+		}
+
+		/** Unlinks the entries whose instance was collected. */
+		private void expunge() {
+			Reference<?> ref;
+			while ((ref = queue_.poll()) != null) {
+				final Entry entry = (Entry) ref;
+				final int index = entry.hash_ & (table_.length - 1);
+				Entry prev = null;
+				for (Entry e = table_[index]; e != null; prev = e, e = e.next_) {
+					if (e == entry) {
+						if (prev == null)
+							table_[index] = e.next_;
+						else
+							prev.next_ = e.next_;
+						size_--;
+						break;
+					}
+				}
+			}
+		}
+
+		private void resize() {
+			final Entry[] table = new Entry[table_.length << 1];
+			for (Entry head : table_) {
+				Entry e = head;
+				while (e != null) {
+					final Entry next = e.next_;
+					final int index = e.hash_ & (table.length - 1);
+					e.next_ = table[index];
+					table[index] = e;
+					e = next;
+				}
+			}
+			table_ = table;
+		}
+	}
+
+}
@@ -0,0 +1,137 @@
+/** ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++--> 
+<!--                Open Simulation Architecture (OSA)                  -->
+<!--                                                                    -->
+<!--      This software is distributed under the terms of the           -->
+<!--           CECILL-C FREE SOFTWARE LICENSE AGREEMENT                 -->
+<!--  (see http://www.cecill.info/licences/Licence_CeCILL-C_V1-en.html) -->
+<!--                                                                    -->
+<!--  Copyright © 2006-2015 Université Nice Sophia Antipolis            -->
+<!--  Contact author: Olivier Dalle (olivier.dalle@unice.fr)            -->
+<!--                                                                    -->
+<!--  Parts of this software development were supported and hosted by   -->
+<!--  INRIA from 2006 to 2015, in the context of the common research    -->
+<!--  teams of INRIA and I3S, UMR CNRS 7172 (MASCOTTE, COATI, OASIS and -->
+<!--  SCALE).                                                           -->
+<!--++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++**/ 
+package org.osadev.osa.simapis.simulation.trace;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Paths;
+
+/**
+ * Command line tool printing the records of a trace, optionally filtered.
+ * 
+ * <pre>
+ * java org.osadev.osa.simapis.simulation.trace.TraceTool [options] base
+ *   --method NAME    only the events of the given method
+ *   --instance ID    only the events of the given instance id
+ *   --from TIME      only the events at or after the given time
+ *   --to TIME        only the events at or before the given time
+ *   --limit N        stop after N matching events
+ *   --count          print the number of matching events only
+ * </pre>
+ * 
+ * <p>Each event is printed on a line: time, event id, method, and instance
+ * class and id, separated by tabs.
+ * 
+ */
+public final class TraceTool {
+
+	private String base_ = null;
+
+	private String method_ = null;
+
+	private int instance_ = -1;
+
+	private long from_ = Long.MIN_VALUE;
+
+	private long to_ = Long.MAX_VALUE;
+
+	private long limit_ = Long.MAX_VALUE;
+
+	private boolean count_ = false;
+
+	private TraceTool() {
+	}
+
+	public static void main(final String[] args) throws IOException {
+		final TraceTool tool = new TraceTool();
+		try {
+			tool.parse(args);
+		} catch (IllegalArgumentException e) {
+			System.err.println(e.getMessage());
+			System.err.println("usage: TraceTool [--method NAME] [--instance ID] "
+					+ "[--from TIME] [--to TIME] [--limit N] [--count] base");
+			System.exit(2);
+		}
+		tool.run(System.out);
+	}
+
+	private void parse(final String[] args) {
+		for (int i = 0; i < args.length; i++) {
+			final String arg = args[i];
+			if (!arg.startsWith("--")) {
+				if (base_ != null)
+					throw new IllegalArgumentException("More than one trace: " + arg);
+				base_ = arg;
+				continue;
+			}
+			if (arg.equals("--count")) {
+				count_ = true;
+				continue;
+			}
+			if (i + 1 == args.length)
+				throw new IllegalArgumentException("Missing value of " + arg);
+			final String value = args[++i];
+			try {
+				if (arg.equals("--method"))
+					method_ = value;
+				else if (arg.equals("--instance"))
+					instance_ = Integer.parseInt(value);
+				else if (arg.equals("--from"))
+					from_ = Long.parseLong(value);
+				else if (arg.equals("--to"))
+					to_ = Long.parseLong(value);
+				else if (arg.equals("--limit"))
+					limit_ = Long.parseLong(value);
+				else
+					throw new IllegalArgumentException("Unknown option " + arg);
+			} catch (NumberFormatException e) {
+				throw new IllegalArgumentException("Illegal value of " + arg + ": " + value);
+			}
+		}
+		if (base_ == null)
+			throw new IllegalArgumentException("Missing trace");
+	}
+
+	private void run(final PrintStream out) throws IOException {
+		final TraceReader reader = new TraceReader(Paths.get(base_));
+		try {
+			final int method = (method_ == null) ? -1 : reader.getMethodId(method_);
+			if (method_ != null && method < 0) {
+				if (count_)
+					out.println(0);
+				return;
+			}
+			long matched = 0;
+			while (matched < limit_ && reader.next()) {
+				if (method >= 0 && reader.getMethodId() != method)
+					continue;
+				if (instance_ >= 0 && reader.getInstanceId() != instance_)
+					continue;
+				final long time = reader.getTime();
+				if (time < from_ || time > to_)
+					continue;
+				matched++;
+				if (!count_)
+					out.println(reader);
+			}
+			if (count_)
+				out.println(matched);
+		} finally {
+			reader.close();
+		}
+	}
+
+}
@@ -0,0 +1,198 @@
+/** ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++--> 
+<!--                Open Simulation Architecture (OSA)                  -->
+<!--                                                                    -->
+<!--      This software is distributed under the terms of the           -->
+<!--           CECILL-C FREE SOFTWARE LICENSE AGREEMENT                 -->
+<!--  (see http://www.cecill.info/licences/Licence_CeCILL-C_V1-en.html) -->
+<!--                                                                    -->
+<!--  Copyright © 2006-2015 Université Nice Sophia Antipolis            -->
+<!--  Contact author: Olivier Dalle (olivier.dalle@unice.fr)            -->
+<!--                                                                    -->
+<!--  Parts of this software development were supported and hosted by   -->
+<!--  INRIA from 2006 to 2015, in the context of the common research    -->
+<!--  teams of INRIA and I3S, UMR CNRS 7172 (MASCOTTE, COATI, OASIS and -->
+<!--  SCALE).                                                           -->
+<!--++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++**/ 
+package org.osadev.osa.simapis.simulation.trace;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+
+import org.osadev.osa.simapis.exceptions.TraceDivergenceException;
+import org.osadev.osa.simapis.simulation.AbstractEvent;
+import org.osadev.osa.simapis.simulation.DispatchListenerItf;
+
+/**
+ * Replays a simulation against a recorded trace: each dispatched event is 
+ * compared to the next record of the trace, by time, event id and method 
+ * name, and the simulation stops at the first difference.
+ * 
+ * <p>The verifier is attached to the controllers in place of the 
+ * {@link TraceRecorder} that recorded the trace, eg. to check that another
+ * pending event set or super-scheduler implementation dispatches the same 
+ * events in the same order. The trace is read as the simulation runs, so 
+ * traces of any size are compared in constant memory.
+ * 
+ * <p>A difference is reported by a {@link TraceDivergenceException} raised
+ * from the dispatch, before the event is invoked. Once the simulation ends,
+ * {@link #finish()} checks that the trace has no more events. Like the
+ * recorder, the verifier is not thread-safe.
+ * 
+ * @param <U>
+ * 		Type of the simulation time, whose values must be integral numbers.
+ */
+public final class TraceVerifier<U extends Comparable<U>> implements
+		DispatchListenerItf<U>, Closeable {
+
+	/** Default number of matching events shown before a divergence. */
+	public static final int DEFAULT_CONTEXT = 8;
+
+	private final TraceReader reader_;
+
+	/** Last matching events, as a ring. */
+	private final long[] contextTimes_;
+
+	private final long[] contextIds_;
+
+	private final String[] contextMethods_;
+
+	private long verified_ = 0;
+
+	/**
+	 * Opens a trace to verify, showing {@value #DEFAULT_CONTEXT} events of 
+	 * context on divergence.
+	 * 
+	 * @param base
+	 * 		Path of the trace, without suffix.
+	 * @throws IOException
+	 * 		If the trace cannot be opened.
+	 */
+	public TraceVerifier(final Path base) throws IOException {
+		this(base, DEFAULT_CONTEXT);
+	}
+
+	/**
+	 * Opens a trace to verify.
+	 * 
+	 * @param base
+	 * 		Path of the trace, without suffix.
+	 * @param context
+	 * 		Number of matching events shown before a divergence.
+	 * @throws IOException
+	 * 		If the trace cannot be opened.
+	 */
+	public TraceVerifier(final Path base, final int context) throws IOException {
+		reader_ = new TraceReader(base);
+		final int size = Math.max(1, context);
+		contextTimes_ = new long[size];
+		contextIds_ = new long[size];
+		contextMethods_ = new String[size];
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.osadev.osa.simapis.simulation.DispatchListenerItf#dispatching(org.osadev.osa.simapis.simulation.AbstractEvent)
+	 */
+	public void dispatching(final AbstractEvent<U> event) {
+		verify(event.getId(), TraceFormat.timeKey(event.getTime()), event.getEvtMethod());
+	}
+
+	/**
+	 * Compares an event to the next record of the trace.
+	 * 
+	 * @param eventId
+	 * 		The event id.
+	 * @param time
+	 * 		The event time.
+	 * @param method
+	 * 		The name of the event method.
+	 * @throws TraceDivergenceException
+	 * 		If the event differs from the record, or the trace has no more 
+	 *      records.
+	 * @throws UncheckedIOException
+	 * 		If the trace cannot be read.
+	 */
+	public void verify(final long eventId, final long time, final String method) {
+		if (!nextRecord())
+			throw divergence(eventId, time, method, "the trace has no more events");
+		final String expected = reader_.getMethod();
+		final boolean sameTime = reader_.getTime() == time;
+		final boolean sameId = reader_.getEventId() == eventId;
+		final boolean sameMethod = expected == method || expected.equals(method);
+		if (!(sameTime && sameId && sameMethod)) {
+			final StringBuilder fields = new StringBuilder("different");
+			if (!sameTime)
+				fields.append(" time");
+			if (!sameId)
+				fields.append(" id");
+			if (!sameMethod)
+				fields.append(" method");
+			throw divergence(eventId, time, method, fields.toString());
+		}
+		final int slot = (int) (verified_ % contextTimes_.length);
+		contextTimes_[slot] = time;
+		contextIds_[slot] = eventId;
+		contextMethods_[slot] = expected;
+		verified_++;
+	}
+
+	/**
+	 * Checks that all the events of the trace were dispatched.
+	 * 
+	 * @throws TraceDivergenceException
+	 * 		If the trace has more events.
+	 * @throws UncheckedIOException
+	 * 		If the trace cannot be read.
+	 */
+	public void finish() {
+		if (nextRecord())
+			throw divergence(-1L, 0L, null, "the simulation ended before the trace");
+	}
+
+	public void close() {
+		reader_.close();
+	}
+
+	/** Number of events that matched the trace. */
+	public long getVerifiedCount() {
+		return verified_;
+	}
+
+	@Override
+	public String toString() {
+		return "TraceVerifier[" + reader_.getBase() + ", verified=" + verified_ + "]";
+	}
+
+	private boolean nextRecord() {
+		try {
+			return reader_.next();
+		} catch (IOException e) {
+			throw new UncheckedIOException("Cannot read trace " + reader_.getBase(), e);
+		}
+	}
+
+	private TraceDivergenceException divergence(final long eventId, final long time,
+			final String method, final String reason) {
+		final StringBuilder report = new StringBuilder();
+		report.append(String.format("Divergence from trace %s at event %d: %s%n",
+				reader_.getBase(), verified_, reason));
+		final long shown = Math.min(verified_, contextTimes_.length);
+		if (shown > 0)
+			report.append(String.format("  last matching events:%n"));
+		for (long i = verified_ - shown; i < verified_; i++) {
+			final int slot = (int) (i % contextTimes_.length);
+			report.append(String.format("    t=%d id=%d %s%n", contextTimes_[slot],
+					contextIds_[slot], contextMethods_[slot]));
+		}
+		if (reason.startsWith("different") || method == null)
+			report.append(String.format("  expected: t=%d id=%d %s (segment %d)%n",
+					reader_.getTime(), reader_.getEventId(), reader_.getMethod(),
+					reader_.getSegmentIndex()));
+		if (method != null)
+			report.append(String.format("  actual:   t=%d id=%d %s%n", time, eventId, method));
+		return new TraceDivergenceException(verified_, report.toString());
+	}
+
+}
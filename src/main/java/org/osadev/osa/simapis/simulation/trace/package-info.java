@@ -0,0 +1,6 @@
+/**
+ * Binary traces of the dispatched events: recording in memory-mapped 
+ * segment files, and offline reading.
+ *
+ */
+package org.osadev.osa.simapis.simulation.trace;
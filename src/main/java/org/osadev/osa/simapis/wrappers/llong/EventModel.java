@@ -19,6 +19,7 @@ package org.osadev.osa.simapis.wrappers.llong;
 import org.osadev.osa.simapis.exceptions.IllegalEventMethodException;
 import org.osadev.osa.simapis.exceptions.UnknownEventMethodException;
 import org.osadev.osa.simapis.modeling.AbstractEventModel;
+import org.osadev.osa.simapis.modeling.EventIdRange;
 import org.osadev.osa.simapis.modeling.ModelingTimeAPI;
 import org.osadev.osa.simapis.simulation.SimulationLoggerItf;
 
@@ -66,6 +67,50 @@ public class EventModel extends AbstractEventModel<Long> {
                 parameters, time);
     }
 
+    /**
+     * Delegate method for
+     * {@link org.osadev.osa.simapis.modeling.EventModelingAPI#scheduleEventMyself(String, Object[], ModelingTimeAPI)}
+     * using a primitive time value.
+     * 
+     * @see org.osadev.osa.simapis.modeling.EventModelingAPI#scheduleEventMyself(String,
+     *      Object[], ModelingTimeAPI)
+     */
+    public long scheduleEventMyself(String methodName, Object[] parameters,
+            long time) throws UnknownEventMethodException,
+            IllegalEventMethodException {
+        return this.getSimEventApi().scheduleEventMyself(methodName,
+                parameters, ModelingTime.valueOf(time));
+    }
+
+    /**
+     * Delegate method for
+     * {@link org.osadev.osa.simapis.modeling.EventModelingAPI#scheduleEventsMyself(String, Object[][], ModelingTimeAPI[])}
+     * 
+     * @see org.osadev.osa.simapis.modeling.EventModelingAPI#scheduleEventsMyself(String,
+     *      Object[][], ModelingTimeAPI[])
+     */
+    public EventIdRange scheduleEventsMyself(String methodName,
+            Object[][] parameters, ModelingTimeAPI<Long>[] times)
+            throws UnknownEventMethodException, IllegalEventMethodException {
+        return this.getSimEventApi().scheduleEventsMyself(methodName,
+                parameters, times);
+    }
+
+    /**
+     * Delegate method for
+     * {@link org.osadev.osa.simapis.modeling.EventModelingAPI#scheduleEventsMyself(String, Object[][], ModelingTimeAPI[])}
+     * using primitive time values.
+     * 
+     * @see org.osadev.osa.simapis.modeling.EventModelingAPI#scheduleEventsMyself(String,
+     *      Object[][], ModelingTimeAPI[])
+     */
+    public EventIdRange scheduleEventsMyself(String methodName,
+            Object[][] parameters, long[] times)
+            throws UnknownEventMethodException, IllegalEventMethodException {
+        return this.getSimEventApi().scheduleEventsMyself(methodName,
+                parameters, ModelingTime.valueOf(times));
+    }
+
     /**
      * Delegate method for
      * {@link org.osadev.osa.simapis.modeling.EventModelingAPI#scheduleEventMyself(String, Object[], ModelingTimeAPI)}
@@ -16,18 +16,24 @@
 
 package org.osadev.osa.simapis.wrappers.llong;
 
-import org.osadev.osa.simapis.modeling.AbstractModelingTime;
+import org.osadev.osa.simapis.modeling.LongModelingTimeAPI;
 import org.osadev.osa.simapis.modeling.ModelingTimeAPI;
 import org.osadev.osa.simapis.modeling.ModelingTimeSymbols;
 import org.osadev.osa.simapis.modeling.TimeFactoryItf;
 
 /**
- * An specialization of the abstract Modeling Time class using the long type.
+ * An specialization of the Modeling Time API using the long type.
+ * 
+ * <p>
+ * The time value is stored as a primitive <code>long</code> and the 
+ * {@link LongModelingTimeAPI} methods give access to it without boxing. The
+ * generic methods of {@link ModelingTimeAPI} are still available for code
+ * written against the generic API. Instances are immutable.
  * 
  * @author odalle
  * @see org.osadev.osa.simapis.modeling.AbstractModelingTime
  */
-public class ModelingTime extends AbstractModelingTime<Long> {
+public class ModelingTime implements LongModelingTimeAPI {
 
     /**
      * A factory class to create ModelingTime<Long> object instances.
@@ -37,19 +43,19 @@ public class ModelingTime extends AbstractModelingTime<Long> {
     public static class ModelingTimeFactory implements TimeFactoryItf<Long> {
 
         public ModelingTimeAPI<Long> create(Long val) {
-            return new ModelingTime(val);
+            return valueOf(val);
         }
 
         public ModelingTimeAPI<Long> create() {
-            return new ModelingTime(0L);
+            return ZERO;
         }
 
         public ModelingTimeAPI<Long> create(String symbol) {
             switch (ModelingTimeSymbols.valueOf(symbol)) {
             case INFINITY:
-                return new ModelingTime(-1L);
+                return INFINITY;
             case ZERO:
-                return new ModelingTime(0L);
+                return ZERO;
             default:
                 throw new RuntimeException("Invalid Modeling time symbol:"
                         + symbol);
@@ -59,6 +65,14 @@ public class ModelingTime extends AbstractModelingTime<Long> {
 
     }
 
+    private static final ModelingTime ZERO     = new ModelingTime(0L);
+
+    private static final ModelingTime INFINITY = new ModelingTime(INFINITE);
+
+    private static final ModelingTimeFactory FACTORY = new ModelingTimeFactory();
+
+    private final long time_;
+
     /**
      * Factory accessor.
      * 
@@ -66,7 +80,38 @@ public class ModelingTime extends AbstractModelingTime<Long> {
      *          ModelingTime factory.
      */
     public static ModelingTimeFactory getFactory() {
-        return new ModelingTimeFactory();
+        return FACTORY;
+    }
+
+    /**
+     * Gets a time instance for a given value.
+     * 
+     * @param t
+     *          A time value, {@link LongModelingTimeAPI#INFINITE} for infinity.
+     * @return
+     *          The time instance (shared for zero and infinity).
+     */
+    public static ModelingTime valueOf(final long t) {
+        if (t == 0L)
+            return ZERO;
+        if (t == INFINITE)
+            return INFINITY;
+        return new ModelingTime(t);
+    }
+
+    /**
+     * Gets the time instances for an array of values.
+     * 
+     * @param times
+     *          Time values, {@link LongModelingTimeAPI#INFINITE} for infinity.
+     * @return
+     *          The time instances, in the same order.
+     */
+    public static ModelingTime[] valueOf(final long[] times) {
+        final ModelingTime[] result = new ModelingTime[times.length];
+        for (int i = 0; i < times.length; i++)
+            result[i] = valueOf(times[i]);
+        return result;
     }
 
     /**
@@ -75,13 +120,12 @@ public class ModelingTime extends AbstractModelingTime<Long> {
      * @param t
      *          A time value
      */
-    private ModelingTime(final Long t) {
-        super(t);
+    private ModelingTime(final long t) {
+        this.time_ = t;
     }
 
-    @Override
     public boolean isInfinite() {
-        return (get() == -1L);
+        return (time_ == INFINITE);
     }
 
     /**
@@ -93,9 +137,57 @@ public class ModelingTime extends AbstractModelingTime<Long> {
      *          <code>true</code> if time value is infinity.
      */
     public static boolean isInfinite(ModelingTime t) {
-        return (t.get() == -1L);
+        return (t.time_ == INFINITE);
+    }
+
+    /**
+     * Gets the value of any long time without boxing when possible.
+     * 
+     * @param t
+     *          A time
+     * @return
+     *          The time value.
+     */
+    public static long longValue(ModelingTimeAPI<Long> t) {
+        if (t instanceof LongModelingTimeAPI)
+            return ((LongModelingTimeAPI) t).getLong();
+        return t.get();
+    }
+
+    public Long get() {
+        return time_;
+    }
+
+    public long getLong() {
+        return time_;
+    }
+
+    public int compareLong(final long other) {
+        if (time_ == other)
+            return 0;
+        if (time_ == INFINITE)
+            return 1;
+        if (other == INFINITE)
+            return -1;
+        return (time_ < other) ? -1 : 1;
+    }
+
+    public int compareTo(ModelingTimeAPI<Long> o) {
+        if (o instanceof LongModelingTimeAPI)
+            return compareLong(((LongModelingTimeAPI) o).getLong());
+        if (isInfinite() && o.isInfinite()) return 0;
+        if (isInfinite()) return 1;
+        if (o.isInfinite()) return -1;
+        return Long.compare(time_, o.get());
+    }
+
+    public boolean isBefore(ModelingTimeAPI<Long> other) {
+        return compareTo(other) < 0;
     }
 
+    public boolean isAfter(ModelingTimeAPI<Long> other) {
+        return compareTo(other) > 0;
+    }
 
     /**
      * Computes a new date corresponding to the time value in this object delayed by a given amount of time.
@@ -105,13 +197,22 @@ public class ModelingTime extends AbstractModelingTime<Long> {
      * @return
      *          A new instance containing the delayed time.
      */
-    @Override
     public ModelingTimeAPI<Long> getDelayed(Long t) {
-        return new ModelingTime(get() + t);
+        return delayedBy(t);
+    }
+
+    public LongModelingTimeAPI delayedBy(final long delay) {
+        if (time_ == INFINITE)
+            return this;
+        return valueOf(time_ + delay);
     }
 
     public static ModelingTimeAPI<Long> getDelayed(ModelingTime t1, Long delay) {
         return t1.getDelayed(delay);
     }
 
+    public String toString() {
+        return Long.toString(time_);
+    }
+
 }
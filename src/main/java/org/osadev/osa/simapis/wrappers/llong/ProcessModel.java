@@ -18,6 +18,8 @@ package org.osadev.osa.simapis.wrappers.llong;
 import org.osadev.osa.simapis.exceptions.IllegalEventMethodException;
 import org.osadev.osa.simapis.exceptions.UnknownEventMethodException;
 import org.osadev.osa.simapis.modeling.AbstractProcessModel;
+import org.osadev.osa.simapis.modeling.ConditionHandle;
+import org.osadev.osa.simapis.modeling.EventIdRange;
 import org.osadev.osa.simapis.modeling.ModelingTimeAPI;
 import org.osadev.osa.simapis.simulation.SimulationLoggerItf;
 
@@ -50,6 +52,27 @@ public class ProcessModel extends AbstractProcessModel<Long> {
                 parameters, time);
     }
 
+    public long scheduleEventMyself(String methodName, Object[] parameters,
+            long time) throws UnknownEventMethodException,
+            IllegalEventMethodException {
+        return this.getSimProcessApi().scheduleEventMyself(methodName,
+                parameters, ModelingTime.valueOf(time));
+    }
+
+    public EventIdRange scheduleEventsMyself(String methodName,
+            Object[][] parameters, ModelingTimeAPI<Long>[] times)
+            throws UnknownEventMethodException, IllegalEventMethodException {
+        return this.getSimProcessApi().scheduleEventsMyself(methodName,
+                parameters, times);
+    }
+
+    public EventIdRange scheduleEventsMyself(String methodName,
+            Object[][] parameters, long[] times)
+            throws UnknownEventMethodException, IllegalEventMethodException {
+        return this.getSimProcessApi().scheduleEventsMyself(methodName,
+                parameters, ModelingTime.valueOf(times));
+    }
+
     public long scheduleEventMyselfNoE(String methodName, Object[] parameters,
             ModelingTimeAPI<Long> time) {
         try {
@@ -68,6 +91,10 @@ public class ProcessModel extends AbstractProcessModel<Long> {
         this.getSimProcessApi().waitForDelay(delay);
     }
 
+    public void waitForDelay(long delay) {
+        this.getSimProcessApi().waitForDelay(ModelingTime.valueOf(delay));
+    }
+
     public String waitOnConditionForDelay(String condition,
             ModelingTimeAPI<Long> delay) throws InterruptedException {
         return this.getSimProcessApi()
@@ -85,6 +112,18 @@ public class ProcessModel extends AbstractProcessModel<Long> {
         }
     }
 
+    public <T> T waitOnConditionForDelay(ConditionHandle<T> condition,
+            ModelingTimeAPI<Long> delay) throws InterruptedException {
+        return this.getSimProcessApi()
+                .waitOnConditionForDelay(condition, delay);
+    }
+
+    public <T> T waitOnConditionForDelay(ConditionHandle<T> condition,
+            long delay) throws InterruptedException {
+        return this.getSimProcessApi().waitOnConditionForDelay(condition,
+                ModelingTime.valueOf(delay));
+    }
+
     public boolean cancelEvent(long eventId) {
         return this.getSimProcessApi().cancelEvent(eventId);
     }
@@ -97,6 +136,16 @@ public class ProcessModel extends AbstractProcessModel<Long> {
         return this.getSimProcessApi().releaseAllOnCondition(condition, param);
     }
 
+    public <T> boolean releaseOneOnCondition(ConditionHandle<T> condition,
+            T value) {
+        return this.getSimProcessApi().releaseOneOnCondition(condition, value);
+    }
+
+    public <T> int releaseAllOnCondition(ConditionHandle<T> condition,
+            T value) {
+        return this.getSimProcessApi().releaseAllOnCondition(condition, value);
+    }
+
     public long scheduleProcessMyself(String methodName, Object[] parameters,
             ModelingTimeAPI<Long> time) throws UnknownEventMethodException,
             IllegalEventMethodException {